@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,18 +11,30 @@
 package org.springframework.ide.eclipse.aop.ui.matcher;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.OpenEvent;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.search.ui.IContextMenuConstants;
+import org.eclipse.search.ui.IQueryListener;
+import org.eclipse.search.ui.ISearchQuery;
+import org.eclipse.search.ui.ISearchResult;
+import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.AbstractTextSearchViewPage;
 import org.eclipse.search.ui.text.Match;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PartInitException;
 import org.springframework.ide.eclipse.aop.core.model.IAopReference;
+import org.springframework.ide.eclipse.aop.ui.matcher.internal.PointcutMatchQuery;
 import org.springframework.ide.eclipse.aop.ui.matcher.internal.PointcutMatcherContentProvider;
 import org.springframework.ide.eclipse.aop.ui.matcher.internal.PointcutMatcherLabelProvider;
+import org.springframework.ide.eclipse.aop.ui.matcher.internal.PointcutMatcherMessages;
 import org.springframework.ide.eclipse.beans.ui.BeansUIUtils;
 import org.springframework.ide.eclipse.core.model.IResourceModelElement;
 import org.springframework.ide.eclipse.ui.SpringUIUtils;
@@ -37,11 +49,37 @@ public class PointcutMatcherResultPage extends AbstractTextSearchViewPage {
 
 	private PointcutMatcherContentProvider provider;
 
+	private final ShowMoreAction showMoreAction = new ShowMoreAction();
+
 	public PointcutMatcherResultPage() {
 		super();
 		setID(PointcutMatcherResultPage.class.getName());
 	}
 
+	@Override
+	protected void fillToolbar(IToolBarManager manager) {
+		super.fillToolbar(manager);
+		manager.appendToGroup(IContextMenuConstants.GROUP_SEARCH, showMoreAction);
+	}
+
+	@Override
+	public void createControl(Composite parent) {
+		super.createControl(parent);
+		NewSearchUI.addQueryListener(showMoreAction);
+	}
+
+	@Override
+	public void dispose() {
+		NewSearchUI.removeQueryListener(showMoreAction);
+		super.dispose();
+	}
+
+	@Override
+	public void setInput(ISearchResult newSearch, Object viewState) {
+		super.setInput(newSearch, viewState);
+		showMoreAction.update();
+	}
+
 	protected void clear() {
 		provider.clear();
 	}
@@ -62,6 +100,7 @@ public class PointcutMatcherResultPage extends AbstractTextSearchViewPage {
 		if (provider != null) {
 			provider.elementsChanged(objects);
 		}
+		showMoreAction.update();
 	}
 
 	private PointcutMatcherContentProvider getContentProvider() {
@@ -104,4 +143,64 @@ public class PointcutMatcherResultPage extends AbstractTextSearchViewPage {
 		Object element = match.getElement();
 		showElement(activate, element);
 	}
+
+	private PointcutMatchQuery getQuery() {
+		AbstractTextSearchResult result = getInput();
+		if (result != null) {
+			ISearchQuery query = result.getQuery();
+			if (query instanceof PointcutMatchQuery) {
+				return (PointcutMatchQuery) query;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Continues a search that stopped at the match limit.
+	 */
+	private class ShowMoreAction extends Action implements IQueryListener {
+
+		public ShowMoreAction() {
+			super(PointcutMatcherMessages.MatcherResultPage_showMore);
+			setToolTipText(PointcutMatcherMessages.MatcherResultPage_showMoreTooltip);
+			setEnabled(false);
+		}
+
+		public void update() {
+			PointcutMatchQuery query = getQuery();
+			setEnabled(query != null && query.hasMoreMatches() && !NewSearchUI.isQueryRunning(query));
+		}
+
+		public void queryAdded(ISearchQuery query) {
+		}
+
+		public void queryRemoved(ISearchQuery query) {
+		}
+
+		public void queryStarting(ISearchQuery query) {
+		}
+
+		public void queryFinished(ISearchQuery query) {
+			if (query == getQuery()) {
+				Display.getDefault().asyncExec(new Runnable() {
+					public void run() {
+						update();
+					}
+				});
+			}
+		}
+
+		@Override
+		public void run() {
+			PointcutMatchQuery query = getQuery();
+			if (query != null && query.hasMoreMatches()) {
+				if (NewSearchUI.isQueryRunning(query)) {
+					return;
+				}
+				setEnabled(false);
+				query.showMore();
+				NewSearchUI.runQueryInBackground(query);
+			}
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2010 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,8 +11,19 @@
 package org.springframework.ide.eclipse.aop.ui.matcher.internal;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -44,6 +55,9 @@ import org.springframework.util.Assert;
 /**
  * {@link ISearchQuery} implementation matches pointcut expression on {@link IBeansConfig}s that are contained in the
  * given scope.
+ * <p>
+ * The configs are matched in parallel and the matches of a config are reported as soon as it is done. The search
+ * stops after a limit of matches; {@link #showMore()} lets the next run continue with the remaining configs.
  * @author Christian Dupuis
  * @since 2.0.2
  */
@@ -122,6 +136,13 @@ public class PointcutMatchQuery implements ISearchQuery {
 
 	}
 
+	/** Default number of matches after which the search stops; can be continued with {@link #showMore()} */
+	public static final int DEFAULT_MATCH_LIMIT = 1000;
+
+	private static final int MAX_WORKERS = 4;
+
+	private static final int POLL_INTERVAL = 100;
+
 	private PointcutMatcherScope scope;
 
 	private String expression;
@@ -130,11 +151,23 @@ public class PointcutMatchQuery implements ISearchQuery {
 
 	private boolean isProxyTragetClass;
 
+	private final int matchLimit;
+
+	/** Configs that haven't been matched yet because the match limit has been reached */
+	private volatile List<IBeansConfig> remainingConfigs;
+
+	private volatile boolean continueSearch;
+
 	public PointcutMatchQuery(PointcutMatcherScope scope, String pattern, boolean isProxyTragetClass) {
+		this(scope, pattern, isProxyTragetClass, DEFAULT_MATCH_LIMIT);
+	}
+
+	public PointcutMatchQuery(PointcutMatcherScope scope, String pattern, boolean isProxyTragetClass, int matchLimit) {
 		Assert.notNull(scope);
 		this.scope = scope;
 		this.expression = pattern;
 		this.isProxyTragetClass = isProxyTragetClass;
+		this.matchLimit = matchLimit;
 	}
 
 	public boolean canRerun() {
@@ -157,10 +190,31 @@ public class PointcutMatchQuery implements ISearchQuery {
 		return PointcutMatcherMessages.MatcherQuery_label;
 	}
 
+	/**
+	 * Returns <code>true</code> if the last run stopped at the match limit before all configs have been matched.
+	 */
+	public boolean hasMoreMatches() {
+		List<IBeansConfig> configs = remainingConfigs;
+		return configs != null && !configs.isEmpty();
+	}
+
+	/**
+	 * Lets the next {@link #run(IProgressMonitor)} continue with the configs that haven't been matched yet instead of
+	 * starting over. The results found so far are kept.
+	 */
+	public void showMore() {
+		if (hasMoreMatches()) {
+			continueSearch = true;
+		}
+	}
+
 	private Set<IAopReference> getMatches(Set<IBean> beans, IAspectDefinition definition,
-			AspectDefinitionMatcher matcher) {
+			AspectDefinitionMatcher matcher, AtomicBoolean canceled) {
 		Set<IAopReference> references = new HashSet<IAopReference>();
 		for (IBean bean : beans) {
+			if (canceled.get()) {
+				break;
+			}
 			IProject project = bean.getElementResource().getProject();
 			if (!bean.isInfrastructure()) {
 				String className = BeansModelUtils.getBeanClass(bean, null);
@@ -193,53 +247,143 @@ public class PointcutMatchQuery implements ISearchQuery {
 
 	public final IStatus run(final IProgressMonitor monitor) {
 		final PointcutMatcherResult result = (PointcutMatcherResult) getSearchResult();
-		result.removeAll();
+
+		List<IBeansConfig> configs = remainingConfigs;
+		final int limit;
+		if (continueSearch && configs != null) {
+			limit = result.getMatchCount() + matchLimit;
+		}
+		else {
+			result.removeAll();
+			configs = getConfigs(monitor);
+			limit = matchLimit;
+		}
+		continueSearch = false;
+		remainingConfigs = null;
 
 		final IAspectDefinition definition = new PointcutDefinition(isProxyTragetClass, expression);
+		final Queue<IBeansConfig> queue = new ConcurrentLinkedQueue<IBeansConfig>(configs);
+		final AtomicBoolean canceled = new AtomicBoolean(false);
+		final AtomicInteger matchCount = new AtomicInteger(result.getMatchCount());
+		final AtomicInteger completed = new AtomicInteger(0);
+
+		monitor.beginTask(PointcutMatcherMessages.MatcherQuery_label, configs.size());
+
+		// each worker takes the next config from the queue until the queue is empty, the limit is reached or the
+		// search gets canceled; results are reported as soon as a config is done
+		Runnable worker = new Runnable() {
+			public void run() {
+				IBeansConfig config;
+				while (!canceled.get() && matchCount.get() < limit && (config = queue.poll()) != null) {
+					Set<IAopReference> references = matchConfig(config, definition, canceled);
+					if (!references.isEmpty() && !canceled.get()) {
+						List<Match> matches = new ArrayList<Match>(references.size());
+						for (IAopReference reference : references) {
+							matches.add(new Match(reference, Match.UNIT_LINE, -1, -1));
+						}
+						result.addMatches(matches.toArray(new Match[matches.size()]));
+						matchCount.addAndGet(matches.size());
+					}
+					completed.incrementAndGet();
+				}
+			}
+		};
 
-		for (final IModelElement element : scope.getModelElements()) {
-			if (monitor.isCanceled()) {
-				throw new OperationCanceledException();
+		int workers = Math.max(1, Math.min(Math.min(Runtime.getRuntime().availableProcessors(), MAX_WORKERS),
+				configs.size()));
+		ExecutorService executor = Executors.newFixedThreadPool(workers, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Pointcut Matcher " + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		try {
+			for (int i = 0; i < workers; i++) {
+				executor.execute(worker);
 			}
+			executor.shutdown();
 
-			final IModelElementVisitor visitor = new IModelElementVisitor() {
-				public boolean visit(final IModelElement element, IProgressMonitor monitor) {
-
-					if (element instanceof IBeansConfig) {
-						final IBeansConfig config = (IBeansConfig) element;
-
-						monitor.beginTask("Matching pointcut in file ["
-								+ config.getElementResource().getProjectRelativePath().toString() + "]", 100);
-
-						IProject project = config.getElementResource().getProject();
-						try {
-							// get beans before messing around with the class
-							// loader
-							final Set<IBean> beans = BeansModelUtils.getBeans(config);
-
-							getClassLoaderSupport(project).executeCallback(
-									new IProjectClassLoaderSupport.IProjectClassLoaderAwareCallback() {
-										public void doWithActiveProjectClassLoader() throws Throwable {
-											for (IAopReference reference : getMatches(beans, definition,
-													new AspectDefinitionMatcher())) {
-												Match match = new Match(reference, Match.UNIT_LINE, -1, -1);
-												result.addMatch(match);
-											}
-										}
-									});
-						}
-						catch (Throwable e) {
-						}
-						return false;
-					}
-					return true;
+			int reported = 0;
+			while (!executor.awaitTermination(POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+				if (monitor.isCanceled()) {
+					canceled.set(true);
+					throw new OperationCanceledException();
 				}
-			};
-			element.accept(visitor, monitor);
+				int done = completed.get();
+				monitor.worked(done - reported);
+				reported = done;
+				monitor.subTask(MessageUtils.format(PointcutMatcherMessages.MatcherQuery_status,
+						new Object[] { new Integer(matchCount.get()) }));
+			}
+		}
+		catch (InterruptedException e) {
+			canceled.set(true);
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		finally {
+			executor.shutdownNow();
+			monitor.done();
+		}
+
+		if (!queue.isEmpty()) {
+			remainingConfigs = new ArrayList<IBeansConfig>(queue);
+			Object[] args = new Object[] { new Integer(result.getMatchCount()), new Integer(queue.size()) };
+			String message = MessageUtils.format(PointcutMatcherMessages.MatcherQuery_statusLimited, args);
+			return new Status(IStatus.INFO, PointcutMatcherPlugin.PLUGIN_ID, 0, message, null);
 		}
 
 		Object[] args = new Object[] { new Integer(result.getMatchCount()) };
 		String message = MessageUtils.format(PointcutMatcherMessages.MatcherQuery_status, args);
 		return new Status(IStatus.OK, PointcutMatcherPlugin.PLUGIN_ID, 0, message, null);
 	}
+
+	/**
+	 * Collects the {@link IBeansConfig}s contained in the scope.
+	 */
+	private List<IBeansConfig> getConfigs(IProgressMonitor monitor) {
+		final Set<IBeansConfig> configs = new LinkedHashSet<IBeansConfig>();
+		final IModelElementVisitor visitor = new IModelElementVisitor() {
+			public boolean visit(IModelElement element, IProgressMonitor monitor) {
+				if (element instanceof IBeansConfig) {
+					configs.add((IBeansConfig) element);
+					return false;
+				}
+				return true;
+			}
+		};
+		for (IModelElement element : scope.getModelElements()) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			element.accept(visitor, monitor);
+		}
+		return new ArrayList<IBeansConfig>(configs);
+	}
+
+	/**
+	 * Matches the pointcut against all beans of the given config; called from the worker threads.
+	 */
+	private Set<IAopReference> matchConfig(IBeansConfig config, final IAspectDefinition definition,
+			final AtomicBoolean canceled) {
+		final Set<IAopReference> references = new HashSet<IAopReference>();
+		IProject project = config.getElementResource().getProject();
+		try {
+			// get beans before messing around with the class loader
+			final Set<IBean> beans = BeansModelUtils.getBeans(config);
+
+			getClassLoaderSupport(project).executeCallback(
+					new IProjectClassLoaderSupport.IProjectClassLoaderAwareCallback() {
+						public void doWithActiveProjectClassLoader() throws Throwable {
+							references.addAll(getMatches(beans, definition, new AspectDefinitionMatcher(), canceled));
+						}
+					});
+		}
+		catch (Throwable e) {
+		}
+		return references;
+	}
 }
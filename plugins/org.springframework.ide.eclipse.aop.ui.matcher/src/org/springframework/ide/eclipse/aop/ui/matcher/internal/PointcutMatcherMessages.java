@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -30,9 +30,14 @@ public final class PointcutMatcherMessages extends NLS {
 	public static String MatcherScope_workingSets;
 	public static String MatcherScope_selectedProjects;
 	public static String MatcherQuery_status;
+	public static String MatcherQuery_statusLimited;
 
 	public static String MatcherQuery_label;
 	public static String MatcherResult_label;
+	public static String MatcherResult_labelLimited;
+
+	public static String MatcherResultPage_showMore;
+	public static String MatcherResultPage_showMoreTooltip;
 
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, PointcutMatcherMessages.class);
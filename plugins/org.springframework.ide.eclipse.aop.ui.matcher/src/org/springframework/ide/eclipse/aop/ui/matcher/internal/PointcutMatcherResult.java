@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -82,7 +82,9 @@ public class PointcutMatcherResult extends AbstractTextSearchResult implements
 	}
 
 	public String getLabel() {
-		return MessageUtils.format(PointcutMatcherMessages.MatcherResult_label,
+		String label = (query.hasMoreMatches() ? PointcutMatcherMessages.MatcherResult_labelLimited
+				: PointcutMatcherMessages.MatcherResult_label);
+		return MessageUtils.format(label,
 				"'" + query.getExpression() + "'", getMatchCount(), query
 						.getScope().getDescription());
 	}
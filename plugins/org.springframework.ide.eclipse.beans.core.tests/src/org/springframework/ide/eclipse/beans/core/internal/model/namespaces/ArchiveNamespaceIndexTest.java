@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.internal.model.namespaces;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Tests for the {@link ArchiveNamespaceIndex}.
+ */
+public class ArchiveNamespaceIndexTest {
+
+	private static final String SCHEMA_LOCATION = "http://www.example.org/schema/test/test.xsd";
+
+	private File tempDir;
+
+	private File indexDir;
+
+	private boolean defaultUseCaches;
+
+	@Before
+	public void setUp() throws Exception {
+		// jar url connections must not serve cached jar files, as the tests rewrite jars
+		URLConnection connection = new URL("jar:file:/cache.jar!/").openConnection();
+		defaultUseCaches = connection.getDefaultUseCaches();
+		connection.setDefaultUseCaches(false);
+		tempDir = Files.createTempDirectory("namespace-index-test").toFile();
+		indexDir = new File(tempDir, "index");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		new URL("jar:file:/cache.jar!/").openConnection().setDefaultUseCaches(defaultUseCaches);
+		FileSystemUtils.deleteRecursively(tempDir);
+	}
+
+	@Test
+	public void testLoadAllPropertiesFromJar() throws Exception {
+		File jar = createJar("one.jar", "http://www.example.org/schema/test");
+		ArchiveNamespaceIndex index = new ArchiveNamespaceIndex(indexDir);
+
+		Properties mappings = index.loadAllProperties(ProjectClasspathNamespaceDefinitionResolver.DEFAULT_SCHEMA_MAPPINGS_LOCATION, classLoader(jar));
+		assertEquals("org/example/test.xsd", mappings.getProperty(SCHEMA_LOCATION));
+
+		Properties tooling = index.loadAllProperties(ProjectClasspathNamespaceDefinitionResolver.DEFAULT_TOOLING_MAPPINGS_LOCATION, classLoader(jar));
+		assertTrue(tooling.isEmpty());
+	}
+
+	@Test
+	public void testTargetNamespace() throws Exception {
+		File jar = createJar("one.jar", "http://www.example.org/schema/test");
+		ArchiveNamespaceIndex index = new ArchiveNamespaceIndex(indexDir);
+
+		URL xsd = classLoader(jar).getResource("org/example/test.xsd");
+		assertEquals("http://www.example.org/schema/test", index.getTargetNamespace(xsd));
+		assertNull(index.getTargetNamespace(null));
+	}
+
+	@Test
+	public void testIndexSharedBetweenIdenticalJars() throws Exception {
+		File jar1 = createJar("one.jar", "http://www.example.org/schema/test");
+		File jar2 = createJar("two.jar", "http://www.example.org/schema/test");
+		ArchiveNamespaceIndex index = new ArchiveNamespaceIndex(indexDir);
+
+		index.loadAllProperties(ProjectClasspathNamespaceDefinitionResolver.DEFAULT_SCHEMA_MAPPINGS_LOCATION, classLoader(jar1));
+		index.loadAllProperties(ProjectClasspathNamespaceDefinitionResolver.DEFAULT_SCHEMA_MAPPINGS_LOCATION, classLoader(jar2));
+
+		// one entry for the shared content of both jars
+		assertEquals(1, indexDir.listFiles().length);
+	}
+
+	@Test
+	public void testIndexSurvivesRestart() throws Exception {
+		File jar = createJar("one.jar", "http://www.example.org/schema/test");
+		ArchiveNamespaceIndex index = new ArchiveNamespaceIndex(indexDir);
+		URL xsd = classLoader(jar).getResource("org/example/test.xsd");
+		assertEquals("http://www.example.org/schema/test", index.getTargetNamespace(xsd));
+		index.saveFingerprints();
+
+		File fingerprints = new File(indexDir, "archives.properties");
+		assertTrue(fingerprints.exists());
+		Properties archives = load(fingerprints);
+		String hash = archives.getProperty(jar.getAbsolutePath()).split(":")[2];
+		Properties entry = load(new File(indexDir, hash + ".properties"));
+		assertEquals("http://www.example.org/schema/test", entry.getProperty("namespace:org/example/test.xsd"));
+
+		ArchiveNamespaceIndex restarted = new ArchiveNamespaceIndex(indexDir);
+		assertEquals("http://www.example.org/schema/test", restarted.getTargetNamespace(xsd));
+	}
+
+	@Test
+	public void testChangedJarContentIsScannedAgain() throws Exception {
+		File jar = createJar("one.jar", "http://www.example.org/schema/test");
+		ArchiveNamespaceIndex index = new ArchiveNamespaceIndex(indexDir);
+		URL xsd = classLoader(jar).getResource("org/example/test.xsd");
+		assertEquals("http://www.example.org/schema/test", index.getTargetNamespace(xsd));
+
+		jar.delete();
+		createJar("one.jar", "http://www.example.org/schema/changed");
+		jar.setLastModified(jar.lastModified() + 2000);
+
+		xsd = classLoader(jar).getResource("org/example/test.xsd");
+		assertEquals("http://www.example.org/schema/changed", index.getTargetNamespace(xsd));
+		assertTrue(indexDir.listFiles().length >= 2);
+	}
+
+	private Properties load(File file) throws Exception {
+		Properties properties = new Properties();
+		InputStream is = new FileInputStream(file);
+		try {
+			properties.load(is);
+		}
+		finally {
+			is.close();
+		}
+		return properties;
+	}
+
+	private ClassLoader classLoader(File jar) throws Exception {
+		return new URLClassLoader(new URL[] { jar.toURI().toURL() }, null);
+	}
+
+	private ZipEntry entry(String name) {
+		ZipEntry entry = new ZipEntry(name);
+		// fixed timestamp, so that jars with the same entries have the same content
+		entry.setTime(0);
+		return entry;
+	}
+
+	private File createJar(String name, String targetNamespace) throws Exception {
+		File jar = new File(tempDir, name);
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+		try {
+			out.putNextEntry(entry("META-INF/spring.schemas"));
+			out.write((SCHEMA_LOCATION.replace(":", "\\:") + "=org/example/test.xsd\n").getBytes(StandardCharsets.ISO_8859_1));
+			out.closeEntry();
+			out.putNextEntry(entry("org/example/test.xsd"));
+			out.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+					+ "<xsd:schema xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" targetNamespace=\""
+					+ targetNamespace + "\"/>\n").getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+		}
+		finally {
+			out.close();
+		}
+		return jar;
+	}
+
+}
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.IBeansProjectMarker;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansConfig;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.core.internal.model.validation.ValidatorDefinition;
+import org.springframework.ide.eclipse.core.internal.model.validation.ValidatorDefinitionFactory;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.IModelElementVisitor;
+import org.springframework.ide.eclipse.core.model.validation.IValidator;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+/**
+ * Measures loading and validating large bean configs through the beans model: the configs generated by
+ * {@link SyntheticBeanConfigGenerator} are registered with a {@link BeansProject}, loaded by {@link BeansConfig} and
+ * validated by the beans config validator with all its enabled rules.
+ * <p>
+ * This is not part of {@link org.springframework.ide.eclipse.beans.core.tests.AllBeansCoreTests}. Run it on its own,
+ * as a JUnit plug-in test or with <code>mvn verify -Pbeans-benchmark</code>. The system properties
+ * <code>beans.benchmark.configs</code>, <code>beans.benchmark.beans</code> and
+ * <code>beans.benchmark.iterations</code> set the number of configs, the beans per config and the measured
+ * iterations.
+ * @since 3.9.3
+ */
+public class BeansModelBenchmark {
+
+	private static final String BEANS_VALIDATOR_ID = BeansCorePlugin.PLUGIN_ID + ".beansvalidator";
+
+	private static final int CONFIGS = Integer.getInteger("beans.benchmark.configs", 10);
+
+	private static final int BEANS = Integer.getInteger("beans.benchmark.beans", 1000);
+
+	private static final int ITERATIONS = Integer.getInteger("beans.benchmark.iterations", 10);
+
+	private static final int WARMUP_ITERATIONS = 3;
+
+	private static final long SEED = 42;
+
+	private static boolean autoBuilding;
+
+	private static IProject project;
+
+	private static BeansConfig config;
+
+	@BeforeClass
+	public static void createConfigs() throws Exception {
+		// Keep the builder from loading and validating the configs in the background
+		autoBuilding = setAutoBuilding(false);
+
+		project = StsTestUtil.createPredefinedProject("beans-benchmark", "org.springframework.ide.eclipse.beans.core.tests");
+		project.build(IncrementalProjectBuilder.FULL_BUILD, null);
+		List<IFile> files = new SyntheticBeanConfigGenerator(CONFIGS, BEANS, SEED).generate(project.getFolder("src"));
+
+		// The last config imports all others
+		BeansProject beansProject = (BeansProject) BeansCorePlugin.getModel().getProject(project);
+		IFile rootFile = files.get(files.size() - 1);
+		beansProject.addConfig(rootFile, IBeansConfig.Type.MANUAL);
+		config = (BeansConfig) beansProject.getConfig(rootFile);
+		assertNotNull(config);
+	}
+
+	@AfterClass
+	public static void deleteProject() throws Exception {
+		if (project != null) {
+			project.delete(true, null);
+		}
+		setAutoBuilding(autoBuilding);
+	}
+
+	@Test
+	public void loadConfigs() throws Exception {
+		Runnable load = new Runnable() {
+			public void run() {
+				config.reload();
+				assertEquals(CONFIGS * BEANS, countBeans(config));
+			}
+		};
+		report("load", measure(load));
+	}
+
+	@Test
+	public void validateConfigs() throws Exception {
+		ValidatorDefinition validatorDefinition = ValidatorDefinitionFactory.getValidatorDefinition(BEANS_VALIDATOR_ID);
+		assertNotNull(validatorDefinition);
+		final IValidator validator = validatorDefinition.getValidator();
+		final IProgressMonitor monitor = new NullProgressMonitor();
+		// Load the configs up front, so that only validation is measured
+		assertEquals(CONFIGS * BEANS, countBeans(config));
+
+		Runnable validate = new Runnable() {
+			public void run() {
+				try {
+					validator.validate(Collections.<IResource> singleton(config.getElementResource()),
+							IncrementalProjectBuilder.FULL_BUILD, monitor);
+				}
+				catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		};
+		report("validate", measure(validate));
+
+		IMarker[] problems = project.findMarkers(IBeansProjectMarker.PROBLEM_MARKER, true, IResource.DEPTH_INFINITE);
+		assertEquals(0, problems.length);
+	}
+
+	/**
+	 * Runs the given task {@link #WARMUP_ITERATIONS} times without and {@link #ITERATIONS} times with measuring it, and
+	 * returns the average time in nano seconds.
+	 */
+	private static long measure(Runnable task) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			task.run();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			task.run();
+		}
+		return (System.nanoTime() - start) / ITERATIONS;
+	}
+
+	private static void report(String name, long nanos) {
+		System.out.println(String.format(Locale.ENGLISH, "%s: %d configs x %d beans: %.3f ms/op", name, CONFIGS, BEANS,
+				nanos / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+	}
+
+	private static int countBeans(IBeansConfig config) {
+		final int[] count = new int[1];
+		config.accept(new IModelElementVisitor() {
+			public boolean visit(IModelElement element, IProgressMonitor monitor) {
+				if (element instanceof IBean) {
+					count[0]++;
+					return false;
+				}
+				return true;
+			}
+		}, new NullProgressMonitor());
+		return count[0];
+	}
+
+	private static boolean setAutoBuilding(boolean enabled) throws Exception {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		IWorkspaceDescription description = workspace.getDescription();
+		boolean previous = description.isAutoBuilding();
+		description.setAutoBuilding(enabled);
+		workspace.setDescription(description);
+		return previous;
+	}
+
+}
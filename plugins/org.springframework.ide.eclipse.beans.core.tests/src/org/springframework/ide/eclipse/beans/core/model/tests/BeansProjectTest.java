@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2015 Spring IDE Developers
+ * Copyright (c) 2013, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -461,6 +461,30 @@ public class BeansProjectTest {
 		assertFalse(beansProject.hasConfig(thirdFile, "importing-bean-config-advanced-third.xml", false));
 	}
 	
+	@Test
+	public void testImportedConfigsFollowConfigChanges() throws Exception {
+		IFile importedFile = (IFile) project.findMember("advanced-bean-config.xml");
+		assertEquals(0, beansProject.getConfigs(importedFile, true).size());
+
+		beansProject.addConfig("importing-bean-config.xml", IBeansConfig.Type.MANUAL);
+		assertEquals(1, beansProject.getConfigs(importedFile, true).size());
+		assertTrue(beansProject.getCyclicImports().isEmpty());
+
+		((BeansConfig) beansProject.getConfig("importing-bean-config.xml")).reload();
+		assertEquals(1, beansProject.getConfigs(importedFile, true).size());
+
+		beansProject.addConfig("advanced-bean-config.xml", IBeansConfig.Type.MANUAL);
+		Set<IBeansConfig> configs = beansProject.getConfigs(importedFile, true);
+		assertEquals(2, configs.size());
+		assertEquals(beansProject.getConfig("advanced-bean-config.xml"), configs.iterator().next());
+		assertEquals(1, beansProject.getConfigs(importedFile, false).size());
+
+		beansProject.removeConfig("importing-bean-config.xml");
+		assertEquals(1, beansProject.getConfigs(importedFile, true).size());
+		beansProject.removeConfig("advanced-bean-config.xml");
+		assertEquals(0, beansProject.getConfigs(importedFile, true).size());
+	}
+
 	@Test
 	public void testAdvancedImportsWithManyImports() throws Exception {
 		beansProject.addConfig("importing-bean-config-many.xml", IBeansConfig.Type.MANUAL);
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.core.model.AbstractModel;
+import org.springframework.ide.eclipse.core.model.IModelChangeListener;
+import org.springframework.ide.eclipse.core.model.IModelDeltaListener;
+import org.springframework.ide.eclipse.core.model.ModelChangeDelta;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent.Type;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+/**
+ * @since 3.9.3
+ */
+public class ModelChangeDeltaTest {
+
+	private IProject project;
+	private BeansModel model;
+	private BeansProject beansProject;
+	private IBeansConfig config;
+
+	private final List<ModelChangeEvent> events = new ArrayList<ModelChangeEvent>();
+	private final List<ModelChangeDelta> deltas = new ArrayList<ModelChangeDelta>();
+
+	@Before
+	public void createProject() throws Exception {
+		project = StsTestUtil.createPredefinedProject("beans-config-tests", "org.springframework.ide.eclipse.beans.core.tests");
+		model = new BeansModel();
+		beansProject = new BeansProject(model, project);
+		model.addProject(beansProject);
+		beansProject.addConfig("basic-bean-config.xml", IBeansConfig.Type.MANUAL);
+		config = beansProject.getConfig("basic-bean-config.xml");
+
+		model.addChangeListener(new IModelChangeListener() {
+			public void elementChanged(ModelChangeEvent event) {
+				events.add(event);
+			}
+		});
+		model.addDeltaListener(new IModelDeltaListener() {
+			public void modelChanged(ModelChangeDelta delta) {
+				deltas.add(delta);
+			}
+		});
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testUnbatchedChangeIsReportedRightAway() throws Exception {
+		model.notifyListeners(config, Type.CHANGED);
+
+		assertEquals(1, events.size());
+		assertEquals(config, events.get(0).getElement());
+		assertEquals(1, deltas.size());
+		ModelChangeDelta configDelta = deltas.get(0).findDelta(config);
+		assertEquals(Type.CHANGED, configDelta.getKind());
+		assertEquals(ModelChangeDelta.F_CONTENT, configDelta.getFlags());
+	}
+
+	@Test
+	public void testBatchedChangesAreMerged() throws Exception {
+		AbstractModel.beginBatch();
+		try {
+			model.notifyListeners(config, Type.CHANGED);
+			model.notifyListeners(config, Type.CHANGED);
+			AbstractModel.beginBatch();
+			try {
+				model.notifyListeners(beansProject, Type.CHANGED);
+			}
+			finally {
+				AbstractModel.endBatch();
+			}
+			assertTrue(events.isEmpty());
+			assertTrue(deltas.isEmpty());
+		}
+		finally {
+			AbstractModel.endBatch();
+		}
+
+		assertEquals(2, events.size());
+		assertEquals(beansProject, events.get(0).getElement());
+		assertEquals(config, events.get(1).getElement());
+		assertEquals(1, deltas.size());
+		ModelChangeDelta projectDelta = deltas.get(0).findDelta(beansProject);
+		assertEquals(ModelChangeDelta.F_CONTENT | ModelChangeDelta.F_CHILDREN, projectDelta.getFlags());
+		assertEquals(1, projectDelta.getAffectedChildren().length);
+	}
+
+	@Test
+	public void testAddedAndRemovedInBatchIsNotReported() throws Exception {
+		AbstractModel.beginBatch();
+		try {
+			model.notifyListeners(config, Type.ADDED);
+			model.notifyListeners(config, Type.CHANGED);
+			model.notifyListeners(config, Type.REMOVED);
+		}
+		finally {
+			AbstractModel.endBatch();
+		}
+
+		assertTrue(events.isEmpty());
+		assertTrue(deltas.isEmpty());
+	}
+
+	@Test
+	public void testCanceledChangeBelowUnchangedProjectIsPruned() throws Exception {
+		AbstractModel.beginBatch();
+		try {
+			model.notifyListeners(config, Type.ADDED);
+			model.notifyListeners(model, Type.CHANGED);
+			model.notifyListeners(config, Type.REMOVED);
+		}
+		finally {
+			AbstractModel.endBatch();
+		}
+
+		assertEquals(1, events.size());
+		assertEquals(model, events.get(0).getElement());
+		assertEquals(1, deltas.size());
+		assertEquals(ModelChangeDelta.F_CONTENT, deltas.get(0).getFlags());
+		assertEquals(0, deltas.get(0).getAffectedChildren().length);
+		assertNull(deltas.get(0).findDelta(beansProject));
+	}
+
+	@Test
+	public void testChangesBelowRemovedElementAreNotReported() throws Exception {
+		AbstractModel.beginBatch();
+		try {
+			model.notifyListeners(config, Type.CHANGED);
+			model.notifyListeners(beansProject, Type.REMOVED);
+			model.notifyListeners(config, Type.CHANGED);
+		}
+		finally {
+			AbstractModel.endBatch();
+		}
+
+		assertEquals(1, events.size());
+		assertEquals(Type.REMOVED, events.get(0).getType());
+		ModelChangeDelta projectDelta = deltas.get(0).findDelta(beansProject);
+		assertEquals(Type.REMOVED, projectDelta.getKind());
+		assertNull(projectDelta.findDelta(config));
+	}
+
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.model.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Generates synthetic bean config files of a configurable size. Every config imports its predecessor, and its beans
+ * use parent beans, constructor arguments, init methods, literal properties and references to beans of the same and
+ * of the imported config. All beans are valid, so validating them must not report any problem. The generated content
+ * only depends on the given seed, so benchmark runs are reproducible.
+ * @since 3.9.3
+ */
+public class SyntheticBeanConfigGenerator {
+
+	public static final String BEAN_CLASS = "org.test.benchmark.SampleService";
+
+	private final int configCount;
+
+	private final int beansPerConfig;
+
+	private final long seed;
+
+	public SyntheticBeanConfigGenerator(int configCount, int beansPerConfig, long seed) {
+		this.configCount = configCount;
+		this.beansPerConfig = beansPerConfig;
+		this.seed = seed;
+	}
+
+	/**
+	 * Creates the configs in the given container and returns the generated files; the last one imports all others
+	 * (transitively).
+	 */
+	public List<IFile> generate(IContainer container) throws CoreException, UnsupportedEncodingException {
+		Random random = new Random(seed);
+		List<IFile> files = new ArrayList<IFile>();
+		for (int config = 0; config < configCount; config++) {
+			IFile file = container.getFile(new Path(configName(config)));
+			byte[] contents = createConfig(config, random).getBytes("UTF-8");
+			file.create(new ByteArrayInputStream(contents), true, null);
+			files.add(file);
+		}
+		return files;
+	}
+
+	private String createConfig(int config, Random random) {
+		StringBuilder buf = new StringBuilder();
+		buf.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		buf.append("<beans xmlns=\"http://www.springframework.org/schema/beans\"\n");
+		buf.append("       xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
+		buf.append("       xsi:schemaLocation=\"http://www.springframework.org/schema/beans"
+				+ " http://www.springframework.org/schema/beans/spring-beans.xsd\">\n\n");
+		if (config > 0) {
+			buf.append("  <import resource=\"" + configName(config - 1) + "\"/>\n\n");
+		}
+		String parentName = beanName(config, 0);
+		for (int bean = 0; bean < beansPerConfig; bean++) {
+			String name = beanName(config, bean);
+			if (bean == 0) {
+				buf.append("  <bean id=\"" + name + "\" class=\"" + BEAN_CLASS + "\" abstract=\"true\">\n");
+				buf.append("    <property name=\"timeout\" value=\"" + random.nextInt(1000) + "\"/>\n");
+				buf.append("  </bean>\n");
+				continue;
+			}
+			buf.append("  <bean id=\"" + name + "\" class=\"" + BEAN_CLASS + "\" parent=\"" + parentName
+					+ "\" init-method=\"init\">\n");
+			buf.append("    <constructor-arg value=\"" + name + "\"/>\n");
+			buf.append("    <property name=\"timeout\" value=\"" + random.nextInt(1000) + "\"/>\n");
+			String delegate = randomReference(config, bean, random);
+			if (delegate != null) {
+				buf.append("    <property name=\"delegate\" ref=\"" + delegate + "\"/>\n");
+			}
+			buf.append("  </bean>\n");
+		}
+		buf.append("</beans>\n");
+		return buf.toString();
+	}
+
+	/**
+	 * Returns a (non abstract) bean defined before the given one, either in the same or in the imported config.
+	 */
+	private String randomReference(int config, int bean, Random random) {
+		boolean sameConfig = (config == 0 || random.nextBoolean());
+		if (sameConfig) {
+			return (bean > 1 ? beanName(config, 1 + random.nextInt(bean - 1)) : null);
+		}
+		return (beansPerConfig > 1 ? beanName(config - 1, 1 + random.nextInt(beansPerConfig - 1)) : null);
+	}
+
+	public static String configName(int config) {
+		return "beans-" + config + ".xml";
+	}
+
+	public static String beanName(int config, int bean) {
+		return "bean" + config + "_" + bean;
+	}
+
+}
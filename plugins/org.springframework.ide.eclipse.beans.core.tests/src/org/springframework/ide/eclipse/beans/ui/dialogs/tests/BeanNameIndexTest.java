@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.dialogs.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorDefinition;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorFactory;
+import org.springframework.ide.eclipse.beans.ui.dialogs.BeanNameIndex;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent.Type;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+/**
+ * @since 3.9.3
+ */
+public class BeanNameIndexTest {
+
+	private static final List<IBean> NO_HISTORY = Collections.emptyList();
+
+	private IProject project;
+
+	private BeansModel model;
+
+	private BeansModel realModel;
+
+	private BeansProject beansProject;
+
+	private IBeansConfig config;
+
+	private BeanNameIndex index;
+
+	@Before
+	public void createIndex() throws Exception {
+		project = StsTestUtil.createPredefinedProject("bean-name-index", "org.springframework.ide.eclipse.beans.core.tests");
+
+		model = new BeansModel();
+		beansProject = new BeansProject(model, project);
+		model.addProject(beansProject);
+
+		realModel = (BeansModel) BeansCorePlugin.getModel();
+		BeansCorePlugin.setModel(model);
+
+		// disable automatic configuration of Java configs
+		for (BeansConfigLocatorDefinition locator : BeansConfigLocatorFactory.getBeansConfigLocatorDefinitions()) {
+			locator.setEnabled(false, project);
+		}
+
+		beansProject.addConfig("names.xml", IBeansConfig.Type.MANUAL);
+		config = beansProject.getConfig("names.xml");
+
+		index = new BeanNameIndex(model);
+		index.update(null);
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		index.dispose();
+		project.delete(true, null);
+		BeansCorePlugin.setModel(realModel);
+	}
+
+	@Test
+	public void testExactBeforePrefixBeforeClassNameMatch() {
+		// 'account' matches exactly, 'accountService' and the alias 'accountStore' of 'repository'
+		// by prefix and 'primary' by its class AccountService only
+		assertEquals(Arrays.asList("account", "accountService", "repository", "primary"),
+				names(index.search("account", NO_HISTORY)));
+	}
+
+	@Test
+	public void testPrefixBeforeCamelCaseMatch() {
+		// 'aSimpleBean' matches by prefix, 'accountService' and 'accountStore' by camel case and
+		// 'account' and 'primary' by the camel case of their class AccountService
+		assertEquals(Arrays.asList("aSimpleBean", "accountService", "repository", "account", "primary"),
+				names(index.search("AS", NO_HISTORY)));
+	}
+
+	@Test
+	public void testWildcardMatchesNameBeforeClassName() {
+		assertEquals(Arrays.asList("accountService", "account", "primary"),
+				names(index.search("*Service", NO_HISTORY)));
+	}
+
+	@Test
+	public void testRecentUseBreaksTies() {
+		List<IBean> history = Arrays.asList(config.getBean("primary"), config.getBean("repository"));
+
+		// Recent use doesn't beat a better match
+		assertEquals(Arrays.asList("account", "repository", "accountService", "primary"),
+				names(index.search("account", history)));
+		assertEquals(Arrays.asList("primary", "repository"), names(index.search("", history)));
+	}
+
+	@Test
+	public void testOnlyChangedConfigsAreIndexed() {
+		// Not reported to the index, so it is only indexed once it is
+		beansProject.addConfig("more-names.xml", IBeansConfig.Type.MANUAL);
+		IBeansConfig moreConfig = beansProject.getConfig("more-names.xml");
+
+		model.notifyListeners(config, Type.CHANGED);
+		index.update(null);
+		assertEquals(Arrays.asList("account", "accountService", "repository", "primary"),
+				names(index.search("account", NO_HISTORY)));
+		assertTrue(index.search("order", NO_HISTORY).isEmpty());
+
+		model.notifyListeners(moreConfig, Type.ADDED);
+		index.update(null);
+		assertEquals(Arrays.asList("orderService"), names(index.search("order", NO_HISTORY)));
+
+		beansProject.removeConfig("more-names.xml");
+		model.notifyListeners(moreConfig, Type.REMOVED);
+		assertTrue(index.search("order", NO_HISTORY).isEmpty());
+		assertEquals(Arrays.asList("account", "accountService", "repository", "primary"),
+				names(index.search("account", NO_HISTORY)));
+	}
+
+	@Test
+	public void testRebuildKeepsPreviousBeans() {
+		IProgressMonitor canceled = new NullProgressMonitor();
+		canceled.setCanceled(true);
+
+		model.notifyListeners(model, Type.CHANGED);
+		try {
+			index.update(canceled);
+		}
+		catch (OperationCanceledException e) {
+			// The rebuild stopped before indexing a config, unless the indexing job got to it first
+		}
+		assertEquals(Arrays.asList("account", "accountService", "repository", "primary"),
+				names(index.search("account", NO_HISTORY)));
+
+		index.update(null);
+		assertEquals(Arrays.asList("account", "accountService", "repository", "primary"),
+				names(index.search("account", NO_HISTORY)));
+	}
+
+	private static List<String> names(List<IBean> beans) {
+		List<String> names = new ArrayList<String>();
+		for (IBean bean : beans) {
+			names.add(bean.getElementName());
+		}
+		return names;
+	}
+
+}
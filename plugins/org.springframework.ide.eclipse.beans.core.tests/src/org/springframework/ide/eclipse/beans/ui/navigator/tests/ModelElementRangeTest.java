@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.navigator.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.ui.navigator.ModelElementRange;
+
+/**
+ * @since 3.9.3
+ */
+public class ModelElementRangeTest {
+
+	private static final Object PARENT = "config";
+
+	@Test
+	public void testSmallElementIsNotGrouped() {
+		Object[] children = createChildren(ModelElementRange.RANGE_SIZE);
+		assertSame(children, ModelElementRange.group(PARENT, children));
+	}
+
+	@Test
+	public void testLargeElementIsGroupedIntoRanges() {
+		Object[] children = createChildren(ModelElementRange.RANGE_SIZE + 1);
+		Object[] ranges = ModelElementRange.group(PARENT, children);
+
+		assertEquals(2, ranges.length);
+		ModelElementRange first = (ModelElementRange) ranges[0];
+		ModelElementRange last = (ModelElementRange) ranges[1];
+		assertSame(PARENT, first.getParent());
+		assertEquals("[0..99]", first.getLabel());
+		assertEquals("[100..100]", last.getLabel());
+		assertEquals(100, last.getFrom());
+		assertArrayEquals(new Object[] { 100 }, last.getChildren());
+	}
+
+	@Test
+	public void testFullRangesAreNotNested() {
+		int size = ModelElementRange.RANGE_SIZE * ModelElementRange.RANGE_SIZE;
+		Object[] ranges = ModelElementRange.group(PARENT, createChildren(size));
+
+		assertEquals(ModelElementRange.RANGE_SIZE, ranges.length);
+		ModelElementRange last = (ModelElementRange) ranges[ranges.length - 1];
+		assertEquals("[9900..9999]", last.getLabel());
+		Object[] children = last.getChildren();
+		assertEquals(ModelElementRange.RANGE_SIZE, children.length);
+		assertEquals(9900, children[0]);
+	}
+
+	@Test
+	public void testRangesAreNestedAboveFullRanges() {
+		int size = ModelElementRange.RANGE_SIZE * ModelElementRange.RANGE_SIZE + 1;
+		Object[] ranges = ModelElementRange.group(PARENT, createChildren(size));
+
+		assertEquals(2, ranges.length);
+		ModelElementRange first = (ModelElementRange) ranges[0];
+		assertEquals("[0..9999]", first.getLabel());
+		assertEquals("[10000..10000]", ((ModelElementRange) ranges[1]).getLabel());
+
+		Object[] nested = first.getChildren();
+		assertEquals(ModelElementRange.RANGE_SIZE, nested.length);
+		ModelElementRange nestedRange = (ModelElementRange) nested[1];
+		assertEquals("[100..199]", nestedRange.getLabel());
+		assertSame(PARENT, nestedRange.getParent());
+		assertEquals(100, nestedRange.getChildren()[0]);
+	}
+
+	@Test
+	public void testRangesAreEqualAcrossRefresh() {
+		Object[] ranges = ModelElementRange.group(PARENT, createChildren(250));
+		Object[] refreshed = ModelElementRange.group(PARENT, createChildren(260));
+
+		for (int i = 0; i < ranges.length - 1; i++) {
+			assertEquals(ranges[i], refreshed[i]);
+			assertEquals(ranges[i].hashCode(), refreshed[i].hashCode());
+		}
+		// The last range covers more children after the refresh
+		assertFalse(ranges[2].equals(refreshed[2]));
+		assertFalse(ranges[0].equals(ModelElementRange.group("other config", createChildren(250))[0]));
+		assertTrue(ranges[0].equals(ModelElementRange.group(new String("config"), createChildren(250))[0]));
+	}
+
+	private static Object[] createChildren(int count) {
+		Object[] children = new Object[count];
+		for (int i = 0; i < count; i++) {
+			children[i] = i;
+		}
+		return children;
+	}
+
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.test.benchmark;
+
+public class SampleService {
+
+	private String name;
+
+	private int timeout;
+
+	private SampleService delegate;
+
+	public SampleService() {
+	}
+
+	public SampleService(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getTimeout() {
+		return timeout;
+	}
+
+	public void setTimeout(int timeout) {
+		this.timeout = timeout;
+	}
+
+	public SampleService getDelegate() {
+		return delegate;
+	}
+
+	public void setDelegate(SampleService delegate) {
+		this.delegate = delegate;
+	}
+
+	public void init() {
+	}
+
+}
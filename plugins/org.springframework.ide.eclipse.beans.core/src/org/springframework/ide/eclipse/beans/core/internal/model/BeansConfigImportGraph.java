@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.internal.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
+
+/**
+ * Index of the configs of a {@link BeansProject} by file, including the configs imported by them
+ * (transitively). It maps each file to the configs for it and each of the project's configs to the
+ * files it imports, so that changing a config only requires walking the imports of the configs
+ * that import it again.
+ * <p>
+ * The index is maintained lazily: the imports of a config are only walked when a lookup including
+ * imported configs is done, and they are walked again after {@link #invalidate(IBeansConfig)}.
+ * The imports are walked without holding a lock on the index, as walking them can read configs,
+ * which in turn notify the project (and this index) of the reading.
+ * @since 3.9.3
+ */
+public class BeansConfigImportGraph {
+
+	private static final int MAX_ATTEMPTS = 3;
+
+	/** The project's configs the indexes below were built for */
+	private Set<IBeansConfig> roots = Collections.emptySet();
+
+	/** The project's configs by file */
+	private Map<IResource, Set<IBeansConfig>> rootsByFile;
+
+	/** The configs by file, including the imported ones */
+	private Map<IResource, Set<IBeansConfig>> configsByFile;
+
+	/** The walked imports of the project's configs */
+	private final Map<IBeansConfig, Imports> imports = new HashMap<IBeansConfig, Imports>();
+
+	/** The project's configs that import a file, directly or indirectly, by file */
+	private final Map<IResource, Set<IBeansConfig>> importersByFile = new HashMap<IResource, Set<IBeansConfig>>();
+
+	/** Incremented on every invalidation, to detect that imports walked concurrently are stale */
+	private long modificationCount = 0;
+
+	/**
+	 * Returns the configs of the given file among the given configs of the project, in the order of
+	 * the given configs. Configs imported by the given configs are included if requested, following
+	 * the project's configs.
+	 */
+	public Set<IBeansConfig> getConfigs(IResource file, Set<IBeansConfig> projectConfigs, boolean includeImported) {
+		Set<IBeansConfig> result = getRootsByFile(projectConfigs).get(file);
+		if (includeImported) {
+			Set<IBeansConfig> all = getConfigsByFile(projectConfigs).get(file);
+			if (all != null) {
+				result = all;
+			}
+		}
+		return result != null ? Collections.unmodifiableSet(result) : Collections.<IBeansConfig> emptySet();
+	}
+
+	/**
+	 * Returns the files that are imported again by a config they (indirectly) import, among the
+	 * imports of the given configs of the project.
+	 */
+	public Set<IResource> getCyclicImports(Set<IBeansConfig> projectConfigs) {
+		getConfigsByFile(projectConfigs);
+		Set<IResource> cycles = new LinkedHashSet<IResource>();
+		synchronized (this) {
+			for (IBeansConfig root : projectConfigs) {
+				Imports rootImports = imports.get(root);
+				if (rootImports != null) {
+					cycles.addAll(rootImports.cycles);
+				}
+			}
+		}
+		return cycles;
+	}
+
+	/**
+	 * Forgets the walked imports of the project's configs that import the given config's file (or
+	 * of the config itself) because the config was reset or read again.
+	 */
+	public synchronized void invalidate(IBeansConfig config) {
+		modificationCount++;
+		configsByFile = null;
+		IResource file = config.getElementResource();
+		Set<IBeansConfig> importers = file != null ? importersByFile.get(file) : null;
+		if (importers != null) {
+			for (IBeansConfig importer : new ArrayList<IBeansConfig>(importers)) {
+				remove(importer);
+			}
+		}
+		remove(config);
+	}
+
+	/**
+	 * Forgets everything.
+	 */
+	public synchronized void clear() {
+		modificationCount++;
+		roots = Collections.emptySet();
+		rootsByFile = null;
+		configsByFile = null;
+		imports.clear();
+		importersByFile.clear();
+	}
+
+	private synchronized Map<IResource, Set<IBeansConfig>> getRootsByFile(Set<IBeansConfig> projectConfigs) {
+		updateRoots(projectConfigs);
+		return rootsByFile;
+	}
+
+	private Map<IResource, Set<IBeansConfig>> getConfigsByFile(Set<IBeansConfig> projectConfigs) {
+		Map<IBeansConfig, Imports> walked = new HashMap<IBeansConfig, Imports>();
+		for (int attempt = 1;; attempt++) {
+			List<IBeansConfig> toWalk = new ArrayList<IBeansConfig>();
+			long count;
+			synchronized (this) {
+				updateRoots(projectConfigs);
+				if (configsByFile != null) {
+					return configsByFile;
+				}
+				for (IBeansConfig root : projectConfigs) {
+					if (!imports.containsKey(root) && !walked.containsKey(root)) {
+						toWalk.add(root);
+					}
+				}
+				count = modificationCount;
+			}
+
+			for (IBeansConfig root : toWalk) {
+				walked.put(root, Imports.of(root));
+			}
+
+			synchronized (this) {
+				if (count == modificationCount) {
+					for (Map.Entry<IBeansConfig, Imports> entry : walked.entrySet()) {
+						add(entry.getKey(), entry.getValue());
+					}
+					configsByFile = buildConfigsByFile();
+					return configsByFile;
+				}
+				if (attempt >= MAX_ATTEMPTS) {
+					// Configs keep changing while their imports are walked: answer without indexing
+					Map<IBeansConfig, Imports> current = new HashMap<IBeansConfig, Imports>(imports);
+					current.putAll(walked);
+					return buildConfigsByFile(current);
+				}
+				// Some of the walked imports may be stale, walk them again
+				walked.clear();
+			}
+		}
+	}
+
+	private void updateRoots(Set<IBeansConfig> projectConfigs) {
+		// The project replaces the set of its configs whenever they change
+		if (projectConfigs != roots || rootsByFile == null) {
+			modificationCount++;
+			roots = projectConfigs;
+			rootsByFile = new HashMap<IResource, Set<IBeansConfig>>();
+			for (IBeansConfig root : projectConfigs) {
+				IResource file = root.getElementResource();
+				if (file != null) {
+					get(rootsByFile, file).add(root);
+				}
+			}
+			for (IBeansConfig root : new ArrayList<IBeansConfig>(imports.keySet())) {
+				if (!projectConfigs.contains(root)) {
+					remove(root);
+				}
+			}
+			configsByFile = null;
+		}
+	}
+
+	private void add(IBeansConfig root, Imports rootImports) {
+		imports.put(root, rootImports);
+		for (IResource file : rootImports.configsByFile.keySet()) {
+			get(importersByFile, file).add(root);
+		}
+	}
+
+	private void remove(IBeansConfig root) {
+		Imports rootImports = imports.remove(root);
+		if (rootImports != null) {
+			for (IResource file : rootImports.configsByFile.keySet()) {
+				Set<IBeansConfig> importers = importersByFile.get(file);
+				if (importers != null) {
+					importers.remove(root);
+					if (importers.isEmpty()) {
+						importersByFile.remove(file);
+					}
+				}
+			}
+		}
+	}
+
+	private Map<IResource, Set<IBeansConfig>> buildConfigsByFile() {
+		return buildConfigsByFile(imports);
+	}
+
+	private Map<IResource, Set<IBeansConfig>> buildConfigsByFile(Map<IBeansConfig, Imports> allImports) {
+		// The project's configs come first, like they did when walking the imports for every lookup
+		Map<IResource, Set<IBeansConfig>> result = new HashMap<IResource, Set<IBeansConfig>>();
+		for (Map.Entry<IResource, Set<IBeansConfig>> entry : rootsByFile.entrySet()) {
+			result.put(entry.getKey(), new LinkedHashSet<IBeansConfig>(entry.getValue()));
+		}
+		for (IBeansConfig root : roots) {
+			Imports rootImports = allImports.get(root);
+			if (rootImports != null) {
+				for (Map.Entry<IResource, List<IBeansConfig>> entry : rootImports.configsByFile.entrySet()) {
+					get(result, entry.getKey()).addAll(entry.getValue());
+				}
+			}
+		}
+		return result;
+	}
+
+	private static Set<IBeansConfig> get(Map<IResource, Set<IBeansConfig>> map, IResource file) {
+		Set<IBeansConfig> configs = map.get(file);
+		if (configs == null) {
+			configs = new LinkedHashSet<IBeansConfig>();
+			map.put(file, configs);
+		}
+		return configs;
+	}
+
+	/**
+	 * The configs reachable from one of the project's configs by following its imports.
+	 */
+	private static class Imports {
+
+		/** The config and the configs imported by it, by file, in the order they are imported */
+		private final Map<IResource, List<IBeansConfig>> configsByFile = new LinkedHashMap<IResource, List<IBeansConfig>>();
+
+		private final Set<IResource> cycles = new LinkedHashSet<IResource>();
+
+		static Imports of(IBeansConfig root) {
+			Imports result = new Imports();
+			result.walk(root, new HashSet<IResource>());
+			return result;
+		}
+
+		private void walk(IBeansConfig config, Set<IResource> path) {
+			IResource file = config.getElementResource();
+			if (file != null) {
+				List<IBeansConfig> configs = configsByFile.get(file);
+				if (configs == null) {
+					configs = new ArrayList<IBeansConfig>();
+					configsByFile.put(file, configs);
+				}
+				configs.add(config);
+				if (!path.add(file)) {
+					cycles.add(file);
+					return;
+				}
+			}
+			for (IBeansImport beansImport : config.getImports()) {
+				for (IBeansConfig importedConfig : beansImport.getImportedBeansConfigs()) {
+					walk(importedConfig, path);
+				}
+			}
+			if (file != null) {
+				path.remove(file);
+			}
+		}
+	}
+
+}
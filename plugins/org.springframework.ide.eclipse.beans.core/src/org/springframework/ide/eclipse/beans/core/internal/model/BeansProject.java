@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2016 Spring IDE Developers
+ * Copyright (c) 2004, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -49,7 +49,6 @@ import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfig.Type;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfigEventListener;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
-import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
 import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
 import org.springframework.ide.eclipse.beans.core.model.IBeansModelElementTypes;
 import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
@@ -122,6 +121,9 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 
 	protected volatile IBeansConfigEventListener eventListener;
 
+	/** Index of the configs by file, including imported configs */
+	private final BeansConfigImportGraph importGraph = new BeansConfigImportGraph();
+
 	private boolean isAutoConfigStatePersisted = false;
 
 	public BeansProject(IBeansModel model, IProject project) {
@@ -485,20 +487,14 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 			return true;
 		}
 
-		for (IBeansConfig config : getConfigs()) {
-			if (config.getElementResource() != null && config.getElementResource().equals(configFile)) {
-				return true;
-			}
+		if (!importGraph.getConfigs(configFile, getConfigs(), false).isEmpty()) {
+			return true;
 		}
 
 		if (isImportsEnabled() && includeImported) {
 			try {
 				r.lock();
-				for (IBeansConfig bc : getConfigs()) {
-					if (hasImportedBeansConfig(configFile, bc)) {
-						return true;
-					}
-				}
+				return !importGraph.getConfigs(configFile, getConfigs(), true).isEmpty();
 			} finally {
 				r.unlock();
 			}
@@ -531,59 +527,38 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		}
 
 		Set<IBeansConfig> ownConfigs = getConfigs();
-		if (ownConfigs != null) {
-			for (IBeansConfig config : ownConfigs) {
-				if (config.getElementResource() != null && config.getElementResource().equals(file)) {
-					beansConfigs.add(config);
-				}
-			}
-		}
 
-		// make sure that we run into the next block only if <import> support is
-		// enabled
-		// not executing the block will safe lots of execution time as
-		// configuration files don't
-		// need to get loaded.
+		// make sure that we look for imported configs only if <import> support
+		// is enabled, as otherwise configuration files don't need to get loaded.
 		if ((isImportsEnabled() && includeImported)) {
 			try {
 				r.lock();
-				if (ownConfigs != null) {
-					for (IBeansConfig bc : ownConfigs) {
-						checkForImportedBeansConfig(file, bc, beansConfigs);
-					}
-				}
+				beansConfigs.addAll(importGraph.getConfigs(file, ownConfigs, true));
 			} finally {
 				r.unlock();
 			}
 		}
-		return beansConfigs;
-	}
-
-	private void checkForImportedBeansConfig(IFile file, IBeansConfig bc, Set<IBeansConfig> beansConfigs) {
-		if (bc.getElementResource() != null && bc.getElementResource().equals(file)) {
-			beansConfigs.add(bc);
-		}
-
-		for (IBeansImport bi : bc.getImports()) {
-			for (IBeansConfig importedBc : bi.getImportedBeansConfigs()) {
-				checkForImportedBeansConfig(file, importedBc, beansConfigs);
-			}
+		else {
+			beansConfigs.addAll(importGraph.getConfigs(file, ownConfigs, false));
 		}
+		return beansConfigs;
 	}
 
-	private boolean hasImportedBeansConfig(IFile file, IBeansConfig bc) {
-		if (bc.getElementResource() != null && bc.getElementResource().equals(file)) {
-			return true;
+	/**
+	 * Returns the files that are imported by a config which they import themselves (directly or
+	 * indirectly), among the configs of this project and the configs imported by them.
+	 * @since 3.9.3
+	 */
+	public Set<IResource> getCyclicImports() {
+		if (!isImportsEnabled()) {
+			return Collections.emptySet();
 		}
-
-		for (IBeansImport bi : bc.getImports()) {
-			for (IBeansConfig importedBc : bi.getImportedBeansConfigs()) {
-				if (hasImportedBeansConfig(file, importedBc)) {
-					return true;
-				}
-			}
+		try {
+			r.lock();
+			return importGraph.getCyclicImports(getConfigs());
+		} finally {
+			r.unlock();
 		}
-		return false;
 	}
 
 	/**
@@ -894,6 +869,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 			locatorByAutoDetectedConfig.clear();
 			autoDetectedConfigSets.clear();
 			autoDetectedConfigSetsByLocator.clear();
+			importGraph.clear();
 		} finally {
 			updateAllConfigsCache();
 			w.unlock();
@@ -1372,6 +1348,8 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		 */
 		@Override
 		public void onReadEnd(IBeansConfig config) {
+			// The imports of the config are known now
+			importGraph.invalidate(config);
 		}
 
 		/**
@@ -1386,6 +1364,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		 */
 		@Override
 		public void onReset(IBeansConfig config) {
+			importGraph.invalidate(config);
 			for (IBeansProject project : BeansCorePlugin.getModel().getProjects()) {
 				for (IBeansConfigSet configSet : project.getConfigSets()) {
 					if (configSet.hasConfig((IFile) config.getElementResource())) {
@@ -0,0 +1,415 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.internal.model.namespaces;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * Workspace wide index of the namespace related content of jar files: the <code>spring.schemas</code>,
+ * <code>spring.handlers</code> and <code>spring.tooling</code> files and the target namespaces of the contained XSDs.
+ * <p>
+ * The index is keyed by the SHA-1 hash of a jar's content. Therefore projects that share the same jars (even from
+ * different locations) also share the scanned mappings and parsed XSDs, and an entry never has to be invalidated: a jar
+ * with changed content simply gets a new key. The hash of a jar is only recomputed if its size or timestamp changes.
+ * The index is stored in the plugin's state location and thereby survives restarts.
+ * <p>
+ * Resources that are not contained in a jar file (e.g. in output folders) are loaded directly from the given
+ * {@link ClassLoader}, same as before.
+ * @since 3.9.3
+ */
+public class ArchiveNamespaceIndex {
+
+	private static final String ARCHIVES_FILE = "archives.properties";
+
+	private static final String INDEX_FILE_EXTENSION = ".properties";
+
+	/** Marker key prefix for a properties file that has been scanned (even if it doesn't exist in the jar) */
+	private static final String LOCATION_PREFIX = "location:";
+
+	/** Key prefix for the contents of a scanned properties file; followed by location, '|' and the key */
+	private static final String PROPERTY_PREFIX = "property:";
+
+	/** Key prefix for the target namespace of an XSD; followed by the path of the XSD in the jar */
+	private static final String NAMESPACE_PREFIX = "namespace:";
+
+	private static ArchiveNamespaceIndex defaultIndex;
+
+	private final File directory;
+
+	/** Content hashes by absolute jar path */
+	private final Map<String, ArchiveFingerprint> fingerprints = new ConcurrentHashMap<String, ArchiveFingerprint>();
+
+	/** Index entries by content hash */
+	private final ConcurrentMap<String, Properties> entries = new ConcurrentHashMap<String, Properties>();
+
+	private volatile boolean fingerprintsDirty = false;
+
+	public ArchiveNamespaceIndex(File directory) {
+		this.directory = directory;
+		loadFingerprints();
+	}
+
+	/**
+	 * Returns the index shared by all projects of the workspace.
+	 */
+	public static synchronized ArchiveNamespaceIndex getDefault() {
+		if (defaultIndex == null) {
+			defaultIndex = new ArchiveNamespaceIndex(BeansCorePlugin.getDefault().getStateLocation()
+					.append("namespace-index").toFile());
+		}
+		return defaultIndex;
+	}
+
+	/**
+	 * Stores the jar fingerprints of the default index; called on plugin shutdown.
+	 */
+	public static synchronized void shutdown() {
+		if (defaultIndex != null) {
+			defaultIndex.saveFingerprints();
+			defaultIndex = null;
+		}
+	}
+
+	/**
+	 * Loads and merges all properties files with the given <code>location</code> visible to the given
+	 * <code>classLoader</code>, just like {@link org.springframework.core.io.support.PropertiesLoaderUtils#loadAllProperties(String, ClassLoader)}.
+	 */
+	public Properties loadAllProperties(String location, ClassLoader classLoader) throws IOException {
+		Properties result = new Properties();
+		Enumeration<URL> urls = classLoader.getResources(location);
+		while (urls.hasMoreElements()) {
+			URL url = urls.nextElement();
+			Properties indexed = getIndexedProperties(url, location);
+			if (indexed != null) {
+				result.putAll(indexed);
+			}
+			else {
+				InputStream is = url.openStream();
+				try {
+					result.load(is);
+				}
+				finally {
+					is.close();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the target namespace of the XSD at the given <code>url</code>.
+	 */
+	public String getTargetNamespace(URL url) {
+		if (url == null) {
+			return null;
+		}
+		ArchiveEntry archiveEntry = getArchiveEntry(url);
+		if (archiveEntry == null) {
+			return TargetNamespaceScanner.getTargetNamespace(url);
+		}
+		String key = NAMESPACE_PREFIX + archiveEntry.path;
+		String namespaceUri = archiveEntry.index.getProperty(key);
+		if (namespaceUri == null) {
+			namespaceUri = TargetNamespaceScanner.getTargetNamespace(url);
+			if (namespaceUri == null) {
+				// don't remember failures; the parser might have been interrupted
+				return null;
+			}
+			archiveEntry.index.setProperty(key, namespaceUri);
+			saveEntry(archiveEntry.hash, archiveEntry.index);
+		}
+		return namespaceUri;
+	}
+
+	private Properties getIndexedProperties(URL url, String location) throws IOException {
+		ArchiveEntry archiveEntry = getArchiveEntry(url);
+		if (archiveEntry == null) {
+			return null;
+		}
+		Properties index = archiveEntry.index;
+		String propertyPrefix = PROPERTY_PREFIX + location + '|';
+		if (index.getProperty(LOCATION_PREFIX + location) == null) {
+			Properties loaded = new Properties();
+			InputStream is = url.openStream();
+			try {
+				loaded.load(is);
+			}
+			finally {
+				is.close();
+			}
+			for (String key : loaded.stringPropertyNames()) {
+				index.setProperty(propertyPrefix + key, loaded.getProperty(key));
+			}
+			index.setProperty(LOCATION_PREFIX + location, "");
+			saveEntry(archiveEntry.hash, index);
+			return loaded;
+		}
+
+		Properties result = new Properties();
+		for (String key : index.stringPropertyNames()) {
+			if (key.startsWith(propertyPrefix)) {
+				result.setProperty(key.substring(propertyPrefix.length()), index.getProperty(key));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index entry of the jar containing the resource identified by the given <code>url</code>, or
+	 * <code>null</code> if the resource is not contained in a local jar file.
+	 */
+	private ArchiveEntry getArchiveEntry(URL url) {
+		if (!ResourceUtils.isJarURL(url)) {
+			return null;
+		}
+		String externalForm = url.toExternalForm();
+		int separatorIndex = externalForm.indexOf(ResourceUtils.JAR_URL_SEPARATOR);
+		if (separatorIndex < 0) {
+			return null;
+		}
+		try {
+			File jarFile = ResourceUtils.getFile(ResourceUtils.extractJarFileURL(url));
+			String hash = getContentHash(jarFile);
+			if (hash == null) {
+				return null;
+			}
+			String path = externalForm.substring(separatorIndex + ResourceUtils.JAR_URL_SEPARATOR.length());
+			return new ArchiveEntry(hash, path, getEntry(hash));
+		}
+		catch (IOException e) {
+			// no local jar file
+			return null;
+		}
+	}
+
+	private String getContentHash(File jarFile) {
+		if (!jarFile.isFile()) {
+			return null;
+		}
+		String path = jarFile.getAbsolutePath();
+		long length = jarFile.length();
+		long lastModified = jarFile.lastModified();
+
+		ArchiveFingerprint fingerprint = fingerprints.get(path);
+		if (fingerprint != null && fingerprint.length == length && fingerprint.lastModified == lastModified) {
+			return fingerprint.hash;
+		}
+
+		String hash = computeContentHash(jarFile);
+		if (hash != null) {
+			fingerprints.put(path, new ArchiveFingerprint(length, lastModified, hash));
+			fingerprintsDirty = true;
+		}
+		return hash;
+	}
+
+	private static String computeContentHash(File file) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			InputStream is = new FileInputStream(file);
+			try {
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = is.read(buffer)) != -1) {
+					digest.update(buffer, 0, read);
+				}
+			}
+			finally {
+				is.close();
+			}
+			StringBuilder hash = new StringBuilder();
+			for (byte b : digest.digest()) {
+				hash.append(String.format("%02x", b));
+			}
+			return hash.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			BeansCorePlugin.log(e);
+		}
+		catch (IOException e) {
+			BeansCorePlugin.logAsWarning(e);
+		}
+		return null;
+	}
+
+	private Properties getEntry(String hash) {
+		Properties entry = entries.get(hash);
+		if (entry == null) {
+			Properties loaded = new Properties();
+			File file = new File(directory, hash + INDEX_FILE_EXTENSION);
+			if (file.isFile()) {
+				try {
+					loaded = loadProperties(file);
+				}
+				catch (IOException e) {
+					// corrupt entry; will be scanned again
+					loaded = new Properties();
+				}
+			}
+			entry = entries.putIfAbsent(hash, loaded);
+			if (entry == null) {
+				entry = loaded;
+			}
+		}
+		return entry;
+	}
+
+	private void saveEntry(String hash, Properties entry) {
+		synchronized (entry) {
+			try {
+				storeProperties(new File(directory, hash + INDEX_FILE_EXTENSION), entry);
+			}
+			catch (IOException e) {
+				BeansCorePlugin.log(e);
+			}
+		}
+	}
+
+	private void loadFingerprints() {
+		File file = new File(directory, ARCHIVES_FILE);
+		if (!file.isFile()) {
+			return;
+		}
+		try {
+			Properties properties = loadProperties(file);
+			for (String path : properties.stringPropertyNames()) {
+				ArchiveFingerprint fingerprint = ArchiveFingerprint.parse(properties.getProperty(path));
+				if (fingerprint != null) {
+					fingerprints.put(path, fingerprint);
+				}
+			}
+		}
+		catch (IOException e) {
+			// fingerprints will be computed again
+		}
+	}
+
+	/**
+	 * Stores the content hashes of all known jar files.
+	 */
+	public void saveFingerprints() {
+		if (!fingerprintsDirty) {
+			return;
+		}
+		Properties properties = new Properties();
+		for (Map.Entry<String, ArchiveFingerprint> entry : fingerprints.entrySet()) {
+			if (new File(entry.getKey()).exists()) {
+				properties.setProperty(entry.getKey(), entry.getValue().toString());
+			}
+		}
+		try {
+			storeProperties(new File(directory, ARCHIVES_FILE), properties);
+			fingerprintsDirty = false;
+		}
+		catch (IOException e) {
+			BeansCorePlugin.log(e);
+		}
+	}
+
+	private static Properties loadProperties(File file) throws IOException {
+		Properties properties = new Properties();
+		InputStream is = new FileInputStream(file);
+		try {
+			properties.load(is);
+		}
+		finally {
+			is.close();
+		}
+		return properties;
+	}
+
+	private void storeProperties(File file, Properties properties) throws IOException {
+		directory.mkdirs();
+		// write to a temp file first so that concurrent readers never see a partially written file
+		File tmp = File.createTempFile(file.getName(), ".tmp", directory);
+		OutputStream os = new FileOutputStream(tmp);
+		try {
+			properties.store(os, null);
+		}
+		finally {
+			os.close();
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * A resource inside a jar file together with the index entry of that jar.
+	 */
+	private static class ArchiveEntry {
+
+		private final String hash;
+
+		private final String path;
+
+		private final Properties index;
+
+		public ArchiveEntry(String hash, String path, Properties index) {
+			this.hash = hash;
+			this.path = path;
+			this.index = index;
+		}
+	}
+
+	/**
+	 * Size, timestamp and content hash of a jar file.
+	 */
+	private static class ArchiveFingerprint {
+
+		private final long length;
+
+		private final long lastModified;
+
+		private final String hash;
+
+		public ArchiveFingerprint(long length, long lastModified, String hash) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.hash = hash;
+		}
+
+		public static ArchiveFingerprint parse(String value) {
+			String[] parts = value.split(":");
+			if (parts.length != 3) {
+				return null;
+			}
+			try {
+				return new ArchiveFingerprint(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]);
+			}
+			catch (NumberFormatException e) {
+				return null;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return length + ":" + lastModified + ":" + hash;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 Spring IDE Developers
+ * Copyright (c) 2011, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,18 +11,12 @@
 package org.springframework.ide.eclipse.beans.core.internal.model.namespaces;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IProject;
-import org.springframework.core.io.support.PropertiesLoaderUtils;
-import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
-import org.springframework.ide.eclipse.beans.core.ProjectAwareUrlStreamHandlerService;
 import org.springframework.ide.eclipse.beans.core.namespaces.NamespaceUtils;
 import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.util.CollectionUtils;
@@ -108,7 +102,8 @@ public class ProjectClasspathUriResolver {
 					typeUri.put(key, resolvedPath);
 
 					// collect base information to later extract the default uri
-					String namespaceUri = getTargetNamespace(resolvedPath);
+					String namespaceUri = getTargetNamespace(resolvedPath,
+							classLoader);
 
 					if (namespaceDefinitionRegistry.containsKey(namespaceUri)) {
 						namespaceDefinitionRegistry.get(namespaceUri)
@@ -147,22 +142,13 @@ public class ProjectClasspathUriResolver {
 	 * Returns the target namespace URI of the XSD identified by the given
 	 * <code>resolvedPath</code>.
 	 */
-	private String getTargetNamespace(String resolvedPath) {
+	private String getTargetNamespace(String resolvedPath,
+			ClassLoader classLoader) {
 		if (resolvedPath == null) {
 			return null;
 		}
-
-		try {
-			URL url = new URI(
-					ProjectAwareUrlStreamHandlerService.createProjectAwareUrl(
-							project.getName(), resolvedPath)).toURL();
-			return TargetNamespaceScanner.getTargetNamespace(url);
-		} catch (IOException e) {
-			BeansCorePlugin.log(e);
-		} catch (URISyntaxException e) {
-			BeansCorePlugin.log(e);
-		}
-		return null;
+		return ArchiveNamespaceIndex.getDefault().getTargetNamespace(
+				classLoader.getResource(resolvedPath));
 	}
 
 	/**
@@ -175,7 +161,8 @@ public class ProjectClasspathUriResolver {
 	private Map<String, String> getSchemaMappings(ClassLoader classLoader) {
 		Map<String, String> handlerMappings = new ConcurrentHashMap<String, String>();
 		try {
-			Properties mappings = PropertiesLoaderUtils
+			Properties mappings = ArchiveNamespaceIndex
+					.getDefault()
 					.loadAllProperties(
 							ProjectClasspathNamespaceDefinitionResolver.DEFAULT_SCHEMA_MAPPINGS_LOCATION,
 							classLoader);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2009 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
 package org.springframework.ide.eclipse.beans.ui.editor.util;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -62,4 +63,55 @@ public class BeansCompletionUtils {
 		}
 	}
 
+	/**
+	 * Adds proposals for the beans declared in the document of the given
+	 * context. Reads the XML document, so it has to be called from the thread
+	 * editing the document.
+	 * @return the names of the beans declared in the document
+	 * @since 3.9.3
+	 */
+	public static Set<String> addDocumentBeanReferenceProposals(IContentAssistContext context,
+			IContentAssistProposalRecorder recorder) {
+		Set<String> beanNames = new HashSet<String>();
+		String prefix = context.getMatchString();
+		Document document = context.getDocument();
+
+		if (prefix == null) {
+			prefix = "";
+		}
+		if (document != null) {
+			BeanReferenceSearchRequestor requestor = new BeanReferenceSearchRequestor(recorder);
+			Map<String, Node> beanNodes = BeansEditorUtils.getReferenceableNodes(document, context.getFile());
+			for (Map.Entry<String, Node> node : beanNodes.entrySet()) {
+				requestor.acceptSearchMatch(node.getKey(), node.getValue(), context.getFile(), prefix);
+				beanNames.add(node.getKey());
+			}
+		}
+		return beanNames;
+	}
+
+	/**
+	 * Adds proposals for the beans visible to the file of the given context
+	 * through its config sets, leaving out the beans of that file that
+	 * {@link #addDocumentBeanReferenceProposals} found in the document. Only
+	 * uses the context's match string and file, and only reads the beans
+	 * model, so it may be called outside the UI thread.
+	 * @since 3.9.3
+	 */
+	public static void addModelBeanReferenceProposals(IContentAssistContext context,
+			IContentAssistProposalRecorder recorder, Set<String> documentBeanNames) {
+		String prefix = context.getMatchString();
+		IFile file = context.getFile();
+
+		if (prefix == null) {
+			prefix = "";
+		}
+		BeanReferenceSearchRequestor requestor = new BeanReferenceSearchRequestor(recorder);
+		for (IBean bean : BeansEditorUtils.getBeansFromConfigSets(file)) {
+			if (!file.equals(bean.getElementResource()) || !documentBeanNames.contains(bean.getElementName())) {
+				requestor.acceptSearchMatch(bean, file, prefix);
+			}
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -168,7 +168,64 @@ public class BeansJavaCompletionUtils {
 			return;
 		}
 
-		IFile file = context.getFile();
+		ITypeHierarchy hierarchy = getTypeHierarchy(context.getFile(), typeName, new NullProgressMonitor());
+		if (hierarchy != null) {
+			addTypeHierachyAttributeValueProposals(context, recorder, hierarchy, flags);
+		}
+	}
+
+	/**
+	 * Add class assist proposals that match the given <code>prefix</code> and are sub types of the root type of the
+	 * given <code>hierarchy</code>. Lets callers reuse a hierarchy for several prefixes.
+	 * @param hierarchy the hierarchy as returned by {@link #getTypeHierarchy(IFile, String, IProgressMonitor)}
+	 * @since 3.9.3
+	 */
+	public static void addTypeHierachyAttributeValueProposals(IContentAssistContext context,
+			IContentAssistProposalRecorder recorder, ITypeHierarchy hierarchy, int flags) {
+		final String prefix = context.getMatchString();
+		if (prefix == null || prefix.length() == 0) {
+			return;
+		}
+
+		try {
+			IType[] types = hierarchy.getAllSubtypes(hierarchy.getType());
+			Map<String, IType> sortMap = new HashMap<String, IType>();
+			for (IType foundType : types) {
+				if ((foundType.getFullyQualifiedName().startsWith(prefix) || foundType.getElementName()
+						.startsWith(prefix))
+						&& !sortMap.containsKey(foundType.getFullyQualifiedName())
+						&& !Flags.isAbstract(foundType.getFlags())) {
+
+					boolean accepted = false;
+					if ((flags & BeansJavaCompletionUtils.FLAG_CLASS) != 0
+							&& !Flags.isInterface(foundType.getFlags())) {
+						accepted = true;
+					}
+					else if ((flags & BeansJavaCompletionUtils.FLAG_INTERFACE) != 0
+							&& Flags.isInterface(foundType.getFlags())) {
+						accepted = true;
+					}
+					if (accepted) {
+						recorder.recordProposal(JavaPluginImages.get(JavaPluginImages.IMG_OBJS_CLASS), 10,
+								foundType.getElementName() + " - "
+										+ foundType.getPackageFragment().getElementName(), foundType
+										.getFullyQualifiedName(), foundType);
+						sortMap.put(foundType.getFullyQualifiedName(), foundType);
+					}
+				}
+			}
+		}
+		catch (JavaModelException e) {
+		}
+	}
+
+	/**
+	 * Returns the type hierarchy of the given <code>typeName</code> in the project of the given <code>file</code>,
+	 * or <code>null</code> if the type can't be found or is filtered by JDT's type filter preferences.
+	 * @param monitor the monitor to report progress to and to cancel the computation with
+	 * @since 3.9.3
+	 */
+	public static ITypeHierarchy getTypeHierarchy(IFile file, String typeName, IProgressMonitor monitor) {
 		if (file != null && file.exists()) {
 			IType type = JdtUtils.getJavaType(file.getProject(), typeName);
 			try {
@@ -176,34 +233,7 @@ public class BeansJavaCompletionUtils {
 	
 					// Make sure that JDT's type filter preferences are applied
 					if (!TypeFilter.isFiltered(type)) {
-						ITypeHierarchy hierachy = type.newTypeHierarchy(JavaCore.create(file.getProject()),
-								new NullProgressMonitor());
-						IType[] types = hierachy.getAllSubtypes(type);
-						Map<String, IType> sortMap = new HashMap<String, IType>();
-						for (IType foundType : types) {
-							if ((foundType.getFullyQualifiedName().startsWith(prefix) || foundType.getElementName()
-									.startsWith(prefix))
-									&& !sortMap.containsKey(foundType.getFullyQualifiedName())
-									&& !Flags.isAbstract(foundType.getFlags())) {
-	
-								boolean accepted = false;
-								if ((flags & BeansJavaCompletionUtils.FLAG_CLASS) != 0
-										&& !Flags.isInterface(foundType.getFlags())) {
-									accepted = true;
-								}
-								else if ((flags & BeansJavaCompletionUtils.FLAG_INTERFACE) != 0
-										&& Flags.isInterface(foundType.getFlags())) {
-									accepted = true;
-								}
-								if (accepted) {
-									recorder.recordProposal(JavaPluginImages.get(JavaPluginImages.IMG_OBJS_CLASS), 10,
-											foundType.getElementName() + " - "
-													+ foundType.getPackageFragment().getElementName(), foundType
-													.getFullyQualifiedName(), foundType);
-									sortMap.put(foundType.getFullyQualifiedName(), foundType);
-								}
-							}
-						}
+						return type.newTypeHierarchy(JavaCore.create(file.getProject()), monitor);
 					}
 				}
 			}
@@ -212,6 +242,7 @@ public class BeansJavaCompletionUtils {
 			catch (CoreException e) {
 			}
 		}
+		return null;
 	}
 
 	@SuppressWarnings("deprecation")
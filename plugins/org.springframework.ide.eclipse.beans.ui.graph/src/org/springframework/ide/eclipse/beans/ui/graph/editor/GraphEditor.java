@@ -26,9 +26,11 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Preferences.IPropertyChangeListener;
 import org.eclipse.core.runtime.Preferences.PropertyChangeEvent;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.draw2d.ColorConstants;
@@ -59,6 +61,7 @@ import org.eclipse.gef.ui.parts.SelectionSynchronizer;
 import org.eclipse.gef.ui.properties.UndoablePropertySheetEntry;
 import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.dialogs.ErrorDialog;
+import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.dialogs.ProgressMonitorDialog;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.swt.SWT;
@@ -114,6 +117,8 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 
 	public static final String CONTEXT_MENU_ID = EDITOR_ID + ".contextmenu";
 
+	private static final String LAYOUT_ERROR_TITLE = "Graph.error.title";
+
 	private GraphOutlinePage outlinePage;
 
 	private DefaultEditDomain editDomain;
@@ -134,6 +139,11 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 
 	private volatile boolean isUpdating = false;
 
+	/** The graph currently shown in the viewer; used to retain positions of unchanged beans on refresh */
+	private volatile Graph currentGraph;
+
+	private Job layoutJob;
+
 	public GraphEditor() {
 		setEditDomain(new DefaultEditDomain(this));
 	}
@@ -248,13 +258,41 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 								schedule(2500);
 								return Status.OK_STATUS;
 							}
-							
-							
+
+							monitor.beginTask(getName(), 10);
 							final GraphEditorInput input = (GraphEditorInput) getEditorInput();
 							input.init();
 
 							final Graph graph = new Graph(input);
 							graph.init();
+							monitor.worked(1);
+
+							// Measuring the beans requires the viewer's font and has to happen in the UI thread
+							final boolean[] measured = new boolean[1];
+							Display.getDefault().syncExec(new Runnable() {
+
+								public void run() {
+									if (getGraphicalViewer() != null && getGraphicalViewer().getControl() != null
+											&& !getGraphicalViewer().getControl().isDisposed()) {
+										graph.measure(getGraphicalViewer().getControl().getFont());
+										measured[0] = true;
+									}
+								}
+							});
+							if (!measured[0] || monitor.isCanceled()) {
+								return Status.CANCEL_STATUS;
+							}
+							monitor.worked(1);
+
+							// The actual layout is calculated in this job; unchanged parts of the previously shown
+							// graph keep their positions
+							final boolean success;
+							try {
+								success = graph.layout(new SubProgressMonitor(monitor, 8), currentGraph);
+							}
+							catch (OperationCanceledException e) {
+								return Status.CANCEL_STATUS;
+							}
 
 							Display.getDefault().asyncExec(new Runnable() {
 
@@ -263,7 +301,15 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 										setPartName(input.getName());
 										setContentDescription(input.getToolTipText());
 
-										graph.layout(getGraphicalViewer().getControl().getFont());
+										if (success) {
+											currentGraph = graph;
+										}
+										else {
+											currentGraph = null;
+											MessageDialog.openError(getSite().getShell(),
+													BeansGraphPlugin.getResourceString(LAYOUT_ERROR_TITLE),
+													graph.getLayoutError());
+										}
 										getGraphicalViewer().setContents(graph);
 									}
 								}
@@ -272,6 +318,7 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 						return Status.OK_STATUS;
 					}
 					finally {
+						monitor.done();
 						// reset global boolean value
 						isUpdating = false;
 					}
@@ -283,6 +330,7 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 			// set global boolean
 			isUpdating = true;
 
+			layoutJob = job;
 			job.schedule();
 		}
 	}
@@ -422,6 +470,9 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 	 */
 	@Override
 	public void dispose() {
+		if (layoutJob != null) {
+			layoutJob.cancel();
+		}
 		getSite().getWorkbenchWindow().getSelectionService().removeSelectionListener(this);
 		getEditDomain().setActiveTool(null);
 		getActionRegistry().dispose();
@@ -12,6 +12,7 @@ package org.springframework.ide.eclipse.beans.ui.graph.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -25,6 +26,9 @@ import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Insets;
@@ -33,6 +37,7 @@ import org.eclipse.draw2d.graph.DirectedGraphLayout;
 import org.eclipse.draw2d.graph.Edge;
 import org.eclipse.draw2d.graph.EdgeList;
 import org.eclipse.draw2d.graph.Node;
+import org.eclipse.draw2d.graph.NodeList;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.graphics.Font;
 import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
@@ -50,10 +55,12 @@ import org.springframework.ide.eclipse.beans.ui.graph.editor.GraphEditorInput;
 import org.springframework.ide.eclipse.beans.ui.graph.figures.BeanFigure;
 import org.springframework.ide.eclipse.core.SpringCoreUtils;
 import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * This class builds the graphical representation of the model data (given as {@link GraphEditorInput}) via GEF's
- * {@link DirectedGraphLayout}.
+ * {@link DirectedGraphLayout}. Beans are laid out in one cluster per config file.
  * @author Torsten Juergeleit
  * @author Christian Dupuis
  */
@@ -86,6 +93,10 @@ public class Graph implements IAdaptable {
 
 	private String contextId;
 
+	private Map<String, ClusterLayout> clusterLayouts;
+
+	private String layoutError;
+
 	public Graph() {
 		graph = new DirectedGraph();
 	}
@@ -134,10 +145,12 @@ public class Graph implements IAdaptable {
 		return graph.nodes;
 	}
 
-	@SuppressWarnings({ "unchecked", "deprecation" })
-	public void layout(Font font) {
-
-		// Iterate through all graph nodes (beans) to calculate label width
+	/**
+	 * Calculates the dimension of every graph node (bean) with a temporary bean figure. This has to be called from
+	 * the UI thread because the figures need the given font's metrics.
+	 */
+	@SuppressWarnings("unchecked")
+	public void measure(Font font) {
 		Iterator beans = graph.nodes.iterator();
 		while (beans.hasNext()) {
 			Bean bean = (Bean) beans.next();
@@ -150,84 +163,140 @@ public class Graph implements IAdaptable {
 			bean.height = size.height;
 			bean.preferredHeight = size.height;
 		}
+	}
 
-		// Remove all unreferenced single beans and connect all unreferenced
-		// subgraphs with a temporary root bean
-		Bean root = new Bean();
-		graph.nodes.add(root);
+	/**
+	 * Measures and lays out the graph synchronously. Any layout error is reported to the user.
+	 * @see #measure(Font)
+	 * @see #layout(IProgressMonitor, Graph)
+	 */
+	public void layout(Font font) {
+		measure(font);
+		if (!layout(new NullProgressMonitor(), null)) {
+			MessageDialog.openError(BeansGraphPlugin.getActiveWorkbenchWindow().getShell(),
+					BeansGraphPlugin.getResourceString(ERROR_TITLE), layoutError);
+		}
+	}
 
-		EdgeList rootEdges = new EdgeList();
+	/**
+	 * Calculates the position of all beans in the graph. The beans are grouped into one cluster per config file and
+	 * each cluster is laid out separately by GEF's {@link DirectedGraphLayout}. Clusters that are unchanged compared
+	 * to the given previous graph (same beans, same sizes and same references) keep their previous positions and are
+	 * not laid out again.
+	 * <p>
+	 * This method doesn't touch any UI resources and can therefore be called from a background job once
+	 * {@link #measure(Font)} has been called.
+	 * @param monitor the progress monitor used to report progress and to check for cancellation
+	 * @param previousGraph the graph previously shown for the same input; may be <code>null</code>
+	 * @return <code>false</code> if an error occurred during layouting; the error message is available via
+	 * {@link #getLayoutError()}
+	 * @throws OperationCanceledException if the given monitor is canceled
+	 */
+	@SuppressWarnings({ "unchecked", "deprecation" })
+	public boolean layout(IProgressMonitor monitor, Graph previousGraph) {
+		if (previousGraph != null && (!ObjectUtils.nullSafeEquals(elementId, previousGraph.elementId)
+				|| !ObjectUtils.nullSafeEquals(contextId, previousGraph.contextId))) {
+			previousGraph = null;
+		}
+
+		// Remove all unreferenced single beans; they are added to the bottom of the graph later on
 		List<Bean> orphanBeans = new ArrayList<Bean>();
-		beans = getBeans().iterator();
+		Map<String, List<Bean>> clusterBeans = new LinkedHashMap<String, List<Bean>>();
+		Iterator beans = getBeans().iterator();
 		while (beans.hasNext()) {
 			Bean bean = (Bean) beans.next();
 			if (bean.incoming.isEmpty() && bean.outgoing.isEmpty()) {
 				orphanBeans.add(bean);
-				graph.nodes.remove(bean);
 			}
 			else {
-				Reference reference = new Reference(BeanType.STANDARD, root, bean, false);
-				reference.weight = 0;
-				rootEdges.add(reference);
-				graph.edges.add(reference);
+				String key = getClusterKey(bean);
+				List<Bean> cluster = clusterBeans.get(key);
+				if (cluster == null) {
+					cluster = new ArrayList<Bean>();
+					clusterBeans.put(key, cluster);
+				}
+				cluster.add(bean);
 			}
 		}
 
-		// Calculate position of all beans in graph
-		try {
-			new DirectedGraphLayout().visit(graph);
-
-			// Re-invert edges inverted while breaking cycles; this only seems to be required on earlier GEF versions
-			if (!SpringCoreUtils.isEclipseSameOrNewer(3, 6)) {
-				for (int i = 0; i < graph.edges.size(); i++) {
-					Edge e = graph.edges.getEdge(i);
-					if (e.isFeedback()) {
-						e.invert();
-					}
+		// Detach all references between different clusters from their beans; otherwise the layout of a single
+		// cluster would walk into the beans of other clusters
+		Map<String, List<Edge>> clusterEdges = new HashMap<String, List<Edge>>();
+		List<Edge> crossClusterEdges = new ArrayList<Edge>();
+		Iterator edges = graph.edges.iterator();
+		while (edges.hasNext()) {
+			Edge edge = (Edge) edges.next();
+			String sourceKey = getClusterKey((Bean) edge.source);
+			if (sourceKey.equals(getClusterKey((Bean) edge.target))) {
+				List<Edge> cluster = clusterEdges.get(sourceKey);
+				if (cluster == null) {
+					cluster = new ArrayList<Edge>();
+					clusterEdges.put(sourceKey, cluster);
 				}
+				cluster.add(edge);
 			}
-
-			// Remove temporary root and root edges
-			for (int i = 0; i < rootEdges.size(); i++) {
-				Edge e = rootEdges.getEdge(i);
-				e.source.outgoing.remove(e);
-				e.target.incoming.remove(e);
-				graph.edges.remove(e);
+			else {
+				edge.source.outgoing.remove(edge);
+				edge.target.incoming.remove(edge);
+				edge.vNodes = null;
+				crossClusterEdges.add(edge);
 			}
-			graph.nodes.remove(root);
+		}
 
-			// Re-align nodes and edges' bend points topmost vertical position
-			int maxY = 0; // max height of graph
+		monitor.beginTask("Laying out beans graph", clusterBeans.size() + 1);
+		try {
+			clusterLayouts = new HashMap<String, ClusterLayout>();
+			int clusterX = 0; // horizontal position of current cluster
 			int maxX = 0; // max width of graph
-			int ranks = graph.ranks.size();
-			if (ranks > 1) {
-				int deltaY = graph.ranks.getRank(1).getNode(0).y;
-				Iterator nodes = graph.nodes.iterator();
-				while (nodes.hasNext()) {
-					Bean node = (Bean) nodes.next();
-
-					// Move node vertically and update max height
-					node.y -= deltaY;
-					if ((node.y + node.height) > maxY) {
-						maxY = node.y + node.height;
-					}
+			int maxY = 0; // max height of graph
+			for (Map.Entry<String, List<Bean>> entry : clusterBeans.entrySet()) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				String key = entry.getKey();
+				monitor.subTask(key);
+				List<Edge> edgesOfCluster = clusterEdges.get(key);
+				if (edgesOfCluster == null) {
+					edgesOfCluster = new ArrayList<Edge>();
+				}
 
-					// Update max width
-					if ((node.x + node.width) > maxX) {
-						maxX = node.x + node.width;
-					}
+				// Re-use positions of unchanged clusters; lay out all the other ones
+				String signature = getClusterSignature(entry.getValue(), edgesOfCluster);
+				Dimension size = null;
+				if (previousGraph != null) {
+					size = previousGraph.copyClusterLayout(key, signature, entry.getValue(), edgesOfCluster);
 				}
-				Iterator edges = graph.edges.iterator();
-				while (edges.hasNext()) {
-					Edge edge = (Edge) edges.next();
+				if (size == null) {
+					size = layoutCluster(entry.getValue(), edgesOfCluster);
+				}
+
+				// Move cluster to its final position
+				if (clusterX > 0) {
+					clusterX += DEFAULT_PADDING.getWidth() * 2;
+				}
+				for (Bean bean : entry.getValue()) {
+					bean.x += clusterX;
+				}
+				for (Edge edge : edgesOfCluster) {
 					if (edge.vNodes != null) {
-						Iterator points = edge.vNodes.iterator();
-						while (points.hasNext()) {
-							Node node = (Node) points.next();
-							node.y -= deltaY;
+						for (int i = 0; i < edge.vNodes.size(); i++) {
+							edge.vNodes.getNode(i).x += clusterX;
 						}
 					}
 				}
+				clusterLayouts.put(key, new ClusterLayout(signature, clusterX, size));
+				clusterX += size.width;
+				maxX = clusterX;
+				if (size.height > maxY) {
+					maxY = size.height;
+				}
+				monitor.worked(1);
+			}
+
+			// Re-attach the references between different clusters
+			for (Edge edge : crossClusterEdges) {
+				edge.source.outgoing.add(edge);
+				edge.target.incoming.add(edge);
 			}
 
 			// Re-add all unconnected beans to the bottom of the graph
@@ -240,6 +309,7 @@ public class Graph implements IAdaptable {
 				maxX = MAX_ORPHAN_ROW_WIDTH;
 			}
 			maxY = 0; // max height of all figures in current row
+			graph.nodes.removeAll(orphanBeans);
 			beans = orphanBeans.iterator();
 			while (beans.hasNext()) {
 				Bean bean = (Bean) beans.next();
@@ -260,18 +330,238 @@ public class Graph implements IAdaptable {
 				x += bean.width + DEFAULT_PADDING.getWidth();
 				graph.nodes.add(bean);
 			}
+			monitor.worked(1);
+			return true;
 		}
 		catch (RuntimeException e) {
+			if (e instanceof OperationCanceledException) {
+				throw e;
+			}
 
 			// If an error occured during layouting (graph contains cylces,
 			// graph not fully connected, ...) then clear graph, invalidate
-			// editor input (not saved when Eclipse is closed) and display an
-			// error message
+			// editor input (not saved when Eclipse is closed) and remember
+			// the error message
 			graph = new DirectedGraph();
+			clusterLayouts = null;
 			input.setHasError(true);
-			MessageDialog.openError(BeansGraphPlugin.getActiveWorkbenchWindow().getShell(),
-					BeansGraphPlugin.getResourceString(ERROR_TITLE), e.getMessage());
+			layoutError = e.getMessage();
+			return false;
+		}
+		finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Returns the message of the error occurred during the last call of {@link #layout(IProgressMonitor, Graph)}.
+	 */
+	public String getLayoutError() {
+		return layoutError;
+	}
+
+	/**
+	 * Lays out the given beans and references of a single cluster with GEF's {@link DirectedGraphLayout}. The
+	 * resulting positions are relative to the cluster's upper left corner.
+	 * @return the size of the cluster
+	 */
+	@SuppressWarnings({ "unchecked", "deprecation" })
+	private Dimension layoutCluster(List<Bean> clusterBeans, List<Edge> clusterEdges) {
+		DirectedGraph clusterGraph = new DirectedGraph();
+		for (Bean bean : clusterBeans) {
+			clusterGraph.nodes.add(bean);
+		}
+		for (Edge edge : clusterEdges) {
+			edge.vNodes = null;
+			clusterGraph.edges.add(edge);
+		}
+
+		// Connect all unreferenced subgraphs with a temporary root bean
+		Bean root = new Bean();
+		clusterGraph.nodes.add(root);
+		EdgeList rootEdges = new EdgeList();
+		for (Bean bean : clusterBeans) {
+			Reference reference = new Reference(BeanType.STANDARD, root, bean, false);
+			reference.weight = 0;
+			rootEdges.add(reference);
+			clusterGraph.edges.add(reference);
+		}
+
+		// Calculate position of all beans in cluster
+		new DirectedGraphLayout().visit(clusterGraph);
+
+		// Re-invert edges inverted while breaking cycles; this only seems to be required on earlier GEF versions
+		if (!SpringCoreUtils.isEclipseSameOrNewer(3, 6)) {
+			for (int i = 0; i < clusterGraph.edges.size(); i++) {
+				Edge e = clusterGraph.edges.getEdge(i);
+				if (e.isFeedback()) {
+					e.invert();
+				}
+			}
+		}
+
+		// Remove temporary root and root edges
+		for (int i = 0; i < rootEdges.size(); i++) {
+			Edge e = rootEdges.getEdge(i);
+			e.source.outgoing.remove(e);
+			e.target.incoming.remove(e);
+		}
+
+		// Re-align nodes and edges' bend points topmost vertical position
+		int deltaY = 0;
+		if (clusterGraph.ranks.size() > 1) {
+			deltaY = clusterGraph.ranks.getRank(1).getNode(0).y;
+		}
+		int minX = Integer.MAX_VALUE;
+		for (Bean bean : clusterBeans) {
+			if (bean.x < minX) {
+				minX = bean.x;
+			}
+		}
+		int maxX = 0;
+		int maxY = 0;
+		for (Bean bean : clusterBeans) {
+			bean.x -= minX;
+			bean.y -= deltaY;
+			if ((bean.y + bean.height) > maxY) {
+				maxY = bean.y + bean.height;
+			}
+			if ((bean.x + bean.width) > maxX) {
+				maxX = bean.x + bean.width;
+			}
+		}
+		for (Edge edge : clusterEdges) {
+			if (edge instanceof Reference) {
+				((Reference) edge).setInverted(edge.isFeedback());
+			}
+			if (edge.vNodes != null) {
+				for (int i = 0; i < edge.vNodes.size(); i++) {
+					Node node = edge.vNodes.getNode(i);
+					node.x -= minX;
+					node.y -= deltaY;
+				}
+			}
+		}
+		return new Dimension(maxX, maxY);
+	}
+
+	/**
+	 * Copies the positions of the given cluster's beans and the bend points of its references from this (previously
+	 * laid out) graph if the cluster is unchanged. The copied positions are relative to the cluster's upper left
+	 * corner.
+	 * @return the size of the cluster or <code>null</code> if the cluster was changed
+	 */
+	private Dimension copyClusterLayout(String key, String signature, List<Bean> clusterBeans,
+			List<Edge> clusterEdges) {
+		ClusterLayout clusterLayout = (clusterLayouts != null ? clusterLayouts.get(key) : null);
+		if (clusterLayout == null || !clusterLayout.signature.equals(signature)) {
+			return null;
+		}
+		Map<Bean, Bean> previousBeans = new HashMap<Bean, Bean>();
+		for (Bean bean : clusterBeans) {
+			Bean previousBean = this.beans.get(bean.getBean().getElementName());
+			if (previousBean == null) {
+				return null;
+			}
+			previousBeans.put(bean, previousBean);
+		}
+		for (Map.Entry<Bean, Bean> entry : previousBeans.entrySet()) {
+			entry.getKey().x = entry.getValue().x - clusterLayout.x;
+			entry.getKey().y = entry.getValue().y;
+		}
+		Map<String, Edge> previousEdges = new HashMap<String, Edge>();
+		for (int i = 0; i < graph.edges.size(); i++) {
+			Edge edge = graph.edges.getEdge(i);
+			previousEdges.put(getEdgeKey(edge, previousEdges), edge);
+		}
+		Map<String, Edge> currentEdges = new HashMap<String, Edge>();
+		for (Edge edge : clusterEdges) {
+			String edgeKey = getEdgeKey(edge, currentEdges);
+			currentEdges.put(edgeKey, edge);
+			Edge previousEdge = previousEdges.get(edgeKey);
+			edge.vNodes = null;
+			if (previousEdge != null && previousEdge.vNodes != null) {
+				edge.vNodes = new NodeList();
+				for (int i = 0; i < previousEdge.vNodes.size(); i++) {
+					Node previousNode = previousEdge.vNodes.getNode(i);
+					Node node = new Node();
+					node.x = previousNode.x - clusterLayout.x;
+					node.y = previousNode.y;
+					node.width = previousNode.width;
+					node.height = previousNode.height;
+					edge.vNodes.add(node);
+				}
+			}
+			if (edge instanceof Reference && previousEdge instanceof Reference) {
+				((Reference) edge).setInverted(((Reference) previousEdge).isInverted());
+			}
+		}
+		return clusterLayout.size;
+	}
+
+	/**
+	 * Returns the key of the cluster the given bean belongs to. Beans are clustered by their config file.
+	 */
+	private String getClusterKey(Bean bean) {
+		IBean modelBean = bean.getBean();
+		if (modelBean != null) {
+			IBeansConfig config = BeansModelUtils.getConfig(modelBean);
+			if (config != null && config.getElementResource() != null) {
+				return config.getElementResource().getFullPath().toString();
+			}
+		}
+		return "";
+	}
+
+	/**
+	 * Returns a string identifying the content of a cluster, i.e. the names and sizes of its beans and the
+	 * references between them.
+	 */
+	private String getClusterSignature(List<Bean> clusterBeans, List<Edge> clusterEdges) {
+		List<String> parts = new ArrayList<String>();
+		for (Bean bean : clusterBeans) {
+			parts.add(bean.getBean().getElementName() + "[" + bean.width + "x" + bean.height + "]");
+		}
+		Map<String, Edge> edgeKeys = new HashMap<String, Edge>();
+		for (Edge edge : clusterEdges) {
+			String key = getEdgeKey(edge, edgeKeys);
+			edgeKeys.put(key, edge);
+			parts.add(key);
+		}
+		Collections.sort(parts);
+		return StringUtils.collectionToDelimitedString(parts, ",");
+	}
+
+	/**
+	 * Returns a key for the given edge which is unique within the given map of already known edge keys.
+	 */
+	private String getEdgeKey(Edge edge, Map<String, Edge> knownKeys) {
+		String key = ((Bean) edge.source).getName() + "->" + ((Bean) edge.target).getName();
+		if (edge instanceof Reference) {
+			key += ":" + ((Reference) edge).getType();
+		}
+		String uniqueKey = key;
+		for (int i = 1; knownKeys.containsKey(uniqueKey) && knownKeys.get(uniqueKey) != edge; i++) {
+			uniqueKey = key + "#" + i;
+		}
+		return uniqueKey;
+	}
+
+	/**
+	 * Position and size of a laid out cluster along with the signature of its content.
+	 */
+	private static class ClusterLayout {
+
+		private final String signature;
+
+		private final int x;
+
+		private final Dimension size;
 
+		public ClusterLayout(String signature, int x, Dimension size) {
+			this.signature = signature;
+			this.x = x;
+			this.size = size;
 		}
 	}
 
@@ -34,6 +34,8 @@ public class Reference extends Edge implements IAdaptable {
 	
 	private IResourceModelElement sourceLocation;
 
+	private boolean isInverted;
+
 	public Reference(BeanType type, Bean source, Bean target, boolean isInner) {
 		this(type, source, target, null, isInner);
 	}
@@ -73,6 +75,18 @@ public class Reference extends Edge implements IAdaptable {
 		return isInner;
 	}
 
+	/**
+	 * Returns <code>true</code> if this reference was inverted while breaking cycles during layout. In contrast to
+	 * {@link #isFeedback()} this flag is retained if the layout of this reference is copied from a previous graph.
+	 */
+	public boolean isInverted() {
+		return isInverted;
+	}
+
+	public void setInverted(boolean isInverted) {
+		this.isInverted = isInverted;
+	}
+
 	/**
 	 * Returns the associated beans model element.
 	 */
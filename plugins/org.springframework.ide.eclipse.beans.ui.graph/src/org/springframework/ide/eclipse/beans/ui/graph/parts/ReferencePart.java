@@ -107,7 +107,7 @@ public class ReferencePart extends AbstractConnectionEditPart {
 				Node node = nodes.getNode(i);
 
 				// Check if edge was inverted (due to broken cycle)
-				if (edge.isFeedback()) {
+				if (edge.isFeedback() || (edge instanceof Reference && ((Reference) edge).isInverted())) {
 					bends.add(new AbsoluteBendpoint(node.x
 							+ GraphPart.MARGIN_SIZE, node.y
 							+ GraphPart.MARGIN_SIZE + node.height));
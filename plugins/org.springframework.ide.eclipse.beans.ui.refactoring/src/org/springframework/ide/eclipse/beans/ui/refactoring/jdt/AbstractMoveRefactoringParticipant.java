@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2010 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.refactoring.jdt;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -19,6 +20,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
@@ -30,6 +32,7 @@ import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
 import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
 import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+import org.springframework.ide.eclipse.beans.ui.refactoring.util.BeansConfigReferenceIndex;
 
 /**
  * Abstract class for implementing {@link MoveParticipant}
@@ -58,21 +61,30 @@ public abstract class AbstractMoveRefactoringParticipant extends MoveParticipant
 			return null;
 		}
 		Set<IResource> processedResources = new HashSet<IResource>();
+		BeansConfigReferenceIndex index = BeansConfigReferenceIndex.getDefault();
+		List<IJavaElement> affectedElements = new ArrayList<IJavaElement>();
+		for (Object element : elements) {
+			if (element instanceof IJavaElement) {
+				affectedElements.add((IJavaElement) element);
+			}
+		}
+		IJavaElement[] javaElements = affectedElements.toArray(new IJavaElement[affectedElements.size()]);
 
 		CompositeChange result = new CompositeChange(getName());
 		Set<IBeansProject> projects = BeansCorePlugin.getModel().getProjects();
 		for (IBeansProject beansProject : projects) {
 			Set<IBeansConfig> beansConfigs = beansProject.getConfigs();
 			for (IBeansConfig beansConfig : beansConfigs) {
-				if (!processedResources.contains(beansConfig.getElementResource())) {
-					addChange(result, beansConfig.getElementResource(), pm);
-					processedResources.add(beansConfig.getElementResource());
+				IResource resource = beansConfig.getElementResource();
+				// only open those config files that mention one of the affected elements
+				if (processedResources.add(resource) && index.isReferenced(resource, javaElements)) {
+					addChange(result, resource, pm);
 				}
 				for (IBeansImport import_ : beansConfig.getImports()) {
 					for (IBeansConfig config : import_.getImportedBeansConfigs()) {
-						if (!processedResources.contains(config.getElementResource())) {
-							addChange(result, config.getElementResource(), pm);
-							processedResources.add(config.getElementResource());
+						resource = config.getElementResource();
+						if (processedResources.add(resource) && index.isReferenced(resource, javaElements)) {
+							addChange(result, resource, pm);
 						}
 					}
 				}
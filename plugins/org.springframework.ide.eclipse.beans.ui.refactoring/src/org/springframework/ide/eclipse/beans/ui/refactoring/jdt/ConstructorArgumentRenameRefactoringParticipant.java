@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011 Spring IDE Developers
+ * Copyright (c) 2011, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -33,6 +33,7 @@ import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
 import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
 import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+import org.springframework.ide.eclipse.beans.ui.refactoring.util.BeansConfigReferenceIndex;
 import org.springframework.ide.eclipse.beans.ui.refactoring.util.BeansRefactoringChangeUtils;
 import org.springframework.ide.eclipse.core.SpringCoreUtils;
 
@@ -80,23 +81,24 @@ public class ConstructorArgumentRenameRefactoringParticipant extends RenameParti
 	@Override
 	public Change createChange(IProgressMonitor pm) throws CoreException, OperationCanceledException {
 		Set<IResource> processedResources = new HashSet<IResource>();
+		BeansConfigReferenceIndex index = BeansConfigReferenceIndex.getDefault();
+		IJavaElement[] affectedElements = new IJavaElement[] { refactoredVariable };
 
 		CompositeChange result = new CompositeChange(getName());
 		Set<IBeansProject> projects = BeansCorePlugin.getModel().getProjects();
 		for (IBeansProject beansProject : projects) {
 			Set<IBeansConfig> beansConfigs = beansProject.getConfigs();
 			for (IBeansConfig beansConfig : beansConfigs) {
-				if (!processedResources.contains(beansConfig.getElementResource())) {
-					addChange(result, beansConfig.getElementResource(), pm);
-					processedResources.add(beansConfig.getElementResource());
+				IResource resource = beansConfig.getElementResource();
+				// only open those config files that mention one of the affected elements
+				if (processedResources.add(resource) && index.isReferenced(resource, affectedElements)) {
+					addChange(result, resource, pm);
 				}
 				for (IBeansImport import_ : beansConfig.getImports()) {
-					for (IBeansConfig config : import_
-							.getImportedBeansConfigs()) {
-						if (!processedResources.contains(config
-								.getElementResource())) {
-							addChange(result, config.getElementResource(), pm);
-							processedResources.add(config.getElementResource());
+					for (IBeansConfig config : import_.getImportedBeansConfigs()) {
+						resource = config.getElementResource();
+						if (processedResources.add(resource) && index.isReferenced(resource, affectedElements)) {
+							addChange(result, resource, pm);
 						}
 					}
 				}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.refactoring.util;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.ILocalVariable;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.springframework.ide.eclipse.beans.ui.BeansUIPlugin;
+import org.springframework.util.StringUtils;
+
+/**
+ * Index of the names mentioned in Spring config files, used by the refactoring participants to select the config
+ * files that need to be opened and inspected for a given {@link IJavaElement}.
+ * <p>
+ * The index is built from a plain text scan of the file (no DOM model) and holds all qualified names (like class
+ * names) as well as their single segments (like property, method and argument names). Entries are cached and
+ * rebuilt once the modification stamp of the file changes.
+ * <p>
+ * The answers are conservative: a file reported as not referencing an element will not get any change from
+ * {@link BeansRefactoringChangeUtils}, whereas a file reported as referencing an element might still not contain
+ * an actual reference.
+ * @since 3.9.3
+ */
+public class BeansConfigReferenceIndex {
+
+	private static final BeansConfigReferenceIndex INSTANCE = new BeansConfigReferenceIndex();
+
+	private final Map<IFile, Entry> entries = new ConcurrentHashMap<IFile, Entry>();
+
+	public static BeansConfigReferenceIndex getDefault() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given <code>resource</code> might reference any of the given
+	 * <code>elements</code>. Also returns <code>true</code> if the existing resource can't be indexed.
+	 */
+	public boolean isReferenced(IResource resource, IJavaElement... elements) {
+		if (!(resource instanceof IFile) || !resource.exists()) {
+			if (resource instanceof IFile) {
+				entries.remove(resource);
+			}
+			return false;
+		}
+		Entry entry = getEntry((IFile) resource);
+		if (entry == null) {
+			return true;
+		}
+		for (IJavaElement element : elements) {
+			if (entry.references(element)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Drops all cached entries.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	private Entry getEntry(IFile file) {
+		long modificationStamp = file.getModificationStamp();
+		Entry entry = entries.get(file);
+		if (entry == null || entry.modificationStamp != modificationStamp) {
+			try {
+				entry = createEntry(file, modificationStamp);
+				entries.put(file, entry);
+			}
+			catch (CoreException e) {
+				BeansUIPlugin.log(e);
+				return null;
+			}
+			catch (IOException e) {
+				BeansUIPlugin.log(e);
+				return null;
+			}
+		}
+		return entry;
+	}
+
+	private static Entry createEntry(IFile file, long modificationStamp) throws CoreException, IOException {
+		Entry entry = new Entry(modificationStamp);
+		Reader reader = new InputStreamReader(file.getContents(), file.getCharset());
+		try {
+			StringBuilder token = new StringBuilder();
+			char[] buffer = new char[8192];
+			int read;
+			while ((read = reader.read(buffer)) != -1) {
+				for (int i = 0; i < read; i++) {
+					char c = buffer[i];
+					if (Character.isJavaIdentifierPart(c) || c == '.') {
+						token.append(c);
+					}
+					else if (token.length() > 0) {
+						entry.add(token.toString());
+						token.setLength(0);
+					}
+				}
+			}
+			if (token.length() > 0) {
+				entry.add(token.toString());
+			}
+		}
+		finally {
+			reader.close();
+		}
+		return entry;
+	}
+
+	/**
+	 * Names mentioned in a single file.
+	 */
+	private static class Entry {
+
+		private final long modificationStamp;
+
+		/** All names as they appear in the file, sorted to allow prefix lookups */
+		private final NavigableSet<String> qualifiedNames = new TreeSet<String>();
+
+		/** Single segments of all names */
+		private final Set<String> names = new HashSet<String>();
+
+		public Entry(long modificationStamp) {
+			this.modificationStamp = modificationStamp;
+		}
+
+		public void add(String token) {
+			qualifiedNames.add(token);
+			if (token.indexOf('.') >= 0) {
+				for (String segment : StringUtils.tokenizeToStringArray(token, ".")) {
+					names.add(segment);
+				}
+			}
+			else {
+				names.add(token);
+			}
+		}
+
+		public boolean references(IJavaElement element) {
+			if (element instanceof IType) {
+				String className = ((IType) element).getFullyQualifiedName('$');
+				return qualifiedNames.contains(className) || hasQualifiedNameStartingWith(className + '$');
+			}
+			else if (element instanceof IPackageFragment) {
+				String packageName = element.getElementName();
+				return qualifiedNames.contains(packageName) || hasQualifiedNameStartingWith(packageName + '.');
+			}
+			else if (element instanceof IMethod) {
+				String methodName = element.getElementName();
+				if (methodName.startsWith("set")
+						&& names.contains(StringUtils.uncapitalize(methodName.substring(3)))) {
+					return true;
+				}
+				return names.contains(methodName);
+			}
+			else if (element instanceof ILocalVariable) {
+				return names.contains(element.getElementName());
+			}
+			// unknown element; can't rule anything out
+			return true;
+		}
+
+		private boolean hasQualifiedNameStartingWith(String prefix) {
+			String candidate = qualifiedNames.ceiling(prefix);
+			return candidate != null && candidate.startsWith(prefix);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2009 Spring IDE Developers
+ * Copyright (c) 2004, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -28,6 +28,7 @@ import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
+import org.springframework.ide.eclipse.beans.ui.dialogs.BeanNameIndex;
 import org.springframework.ide.eclipse.beans.ui.model.BeansModelLabelDecorator;
 import org.springframework.ide.eclipse.beans.ui.model.BeansModelLabelProvider;
 import org.springsource.ide.eclipse.commons.ui.ImageDescriptorRegistry;
@@ -109,6 +110,7 @@ public class BeansUIPlugin extends AbstractUIPlugin {
 			imageDescriptorRegistry.dispose();
 			imageDescriptorRegistry = null;
 		}
+		BeanNameIndex.disposeDefault();
 		// if (changeListener != null) {
 		// ResourcesPlugin.getWorkspace().removeResourceChangeListener(changeListener);
 		// }
@@ -124,6 +126,8 @@ public class BeansUIPlugin extends AbstractUIPlugin {
 		getPreferenceStore().setDefault(SHOULD_SHOW_INFRASTRUCTURE_BEANS_PREFERENCE_ID, false);
 		getPreferenceStore().setDefault(SHOULD_SHOW_INNER_BEANS_PREFERENCE_ID, true);
 		getPreferenceStore().setDefault(SHOULD_SHOW_EXTENDED_CONTENT_PREFERENCE_ID, false);
+		// Start indexing the beans for the Open Spring Bean dialog in the background
+		BeanNameIndex.getDefault();
 	}
 
 	public static ImageDescriptorRegistry getImageDescriptorRegistry() {
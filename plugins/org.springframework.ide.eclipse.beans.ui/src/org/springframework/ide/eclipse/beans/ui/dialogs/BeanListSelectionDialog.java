@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2010 Spring IDE Developers
+ * Copyright (c) 2006, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,24 +10,14 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.dialogs;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jface.dialogs.DialogSettings;
 import org.eclipse.jface.dialogs.IDialogSettings;
-import org.eclipse.jface.dialogs.ProgressMonitorDialog;
-import org.eclipse.jface.operation.IRunnableContext;
-import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.IOpenListener;
@@ -39,9 +29,6 @@ import org.eclipse.jface.viewers.OpenEvent;
 import org.eclipse.jface.viewers.SelectionChangedEvent;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TableViewer;
-import org.eclipse.jface.viewers.Viewer;
-import org.eclipse.jface.viewers.ViewerComparator;
-import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.CLabel;
 import org.eclipse.swt.custom.ViewForm;
@@ -60,106 +47,18 @@ import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.dialogs.SelectionStatusDialog;
-import org.eclipse.ui.internal.misc.StringMatcher;
-import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
-import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
 import org.springframework.ide.eclipse.beans.core.model.IBean;
-import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
 import org.springframework.ide.eclipse.beans.ui.BeansUIActivationHistory;
 import org.springframework.ide.eclipse.beans.ui.BeansUIPlugin;
 import org.springframework.ide.eclipse.beans.ui.model.BeansModelLabelProvider;
-import org.springframework.util.StringUtils;
 
 /**
- * Spring Bean selection dialog.
+ * Spring Bean selection dialog. The beans are looked up in the {@link BeanNameIndex}.
  * @author Christian Dupuis
  * @author Torsten Juergeleit
  */
-@SuppressWarnings("restriction")
 public class BeanListSelectionDialog extends SelectionStatusDialog {
 
-	/**
-	 * Implements a {@link ViewFilter} based on content typed in the filter field
-	 */
-	private static class BeanFilter extends ViewerFilter {
-
-		private StringMatcher matcher;
-
-		private boolean isUpperCasePattern;
-
-		private String filterText;
-
-		private List<IBean> beanActivationHistory;
-
-		protected BeanFilter(List<IBean> historyBeans) {
-			this.beanActivationHistory = historyBeans;
-		}
-
-		@Override
-		public boolean select(Viewer viewer, Object parentElement, Object element) {
-			if (matcher == null) {
-				return beanActivationHistory.contains(element);
-			}
-			if (element instanceof IBean) {
-				IBean bean = (IBean) element;
-				if (matcher.match(bean.getElementName())) {
-					return true;
-				}
-				if (matcher.match(bean.getClassName())) {
-					return true;
-				}
-				String[] aliases = bean.getAliases();
-				if (aliases != null) {
-					for (String alias : aliases) {
-						if (matcher.match(alias)) {
-							return true;
-						}
-					}
-				}
-				if (isUpperCasePattern) {
-					if (SearchPattern.camelCaseMatch(filterText, StringUtils.capitalize(bean.getElementName()))) {
-						return true;
-					}
-					String className = bean.getClassName();
-					if (className != null) {
-						int i = className.lastIndexOf('.');
-						if (i > 0 && i < className.length()) {
-							if (SearchPattern.camelCaseMatch(filterText, 0, filterText.length(), className, i + 1,
-									className.length())) {
-								return true;
-							}
-						}
-						else {
-							if (SearchPattern.camelCaseMatch(filterText, className)) {
-								return true;
-							}
-						}
-					}
-				}
-			}
-			return false;
-		}
-
-		public void setFilterText(String filterText) {
-			if (filterText.trim().equals("")) {
-				this.matcher = null;
-				this.isUpperCasePattern = false;
-				this.filterText = null;
-			}
-			else {
-				this.matcher = new StringMatcher(filterText + '*', true, false);
-				this.isUpperCasePattern = true;
-				for (char c : filterText.toCharArray()) {
-					if (Character.isLowerCase(c)) {
-						this.isUpperCasePattern = false;
-						break;
-					}
-				}
-				this.filterText = filterText;
-			}
-		}
-	}
-
 	private static final String DIALOG_SETTINGS = BeanListSelectionDialog.class.getName();
 
 	private static final String HEIGHT = "height";
@@ -182,6 +81,27 @@ public class BeanListSelectionDialog extends SelectionStatusDialog {
 
 	private TableViewer viewer;
 
+	private Text filterText;
+
+	private final BeanNameIndex index = BeanNameIndex.getDefault();
+
+	private List<IBean> historyBeans;
+
+	/** Shows the beans indexed in the background while the dialog is open */
+	private final Runnable indexListener = new Runnable() {
+
+		public void run() {
+			PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+
+				public void run() {
+					if (!filterText.isDisposed()) {
+						updateMatches(false);
+					}
+				}
+			});
+		}
+	};
+
 	public BeanListSelectionDialog(Shell parent) {
 		super(parent);
 		setTitle(BeansUIPlugin.getResourceString("BeanListSelectionDialog.title"));
@@ -201,6 +121,7 @@ public class BeanListSelectionDialog extends SelectionStatusDialog {
 
 	@Override
 	public boolean close() {
+		index.removeUpdateListener(indexListener);
 		writeSettings();
 		return super.close();
 	}
@@ -217,7 +138,7 @@ public class BeanListSelectionDialog extends SelectionStatusDialog {
 
 		Label message = new Label(area, SWT.NONE);
 		message.setText(BeansUIPlugin.getResourceString("BeanListSelectionDialog.message"));
-		final Text filterText = new Text(area, SWT.SINGLE | SWT.BORDER);
+		filterText = new Text(area, SWT.SINGLE | SWT.BORDER);
 		filterText.setLayoutData(new GridData(SWT.FILL, SWT.DEFAULT, true, false));
 
 		Label matches = new Label(area, SWT.NONE);
@@ -236,77 +157,12 @@ public class BeanListSelectionDialog extends SelectionStatusDialog {
 		viewer.setLabelProvider(labelProvider);
 		viewer.setContentProvider(new ArrayContentProvider());
 
-		final Set<IBean> beanList = new LinkedHashSet<IBean>();
-		final List<IBean> historyList = new ArrayList<IBean>();
-		final List<IBean> historyBeans = new ArrayList<IBean>();
-		IRunnableWithProgress runnable = new IRunnableWithProgress() {
-			public void run(final IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
-				try {
-
-					historyBeans.addAll(BeansUIActivationHistory.getBeanActivationHistory());
-					Collections.reverse(historyBeans);
-					historyList.addAll(historyBeans);
+		historyBeans = new ArrayList<IBean>(BeansUIActivationHistory.getBeanActivationHistory());
+		Collections.reverse(historyBeans);
 
-					Set<IBean> beans = new HashSet<IBean>();
-					IBeansModel beansModel = BeansCorePlugin.getModel();
-					beans.addAll(BeansModelUtils.getBeans(beansModel, monitor));
+		viewer.setInput(index.search("", historyBeans));
+		index.addUpdateListener(indexListener);
 
-					beanList.addAll(historyBeans);
-					beanList.addAll(beans);
-				}
-				catch (OperationCanceledException e) {
-					throw new InterruptedException();
-				}
-			}
-		};
-
-		try {
-			IRunnableContext context = new ProgressMonitorDialog(getShell());
-			context.run(true, true, runnable);
-		}
-		catch (InvocationTargetException e) {
-		}
-		catch (InterruptedException e) {
-		}
-
-		viewer.setInput(beanList);
-
-		final BeanListSelectionDialog.BeanFilter filter = new BeanListSelectionDialog.BeanFilter(historyBeans);
-		viewer.addFilter(filter);
-		viewer.setComparator(new ViewerComparator() {
-
-			@Override
-			public int compare(Viewer viewer, Object e1, Object e2) {
-				IBean t1 = getCorrespondingTask(e1);
-				IBean t2 = getCorrespondingTask(e2);
-				boolean isInHistory1 = historyList.contains(t1);
-				boolean isInHistory2 = historyList.contains(t2);
-
-				// Being on task history takes precedence...
-				if (isInHistory1 && !isInHistory2) {
-					return -1;
-				}
-				if (!isInHistory1 && isInHistory2) {
-					return 1;
-				}
-
-				// Both are in task history; who is more recent?
-				if (isInHistory1 && isInHistory2) {
-					return historyList.indexOf(t1) - historyList.indexOf(t2);
-				}
-
-				// Both are not in task history; sort by summary...
-				return labelProvider.getText(e1).compareTo(labelProvider.getText(e2));
-			}
-
-			private IBean getCorrespondingTask(Object o) {
-				if (o instanceof IBean) {
-					return (IBean) o;
-				}
-				return null;
-			}
-
-		});
 		viewer.addSelectionChangedListener(new ISelectionChangedListener() {
 
 			public void selectionChanged(SelectionChangedEvent event) {
@@ -337,12 +193,7 @@ public class BeanListSelectionDialog extends SelectionStatusDialog {
 		filterText.addModifyListener(new ModifyListener() {
 
 			public void modifyText(ModifyEvent e) {
-				filter.setFilterText(filterText.getText());
-				viewer.refresh(false);
-				Object first = viewer.getElementAt(0);
-				if (first != null) {
-					viewer.setSelection(new StructuredSelection(first));
-				}
+				updateMatches(true);
 			}
 
 		});
@@ -402,6 +253,22 @@ public class BeanListSelectionDialog extends SelectionStatusDialog {
 		return result;
 	}
 
+	/**
+	 * Shows the indexed beans matching the filter text. The first match is selected if asked for or
+	 * if nothing is selected yet.
+	 */
+	private void updateMatches(boolean selectFirst) {
+		ISelection selection = viewer.getSelection();
+		viewer.setInput(index.search(filterText.getText(), historyBeans));
+		Object first = viewer.getElementAt(0);
+		if (!selectFirst && !selection.isEmpty()) {
+			viewer.setSelection(selection);
+		}
+		else if (first != null) {
+			viewer.setSelection(new StructuredSelection(first));
+		}
+	}
+
 	/**
 	 * Handles a selection changed event:
 	 * <ol>
@@ -0,0 +1,550 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.dialogs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.ui.internal.misc.StringMatcher;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.BeansCoreUtils;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
+import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+import org.springframework.ide.eclipse.core.model.IModelDeltaListener;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.IModelElementVisitor;
+import org.springframework.ide.eclipse.core.model.ModelChangeDelta;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+import org.springframework.util.StringUtils;
+
+/**
+ * Index of the names, aliases and class names of all beans in the workspace, used by the
+ * {@link BeanListSelectionDialog}. The index is built in the background once the beans model is
+ * initialized. From then on it is kept current by re-indexing only the configs reported as changed
+ * by the beans model. While configs are re-indexed, searches see their previous beans.
+ * <p>
+ * Searching supports prefixes, camel case patterns (e.g. <code>MBS</code> for
+ * <code>myBeanService</code> or <code>MyBeanServiceImpl</code>) and <code>*</code> and
+ * <code>?</code> wildcards, like the Open Type dialog. Results are ranked by the quality of the
+ * match and then by recent use.
+ * @since 3.9.3
+ */
+@SuppressWarnings("restriction")
+public class BeanNameIndex {
+
+	private static final int EXACT_MATCH = 0;
+
+	private static final int PREFIX_MATCH = 1;
+
+	private static final int PREFIX_MATCH_IGNORE_CASE = 2;
+
+	private static final int CAMEL_CASE_MATCH = 3;
+
+	private static final int PATTERN_MATCH = 4;
+
+	/** Added to the rank of matches of the class name, so that matching names come first */
+	private static final int CLASS_NAME_MATCH = 5;
+
+	private static final int NO_MATCH = Integer.MAX_VALUE;
+
+	private static BeanNameIndex instance;
+
+	private final IBeansModel model;
+
+	private final IModelDeltaListener listener;
+
+	/** The indexed beans by config */
+	private final Map<IBeansConfig, List<Entry>> entries = new ConcurrentHashMap<IBeansConfig, List<Entry>>();
+
+	/** Serializes updating the index, while reading it is never blocked */
+	private final Object updateLock = new Object();
+
+	private final List<Runnable> updateListeners = new CopyOnWriteArrayList<Runnable>();
+
+	private volatile boolean disposed = false;
+
+	// The following are guarded by this index
+
+	private boolean initialized = false;
+
+	/** Set if all projects have to be indexed again */
+	private boolean rebuild = true;
+
+	private final Set<IBeansProject> staleProjects = new LinkedHashSet<IBeansProject>();
+
+	private final Set<IBeansConfig> staleConfigs = new LinkedHashSet<IBeansConfig>();
+
+	private final Job updateJob = new Job("Indexing Spring bean names") {
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				update(monitor);
+			}
+			catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	/** Schedules the first build after the beans model initialization job has run */
+	private final Job buildJob = new Job("Indexing Spring bean names") {
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			updateJob.schedule();
+			return Status.OK_STATUS;
+		}
+	};
+
+	/**
+	 * Returns the index of the beans in the workspace. The index is built in the background when
+	 * it is first requested.
+	 */
+	public static synchronized BeanNameIndex getDefault() {
+		if (instance == null) {
+			instance = new BeanNameIndex(BeansCorePlugin.getModel());
+			instance.build();
+		}
+		return instance;
+	}
+
+	/**
+	 * Disposes the index of the beans in the workspace, if it was created.
+	 */
+	public static synchronized void disposeDefault() {
+		if (instance != null) {
+			instance.dispose();
+			instance = null;
+		}
+	}
+
+	/**
+	 * Creates an index of the beans in the given model. It is empty until it is updated.
+	 */
+	public BeanNameIndex(IBeansModel model) {
+		this.model = model;
+		this.listener = new IModelDeltaListener() {
+			public void modelChanged(ModelChangeDelta delta) {
+				BeanNameIndex.this.modelChanged(delta);
+			}
+		};
+		updateJob.setSystem(true);
+		updateJob.setPriority(Job.DECORATE);
+		buildJob.setSystem(true);
+		buildJob.setRule(BeansCoreUtils.BEANS_MODEL_INIT_RULE);
+		model.addDeltaListener(listener);
+	}
+
+	/**
+	 * Builds the index in the background, once the beans model is initialized.
+	 */
+	void build() {
+		buildJob.schedule();
+	}
+
+	public void dispose() {
+		disposed = true;
+		model.removeDeltaListener(listener);
+		buildJob.cancel();
+		updateJob.cancel();
+	}
+
+	/**
+	 * Returns <code>true</code> if the index was built. It may lag behind the latest changes of the
+	 * beans model while they are indexed in the background.
+	 */
+	public synchronized boolean isInitialized() {
+		return initialized;
+	}
+
+	private synchronized boolean isUpToDate() {
+		return !rebuild && staleProjects.isEmpty() && staleConfigs.isEmpty();
+	}
+
+	/**
+	 * Adds a listener that is called from the indexing job whenever an update of the index completed.
+	 */
+	public void addUpdateListener(Runnable listener) {
+		updateListeners.add(listener);
+	}
+
+	public void removeUpdateListener(Runnable listener) {
+		updateListeners.remove(listener);
+	}
+
+	/**
+	 * Brings the index up to date, reading the configs not indexed yet. If the index is still not up
+	 * to date afterwards, an update is scheduled in the background.
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public void update(IProgressMonitor monitor) {
+		synchronized (updateLock) {
+			Set<IBeansProject> projects;
+			Set<IBeansConfig> configs;
+			boolean rebuild;
+			synchronized (this) {
+				rebuild = this.rebuild;
+				if (rebuild) {
+					projects = model.getProjects();
+				}
+				else {
+					projects = new LinkedHashSet<IBeansProject>(staleProjects);
+				}
+				configs = new LinkedHashSet<IBeansConfig>(staleConfigs);
+				this.rebuild = false;
+				staleProjects.clear();
+				staleConfigs.clear();
+			}
+
+			SubMonitor progress = SubMonitor.convert(monitor, "Locating bean definitions",
+					projects.size() + configs.size());
+			boolean done = false;
+			try {
+				for (IBeansProject project : projects) {
+					progress.subTask("Locating bean definitions in project '" + project.getElementName() + "'");
+					Set<IBeansConfig> projectConfigs = project.getConfigs();
+					for (IBeansConfig config : new ArrayList<IBeansConfig>(entries.keySet())) {
+						if (project.equals(config.getElementParent()) && !projectConfigs.contains(config)) {
+							entries.remove(config);
+						}
+					}
+					for (IBeansConfig config : projectConfigs) {
+						index(config, progress);
+						configs.remove(config);
+					}
+					progress.worked(1);
+				}
+				for (IBeansConfig config : configs) {
+					index(config, progress);
+					progress.worked(1);
+				}
+				if (rebuild) {
+					// The configs of removed projects are only dropped now, so that searches
+					// during the rebuild still find the beans not indexed again yet
+					for (IBeansConfig config : new ArrayList<IBeansConfig>(entries.keySet())) {
+						if (!projects.contains(config.getElementParent())) {
+							entries.remove(config);
+						}
+					}
+				}
+				synchronized (this) {
+					initialized = true;
+				}
+				done = true;
+			}
+			finally {
+				if (!done) {
+					// Try again next time
+					synchronized (this) {
+						if (rebuild) {
+							this.rebuild = true;
+						}
+						else {
+							staleProjects.addAll(projects);
+							staleConfigs.addAll(configs);
+						}
+					}
+				}
+				if (monitor != null) {
+					monitor.done();
+				}
+				// Catch up with changes that arrived during the update, or were put back after
+				// it was canceled
+				if (!disposed && !isUpToDate()) {
+					updateJob.schedule(100);
+				}
+			}
+		}
+		for (Runnable updateListener : updateListeners) {
+			updateListener.run();
+		}
+	}
+
+	private void index(IBeansConfig config, final IProgressMonitor monitor) {
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		monitor.subTask("Locating bean defintions from file '" + config.getElementName() + "'");
+		final List<Entry> configEntries = new ArrayList<Entry>();
+		config.accept(new IModelElementVisitor() {
+
+			public boolean visit(IModelElement element, IProgressMonitor monitor) {
+				if (element instanceof IBean) {
+					configEntries.add(new Entry((IBean) element));
+				}
+				return !monitor.isCanceled();
+			}
+		}, new NullProgressMonitor());
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		// The config may have been removed in the meantime
+		IModelElement project = config.getElementParent();
+		if (project instanceof IBeansProject && ((IBeansProject) project).getConfigs().contains(config)) {
+			entries.put(config, configEntries);
+		}
+	}
+
+	/**
+	 * Returns the indexed beans matching the given pattern, best matches first. Of matches of the
+	 * same quality, the ones in the given history (most recent first) come first. An empty pattern
+	 * matches the beans in the history only.
+	 */
+	public List<IBean> search(String pattern, List<IBean> history) {
+		Map<IBean, Integer> recentUse = new HashMap<IBean, Integer>();
+		for (int i = 0; i < history.size(); i++) {
+			if (!recentUse.containsKey(history.get(i))) {
+				recentUse.put(history.get(i), i);
+			}
+		}
+		pattern = pattern.trim();
+		if (pattern.length() == 0) {
+			return new ArrayList<IBean>(new LinkedHashSet<IBean>(history));
+		}
+
+		Query query = new Query(pattern);
+		final Map<IBean, Integer> ranks = new HashMap<IBean, Integer>();
+		for (List<Entry> configEntries : entries.values()) {
+			for (Entry entry : configEntries) {
+				int rank = query.rank(entry);
+				if (rank != NO_MATCH) {
+					Integer previous = ranks.get(entry.bean);
+					if (previous == null || rank < previous) {
+						ranks.put(entry.bean, rank);
+					}
+				}
+			}
+		}
+		// Recently used beans may not have been indexed yet
+		for (IBean bean : recentUse.keySet()) {
+			if (!ranks.containsKey(bean)) {
+				int rank = query.rank(new Entry(bean));
+				if (rank != NO_MATCH) {
+					ranks.put(bean, rank);
+				}
+			}
+		}
+
+		List<IBean> result = new ArrayList<IBean>(ranks.keySet());
+		Collections.sort(result, new MatchComparator(ranks, recentUse));
+		return result;
+	}
+
+	private void modelChanged(ModelChangeDelta delta) {
+		boolean scheduleUpdate;
+		synchronized (this) {
+			if (!rebuild) {
+				if (delta.getKind() != ModelChangeEvent.Type.CHANGED
+						|| (delta.getFlags() & ModelChangeDelta.F_CONTENT) != 0) {
+					rebuild = true;
+				}
+				for (ModelChangeDelta projectDelta : delta.getAffectedChildren()) {
+					if (projectDelta.getElement() instanceof IBeansProject) {
+						projectChanged(projectDelta);
+					}
+				}
+			}
+			// Until the first build has completed, build() and update() take care of scheduling
+			scheduleUpdate = !isUpToDate() && (initialized || !rebuild);
+		}
+		if (scheduleUpdate) {
+			updateJob.schedule(100);
+		}
+	}
+
+	private void projectChanged(ModelChangeDelta projectDelta) {
+		IBeansProject project = (IBeansProject) projectDelta.getElement();
+		if (projectDelta.getKind() == ModelChangeEvent.Type.REMOVED) {
+			staleProjects.remove(project);
+			for (IBeansConfig config : new ArrayList<IBeansConfig>(entries.keySet())) {
+				if (project.equals(config.getElementParent())) {
+					entries.remove(config);
+					staleConfigs.remove(config);
+				}
+			}
+			return;
+		}
+		if (projectDelta.getKind() == ModelChangeEvent.Type.ADDED
+				|| (projectDelta.getFlags() & ModelChangeDelta.F_CONTENT) != 0) {
+			// Configs may have been added or removed
+			staleProjects.add(project);
+		}
+		for (ModelChangeDelta configDelta : projectDelta.getAffectedChildren()) {
+			if (configDelta.getElement() instanceof IBeansConfig) {
+				IBeansConfig config = (IBeansConfig) configDelta.getElement();
+				if (configDelta.getKind() == ModelChangeEvent.Type.REMOVED) {
+					entries.remove(config);
+					staleConfigs.remove(config);
+				}
+				else {
+					staleConfigs.add(config);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The names of a bean to match against.
+	 */
+	private static class Entry {
+
+		private final IBean bean;
+
+		private final String name;
+
+		private final String[] aliases;
+
+		private final String className;
+
+		private final String simpleClassName;
+
+		Entry(IBean bean) {
+			this.bean = bean;
+			this.name = bean.getElementName();
+			this.aliases = bean.getAliases();
+			this.className = bean.getClassName();
+			if (className != null) {
+				this.simpleClassName = className.substring(className.lastIndexOf('.') + 1);
+			}
+			else {
+				this.simpleClassName = null;
+			}
+		}
+	}
+
+	/**
+	 * A pattern typed into the dialog.
+	 */
+	private static class Query {
+
+		private final String pattern;
+
+		private final boolean isCamelCasePattern;
+
+		/** Only used for patterns with wildcards */
+		private final StringMatcher matcher;
+
+		Query(String pattern) {
+			this.pattern = pattern;
+			boolean upperCase = false;
+			for (char c : pattern.toCharArray()) {
+				if (Character.isUpperCase(c)) {
+					upperCase = true;
+					break;
+				}
+			}
+			this.isCamelCasePattern = upperCase;
+			if (pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0) {
+				this.matcher = new StringMatcher(pattern + '*', true, false);
+			}
+			else {
+				this.matcher = null;
+			}
+		}
+
+		int rank(Entry entry) {
+			int rank = rank(entry.name, true);
+			if (entry.aliases != null) {
+				for (String alias : entry.aliases) {
+					rank = Math.min(rank, rank(alias, true));
+				}
+			}
+			if (rank > EXACT_MATCH) {
+				int classRank = rank(entry.simpleClassName, false);
+				if (classRank == NO_MATCH && matcher != null && entry.className != null
+						&& matcher.match(entry.className)) {
+					classRank = PATTERN_MATCH;
+				}
+				if (classRank != NO_MATCH) {
+					rank = Math.min(rank, classRank + CLASS_NAME_MATCH);
+				}
+			}
+			return rank;
+		}
+
+		private int rank(String text, boolean isBeanName) {
+			if (text == null) {
+				return NO_MATCH;
+			}
+			if (matcher != null) {
+				return matcher.match(text) ? PATTERN_MATCH : NO_MATCH;
+			}
+			if (text.equals(pattern)) {
+				return EXACT_MATCH;
+			}
+			if (text.startsWith(pattern)) {
+				return PREFIX_MATCH;
+			}
+			if (text.regionMatches(true, 0, pattern, 0, pattern.length())) {
+				return PREFIX_MATCH_IGNORE_CASE;
+			}
+			if (isCamelCasePattern
+					&& SearchPattern.camelCaseMatch(pattern, isBeanName ? StringUtils.capitalize(text) : text)) {
+				return CAMEL_CASE_MATCH;
+			}
+			return NO_MATCH;
+		}
+	}
+
+	/**
+	 * Orders beans by rank, then by recent use and then by name.
+	 */
+	private static class MatchComparator implements Comparator<IBean> {
+
+		private final Map<IBean, Integer> ranks;
+
+		private final Map<IBean, Integer> recentUse;
+
+		MatchComparator(Map<IBean, Integer> ranks, Map<IBean, Integer> recentUse) {
+			this.ranks = ranks;
+			this.recentUse = recentUse;
+		}
+
+		public int compare(IBean bean1, IBean bean2) {
+			int result = ranks.get(bean1).compareTo(ranks.get(bean2));
+			if (result != 0) {
+				return result;
+			}
+			Integer recent1 = recentUse.get(bean1);
+			Integer recent2 = recentUse.get(bean2);
+			if (recent1 != null || recent2 != null) {
+				if (recent1 == null) {
+					return 1;
+				}
+				if (recent2 == null) {
+					return -1;
+				}
+				return recent1.compareTo(recent2);
+			}
+			return String.CASE_INSENSITIVE_ORDER.compare(bean1.getElementName(), bean2.getElementName());
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 Spring IDE Developers
+ * Copyright (c) 2006, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -31,7 +31,6 @@ import org.springframework.ide.eclipse.beans.core.model.IBeansComponent;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
 import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
-import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
 import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
 import org.springframework.ide.eclipse.beans.core.model.IImportedBeansConfig;
 import org.springframework.ide.eclipse.beans.ui.model.metadata.BeanMetadataNode;
@@ -49,6 +48,10 @@ import org.springframework.ide.eclipse.core.model.ModelChangeEvent.Type;
 
 /**
  * This class is a content provider which knows about the beans core model's {@link IModelElementelements}.
+ * <p>
+ * Refreshes requested outside of the UI thread are collected and applied together in the UI
+ * thread, so that loading many elements in the background doesn't refresh the viewer once per
+ * element.
  * 
  * @author Torsten Juergeleit
  * @author Christian Dupuis
@@ -63,6 +66,9 @@ public class BeansModelContentProvider implements ITreeContentProvider, ITreePat
 
 	private TreeViewer viewer;
 
+	/** The elements to refresh with the next batch, guarded by itself */
+	private final Set<Object> pendingRefreshes = new LinkedHashSet<Object>();
+
 	public BeansModelContentProvider() {
 		this(true);
 	}
@@ -318,26 +324,55 @@ public class BeansModelContentProvider implements ITreeContentProvider, ITreePat
 				refreshRetainingExpansion(element);
 			}
 			else {
-				ctrl.getDisplay().asyncExec(new Runnable() {
-					public void run() {
-						// Abort if this happens after disposes
-						Control ctrl = viewer.getControl();
-						if (ctrl == null || ctrl.isDisposed()) {
-							return;
+				boolean schedule;
+				synchronized (pendingRefreshes) {
+					schedule = pendingRefreshes.isEmpty();
+					pendingRefreshes.add(element);
+				}
+				if (schedule) {
+					ctrl.getDisplay().asyncExec(new Runnable() {
+						public void run() {
+							refreshPendingElements();
 						}
+					});
+				}
+			}
+		}
+	}
 
-						// If the model changed then refresh the whole viewer
-						if (element instanceof IBeansModel) {
-							refreshRetainingExpansion(element);
-						}
-						else {
-							refreshRetainingExpansion(element);
-						}
-					}
+	private void refreshPendingElements() {
+		Object[] elements;
+		synchronized (pendingRefreshes) {
+			elements = pendingRefreshes.toArray();
+			pendingRefreshes.clear();
+		}
+
+		// Abort if this happens after disposes
+		Control ctrl = (viewer != null ? viewer.getControl() : null);
+		if (ctrl == null || ctrl.isDisposed() || elements.length == 0) {
+			return;
+		}
 
-				});
+		Object[] expandedElements = viewer.getExpandedElements();
+		ctrl.setRedraw(false);
+		try {
+			for (Object element : elements) {
+				viewer.refresh(element);
 			}
+			viewer.setExpandedElements(expandedElements);
 		}
+		finally {
+			ctrl.setRedraw(true);
+		}
+		pendingElementsRefreshed();
+	}
+
+	/**
+	 * Called in the UI thread after a batch of refreshes requested outside of the UI thread has been
+	 * applied to the viewer.
+	 * @since 3.9.3
+	 */
+	protected void pendingElementsRefreshed() {
 	}
 
 	private void refreshRetainingExpansion(final Object element) {
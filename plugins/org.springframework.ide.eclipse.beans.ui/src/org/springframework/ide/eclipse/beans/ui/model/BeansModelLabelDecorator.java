@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2009 Spring IDE Developers
+ * Copyright (c) 2006, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,15 +10,24 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.model;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.IBaseLabelProvider;
@@ -43,18 +52,25 @@ import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
 import org.springframework.ide.eclipse.beans.ui.BeansUIImages;
 import org.springframework.ide.eclipse.beans.ui.BeansUIPlugin;
 import org.springframework.ide.eclipse.core.MarkerUtils;
+import org.springframework.ide.eclipse.core.SpringCore;
 import org.springframework.ide.eclipse.core.io.ZipEntryStorage;
+import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.ide.eclipse.core.model.ILazyInitializedModelElement;
-import org.springframework.ide.eclipse.core.model.IModelChangeListener;
+import org.springframework.ide.eclipse.core.model.IModelDeltaListener;
 import org.springframework.ide.eclipse.core.model.IResourceModelElement;
 import org.springframework.ide.eclipse.core.model.ISourceModelElement;
+import org.springframework.ide.eclipse.core.model.ISpringProject;
+import org.springframework.ide.eclipse.core.model.ModelChangeDelta;
 import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
 import org.springframework.ide.eclipse.ui.SpringLabelDecorator;
 
 /**
  * This decorator adds an overlay image to all Spring beans config files and their corresponding folders and bean
  * classes (Java source and class files). This decoration is refreshed on every modification to the Spring Beans model.
- * Therefore the decorator adds a {@link IModelChangeListener change listener} to the beans model.
+ * Therefore the decorator adds a {@link IModelDeltaListener delta listener} to the beans model.
+ * <p>
+ * What to decorate is kept per project in {@link BeansProjectDecorations}, which are recomputed on model changes. A
+ * model change only refreshes the decorations of the elements whose decoration may actually have changed.
  * @author Torsten Juergeleit
  * @author Christian Dupuis
  */
@@ -74,6 +90,7 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 	}
 
 	private void internalUpdate() {
+		decorations.clear();
 		Display.getDefault().asyncExec(new Runnable() {
 			public void run() {
 
@@ -88,18 +105,189 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 		});
 	}
 
-	private IModelChangeListener listener;
+	private void internalUpdate(ModelChangeDelta projectDelta) {
+		IBeansProject beansProject = (IBeansProject) projectDelta.getElement();
+		IProject project = beansProject.getProject();
+		boolean projectChanged = projectDelta.getKind() != ModelChangeEvent.Type.CHANGED
+				|| (projectDelta.getFlags() & ModelChangeDelta.F_CONTENT) != 0;
+
+		// The changed configs and the project may have different error overlays
+		Set<Object> changed = new LinkedHashSet<Object>();
+		for (ModelChangeDelta configDelta : projectDelta.getAffectedChildren()) {
+			if (configDelta.getElement() instanceof IBeansConfig) {
+				addElements(configDelta, changed);
+				addResource(changed, ((IBeansConfig) configDelta.getElement()).getElementResource());
+			}
+		}
+		if (!projectChanged && changed.isEmpty()) {
+			return;
+		}
+		changed.add(beansProject);
+		changed.add(project);
+		ISpringProject springProject = SpringCore.getModel().getProject(project);
+		if (springProject != null) {
+			changed.add(springProject);
+		}
+
+		// Nothing of a project is shown decorated unless this decorator has used its decorations or skipped its
+		// elements while it was initializing. The exception are bean classes, which depend on all projects.
+		if (decorations.containsKey(project) || pendingProjects.contains(project) || !decorations.isEmpty()) {
+			BeansProjectDecorations oldDecorations;
+			BeansProjectDecorations newDecorations;
+			if (projectDelta.getKind() == ModelChangeEvent.Type.REMOVED || !isInitialized(beansProject)) {
+				newDecorations = BeansProjectDecorations.EMPTY;
+				oldDecorations = decorations.remove(project);
+			}
+			else {
+				newDecorations = BeansProjectDecorations.create(beansProject);
+				oldDecorations = decorations.put(project, newDecorations);
+				pendingProjects.remove(project);
+			}
+			if (oldDecorations == null) {
+				oldDecorations = BeansProjectDecorations.EMPTY;
+			}
+			addChanges(project, oldDecorations, newDecorations, projectChanged, changed);
+		}
+		fireDecorationsChanged(changed.toArray());
+	}
+
+	/**
+	 * Adds the element of the given delta and the elements of its affected children.
+	 */
+	private void addElements(ModelChangeDelta delta, Set<Object> changed) {
+		changed.add(delta.getElement());
+		for (ModelChangeDelta child : delta.getAffectedChildren()) {
+			addElements(child, changed);
+		}
+	}
+
+	/**
+	 * Adds the elements of the given project that are decorated differently according to the old and the new
+	 * decorations.
+	 */
+	private void addChanges(IProject project, BeansProjectDecorations oldDecorations,
+			BeansProjectDecorations newDecorations, boolean allConfigs, Set<Object> changed) {
+		for (String folder : BeansProjectDecorations.difference(oldDecorations.getConfigFolders(),
+				newDecorations.getConfigFolders())) {
+			changed.add(project.getFolder(new Path(folder)));
+		}
+		Set<IResource> configFiles;
+		if (allConfigs) {
+			// Error overlays of all configs may have changed
+			configFiles = new LinkedHashSet<IResource>(oldDecorations.getConfigFiles());
+			configFiles.addAll(newDecorations.getConfigFiles());
+		}
+		else {
+			configFiles = BeansProjectDecorations.difference(oldDecorations.getConfigFiles(),
+					newDecorations.getConfigFiles());
+		}
+		for (IResource configFile : configFiles) {
+			addResource(changed, configFile);
+		}
+		Set<String> beanClasses = BeansProjectDecorations.difference(oldDecorations.getBeanClasses(),
+				newDecorations.getBeanClasses());
+		IJavaProject javaProject = JdtUtils.getJavaProject(project);
+		if (javaProject != null) {
+			for (String beanClass : beanClasses) {
+				try {
+					IType type = javaProject.findType(beanClass.replace('$', '.'));
+					if (type != null) {
+						changed.add(type.isBinary() ? type.getClassFile() : type.getCompilationUnit());
+						if (type.getResource() != null) {
+							changed.add(type.getResource());
+						}
+					}
+				}
+				catch (JavaModelException e) {
+					// Ignore
+				}
+			}
+		}
+	}
+
+	private void addResource(Set<Object> changed, IResource resource) {
+		if (resource != null) {
+			changed.add(resource);
+			if (resource instanceof IFile) {
+				IJavaElement element = JavaCore.create(resource);
+				if (element instanceof IPackageFragmentRoot) {
+					changed.add(element);
+				}
+			}
+		}
+	}
+
+	private void fireDecorationsChanged(final Object[] elements) {
+		if (!PlatformUI.isWorkbenchRunning()) {
+			return;
+		}
+		Display.getDefault().asyncExec(new Runnable() {
+			public void run() {
+
+				IBaseLabelProvider provider = PlatformUI.getWorkbench().getDecoratorManager().getBaseLabelProvider(
+						SpringLabelDecorator.DECORATOR_ID);
+				if (provider != null) {
+					fireLabelProviderChanged(new LabelProviderChangedEvent(provider, elements));
+				}
+
+				fireLabelProviderChanged(new LabelProviderChangedEvent(BeansModelLabelDecorator.this, elements));
+			}
+		});
+	}
+
+	private IModelDeltaListener listener;
+
+	private final ConcurrentHashMap<IProject, BeansProjectDecorations> decorations = new ConcurrentHashMap<IProject, BeansProjectDecorations>();
+
+	/** Projects with elements that weren't decorated because the project wasn't initialized yet */
+	private final Set<IProject> pendingProjects = Collections
+			.newSetFromMap(new ConcurrentHashMap<IProject, Boolean>());
 
 	public BeansModelLabelDecorator() {
-		listener = new IModelChangeListener() {
-			public void elementChanged(ModelChangeEvent event) {
-				if ((event.getElement() instanceof IBeansProject || event.getElement() instanceof IBeansConfig)
-						&& event.getType() != ModelChangeEvent.Type.REMOVED) {
-					internalUpdate();
+		listener = new IModelDeltaListener() {
+			public void modelChanged(ModelChangeDelta delta) {
+				for (ModelChangeDelta projectDelta : delta.getAffectedChildren()) {
+					if (projectDelta.getElement() instanceof IBeansProject) {
+						internalUpdate(projectDelta);
+					}
 				}
 			}
 		};
-		BeansCorePlugin.getModel().addChangeListener(listener);
+		BeansCorePlugin.getModel().addDeltaListener(listener);
+	}
+
+	private BeansProjectDecorations getDecorations(IBeansProject project) {
+		BeansProjectDecorations result = decorations.get(project.getProject());
+		if (result == null) {
+			result = BeansProjectDecorations.create(project);
+			BeansProjectDecorations existing = decorations.putIfAbsent(project.getProject(), result);
+			if (existing != null) {
+				result = existing;
+			}
+		}
+		return result;
+	}
+
+	private boolean isInitialized(IBeansProject project) {
+		return !(project instanceof ILazyInitializedModelElement)
+				|| ((ILazyInitializedModelElement) project).isInitialized();
+	}
+
+	/**
+	 * Checks if a given <code>type</code> is used as a bean class by a project which has the type on its classpath,
+	 * like {@link BeansModelUtils#isBeanClass(IType)} does, but using the precomputed bean classes.
+	 */
+	private boolean isBeanClass(IType type) {
+		String className = type.getFullyQualifiedName();
+		for (IBeansProject project : BeansCorePlugin.getModel().getProjects()) {
+			if (getDecorations(project).isBeanClass(className)) {
+				IJavaProject javaProject = JdtUtils.getJavaProject(project.getProject());
+				if (javaProject != null && javaProject.isOnClasspath(type)) {
+					return true;
+				}
+			}
+		}
+		return false;
 	}
 
 	public void decorate(Object element, IDecoration decoration) {
@@ -155,8 +343,8 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 		IBeansModel model = BeansCorePlugin.getModel();
 		IBeansProject project = model.getProject(file.getProject());
 		
-		if (project instanceof ILazyInitializedModelElement
-				&& !((ILazyInitializedModelElement) project).isInitialized()) {
+		if (project != null && !isInitialized(project)) {
+			pendingProjects.add(project.getProject());
 			return;
 		}
 		
@@ -171,18 +359,15 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 		IBeansModel model = BeansCorePlugin.getModel();
 		IBeansProject project = model.getProject(folder.getProject());
 		
-		if (project instanceof ILazyInitializedModelElement
-				&& !((ILazyInitializedModelElement) project).isInitialized()) {
+		if (project != null && !isInitialized(project)) {
+			pendingProjects.add(project.getProject());
 			return;
 		}
 		
 		if (project != null) {
 			String path = folder.getProjectRelativePath().toString() + '/';
-			for (IBeansConfig config : project.getConfigs()) {
-				if (config.getElementName().startsWith(path)) {
-					decoration.addOverlay(BeansUIImages.DESC_OVR_SPRING);
-					break;
-				}
+			if (getDecorations(project).isConfigFolder(path)) {
+				decoration.addOverlay(BeansUIImages.DESC_OVR_SPRING);
 			}
 		}
 	}
@@ -193,26 +378,24 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 				|| type == IJavaElement.COMPILATION_UNIT) {
 			IBeansModel model = BeansCorePlugin.getModel();
 			IBeansProject project = model.getProject(element.getJavaProject().getProject());
-			if (project instanceof ILazyInitializedModelElement && ((ILazyInitializedModelElement) project).isInitialized()) {
+			if (project instanceof ILazyInitializedModelElement && !isInitialized(project)) {
+				pendingProjects.add(project.getProject());
+			}
+			else if (project instanceof ILazyInitializedModelElement) {
 				try {
 					if (type == IJavaElement.PACKAGE_FRAGMENT_ROOT) {
 
 						// Decorate JAR file
 						IResource resource = ((IPackageFragmentRoot) element).getResource();
-						if (resource instanceof IFile) {
-							for (IBeansConfig config : project.getConfigs()) {
-								if (config.getElementResource().equals(resource)) {
-									decoration.addOverlay(BeansUIImages.DESC_OVR_SPRING);
-									break;
-								}
-							}
+						if (resource instanceof IFile && getDecorations(project).isConfigFile(resource)) {
+							decoration.addOverlay(BeansUIImages.DESC_OVR_SPRING);
 						}
 					}
 					else if (type == IJavaElement.CLASS_FILE) {
 
 						// Decorate Java class file
 						IType javaType = ((IClassFile) element).getType();
-						if (BeansModelUtils.isBeanClass(javaType)) {
+						if (isBeanClass(javaType)) {
 							decoration.addOverlay(BeansUIImages.DESC_OVR_SPRING);
 						}
 					}
@@ -220,7 +403,7 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 
 						// Decorate Java source file
 						for (IType javaType : ((ICompilationUnit) element).getTypes()) {
-							if (BeansModelUtils.isBeanClass(javaType)) {
+							if (isBeanClass(javaType)) {
 								decoration.addOverlay(BeansUIImages.DESC_OVR_SPRING);
 								break;
 							}
@@ -236,7 +419,7 @@ public class BeansModelLabelDecorator extends SpringLabelDecorator implements IL
 
 	@Override
 	public void dispose() {
-		BeansCorePlugin.getModel().removeChangeListener(listener);
+		BeansCorePlugin.getModel().removeDeltaListener(listener);
 	}
 
 	protected int getSeverity(Object element) {
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.model;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+
+/**
+ * Snapshot of what {@link BeansModelLabelDecorator} decorates for a single {@link IBeansProject}:
+ * the folders containing configs, the config files (including JARs containing configs) and the
+ * bean classes. It is computed once per change of the project, rather than by iterating the
+ * project's configs for every decorated element.
+ * @since 3.9.3
+ */
+class BeansProjectDecorations {
+
+	static final BeansProjectDecorations EMPTY = new BeansProjectDecorations(Collections.<String> emptySet(),
+			Collections.<IResource> emptySet(), Collections.<String> emptySet());
+
+	/** Project relative paths of the folders containing configs, each with a trailing '/' */
+	private final Set<String> configFolders;
+
+	private final Set<IResource> configFiles;
+
+	private final Set<String> beanClasses;
+
+	private BeansProjectDecorations(Set<String> configFolders, Set<IResource> configFiles, Set<String> beanClasses) {
+		this.configFolders = configFolders;
+		this.configFiles = configFiles;
+		this.beanClasses = beanClasses;
+	}
+
+	public static BeansProjectDecorations create(IBeansProject project) {
+		Set<String> configFolders = new HashSet<String>();
+		Set<IResource> configFiles = new HashSet<IResource>();
+		for (IBeansConfig config : project.getConfigs()) {
+			String name = config.getElementName();
+			for (int i = name.indexOf('/'); i > 0; i = name.indexOf('/', i + 1)) {
+				configFolders.add(name.substring(0, i + 1));
+			}
+			IResource resource = config.getElementResource();
+			if (resource instanceof IFile) {
+				configFiles.add(resource);
+			}
+		}
+		return new BeansProjectDecorations(configFolders, configFiles, new HashSet<String>(project.getBeanClasses()));
+	}
+
+	public boolean isConfigFolder(String projectRelativePath) {
+		return configFolders.contains(projectRelativePath);
+	}
+
+	public boolean isConfigFile(IResource resource) {
+		return configFiles.contains(resource);
+	}
+
+	public boolean isBeanClass(String className) {
+		return beanClasses.contains(className);
+	}
+
+	public Set<String> getConfigFolders() {
+		return configFolders;
+	}
+
+	public Set<IResource> getConfigFiles() {
+		return configFiles;
+	}
+
+	public Set<String> getBeanClasses() {
+		return beanClasses;
+	}
+
+	/**
+	 * Returns the elements of the given set that are not in the other one and vice versa.
+	 */
+	public static <T> Set<T> difference(Set<T> set, Set<T> other) {
+		Set<T> result = new HashSet<T>();
+		for (T element : set) {
+			if (!other.contains(element)) {
+				result.add(element);
+			}
+		}
+		for (T element : other) {
+			if (!set.contains(element)) {
+				result.add(element);
+			}
+		}
+		return result;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2009 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,12 +12,13 @@ package org.springframework.ide.eclipse.beans.ui.navigator;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.ui.IMemento;
@@ -26,6 +27,7 @@ import org.eclipse.ui.navigator.ICommonContentExtensionSite;
 import org.eclipse.ui.navigator.ICommonContentProvider;
 import org.eclipse.ui.progress.IProgressConstants;
 import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
 import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
@@ -45,11 +47,13 @@ import org.springframework.ide.eclipse.core.model.IResourceModelElement;
 import org.springframework.ide.eclipse.core.model.ISourceModelElement;
 import org.springframework.ide.eclipse.core.model.ISpringProject;
 import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
-import org.springframework.ide.eclipse.ui.SpringUIUtils;
 
 /**
  * This class is a content provider for the {@link CommonNavigator} which knows about the beans core model's
  * {@link IModelElement} elements.
+ * <p>
+ * Configs are only loaded when they are expanded (in the background, see {@link ModelJob}), and the children
+ * of configs and config sets are grouped into {@link ModelElementRange}s if there are many of them.
  * @author Torsten Juergeleit
  * @author Christian Dupuis
  */
@@ -57,6 +61,9 @@ public class BeansNavigatorContentProvider extends BeansModelContentProvider imp
 
 	private String providerID;
 
+	/** Set if configs were loaded since the decorations were last updated */
+	private final AtomicBoolean configsLoaded = new AtomicBoolean();
+
 	@Override
 	public Object[] getElements(Object inputElement) {
 		if (BeansUIPlugin.PROJECT_EXPLORER_CONTENT_PROVIDER_ID.equals(providerID)) {
@@ -67,6 +74,23 @@ public class BeansNavigatorContentProvider extends BeansModelContentProvider imp
 
 	@Override
 	public boolean hasChildren(Object element) {
+		// Don't load elements just to find out if they can be expanded
+		if (element instanceof ModelElementRange || !isInitialized(element)) {
+			return true;
+		}
+		else if (element instanceof IBeansConfigSet) {
+			for (IBeansConfig config : ((IBeansConfigSet) element).getConfigs()) {
+				if (!isInitialized(config)) {
+					return true;
+				}
+			}
+		}
+		else if (element instanceof IFile || element instanceof ZipEntryStorage) {
+			IBeansConfig config = getConfig(element);
+			if (config != null && !isInitialized(config)) {
+				return true;
+			}
+		}
 		return getChildren(element).length > 0;
 	}
 
@@ -80,20 +104,63 @@ public class BeansNavigatorContentProvider extends BeansModelContentProvider imp
 				return new Object[] { beansProject };
 			}
 		}
+		else if (parentElement instanceof ModelElementRange) {
+			return ((ModelElementRange) parentElement).getChildren();
+		}
+		// the children of a project are its configs and config sets, which are loaded
+		// on their own when expanded
+		else if (parentElement instanceof IBeansProject) {
+			return getProjectChildren((IBeansProject) parentElement, false);
+		}
 		// check for lazy loading and/or long running elements; if a element is
 		// marked to be long-running, execute the call to super.getChildren()
 		// asynchronous and refresh the underlying viewer with the given parent
 		// element (use parent because IBeansConfigSets need to be updated as
 		// well)
-		else if (parentElement instanceof ILazyInitializedModelElement
-				&& !((ILazyInitializedModelElement) parentElement).isInitialized()) {
+		else if (!isInitialized(parentElement)) {
 			triggerDeferredElementLoading(parentElement, ((IModelElement) parentElement).getElementParent());
 			return IModelElement.NO_CHILDREN;
 		}
+		else if (parentElement instanceof IFile) {
+			IBeansConfig config = BeansCorePlugin.getModel().getConfig((IFile) parentElement);
+			if (config != null && !isInitialized(config)) {
+				triggerDeferredElementLoading(config, parentElement);
+				return IModelElement.NO_CHILDREN;
+			}
+		}
 		else if (parentElement instanceof IBeansImport) {
 			return getImportChildren(parentElement);
 		}
-		return super.getChildren(parentElement);
+
+		Object[] children = super.getChildren(parentElement);
+		if (parentElement instanceof IBeansConfig || parentElement instanceof IBeansConfigSet
+				|| parentElement instanceof IFile) {
+			return ModelElementRange.group(parentElement, children);
+		}
+		return children;
+	}
+
+	@Override
+	protected Object[] getProjectChildren(IBeansProject project, boolean onlyConfigSets) {
+		if (project.isInitialized()) {
+			return super.getProjectChildren(project, onlyConfigSets);
+		}
+
+		// The meta data grouping requires the beans of all configs, so it is left out
+		// until the configs were loaded
+		Set<Object> children = new LinkedHashSet<Object>();
+		if (!onlyConfigSets) {
+			for (IBeansConfig config : project.getConfigs()) {
+				if (config.isElementArchived()) {
+					children.add(new ZipEntryStorage(config));
+				}
+				else {
+					children.add(config);
+				}
+			}
+		}
+		children.addAll(project.getConfigSets());
+		return children.toArray();
 	}
 
 	protected Object[] getImportChildren(final Object parentElement) {
@@ -114,8 +181,7 @@ public class BeansNavigatorContentProvider extends BeansModelContentProvider imp
 	protected Object[] getConfigSetChildren(IBeansConfigSet configSet) {
 		Set<ISourceModelElement> children = new LinkedHashSet<ISourceModelElement>();
 		for (final IBeansConfig config : configSet.getConfigs()) {
-			if (config instanceof ILazyInitializedModelElement
-					&& !((ILazyInitializedModelElement) config).isInitialized()) {
+			if (!isInitialized(config)) {
 				triggerDeferredElementLoading(config, configSet);
 				continue;
 			}
@@ -133,6 +199,37 @@ public class BeansNavigatorContentProvider extends BeansModelContentProvider imp
 		return super.getJavaTypeChildren(type);
 	}
 
+	@Override
+	public Object getParent(Object element) {
+		if (element instanceof ModelElementRange) {
+			return ((ModelElementRange) element).getParent();
+		}
+		return super.getParent(element);
+	}
+
+	@Override
+	protected void pendingElementsRefreshed() {
+		// Update the decorations once per batch of loaded configs
+		if (configsLoaded.getAndSet(false)) {
+			BeansModelLabelDecorator.update();
+		}
+	}
+
+	/**
+	 * Returns the config of the given config file or archived config, or <code>null</code> if it isn't one
+	 */
+	private static IBeansConfig getConfig(Object element) {
+		if (element instanceof IFile) {
+			return BeansCorePlugin.getModel().getConfig((IFile) element);
+		}
+		return BeansModelUtils.getConfig((ZipEntryStorage) element);
+	}
+
+	private static boolean isInitialized(Object element) {
+		return !(element instanceof ILazyInitializedModelElement)
+				|| ((ILazyInitializedModelElement) element).isInitialized();
+	}
+
 	private void triggerDeferredElementLoading(final Object config, final Object parent) {
 		// first check if a matching job is already scheduled
 		synchronized (getClass()) {
@@ -234,7 +331,7 @@ public class BeansNavigatorContentProvider extends BeansModelContentProvider imp
 		private final BeansNavigatorContentProvider contentProvider;
 
 		public ModelJob(Object config, Object parent, BeansNavigatorContentProvider contentProvider) {
-			super("Initializing Spring Project '"
+			super("Loading '"
 					+ ((IResourceModelElement) config).getElementResource().getFullPath().toString().substring(1) + "'");
 			this.config = config;
 			this.parent = parent;
@@ -258,38 +355,22 @@ public class BeansNavigatorContentProvider extends BeansModelContentProvider imp
 					}
 				}
 			}
-			if (config instanceof IBeansProject) {
-				IBeansProject bp = (IBeansProject) config;
-				monitor = new SubProgressMonitor(monitor, bp.getConfigs().size());
-				monitor.beginTask("Initializing Spring Project '"
-						+ ((IResourceModelElement) config).getElementResource().getFullPath().toString() + "'", bp
-						.getConfigs().size());
-				for (IBeansConfig beansConfig : bp.getConfigs()) {
-					monitor.setTaskName("Loading '" + beansConfig.getElementName() + "'");
-					beansConfig.getBeans();
-					monitor.worked(1);
-				}
+			monitor.beginTask("Loading '"
+					+ ((IResourceModelElement) config).getElementResource().getFullPath().toString() + "'", 1);
+			contentProvider.superGetChildren(config);
+
+			// The refreshes are applied together with the ones requested by other jobs
+			contentProvider.configsLoaded.set(true);
+			contentProvider.refreshViewerForElement(config);
+			contentProvider.refreshViewerForElement(parent);
+			if (parent instanceof IBeansProject) {
+				contentProvider.refreshViewerForElement(SpringCore.getModel().getProject(
+						((IBeansProject) parent).getProject()));
 			}
-			else {
-				monitor.beginTask("Loading '"
-						+ ((IResourceModelElement) config).getElementResource().getFullPath().toString() + "'", 1);
-				contentProvider.superGetChildren(config);
+			if (BeansUIPlugin.PROJECT_EXPLORER_CONTENT_PROVIDER_ID.equals(contentProvider.providerID)
+					&& config instanceof IResourceModelElement) {
+				contentProvider.refreshViewerForElement(((IResourceModelElement) config).getElementResource());
 			}
-			SpringUIUtils.getStandardDisplay().asyncExec(new Runnable() {
-				public void run() {
-					contentProvider.refreshViewerForElement(config);
-					contentProvider.refreshViewerForElement(parent);
-					if (parent instanceof IBeansProject) {
-						contentProvider.refreshViewerForElement(SpringCore.getModel().getProject(
-								((IBeansProject) parent).getProject()));
-					}
-					if (BeansUIPlugin.PROJECT_EXPLORER_CONTENT_PROVIDER_ID.equals(contentProvider.providerID)
-							&& config instanceof IResourceModelElement) {
-						contentProvider.refreshViewerForElement(((IResourceModelElement) config).getElementResource());
-					}
-					BeansModelLabelDecorator.update();
-				}
-			});
 			monitor.worked(1);
 			monitor.done();
 			return Status.OK_STATUS;
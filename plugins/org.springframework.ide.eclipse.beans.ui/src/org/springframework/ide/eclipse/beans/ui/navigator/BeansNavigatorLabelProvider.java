@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2010 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -143,6 +143,9 @@ public class BeansNavigatorLabelProvider extends BeansModelLabelProvider impleme
 			Image image = BeansUIImages.getImage(BeansUIImages.IMG_OBJS_VIRTUAL_FOLDER);
 			return image;
 		}
+		else if (element instanceof ModelElementRange) {
+			return BeansUIImages.getImage(BeansUIImages.IMG_OBJS_COLLECTION);
+		}
 		return super.getImage(element, parentElement);
 	}
 
@@ -155,6 +158,9 @@ public class BeansNavigatorLabelProvider extends BeansModelLabelProvider impleme
 		else if (element instanceof IBeansProject) {
 			return "Beans"; // TODO CD Externalize string
 		}
+		else if (element instanceof ModelElementRange) {
+			return ((ModelElementRange) element).getLabel();
+		}
 		else if (element instanceof IBeansConfig
 				&& (parentElement instanceof ISpringProject || parentElement instanceof IBeansProject)) {
 			return ((IBeansConfig) element).getElementName();
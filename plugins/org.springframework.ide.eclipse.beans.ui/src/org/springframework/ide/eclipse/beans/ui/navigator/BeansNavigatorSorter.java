@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -25,7 +25,8 @@ import org.springframework.ide.eclipse.ui.SpringUIUtils;
  * order found in the corresponding {@link IBeansConfig} file in case the common
  * navigator is not the spring explorer and sorting is not enabled.
  * <p>
- * Otherwise this sorter does a lexical sorting of the elements
+ * Otherwise this sorter does a lexical sorting of the elements. {@link ModelElementRange}s are always kept in
+ * the order of their children.
  * @author Torsten Juergeleit
  * @author Christian Dupuis
  */
@@ -46,7 +47,12 @@ public class BeansNavigatorSorter extends ViewerSorter {
 
 	@Override
 	public int compare(Viewer viewer, Object e1, Object e2) {
-		if (SpringUIUtils.isSortingEnabled() && SpringUIUtils.isSpringExplorer(viewer)) {
+		if (e1 instanceof ModelElementRange && e2 instanceof ModelElementRange) {
+			int first = ((ModelElementRange) e1).getFrom();
+			int second = ((ModelElementRange) e2).getFrom();
+			return Integer.valueOf(first).compareTo(Integer.valueOf(second));
+		}
+		else if (SpringUIUtils.isSortingEnabled() && SpringUIUtils.isSpringExplorer(viewer)) {
 			// add hack for beans config sorting
 			if (e1 instanceof IFile && e2 instanceof IFile) {
 				String f1 = getFileLabel((IFile) e1);
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.navigator;
+
+import java.util.Arrays;
+
+/**
+ * A range of the children of an element in the navigator. Elements with a large number of children
+ * (e.g. configs with thousands of beans) show their children in ranges of at most
+ * {@link #RANGE_SIZE} elements, nested if required, so that the tree doesn't have to create an
+ * item for every child when the element is expanded.
+ * <p>
+ * Ranges are equal if they cover the same indexes of the same element's children, so that the
+ * expansion state of a range survives a refresh of the element.
+ * @since 3.9.3
+ */
+public class ModelElementRange {
+
+	public static final int RANGE_SIZE = 100;
+
+	private final Object parent;
+
+	private final Object[] children;
+
+	private final int from;
+
+	private final int to;
+
+	private ModelElementRange(Object parent, Object[] children, int from, int to) {
+		this.parent = parent;
+		this.children = children;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Returns the given children of the given element, grouped into ranges if there are more than
+	 * {@link #RANGE_SIZE} of them.
+	 */
+	public static Object[] group(Object parent, Object[] children) {
+		return group(parent, children, 0, children.length);
+	}
+
+	private static Object[] group(Object parent, Object[] children, int from, int to) {
+		int count = to - from;
+		if (count <= RANGE_SIZE) {
+			return (from == 0 && to == children.length ? children : Arrays.copyOfRange(children, from, to));
+		}
+		// Use ranges as large as required to have at most RANGE_SIZE of them
+		int size = RANGE_SIZE;
+		while (count > size * RANGE_SIZE) {
+			size *= RANGE_SIZE;
+		}
+		Object[] ranges = new Object[(count + size - 1) / size];
+		for (int i = 0; i < ranges.length; i++) {
+			int start = from + i * size;
+			ranges[i] = new ModelElementRange(parent, children, start, Math.min(start + size, to));
+		}
+		return ranges;
+	}
+
+	/**
+	 * Returns the element whose children this range covers.
+	 */
+	public Object getParent() {
+		return parent;
+	}
+
+	/**
+	 * Returns the children covered by this range, grouped into nested ranges if required.
+	 */
+	public Object[] getChildren() {
+		return group(parent, children, from, to);
+	}
+
+	/**
+	 * Returns the index of the first child covered by this range.
+	 */
+	public int getFrom() {
+		return from;
+	}
+
+	public String getLabel() {
+		return "[" + from + ".." + (to - 1) + "]";
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof ModelElementRange)) {
+			return false;
+		}
+		ModelElementRange that = (ModelElementRange) other;
+		return from == that.from && to == that.to && parent.equals(that.parent);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * parent.hashCode() + from) + to;
+	}
+
+	@Override
+	public String toString() {
+		return getLabel();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 Pivotal, Inc.
+ * Copyright (c) 2015, 2017 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -1533,6 +1533,39 @@ public class CloudFoundryBootDashModelMockingTest {
 		waitForState(app, RunState.INACTIVE, 20000);
 	}
 
+	@Test public void concurrentRestartsShareRunningStateTracking() throws Exception {
+		CFClientParams targetParams = CfTestTargetParams.fromEnv();
+		MockCFSpace space = clientFactory.defSpace(targetParams.getOrgName(), targetParams.getSpaceName());
+		final int numberOfApps = 10;
+		String[] appNames = new String[numberOfApps];
+		for (int i = 0; i < numberOfApps; i++) {
+			appNames[i] = "app-"+i;
+			space.defApp(appNames[i]);
+		}
+
+		CloudFoundryBootDashModel model =  harness.createCfTarget(targetParams);
+		waitForApps(model, appNames);
+		waitForJobsToComplete();
+
+		clientFactory.setAppRunDelay(TimeUnit.SECONDS, 3);
+		clientFactory.resetRequestCounts();
+		for (String appName : appNames) {
+			CloudAppDashElement app = model.getApplication(appName);
+			app.restartOnlyAsynch(ui, app.createCancelationToken());
+		}
+		for (String appName : appNames) {
+			waitForState(model.getApplication(appName), RunState.RUNNING, 20000);
+		}
+
+		// Tracking each app on its own would fetch every app about once per second while it is starting.
+		// Each app is still fetched once when it is refreshed after starting.
+		int getApplicationCount = clientFactory.getRequestCount("getApplication");
+		assertTrue("Too many getApplication requests: "+getApplicationCount, getApplicationCount <= numberOfApps);
+		int pollCount = clientFactory.getRequestCount("getApplicationsWithBasicInfo")
+				+ clientFactory.getRequestCount("getApplicationDetails");
+		assertTrue("Too many polling requests: "+pollCount, pollCount < 2 * numberOfApps);
+	}
+
 	@Test public void acceptDeployOfExistingApp() throws Exception {
 		CFClientParams targetParams = CfTestTargetParams.fromEnv();
 		MockCFSpace space = clientFactory.defSpace(targetParams.getOrgName(), targetParams.getSpaceName());
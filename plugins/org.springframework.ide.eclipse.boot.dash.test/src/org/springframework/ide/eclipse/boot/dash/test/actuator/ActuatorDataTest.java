@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Pivotal, Inc.
+ * Copyright (c) 2017, 2018 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,8 @@ package org.springframework.ide.eclipse.boot.dash.test.actuator;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -41,6 +43,8 @@ public class ActuatorDataTest {
 		private String version = null;
 		private String beansJson = "";
 		private String requestMappingsJson = "";
+		private Long startTime = null;
+		private int requestMappingFetches = 0;
 
 		public TestActuatorClient(TypeLookup typeLookup) {
 			super(typeLookup);
@@ -61,11 +65,22 @@ public class ActuatorDataTest {
 			return this;
 		}
 
+		public TestActuatorClient startTime(Long startTime) {
+			this.startTime = startTime;
+			return this;
+		}
+
 		@Override
 		protected ImmutablePair<String, String> getRequestMappingData() throws Exception {
+			requestMappingFetches++;
 			return ImmutablePair.of(requestMappingsJson, version);
 		}
 
+		@Override
+		protected Long getStartTime() throws Exception {
+			return startTime;
+		}
+
 		@Override
 		protected ImmutablePair<String, String> getBeansData() throws Exception {
 			return ImmutablePair.of(beansJson, version);
@@ -159,4 +174,38 @@ public class ActuatorDataTest {
 		);
 	}
 
+	@Test public void testRequestMappingsCachedByStartTime() throws Exception {
+		TestActuatorClient client = new TestActuatorClient(null).version("2").startTime(1000L)
+				.requestMappingJson(ActuatorClientTest.getContents("requestmappings-sample-boot2.json"));
+		List<RequestMapping> mappings = client.getRequestMappings();
+		assertNotNull(mappings);
+		assertSame(mappings, client.getRequestMappings());
+		assertEquals(1, client.requestMappingFetches);
+
+		//Restarted app
+		client.startTime(2000L);
+		assertEquals(mappings, client.getRequestMappings());
+		assertEquals(2, client.requestMappingFetches);
+
+		client.clearRequestMappingsCache();
+		client.getRequestMappings();
+		assertEquals(3, client.requestMappingFetches);
+	}
+
+	@Test public void testRequestMappingsNotCachedWithoutStartTime() throws Exception {
+		TestActuatorClient client = new TestActuatorClient(null).version("2")
+				.requestMappingJson(ActuatorClientTest.getContents("requestmappings-sample-boot2.json"));
+		client.getRequestMappings();
+		client.getRequestMappings();
+		assertEquals(2, client.requestMappingFetches);
+	}
+
+	@Test public void testUnparsableRequestMappingsNotCached() throws Exception {
+		TestActuatorClient client = new TestActuatorClient(null).version("2").startTime(1000L)
+				.requestMappingJson("{\"contexts\": {\"application\": [");
+		assertNull(client.getRequestMappings());
+		assertNull(client.getRequestMappings());
+		assertEquals(2, client.requestMappingFetches);
+	}
+
 }
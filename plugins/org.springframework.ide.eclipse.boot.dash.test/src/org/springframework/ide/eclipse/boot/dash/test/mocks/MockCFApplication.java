@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Pivotal, Inc.
+ * Copyright (c) 2016, 2017 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,7 +29,6 @@ import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFApplicati
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFApplicationDetail;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFInstanceState;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFInstanceStats;
-import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.InstanceState;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.v2.ApplicationExtras;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.v2.CFApplicationDetailData;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.v2.CFApplicationSummaryData;
@@ -98,6 +97,11 @@ public class MockCFApplication {
 
 	private ImmutableList<CFInstanceStats> stats = ImmutableList.of();
 
+	/**
+	 * When the 'STARTING' instances of the app become 'RUNNING', or 0 if there are none.
+	 */
+	private long runningTime = 0;
+
 	private CancelationTokens cancelationTokens;
 	private Supplier<byte[]> bits;
 
@@ -115,10 +119,22 @@ public class MockCFApplication {
 		return name;
 	}
 
-	public List<CFInstanceStats> getStats() {
+	public synchronized List<CFInstanceStats> getStats() {
+		if (runningTime != 0 && System.currentTimeMillis() >= runningTime) {
+			runningTime = 0;
+			stats = createStats(CFInstanceState.RUNNING);
+		}
 		return stats;
 	}
 
+	private ImmutableList<CFInstanceStats> createStats(CFInstanceState instanceState) {
+		Builder<CFInstanceStats> builder = ImmutableList.builder();
+		for (int i = 0; i < instances; i++) {
+			builder.add(new MockCFInstanceStats(instanceState));
+		}
+		return builder.build();
+	}
+
 	public void start(CancelationToken cancelationToken) throws Exception {
 		Assert.isLegal(CFAppState.STOPPED==state);
 		Assert.isLegal(stats.isEmpty());
@@ -135,18 +151,18 @@ public class MockCFApplication {
 				return true;
 			}
 		};
-		Builder<CFInstanceStats> builder = ImmutableList.builder();
-		for (int i = 0; i < instances; i++) {
-			Map<String, Object> values = new HashMap<>();
-			values.put("state", InstanceState.RUNNING.toString());
-			CFInstanceStats stat = new MockCFInstanceStats(CFInstanceState.RUNNING);
-			builder.add(stat);
-		}
 		if (cancelationToken.isCanceled()) {
 			System.out.println("Starting "+getName()+" CANCELED");
 			throw new IOException("Operation Canceled");
 		}
-		this.stats = builder.build();
+		synchronized (this) {
+			if (owner.getRunDelay() > 0) {
+				this.stats = createStats(CFInstanceState.STARTING);
+				this.runningTime = System.currentTimeMillis() + owner.getRunDelay();
+			} else {
+				this.stats = createStats(CFInstanceState.RUNNING);
+			}
+		}
 		this.state = CFAppState.STARTED;
 		System.out.println("Starting "+getName()+" SUCCESS");
 	}
@@ -306,7 +322,7 @@ public class MockCFApplication {
 						diskQuota,
 						getExtras()
 				),
-				ImmutableList.copyOf(stats)
+				ImmutableList.copyOf(getStats())
 		);
 //		return new CFApplicationDetailData(getBasicInfo(), ImmutableList.copyOf(stats));
 	}
@@ -318,7 +334,10 @@ public class MockCFApplication {
 
 	public void stop() {
 		cancelationTokens.cancelAll();
-		this.stats = ImmutableList.of();
+		synchronized (this) {
+			this.stats = ImmutableList.of();
+			this.runningTime = 0;
+		}
 		this.state = CFAppState.STOPPED;
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Pivotal, Inc.
+ * Copyright (c) 2016, 2017 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,7 +20,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.RandomStringUtils;
@@ -86,6 +88,12 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 	 */
 	private Exception notImplementedStubCalled = null;
 	private long startDelay = 0;
+	private long runDelay = 0;
+
+	/**
+	 * Number of calls made to some of the client's requests, by request name.
+	 */
+	private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
 
 	public MockCloudFoundryClientFactory() {
 		defDomain("cfmockapps.io"); //Lost of functionality may assume there's at least one domain so make sure we have one.
@@ -215,6 +223,7 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 		@Override
 		public Flux<CFApplicationDetail> getApplicationDetails(List<CFApplication> appsToLookUp) throws Exception {
 			checkConnection();
+			countRequest("getApplicationDetails");
 			MockCFSpace space = getSpace();
 			return Flux.fromIterable(appsToLookUp)
 			.flatMap((app) -> {
@@ -307,12 +316,14 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 		@Override
 		public List<CFApplication> getApplicationsWithBasicInfo() throws Exception {
 			checkConnection();
+			countRequest("getApplicationsWithBasicInfo");
 			return getSpace().getApplicationsWithBasicInfo();
 		}
 
 		@Override
 		public CFApplicationDetail getApplication(String appName) throws Exception {
 			checkConnection();
+			countRequest("getApplication");
 			MockCFApplication app = getSpace().getApplication(appName);
 			if (app!=null) {
 				return app.getDetailedInfo();
@@ -615,6 +626,37 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 		return startDelay;
 	}
 
+	/**
+	 * Sets how long the instances of an app stay in the 'STARTING' state after a simulated 'start'
+	 * of the app returned.
+	 */
+	public void setAppRunDelay(TimeUnit timeUnit, int howMany) {
+		runDelay = timeUnit.toMillis(howMany);
+	}
+
+	/**
+	 * @return The delay before the instances of a started app are running. Given in milliseconds.
+	 */
+	public long getRunDelay() {
+		return runDelay;
+	}
+
+	private void countRequest(String requestName) {
+		requestCounts.computeIfAbsent(requestName, (n) -> new AtomicInteger()).incrementAndGet();
+	}
+
+	/**
+	 * @return The number of calls made to the given request by any of the clients since the counts were last reset.
+	 */
+	public int getRequestCount(String requestName) {
+		AtomicInteger count = requestCounts.get(requestName);
+		return count == null ? 0 : count.get();
+	}
+
+	public void resetRequestCounts() {
+		requestCounts.clear();
+	}
+
 	public void setApiVersion(String string) {
 		apiVersion = new Version(string);
 	}
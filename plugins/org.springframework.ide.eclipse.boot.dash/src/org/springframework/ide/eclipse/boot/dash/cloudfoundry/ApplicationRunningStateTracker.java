@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 Pivotal, Inc.
+ * Copyright (c) 2015, 2017 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,7 +10,11 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.dash.cloudfoundry;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -25,6 +29,18 @@ import org.springframework.ide.eclipse.boot.dash.model.RunState;
 import org.springframework.ide.eclipse.boot.dash.util.CancelationTokens.CancelationToken;
 import org.springsource.ide.eclipse.commons.livexp.util.ExceptionUtil;
 
+/**
+ * Tracks the run state of the starting applications of a {@link CloudFoundryBootDashModel}, i.e. of
+ * a single space. Rather than polling each starting app on its own, every poll fetches the summary
+ * of all apps in the space once, and then the details of the starting apps that need a closer look
+ * in a single batch: those the summary reports as running, and those that haven't been looked at
+ * for a while. Apps that are slow to start are looked at less and less often.
+ * <p>
+ * The details fetched for an app are published to its {@link CloudAppDashElement} right away.
+ * <p>
+ * There is no polling thread. The threads waiting for their apps to start take turns polling on
+ * behalf of all of them.
+ */
 public class ApplicationRunningStateTracker {
 	// Give time for Diego-enabled apps with health check that may take a while to start
 	// Users can always manually stop the app if it is taking too long to check the run state of the app
@@ -32,96 +48,85 @@ public class ApplicationRunningStateTracker {
 
 	public static final long WAIT_TIME = 1000;
 
-	private final ClientRequests requests;
+	/**
+	 * How often the details of an app are fetched while the summary doesn't report it as running,
+	 * to find out whether its instances crashed.
+	 */
+	public static final long LOOK_UP_TIME = 1000 * 5;
 
-	private final String appName;
+	/**
+	 * Apps that are still starting after this long get their details fetched less often.
+	 */
+	public static final long BACKOFF_AFTER = 1000 * 30;
 
-	private final CloudFoundryBootDashModel model;
+	public static final long MAX_LOOK_UP_TIME = 1000 * 30;
 
-	private final long timeout;
+	private static final Duration DETAILS_TIMEOUT = Duration.ofSeconds(30);
 
-	private final CancelationToken cancelationToken;
+	private final CloudFoundryBootDashModel model;
 
-	private final CloudAppDashElement app;
+	private final Map<String, TrackedApp> trackedApps = new HashMap<>();
 
+	private boolean polling = false;
 
-	public ApplicationRunningStateTracker(CancelationToken cancelationToken, CloudAppDashElement app) {
-		this.model = app.getCloudModel();
-		this.requests = model.getClient();
-		this.appName = app.getName();
-		this.timeout = APP_START_TIMEOUT;
-		this.cancelationToken = cancelationToken;
-		this.app = app;
-	}
+	private long nextPollTime = 0;
 
-	protected void checkTerminate(IProgressMonitor monitor)
-			throws OperationCanceledException {
-		this.app.checkTerminationRequested(cancelationToken, monitor);
+	public ApplicationRunningStateTracker(CloudFoundryBootDashModel model) {
+		this.model = model;
 	}
 
 	/**
 	 * Polls cloudfoundry until app has succeeded or failed to start. Sending updates to console
 	 * and return the final run state.
 	 */
-	public RunState startTracking(IProgressMonitor monitor) throws Exception, OperationCanceledException {
-
-		// fetch an updated Cloud Application that reflects changes that
-		// were
-		// performed on it. Make sure the element app reference is updated
-		// as
-		// run state of the element depends on the app being up to date.
-		// Wait for application to be started
-		RunState runState = RunState.UNKNOWN;
-
+	public RunState startTracking(CloudAppDashElement element, CancelationToken cancelationToken, IProgressMonitor monitor) throws Exception, OperationCanceledException {
+		String appName = element.getName();
 		long currentTime = System.currentTimeMillis();
-		long roughEstimateFetchStatsms = 5000;
-
-		long totalTime = currentTime + timeout;
+		long totalTime = currentTime + APP_START_TIMEOUT;
 		String checkingMessage = "Checking if the application is running";
 
-		int estimatedAttempts = (int) (timeout / (WAIT_TIME + roughEstimateFetchStatsms));
-
-		monitor.beginTask(checkingMessage, estimatedAttempts);
+		monitor.beginTask(checkingMessage, (int) (APP_START_TIMEOUT / WAIT_TIME));
 
 		model.getElementConsoleManager().writeToConsole(appName, checkingMessage + ". Please wait...",
 				LogType.LOCALSTDOUT);
 
-		CFApplicationDetail app = requests.getApplication(appName);
-
-		if (app == null) {
-			throw new OperationCanceledException();
+		TrackedApp app = new TrackedApp(element, currentTime);
+		synchronized (this) {
+			// Restarting an app that is still tracked supersedes its tracking
+			TrackedApp previous = trackedApps.put(appName, app);
+			if (previous != null) {
+				previous.done(null, new OperationCanceledException());
+			}
+			nextPollTime = currentTime;
+			notifyAll();
 		}
-
-		// Get the guid, as it is more efficient for lookup
-		//UUID appGuid = app.getGuid();
-
-		while (runState != RunState.RUNNING && runState != RunState.FLAPPING && runState != RunState.CRASHED
-				&& currentTime < totalTime) {
-			int timeLeft = (int) ((totalTime - currentTime) / 1000);
-
-			// Don't log this. Only update the monitor
-			monitor.setTaskName(checkingMessage + ". Time left before timeout: " + timeLeft + 's');
-
-			checkTerminate(monitor);
-
-			monitor.worked(1);
-
-			runState = getRunState(app.getInstanceDetails());
-			try {
-				Thread.sleep(WAIT_TIME);
-			} catch (InterruptedException e) {
-
+		try {
+			while (!awaitOrPoll(app)) {
+				currentTime = System.currentTimeMillis();
+				if (currentTime >= totalTime) {
+					break;
+				}
+				int timeLeft = (int) ((totalTime - currentTime) / 1000);
+
+				// Don't log this. Only update the monitor
+				monitor.setTaskName(checkingMessage + ". Time left before timeout: " + timeLeft + 's');
+				monitor.worked(1);
+
+				element.checkTerminationRequested(cancelationToken, monitor);
 			}
-
-			app = requests.getApplication(app.getName());
-			// App no longer exists
-			if (app == null) {
-				throw new OperationCanceledException();
+		} finally {
+			synchronized (this) {
+				trackedApps.remove(appName, app);
 			}
-
-			currentTime = System.currentTimeMillis();
 		}
 
+		RunState runState;
+		synchronized (this) {
+			if (app.error != null) {
+				throw app.error;
+			}
+			runState = app.runState;
+		}
 		if (runState != RunState.RUNNING) {
 			String warning = "Timed out waiting for application - " + appName
 					+ " to start. Please wait and manually refresh the target, or check if the application logs show any errors.";
@@ -135,6 +140,154 @@ public class ApplicationRunningStateTracker {
 		return runState;
 	}
 
+	/**
+	 * Polls on behalf of all tracked apps if a poll is due and no other thread is polling, waits
+	 * for at most {@link #WAIT_TIME} otherwise.
+	 *
+	 * @return Whether the given app is done starting.
+	 */
+	private boolean awaitOrPoll(TrackedApp app) throws Exception {
+		synchronized (this) {
+			if (app.isDone()) {
+				return true;
+			}
+			long currentTime = System.currentTimeMillis();
+			if (polling || currentTime < nextPollTime) {
+				long waitTime = polling ? WAIT_TIME : Math.min(WAIT_TIME, nextPollTime - currentTime);
+				try {
+					wait(Math.max(1, waitTime));
+				} catch (InterruptedException e) {
+
+				}
+				return app.isDone();
+			}
+			polling = true;
+		}
+		try {
+			poll();
+		} finally {
+			synchronized (this) {
+				polling = false;
+				nextPollTime = System.currentTimeMillis() + WAIT_TIME;
+				notifyAll();
+			}
+		}
+		synchronized (this) {
+			return app.isDone();
+		}
+	}
+
+	private void poll() {
+		List<TrackedApp> apps;
+		synchronized (this) {
+			apps = new ArrayList<>(trackedApps.values());
+		}
+		if (apps.isEmpty()) {
+			return;
+		}
+		try {
+			ClientRequests client = model.getClient();
+			if (client == null) {
+				throw ExceptionUtil.coreException("Not connected to Cloud Foundry: " + model.getRunTarget().getName());
+			}
+			Map<String, CFApplication> summaries = new HashMap<>();
+			for (CFApplication summary : client.getApplicationsWithBasicInfo()) {
+				summaries.put(summary.getName(), summary);
+			}
+
+			long currentTime = System.currentTimeMillis();
+			List<CFApplication> appsToLookUp = new ArrayList<>();
+			for (TrackedApp app : apps) {
+				CFApplication summary = summaries.get(app.name);
+				if (summary == null) {
+					// App no longer exists
+					done(app, null, new OperationCanceledException());
+				} else if (currentTime >= app.nextLookUpTime || (summary.getRunningInstances() >= summary.getInstances()
+						&& summary.getState() != CFAppState.STOPPED)) {
+					appsToLookUp.add(summary);
+				}
+			}
+			if (appsToLookUp.isEmpty()) {
+				return;
+			}
+
+			Map<String, CFApplicationDetail> details = new HashMap<>();
+			for (CFApplicationDetail detail : client.getApplicationDetails(appsToLookUp).collectList().block(DETAILS_TIMEOUT)) {
+				details.put(detail.getName(), detail);
+			}
+			currentTime = System.currentTimeMillis();
+			for (TrackedApp app : apps) {
+				CFApplicationDetail detail = details.get(app.name);
+				if (detail != null) {
+					app.element.setDetailedData(detail);
+					RunState runState = getRunState(detail.getInstanceDetails());
+					if (runState == RunState.RUNNING || runState == RunState.FLAPPING || runState == RunState.CRASHED) {
+						done(app, runState, null);
+					} else {
+						app.lookedUp(currentTime);
+					}
+				}
+			}
+		} catch (Exception e) {
+			for (TrackedApp app : apps) {
+				done(app, null, e);
+			}
+		}
+	}
+
+	private synchronized void done(TrackedApp app, RunState runState, Exception error) {
+		if (!app.isDone()) {
+			app.done(runState, error);
+		}
+	}
+
+	/**
+	 * The tracking state of a single starting app. Whether it is done is guarded by the tracker, when
+	 * to look it up again is only used by the polling thread.
+	 */
+	private static class TrackedApp {
+
+		private final CloudAppDashElement element;
+
+		private final String name;
+
+		private final long startTime;
+
+		private long lookUpTime = LOOK_UP_TIME;
+
+		private long nextLookUpTime;
+
+		private RunState runState;
+
+		private Exception error;
+
+		private boolean done = false;
+
+		TrackedApp(CloudAppDashElement element, long startTime) {
+			this.element = element;
+			this.name = element.getName();
+			this.startTime = startTime;
+			this.nextLookUpTime = startTime;
+		}
+
+		void lookedUp(long currentTime) {
+			if (currentTime - startTime >= BACKOFF_AFTER) {
+				lookUpTime = Math.min(lookUpTime * 2, MAX_LOOK_UP_TIME);
+			}
+			nextLookUpTime = currentTime + lookUpTime;
+		}
+
+		void done(RunState runState, Exception error) {
+			this.runState = runState;
+			this.error = error;
+			this.done = true;
+		}
+
+		boolean isDone() {
+			return done;
+		}
+	}
+
 	public static RunState getRunState(CFInstanceState instanceState) {
 		RunState runState = null;
 		if (instanceState != null) {
@@ -265,10 +265,8 @@ public class CloudAppDashElement extends CloudDashElement<CloudAppIdentity> impl
 			log("Starting application: " + getName());
 			getClient().restartApplication(getName(), CancelationTokens.merge(cancelationToken, monitor));
 
-			new ApplicationRunningStateTracker(cancelationToken, this).startTracking(monitor);
-
-			CFApplicationDetail updatedInstances = getClient().getApplication(getName());
-			setDetailedData(updatedInstances);
+			// The tracker updates the detailed data while the app is starting
+			getCloudModel().getRunningStateTracker().startTracking(this, cancelationToken, monitor);
 		});
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Pivotal, Inc.
+ * Copyright (c) 2017, 2018 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -49,7 +49,7 @@ public abstract class CloudDashElement<T> extends WrappingBootDashElement<T> {
 							ActuatorClient client = getActuatorClient(target);
 							List<RequestMapping> list = client.getRequestMappings();
 							if (list!=null) {
-								return ImmutableList.copyOf(client.getRequestMappings());
+								return ImmutableList.copyOf(list);
 							}
 						}
 						return null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 Pivotal, Inc.
+ * Copyright (c) 2015, 2017 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -155,6 +155,8 @@ public class CloudFoundryBootDashModel extends AbstractBootDashModel implements
 
 	private DevtoolsDebugTargetDisconnector debugTargetDisconnector;
 
+	private final ApplicationRunningStateTracker runningStateTracker = new ApplicationRunningStateTracker(this);
+
 	private LiveVariable<RefreshState> baseRefeshState = new LiveVariable<>();
 
 	private LiveExpression<RefreshState> apiWarning = new AsyncLiveExpression<RefreshState>(RefreshState.READY, "Check CC api version") {
@@ -602,6 +604,13 @@ public class CloudFoundryBootDashModel extends AbstractBootDashModel implements
 		return this.consoleManager;
 	}
 
+	/**
+	 * @return The tracker shared by the starting applications of this model's space.
+	 */
+	public ApplicationRunningStateTracker getRunningStateTracker() {
+		return runningStateTracker;
+	}
+
 	/**
 	 *
 	 * @param project
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2017 Pivotal, Inc.
+ * Copyright (c) 2015, 2018 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.dash.model;
 
+import java.io.IOException;
 import java.net.URI;
 import java.time.Duration;
 import java.util.Collection;
@@ -50,7 +51,7 @@ import org.springframework.ide.eclipse.boot.dash.util.RunStateTracker.RunStateLi
 import org.springframework.ide.eclipse.boot.launch.BootLaunchConfigurationDelegate;
 import org.springframework.ide.eclipse.boot.launch.cli.CloudCliServiceLaunchConfigurationDelegate;
 import org.springframework.ide.eclipse.boot.launch.util.BootLaunchUtils;
-import org.springframework.ide.eclipse.boot.launch.util.SpringApplicationLifeCycleClientManager;
+import org.springframework.ide.eclipse.boot.launch.util.JMXConnectionPool;
 import org.springframework.ide.eclipse.boot.launch.util.SpringApplicationLifecycleClient;
 import org.springframework.ide.eclipse.boot.pstore.IPropertyStore;
 import org.springframework.ide.eclipse.boot.pstore.PropertyStoreApi;
@@ -94,6 +95,17 @@ public abstract class AbstractLaunchConfigurationsDashElement<T> extends Wrappin
 	private LiveExpression<Integer> actuatorPort;
 	private LiveExpression<Integer> actualInstances;
 
+	/**
+	 * Last known values of the port properties of the app in the process with JMX port
+	 * {@link #knownPortsJmxPort}. They are shown right away when the port expressions are
+	 * recomputed and stay valid until {@link JMXConnectionPool} tells us the app restarted,
+	 * stopped or can't be reached anymore.
+	 */
+	private final Map<String, Integer> knownPorts = new HashMap<>();
+	private int knownPortsJmxPort = -1;
+	private int knownPortsGeneration = 0;
+	private Disposable knownPortsListener;
+
 	private PropertyStoreApi persistentProperties;
 
 	private LiveExpression<URI> actuatorUrl;
@@ -527,6 +539,8 @@ public abstract class AbstractLaunchConfigurationsDashElement<T> extends Wrappin
 					if (READY_STATES.contains(runstate)) {
 						liveRequestMappings.refreshFor(LIVE_DATA_REFRESH_TIMEOUT);
 					} else {
+						//App is restarting or stopped, the cached mappings are not valid anymore
+						client.clearRequestMappingsCache();
 						liveRequestMappings.refreshOnce();
 					}
 				});
@@ -586,42 +600,83 @@ public abstract class AbstractLaunchConfigurationsDashElement<T> extends Wrappin
 						int jmxPort = BootLaunchConfigurationDelegate.getJMXPortAsInt(l);
 						debug("["+this.getName()+"] getLivePort("+propName+") jmxPort = "+jmxPort);
 						if (jmxPort>0) {
-							SpringApplicationLifeCycleClientManager cm = null;
+							Integer known = getKnownPort(jmxPort, propName);
+							if (known!=null) {
+								debug("["+this.getName()+"] getLivePort("+propName+") known port = "+known);
+								return known;
+							}
+							int generation = getKnownPortsGeneration();
 							try {
-								cm = new SpringApplicationLifeCycleClientManager(jmxPort);
-								SpringApplicationLifecycleClient c = cm.getLifeCycleClient();
+								SpringApplicationLifecycleClient c = JMXConnectionPool.getDefault().getLifeCycleClient(jmxPort);
 								debug("["+this.getName()+"] getLivePort("+propName+") lifeCycleClient = "+c);
-								if (c!=null) {
-									//Just because lifecycle bean is ready does not mean that the port property has already been set.
-									//To avoid race condition we should wait here until the port is set (some apps aren't web apps and
-									//may never get a port set, so we shouldn't wait indefinitely!)
-									return RetryUtil.retry(100, 1000, () -> {
-										debug("["+this.getName()+"] getLivePort("+propName+") trying to get...");
-										int port = c.getProperty(propName, -1);
-										debug("["+this.getName()+"] getLivePort("+propName+") port = "+ port);
-										if (port<=0) {
-											throw new IllegalStateException("port not (yet) set");
-										}
-										return port;
-									});
-								}
+								//Just because lifecycle bean is ready does not mean that the port property has already been set.
+								//To avoid race condition we should wait here until the port is set (some apps aren't web apps and
+								//may never get a port set, so we shouldn't wait indefinitely!)
+								int port = RetryUtil.retry(100, 1000, () -> {
+									debug("["+this.getName()+"] getLivePort("+propName+") trying to get...");
+									int p = c.getProperty(propName, -1);
+									debug("["+this.getName()+"] getLivePort("+propName+") port = "+ p);
+									if (p<=0) {
+										throw new IllegalStateException("port not (yet) set");
+									}
+									return p;
+								});
+								setKnownPort(jmxPort, generation, propName, port);
+								return port;
 							} catch (Exception e) {
 								debug(ExceptionUtil.getMessage(e));
 								//most likely this just means the app isn't running so ignore
-							} finally {
-								if (cm!=null) {
-									cm.disposeClient();
+								if (ExceptionUtil.getDeepestCause(e) instanceof IOException) {
+									//Don't hang on to a connection that may be broken
+									JMXConnectionPool.getDefault().close(jmxPort);
 								}
 							}
 						}
 					}
 				}
 			}
+		} else {
+			clearKnownPorts();
 		}
 		debug("["+this.getName()+"] getLivePort("+propName+") => -1");
 		return -1;
 	}
 
+	private synchronized Integer getKnownPort(int jmxPort, String propName) {
+		return jmxPort==knownPortsJmxPort ? knownPorts.get(propName) : null;
+	}
+
+	private synchronized int getKnownPortsGeneration() {
+		return knownPortsGeneration;
+	}
+
+	/**
+	 * Remembers a port, unless the known ports were cleared while it was being fetched
+	 * (i.e. generation is outdated), in which case it may already be stale.
+	 */
+	private synchronized void setKnownPort(int jmxPort, int generation, String propName, int port) {
+		if (generation!=knownPortsGeneration) {
+			return;
+		}
+		if (jmxPort!=knownPortsJmxPort) {
+			knownPorts.clear();
+			knownPortsJmxPort = jmxPort;
+			if (knownPortsListener!=null) {
+				knownPortsListener.dispose();
+			}
+			knownPortsListener = JMXConnectionPool.getDefault().addChangeListener(jmxPort, () -> {
+				clearKnownPorts();
+				refresh(livePort, actuatorPort);
+			});
+		}
+		knownPorts.put(propName, port);
+	}
+
+	private synchronized void clearKnownPorts() {
+		knownPorts.clear();
+		knownPortsGeneration++;
+	}
+
 	public void restartAndExpose(RunState runMode, NGROKClient ngrokClient, String eurekaInstance, UserInteractions ui) throws Exception {
 		String launchMode = null;
 		if (RunState.RUNNING.equals(runMode)) {
@@ -740,10 +795,17 @@ public abstract class AbstractLaunchConfigurationsDashElement<T> extends Wrappin
 
 	@Override
 	public void dispose() {
+		synchronized (this) {
+			if (knownPortsListener!=null) {
+				knownPortsListener.dispose();
+				knownPortsListener = null;
+			}
+		}
 		super.dispose();
 	}
 
 	public void refreshLivePorts() {
+		clearKnownPorts();
 		refresh(livePort, actuatorPort);
 	}
 
@@ -10,11 +10,15 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.dash.model.actuator;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.json.JSONException;
-import org.json.JSONObject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.osgi.framework.Version;
 import org.osgi.framework.VersionRange;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansJsonParser;
@@ -23,6 +27,9 @@ import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
 import org.springframework.ide.eclipse.beans.ui.live.model.TypeLookup;
 import org.springframework.ide.eclipse.boot.util.Log;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
 /**
  * Abstract implementation of a ActuatorClient. The actuar client connects
  * to an actuator endpoint retrieving some information from a running spring boot app.
@@ -30,6 +37,9 @@ import org.springframework.ide.eclipse.boot.util.Log;
  * This implementation is abstract because there is more than one way that we can
  * connect to an actuator endpoint and retrieve the data from it. The method
  * to retrieve the data is therefore an abstract method.
+ * <p>
+ * Parsed request mappings are cached for as long as the app's start time (see {@link #getStartTime()})
+ * doesn't change.
  *
  * @author Kris De Volder
  */
@@ -37,16 +47,21 @@ public abstract class ActuatorClient {
 
 	private static final VersionRange BEANS_PARSER_VERSION_1_RANGE = new VersionRange("[1.0.0, 2.0.0)");
 
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
 	private final TypeLookup typeLookup;
 
+	private Long requestMappingsStartTime;
+	private List<RequestMapping> requestMappings;
+	private Job typeResolution;
+
 	public ActuatorClient(TypeLookup typeLookup) {
 		this.typeLookup = typeLookup;
 	}
 
 
-	private List<RequestMapping> parseRequestMappings(String json, String version) throws JSONException {
- 		JSONObject obj = new JSONObject(json);
- 		RequestMappingsParser parser;
+	private List<RequestMapping> parseRequestMappings(String json, String version) throws IOException {
+		RequestMappingsParser parser;
 		if ("2".equals(version)) {
 			// Boot 2.x
 			parser = new Boot2RequestMappingsParser();
@@ -54,17 +69,30 @@ public abstract class ActuatorClient {
 			//Boot 1.x
 			parser = new Boot1RequestMappingsParser();
 		}
-		return parser.parse(obj, typeLookup);
+		try (JsonParser jsonParser = JSON_FACTORY.createParser(json)) {
+			return parser.parse(jsonParser, typeLookup);
+		}
 	}
 
 	public List<RequestMapping> getRequestMappings() {
 		try {
+			Long startTime = getStartTime();
+			synchronized (this) {
+				if (startTime!=null && startTime.equals(requestMappingsStartTime)) {
+					return requestMappings;
+				}
+			}
 			ImmutablePair<String, String> data = getRequestMappingData();
 			if (data != null) {
 				String json = data.left;
 				if (json!=null) {
-					System.out.println(json);
-					return parseRequestMappings(json, data.right);
+					List<RequestMapping> mappings = Collections.unmodifiableList(parseRequestMappings(json, data.right));
+					synchronized (this) {
+						requestMappingsStartTime = startTime;
+						requestMappings = mappings;
+					}
+					resolveTypes(mappings);
+					return mappings;
 				}
 			}
 		} catch (Exception e) {
@@ -73,6 +101,45 @@ public abstract class ActuatorClient {
 		return null;
 	}
 
+	/**
+	 * Forgets the cached request mappings, the next call to {@link #getRequestMappings()}
+	 * fetches them from the app.
+	 */
+	public synchronized void clearRequestMappingsCache() {
+		requestMappingsStartTime = null;
+		requestMappings = null;
+	}
+
+	/**
+	 * Looks up the types of the handler methods in the background, so that the mappings
+	 * can be shown right away and the types are known by the time they are rendered.
+	 */
+	private synchronized void resolveTypes(List<RequestMapping> mappings) {
+		if (typeResolution!=null) {
+			typeResolution.cancel();
+		}
+		typeResolution = new Job("Resolving request mapping types") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				for (RequestMapping rm : mappings) {
+					if (monitor.isCanceled()) {
+						return Status.CANCEL_STATUS;
+					}
+					if (rm instanceof RequestMappingImpl) {
+						try {
+							((RequestMappingImpl) rm).resolve();
+						} catch (Exception e) {
+							Log.log(e);
+						}
+					}
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		typeResolution.setSystem(true);
+		typeResolution.schedule();
+	}
+
 	public LiveBeansModel getBeans() {
 		try {
 			ImmutablePair<String, String> data = getBeansData();
@@ -96,5 +163,15 @@ public abstract class ActuatorClient {
 
 	protected abstract ImmutablePair<String, String> getRequestMappingData() throws Exception;
 
+	/**
+	 * Returns the time the app has been started. Subclasses that can determine the start time
+	 * enable caching of the request mappings, as the mappings don't change while the app is running.
+	 *
+	 * @return The start time or null if unknown.
+	 */
+	protected Long getStartTime() throws Exception {
+		return null;
+	}
+
 	protected abstract ImmutablePair<String, String> getBeansData() throws Exception;
 }
@@ -10,15 +10,19 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.dash.model.actuator;
 
+import static org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMappingsParser.nextField;
+import static org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMappingsParser.skipValue;
+import static org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMappingsParser.startObject;
+import static org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMappingsParser.textValue;
+
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.springframework.ide.eclipse.beans.ui.live.model.TypeLookup;
 
+import com.fasterxml.jackson.core.JsonParser;
+
 public class Boot1RequestMappingsParser implements RequestMappingsParser {
 
 	/*
@@ -39,15 +43,23 @@ public class Boot1RequestMappingsParser implements RequestMappingsParser {
 
 
 	@Override
-	public List<RequestMapping> parse(JSONObject obj, TypeLookup typeLookup) throws JSONException {
-		@SuppressWarnings("unchecked")
-		Iterator<String> keys = obj.keys();
+	public List<RequestMapping> parse(JsonParser json, TypeLookup typeLookup) throws IOException {
 		List<RequestMapping> result = new ArrayList<>();
-		while (keys.hasNext()) {
-			String rawKey = keys.next();
-			JSONObject value = obj.getJSONObject(rawKey);
-			Collection<RequestMappingImpl> mappings = RequestMappingImpl.create(rawKey, value.optString("method"), typeLookup);
-			result.addAll(mappings);
+		startObject(json);
+		String rawKey;
+		while ((rawKey = nextField(json)) != null) {
+			String method = "";
+			startObject(json);
+			String field;
+			while ((field = nextField(json)) != null) {
+				if ("method".equals(field)) {
+					String value = textValue(json);
+					method = value == null ? "" : value;
+				} else {
+					skipValue(json);
+				}
+			}
+			result.addAll(RequestMappingImpl.create(rawKey, method, typeLookup));
 		}
 		return result;
 	}
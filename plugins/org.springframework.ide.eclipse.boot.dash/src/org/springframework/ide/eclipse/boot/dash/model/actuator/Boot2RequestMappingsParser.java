@@ -10,46 +10,101 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.dash.model.actuator;
 
+import static org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMappingsParser.nextField;
+import static org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMappingsParser.skipValue;
+import static org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMappingsParser.startArray;
+import static org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMappingsParser.startObject;
+import static org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMappingsParser.textValue;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.springframework.ide.eclipse.beans.ui.live.model.TypeLookup;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
 public class Boot2RequestMappingsParser implements RequestMappingsParser {
 
+	/*
+	   {
+	     "contexts": {
+	       "application": {
+	         "mappings": {
+	           "dispatcherServlets": {
+	             "dispatcherServlet": [ { "handler": "...", "predicate": "{[/hello]}" }, ... ]
+	           },
+	           "servletFilters": [ ... ],
+	           "servlets": [ ... ]
+	         },
+	         "parentId": null
+	       }
+	     }
+	   }
+	 */
+
 	@Override
-	public List<RequestMapping> parse(JSONObject obj, TypeLookup typeLookup) throws JSONException {
-		JSONObject contexts = obj.getJSONObject("contexts");
+	public List<RequestMapping> parse(JsonParser json, TypeLookup typeLookup) throws IOException {
 		List<RequestMapping> result = new ArrayList<>();
-		for (String contextId : keys(contexts)) {
-			JSONObject mappings = contexts.getJSONObject(contextId).getJSONObject("mappings");
-
-			//Ignoring everything except 'dispatcherServlets' for the moment.
-			JSONObject dispatcherServlets = mappings.getJSONObject("dispatcherServlets");
-			System.out.println(dispatcherServlets);
-			for (String servletId : keys(dispatcherServlets)) {
-				JSONArray servlets = dispatcherServlets.getJSONArray(servletId);
-				for (int i = 0; i < servlets.length(); i++) {
-					JSONObject servlet = servlets.getJSONObject(i);
-					result.addAll(RequestMappingImpl.create(servlet.getString("predicate"), servlet.getString("handler"), typeLookup));
+		startObject(json);
+		String field;
+		while ((field = nextField(json)) != null) {
+			if ("contexts".equals(field)) {
+				startObject(json);
+				while (nextField(json) != null) {
+					parseContext(json, typeLookup, result);
 				}
+			} else {
+				skipValue(json);
 			}
-//			JSONObject value = obj.getJSONObject(rawKey);
-//			Collection<RequestMappingImpl> mappings = RequestMappingImpl.create(rawKey, value.optString("method"), typeLookup);
-//			result.addAll(mappings);
-
 		}
 		return result;
 	}
 
-	/**
-	 * Convenience method, makes up for the fact that in Eclipse land we have to use an ancient version of org.json.
-	 */
-	private Iterable<String> keys(JSONObject obj) {
-		return obj::keys;
+	private void parseContext(JsonParser json, TypeLookup typeLookup, List<RequestMapping> result) throws IOException {
+		startObject(json);
+		String field;
+		while ((field = nextField(json)) != null) {
+			if ("mappings".equals(field)) {
+				startObject(json);
+				String mappingsField;
+				while ((mappingsField = nextField(json)) != null) {
+					//Ignoring everything except 'dispatcherServlets' for the moment.
+					if ("dispatcherServlets".equals(mappingsField)) {
+						parseDispatcherServlets(json, typeLookup, result);
+					} else {
+						skipValue(json);
+					}
+				}
+			} else {
+				skipValue(json);
+			}
+		}
+	}
+
+	private void parseDispatcherServlets(JsonParser json, TypeLookup typeLookup, List<RequestMapping> result) throws IOException {
+		startObject(json);
+		while (nextField(json) != null) {
+			startArray(json);
+			while (json.nextToken() == JsonToken.START_OBJECT) {
+				String predicate = null;
+				String handler = null;
+				String field;
+				while ((field = nextField(json)) != null) {
+					if ("predicate".equals(field)) {
+						predicate = textValue(json);
+					} else if ("handler".equals(field)) {
+						handler = textValue(json);
+					} else {
+						skipValue(json);
+					}
+				}
+				if (predicate != null) {
+					result.addAll(RequestMappingImpl.create(predicate, handler, typeLookup));
+				}
+			}
+		}
 	}
 
 }
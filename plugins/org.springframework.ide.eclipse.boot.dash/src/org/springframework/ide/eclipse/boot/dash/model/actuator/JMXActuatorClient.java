@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Pivotal, Inc.
+ * Copyright (c) 2017, 2018 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -54,6 +54,8 @@ public class JMXActuatorClient extends ActuatorClient {
 			new OperationInfo("org.springframework.boot:type=Endpoint,name=beansEndpoint", "getData", "1") //Boot 1.x
 	};
 
+	private static final String RUNTIME_OBJECT_NAME = "java.lang:type=Runtime";
+
 	private JMXClient client = null;
 	private Integer port = null;
 
@@ -87,6 +89,20 @@ public class JMXActuatorClient extends ActuatorClient {
 		return null;
 	}
 
+	@Override
+	protected Long getStartTime() throws Exception {
+		try {
+			JMXClient client = getClient();
+			if (client!=null) {
+				return client.getAttribute(Long.class, RUNTIME_OBJECT_NAME, "StartTime");
+			}
+		} catch (Exception e) {
+			//Don't cache anything, fetching the mappings will report the problem if there really is one.
+			disposeClient();
+		}
+		return null;
+	}
+
 	@Override
 	protected ImmutablePair<String, String> getBeansData() throws Exception {
 		try {
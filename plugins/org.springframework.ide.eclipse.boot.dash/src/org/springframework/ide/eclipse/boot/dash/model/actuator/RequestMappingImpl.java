@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2017 Pivotal, Inc.
+ * Copyright (c) 2015, 2018 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,7 +29,8 @@ import org.springframework.ide.eclipse.boot.util.Log;
 public class RequestMappingImpl implements RequestMapping {
 
 	protected final TypeLookup typeLookup;
-	private JLRMethod methodData;
+	private volatile JLRMethod methodData;
+	private volatile IType type;
 
 	private String path;
 	private String handler;
@@ -52,11 +53,27 @@ public class RequestMappingImpl implements RequestMapping {
 
 	@Override
 	public IType getType() {
-		String fqName = getFullyQualifiedClassName();
-		if (fqName!=null) {
-			return typeLookup.findType(fqName);
+		IType type = this.type;
+		if (type==null) {
+			String fqName = getFullyQualifiedClassName();
+			if (fqName!=null) {
+				//Only found types are remembered, types that can't be found yet may show up later.
+				this.type = type = typeLookup.findType(fqName);
+			}
+		}
+		return type;
+	}
+
+	/**
+	 * Eagerly parses the handler method and looks up its type, so that later calls to
+	 * {@link #getType()} and friends (e.g. from a label provider) are cheap.
+	 */
+	public void resolve() {
+		if (typeLookup!=null) {
+			getType();
+		} else {
+			getMethodData();
 		}
-		return null;
 	}
 
 	@Override
@@ -10,13 +10,75 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.dash.model.actuator;
 
+import java.io.IOException;
 import java.util.List;
 
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.springframework.ide.eclipse.beans.ui.live.model.TypeLookup;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Parses the json data of the actuator 'mappings' endpoint. The data is read as a stream of tokens,
+ * no object tree is built for the (potentially large) payload.
+ */
 @FunctionalInterface
 public interface RequestMappingsParser {
-	List<RequestMapping> parse(JSONObject obj, TypeLookup typeLookup) throws JSONException;
+
+	List<RequestMapping> parse(JsonParser json, TypeLookup typeLookup) throws IOException;
+
+	/**
+	 * Reads the next token which must start an object.
+	 */
+	static void startObject(JsonParser json) throws IOException {
+		expect(json, JsonToken.START_OBJECT);
+	}
+
+	/**
+	 * Reads the next token which must start an array.
+	 */
+	static void startArray(JsonParser json) throws IOException {
+		expect(json, JsonToken.START_ARRAY);
+	}
+
+	/**
+	 * Moves to the next field of the current object.
+	 *
+	 * @return the name of the field or null if the end of the object has been reached.
+	 */
+	static String nextField(JsonParser json) throws IOException {
+		if (json.nextToken()==JsonToken.FIELD_NAME) {
+			return json.getCurrentName();
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the value of the current field as text. Returns null if the value isn't a scalar.
+	 */
+	static String textValue(JsonParser json) throws IOException {
+		JsonToken token = json.nextToken();
+		if (token==JsonToken.VALUE_NULL) {
+			return null;
+		} else if (token!=null && token.isScalarValue()) {
+			return json.getText();
+		}
+		json.skipChildren();
+		return null;
+	}
+
+	/**
+	 * Skips the value of the current field, including all of its children.
+	 */
+	static void skipValue(JsonParser json) throws IOException {
+		json.nextToken();
+		json.skipChildren();
+	}
+
+	static void expect(JsonParser json, JsonToken expected) throws IOException {
+		JsonToken token = json.nextToken();
+		if (token!=expected) {
+			throw new IOException("Expected "+expected+" but found "+token+" at "+json.getCurrentLocation());
+		}
+	}
 }
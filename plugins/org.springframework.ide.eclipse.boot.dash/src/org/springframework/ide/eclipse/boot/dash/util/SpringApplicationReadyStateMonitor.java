@@ -52,7 +52,7 @@ public class SpringApplicationReadyStateMonitor extends AbstractPollingAppReadyS
 			//Something went wrong asking client for ready state.
 			// most likely process died.
 			if (clientManager != null) {
-				clientManager.disposeClient();
+				clientManager.disposeBrokenClient();
 			}
 		}
 		return false;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 Pivotal, Inc.
+ * Copyright (c) 2015, 2017 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -147,6 +147,7 @@ public class BootProcessFactory implements IProcessFactory {
 					} catch (Exception e) {
 						//ignore... nice termination failed.
 						//BootActivator.log(e);
+						clientMgr.disposeBrokenClient();
 					} finally {
 						clientMgr.disposeClient();
 					}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 Pivotal Software, Inc.
+ * Copyright (c) 2013, 2017 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -71,6 +71,7 @@ public class BootLaunchUtils {
 				} catch (Exception e) {
 					//Nice termination failed. We'll ignore the exception and allow fallback to kick in.
 					//BootActivator.log(e);
+					clientMgr.disposeBrokenClient();
 				} finally {
 					clientMgr.disposeClient();
 				}
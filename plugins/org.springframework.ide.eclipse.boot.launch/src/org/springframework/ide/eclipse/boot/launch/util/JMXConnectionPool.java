@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.launch.util;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerDelegate;
+import javax.management.MBeanServerNotification;
+import javax.management.Notification;
+import javax.management.NotificationListener;
+import javax.management.relation.MBeanServerNotificationFilter;
+import javax.management.remote.JMXConnectionNotification;
+import javax.management.remote.JMXConnector;
+
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchesListener2;
+import org.springframework.ide.eclipse.boot.launch.BootLaunchConfigurationDelegate;
+import org.springsource.ide.eclipse.commons.livexp.ui.Disposable;
+
+/**
+ * Shares a single JMX connection per locally running process, identified by its JMX port,
+ * between all the clients that need to talk to the process. A connection is dropped when it
+ * fails or when the launch of the process terminates, and is re-established the next time it
+ * is needed.
+ * <p>
+ * Clients can register a listener for a process to be told when the Spring application in
+ * the process (re)starts or stops, or the connection to it is lost. Information obtained from
+ * the process before such a change, like the port the application listens on, is then stale.
+ */
+public class JMXConnectionPool {
+
+	private static JMXConnectionPool instance;
+
+	public static synchronized JMXConnectionPool getDefault() {
+		if (instance==null) {
+			instance = new JMXConnectionPool();
+			DebugPlugin debug = DebugPlugin.getDefault();
+			if (debug!=null) {
+				debug.getLaunchManager().addLaunchListener(instance.launchListener);
+			}
+		}
+		return instance;
+	}
+
+	private final ConcurrentMap<Integer, PooledConnection> connections = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Integer, List<Runnable>> listeners = new ConcurrentHashMap<>();
+
+	private final ILaunchesListener2 launchListener = new ILaunchesListener2() {
+		@Override
+		public void launchesTerminated(ILaunch[] launches) {
+			for (ILaunch l : launches) {
+				int port = BootLaunchConfigurationDelegate.getJMXPortAsInt(l);
+				if (port>0) {
+					close(port);
+				}
+			}
+		}
+		@Override
+		public void launchesRemoved(ILaunch[] launches) {
+		}
+		@Override
+		public void launchesAdded(ILaunch[] launches) {
+		}
+		@Override
+		public void launchesChanged(ILaunch[] launches) {
+		}
+	};
+
+	/**
+	 * Gets the shared connection to the process with the given JMX port, connecting to it if
+	 * there is no connection yet.
+	 * @throws IOException if the process can't be connected to.
+	 */
+	public MBeanServerConnection getConnection(int port) throws IOException {
+		return connections.computeIfAbsent(port, PooledConnection::new).get();
+	}
+
+	/**
+	 * Convenience method to get a lifecycle client that uses the shared connection.
+	 */
+	public SpringApplicationLifecycleClient getLifeCycleClient(int port) throws IOException {
+		return new SpringApplicationLifecycleClient(getConnection(port), SpringApplicationLifecycleClient.DEFAULT_OBJECT_NAME);
+	}
+
+	/**
+	 * Closes the shared connection to the process with the given JMX port, e.g. because it
+	 * seems to be broken. The next request for a connection to the process reconnects.
+	 */
+	public void close(int port) {
+		PooledConnection c = connections.remove(port);
+		if (c!=null) {
+			c.close();
+			fireChanged(port);
+		}
+	}
+
+	/**
+	 * Adds a listener that is called whenever the Spring application in the process with the
+	 * given JMX port starts or stops, or the connection to the process is lost. Listeners are
+	 * called from JMX notification threads.
+	 */
+	public Disposable addChangeListener(int port, Runnable listener) {
+		listeners.compute(port, (p, forPort) -> {
+			if (forPort==null) {
+				forPort = new CopyOnWriteArrayList<>();
+			}
+			forPort.add(listener);
+			return forPort;
+		});
+		return () -> {
+			//Drop the list along with its last listener, so the map doesn't keep a list for every port ever watched.
+			listeners.computeIfPresent(port, (p, forPort) -> {
+				forPort.remove(listener);
+				return forPort.isEmpty() ? null : forPort;
+			});
+		};
+	}
+
+	private void fireChanged(int port) {
+		List<Runnable> forPort = listeners.get(port);
+		if (forPort!=null) {
+			for (Runnable l : forPort) {
+				l.run();
+			}
+		}
+	}
+
+	private class PooledConnection implements NotificationListener {
+
+		private final int port;
+		private JMXConnector connector;
+		private MBeanServerConnection connection;
+		private boolean closed = false;
+
+		PooledConnection(int port) {
+			this.port = port;
+		}
+
+		synchronized MBeanServerConnection get() throws IOException {
+			if (closed) {
+				//Lost a race with close(), which already removed us from the pool.
+				return getConnection(port);
+			}
+			if (connection==null) {
+				try {
+					connector = JMXClient.createLocalJmxConnector(port);
+					connection = connector.getMBeanServerConnection();
+					connector.addConnectionNotificationListener(this, null, null);
+					MBeanServerNotificationFilter filter = new MBeanServerNotificationFilter();
+					filter.disableAllObjectNames();
+					filter.enableObjectName(SpringApplicationLifecycleClient.toObjectName(SpringApplicationLifecycleClient.DEFAULT_OBJECT_NAME));
+					connection.addNotificationListener(MBeanServerDelegate.DELEGATE_NAME, this, filter, null);
+				} catch (Exception e) {
+					//Don't keep a connection around that may be in a broken state.
+					connections.remove(port, this);
+					closeConnector();
+					if (e instanceof IOException) {
+						throw (IOException)e;
+					}
+					throw new IOException(e);
+				}
+			}
+			return connection;
+		}
+
+		synchronized void close() {
+			closed = true;
+			closeConnector();
+		}
+
+		private void closeConnector() {
+			if (connector!=null) {
+				try {
+					connector.removeConnectionNotificationListener(this);
+				} catch (Exception e) {
+					//ignore
+				}
+				try {
+					connector.close();
+				} catch (Exception e) {
+					//ignore
+				}
+			}
+			connector = null;
+			connection = null;
+		}
+
+		@Override
+		public void handleNotification(Notification notification, Object handback) {
+			if (notification instanceof MBeanServerNotification) {
+				//The lifecycle mbean was registered or unregistered: application started or stopped.
+				fireChanged(port);
+			} else if (notification instanceof JMXConnectionNotification) {
+				String type = notification.getType();
+				if (JMXConnectionNotification.FAILED.equals(type) || JMXConnectionNotification.CLOSED.equals(type)) {
+					if (connections.remove(port, this)) {
+						close();
+						fireChanged(port);
+					}
+				} else if (JMXConnectionNotification.NOTIFS_LOST.equals(type)) {
+					fireChanged(port);
+				}
+			}
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 Pivotal, Inc.
+ * Copyright (c) 2015, 2017 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,7 +10,7 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.launch.util;
 
-import java.io.IOException;
+import java.util.function.IntSupplier;
 
 import javax.inject.Provider;
 import javax.management.remote.JMXConnector;
@@ -21,47 +21,45 @@ import org.springframework.ide.eclipse.boot.launch.BootLaunchConfigurationDelega
 
 /**
  * Creates and manages an instance of {@link SpringApplicationLifecycleClient}.
+ * <p>
+ * Managers for a local process, identified by its launch or JMX port, use the connection
+ * shared through {@link JMXConnectionPool}. Managers created with a connection provider
+ * own their connection.
  *
  * @author Kris De Volder
  */
 public class SpringApplicationLifeCycleClientManager {
 
-	private Provider<JMXConnector> connectionProvider;
+	private final Provider<JMXConnector> connectionProvider;
+	private final IntSupplier pooledPort;
 	private JMXConnector connector;
 	private SpringApplicationLifecycleClient client;
 
 	public SpringApplicationLifeCycleClientManager(Provider<JMXConnector> connectionProvider) {
 		Assert.isNotNull(connectionProvider);
 		this.connectionProvider = connectionProvider;
+		this.pooledPort = null;
 	}
 
 	/**
 	 * Convenenience method, use ILaunch as the jmxPort provider.
 	 */
 	public SpringApplicationLifeCycleClientManager(ILaunch l) {
-		this(() -> createJMXConnection(BootLaunchConfigurationDelegate.getJMXPortAsInt(l)));
-	}
-
-	private static JMXConnector createJMXConnection(int port) {
-		if (port <=0) {
-			throw new IllegalStateException("JMX port not specified");
-		}
-		try {
-			return JMXClient.createLocalJmxConnector(port);
-		} catch (IOException e) {
-			return null;
-		}
+		this.connectionProvider = null;
+		this.pooledPort = () -> BootLaunchConfigurationDelegate.getJMXPortAsInt(l);
 	}
 
 	/**
 	 * Convenenience method, use a given fixed port.
 	 */
 	public SpringApplicationLifeCycleClientManager(int resolvedPort) {
-		this(() -> createJMXConnection(resolvedPort));
+		this.connectionProvider = null;
+		this.pooledPort = () -> resolvedPort;
 	}
 
 	/**
-	 * Dispose of current client and JMX connection. This does not
+	 * Dispose of current client. A JMX connection owned by this manager is closed, a
+	 * shared connection is left open for its other users. This does not
 	 * make the manager itself unusable, as an attempt will be made to
 	 * re-establish the connection the next time it is needed.
 	 */
@@ -77,17 +75,39 @@ public class SpringApplicationLifeCycleClientManager {
 		connector = null;
 	}
 
+	/**
+	 * Dispose of current client after talking to it failed. Unlike {@link #disposeClient()}
+	 * this also closes a shared connection, since it is probably broken.
+	 */
+	public synchronized void disposeBrokenClient() {
+		if (pooledPort!=null && client!=null) {
+			int port = pooledPort.getAsInt();
+			if (port>0) {
+				JMXConnectionPool.getDefault().close(port);
+			}
+		}
+		disposeClient();
+	}
+
 	/**
 	 * Try to obtain a client, may return null if a connection could not be established.
 	 */
 	public SpringApplicationLifecycleClient getLifeCycleClient() {
 		try {
 			if (client==null) {
-				connector = connectionProvider.get();
-				client = new SpringApplicationLifecycleClient(
-						connector.getMBeanServerConnection(),
-						SpringApplicationLifecycleClient.DEFAULT_OBJECT_NAME
-				);
+				if (pooledPort!=null) {
+					int port = pooledPort.getAsInt();
+					if (port <=0) {
+						throw new IllegalStateException("JMX port not specified");
+					}
+					client = JMXConnectionPool.getDefault().getLifeCycleClient(port);
+				} else {
+					connector = connectionProvider.get();
+					client = new SpringApplicationLifecycleClient(
+							connector.getMBeanServerConnection(),
+							SpringApplicationLifecycleClient.DEFAULT_OBJECT_NAME
+					);
+				}
 			}
 			return client;
 		} catch (Exception e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Pivotal Software, Inc.
+ * Copyright (c) 2016, 2017 Pivotal Software, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,13 +10,11 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.templates;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -40,8 +38,6 @@ import com.google.common.collect.ImmutableMap;
 @SuppressWarnings("restriction")
 public class BootJavaContext extends JavaContext {
 
-	private static final Pattern CONTEXT_TAG = Pattern.compile("\\[[^\\[\\]]*\\]");
-
 	public static final Map<String, Predicate<BootJavaContext>> CONTEXT_TAG_CHECKERS = negate(ImmutableMap.of(
 			"test", BootJavaContext::isTestContext,
 			"assertj", BootJavaContext::isAssertJContext
@@ -55,6 +51,8 @@ public class BootJavaContext extends JavaContext {
 		}
 	}
 
+	private final Map<String, Boolean> contextTagResults = new HashMap<>();
+
 	public BootJavaContext(TemplateContextType type, IDocument document, int completionOffset, int completionLength,
 			ICompilationUnit compilationUnit) {
 		super(type, document, completionOffset, completionLength, compilationUnit);
@@ -80,10 +78,9 @@ public class BootJavaContext extends JavaContext {
 	@Override
 	public boolean canEvaluate(Template template) {
 		if (super.canEvaluate(template)) {
-			List<String> contextTags = parseContextTags(template);
+			List<String> contextTags = BootTemplateIndex.getDefault().getContextTags(template);
 			for (String tag : contextTags) {
-				Predicate<BootJavaContext> checker = CONTEXT_TAG_CHECKERS.get(tag);
-				if (checker!=null && !checker.test(this)) {
+				if (!checkContextTag(tag)) {
 					return false;
 				}
 			}
@@ -92,17 +89,19 @@ public class BootJavaContext extends JavaContext {
 		return false;
 	}
 
-	private List<String> parseContextTags(Template template) {
-		return parseContextTags(template.getDescription());
-	}
-
-	private List<String> parseContextTags(String text) {
-		Matcher matcher = CONTEXT_TAG.matcher(text);
-		List<String> tags = new ArrayList<>();
-		while (matcher.find()) {
-			tags.add(text.substring(matcher.start()+1, matcher.end()-1));
+	/**
+	 * Checks whether the given context tag applies to this context. The outcome is remembered
+	 * for the rest of the completion request, since all templates with the same tag get the same
+	 * answer and some checks have to search the project's classpath.
+	 */
+	private boolean checkContextTag(String tag) {
+		Boolean result = contextTagResults.get(tag);
+		if (result == null) {
+			Predicate<BootJavaContext> checker = CONTEXT_TAG_CHECKERS.get(tag);
+			result = checker==null || checker.test(this);
+			contextTagResults.put(tag, result);
 		}
-		return tags;
+		return result;
 	}
 
 	public boolean isAssertJContext() {
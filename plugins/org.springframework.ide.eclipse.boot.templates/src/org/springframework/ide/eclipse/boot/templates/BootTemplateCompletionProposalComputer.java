@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2011, 2017 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,8 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.text.java.AbstractTemplateCompletionProposalComputer;
 import org.eclipse.jdt.internal.ui.text.template.contentassist.TemplateEngine;
 import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.templates.ContextTypeRegistry;
 import org.eclipse.jface.text.templates.TemplateContextType;
 import org.springsource.ide.eclipse.commons.frameworks.core.workspace.ClasspathListenerManager;
@@ -91,18 +93,36 @@ public class BootTemplateCompletionProposalComputer extends AbstractTemplateComp
 			if (coreContext != null) {
 				int tokenLocation= coreContext.getTokenLocation();
 				if ((tokenLocation & CompletionContext.TL_MEMBER_START) != 0) {
-					return fMembersTemplateEngine;
+					return mayHaveProposals(context, BootContextType.ID_MEMBERS) ? fMembersTemplateEngine : null;
 				}
 				if ((tokenLocation & CompletionContext.TL_STATEMENT_START) != 0) {
-					return fStatementsTemplateEngine;
+					return mayHaveProposals(context, BootContextType.ID_STATEMENTS) ? fStatementsTemplateEngine : null;
 				}
 			}
-			return fAllTemplateEngine;
+			return mayHaveProposals(context, BootContextType.ID_ALL) ? fAllTemplateEngine : null;
 		}
 
 		return null;
 	}
 
+	/**
+	 * Tells whether any template of the given context type can match the prefix being completed.
+	 * If not, the template engine doesn't need to evaluate the templates at all.
+	 */
+	private static boolean mayHaveProposals(JavaContentAssistInvocationContext context, String contextTypeId) {
+		ITextViewer viewer= context.getViewer();
+		if (viewer == null || viewer.getSelectedRange().y > 0) {
+			// templates surrounding the selection are proposed regardless of the prefix
+			return true;
+		}
+		try {
+			String prefix= context.computeIdentifierPrefix().toString();
+			return BootTemplateIndex.getDefault().hasCandidates(contextTypeId, prefix);
+		} catch (BadLocationException e) {
+			return true;
+		}
+	}
+
 	/**
 	 * Tells whether 'context type' is on the given project's class path.
 	 *
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Pivotal Software, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.templates;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jface.text.templates.Template;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Index of the templates of the Boot context types, by context type and name. It tells cheaply
+ * which templates can possibly match the prefix typed by the user, so that completion requests
+ * that can't produce any Boot template proposal don't have to evaluate any templates at all.
+ * It also holds the context tags of each template (see {@link BootJavaContext}), so they are
+ * parsed once rather than on every completion request.
+ * <p>
+ * The default index is built from the Java template store and rebuilt when the templates are
+ * edited in the preferences.
+ */
+@SuppressWarnings("restriction")
+public class BootTemplateIndex {
+
+	private static final Pattern CONTEXT_TAG = Pattern.compile("\\[[^\\[\\]]*\\]");
+
+	/**
+	 * Preference key under which the Java template store saves the templates.
+	 */
+	private static final String TEMPLATES_KEY = "org.eclipse.jdt.ui.text.custom_templates"; //$NON-NLS-1$
+
+	private static BootTemplateIndex defaultIndex;
+	private static boolean listening = false;
+
+	/**
+	 * Templates by context type id, then by lower case name.
+	 */
+	private final Map<String, NavigableMap<String, List<Template>>> templates = new HashMap<>();
+
+	/**
+	 * Context types that have a template with a name that isn't a Java identifier. The part of
+	 * the document that such a template is matched against can't be predicted reliably.
+	 */
+	private final Map<String, Boolean> irregularNames = new HashMap<>();
+
+	private final Map<Template, List<String>> contextTags = new HashMap<>();
+
+	public BootTemplateIndex(Template[] allTemplates) {
+		for (Template template : allTemplates) {
+			String contextTypeId = template.getContextTypeId();
+			if (isBootContextType(contextTypeId)) {
+				String name = template.getName().toLowerCase(Locale.ENGLISH);
+				templates.computeIfAbsent(contextTypeId, (id) -> new TreeMap<>())
+						.computeIfAbsent(name, (n) -> new ArrayList<>())
+						.add(template);
+				if (!isIdentifier(name)) {
+					irregularNames.put(contextTypeId, true);
+				}
+				contextTags.put(template, parseContextTags(template.getDescription()));
+			}
+		}
+	}
+
+	/**
+	 * @return The index of the templates in the Java template store.
+	 */
+	public static synchronized BootTemplateIndex getDefault() {
+		if (defaultIndex == null) {
+			JavaPlugin javaPlugin = JavaPlugin.getDefault();
+			if (!listening) {
+				listening = true;
+				javaPlugin.getPreferenceStore().addPropertyChangeListener((event) -> {
+					if (TEMPLATES_KEY.equals(event.getProperty())) {
+						invalidateDefault();
+					}
+				});
+			}
+			defaultIndex = new BootTemplateIndex(javaPlugin.getTemplateStore().getTemplates());
+		}
+		return defaultIndex;
+	}
+
+	private static synchronized void invalidateDefault() {
+		defaultIndex = null;
+	}
+
+	/**
+	 * Determines whether any template of the given context type (or of a context type that is
+	 * compatible with it) can match the given prefix. A <code>false</code> answer is definite,
+	 * <code>true</code> means the templates have to be evaluated to find out.
+	 */
+	public boolean hasCandidates(String contextTypeId, String prefix) {
+		if (prefix.isEmpty()) {
+			return true;
+		}
+		for (String id : compatibleContextTypes(contextTypeId)) {
+			if (irregularNames.containsKey(id) || !candidates(id, prefix).isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return The templates of the given context type (or of a context type compatible with it)
+	 * with a name that starts with the given prefix, ignoring case.
+	 */
+	public List<Template> getCandidates(String contextTypeId, String prefix) {
+		List<Template> result = new ArrayList<>();
+		for (String id : compatibleContextTypes(contextTypeId)) {
+			for (List<Template> named : candidates(id, prefix).values()) {
+				result.addAll(named);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return The context tags in the description of the given template, e.g. <code>test</code>
+	 * for a template with description "Declare a field [test]".
+	 */
+	public List<String> getContextTags(Template template) {
+		List<String> tags = contextTags.get(template);
+		if (tags == null) {
+			// Not one of the indexed templates
+			tags = parseContextTags(template.getDescription());
+		}
+		return tags;
+	}
+
+	private NavigableMap<String, List<Template>> candidates(String contextTypeId, String prefix) {
+		NavigableMap<String, List<Template>> byName = templates.get(contextTypeId);
+		if (byName == null) {
+			return Collections.emptyNavigableMap();
+		}
+		String from = prefix.toLowerCase(Locale.ENGLISH);
+		return byName.subMap(from, true, from + Character.MAX_VALUE, false);
+	}
+
+	/**
+	 * Templates for all code locations are also proposed for more specific locations, see
+	 * {@link BootContextType#initializeContext}.
+	 */
+	private static List<String> compatibleContextTypes(String contextTypeId) {
+		if (BootContextType.ID_ALL.equals(contextTypeId)) {
+			return ImmutableList.of(contextTypeId);
+		}
+		return ImmutableList.of(contextTypeId, BootContextType.ID_ALL);
+	}
+
+	private static boolean isBootContextType(String contextTypeId) {
+		return BootContextType.ID_ALL.equals(contextTypeId)
+				|| BootContextType.ID_MEMBERS.equals(contextTypeId)
+				|| BootContextType.ID_STATEMENTS.equals(contextTypeId);
+	}
+
+	private static boolean isIdentifier(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static List<String> parseContextTags(String text) {
+		Matcher matcher = CONTEXT_TAG.matcher(text);
+		List<String> tags = new ArrayList<>();
+		while (matcher.find()) {
+			tags.add(text.substring(matcher.start()+1, matcher.end()-1));
+		}
+		return tags;
+	}
+
+}
@@ -14,8 +14,11 @@ import org.junit.runners.Suite.SuiteClasses;
 		NewSpringBootWizardModelTest.class,
 		NewSpringBootWizardTest.class,
 		InitializrDependencySpecTest.class,
+		InitializrMetadataCacheTest.class,
 		SpringBootValidationTest.class,
-		GSGWizardModelTest.class
+		GSGWizardModelTest.class,
+		GuidesMirrorTest.class,
+		BootTemplateIndexTest.class
 })
 public class AllSpringBootTests {
 
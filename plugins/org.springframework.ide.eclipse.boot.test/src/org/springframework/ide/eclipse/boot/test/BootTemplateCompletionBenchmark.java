@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.ide.eclipse.boot.test.BootProjectTestHarness.buildMavenProject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.templates.Template;
+import org.eclipse.jface.text.templates.persistence.TemplatePersistenceData;
+import org.eclipse.jface.text.templates.persistence.TemplateStore;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.ide.IDE;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.templates.BootContextType;
+import org.springframework.ide.eclipse.boot.templates.BootTemplateCompletionProposalComputer;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+/**
+ * Measures {@link BootTemplateCompletionProposalComputer} end to end, with 1,000 Boot templates
+ * added to the Java template store: each completion request is computed for a prefix typed at
+ * the start of a statement in the Java editor of a Boot project.
+ * <p>
+ * This is not part of {@link AllSpringBootTests}. Run it on its own, as a JUnit plug-in test or
+ * with <code>mvn verify -Pboot-template-benchmark</code>. The system properties
+ * <code>boot.benchmark.templates</code> and <code>boot.benchmark.iterations</code> set the number
+ * of templates and the measured completion requests per prefix.
+ */
+@SuppressWarnings("restriction")
+public class BootTemplateCompletionBenchmark {
+
+	private static final String BUNDLE_ID = "org.springframework.ide.eclipse.boot.test";
+
+	private static final int TEMPLATES = Integer.getInteger("boot.benchmark.templates", 1000);
+
+	private static final int ITERATIONS = Integer.getInteger("boot.benchmark.iterations", 200);
+
+	private static final int WARMUP_ITERATIONS = 20;
+
+	/**
+	 * Prefixes matching many, some and none of the added templates.
+	 */
+	private static final String[] PREFIXES = { "rest", "mock12", "zz" };
+
+	private static final String NO_MATCH = "zz";
+
+	private static final String[] CONTEXT_TYPES = {
+			BootContextType.ID_ALL, BootContextType.ID_MEMBERS, BootContextType.ID_STATEMENTS
+	};
+
+	private static boolean wasAutobuilding;
+
+	private static final List<TemplatePersistenceData> added = new ArrayList<>();
+
+	private static IProject project;
+
+	private static JavaEditor editor;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		wasAutobuilding = StsTestUtil.isAutoBuilding();
+		StsTestUtil.setAutoBuilding(false);
+
+		project = StsTestUtil.createPredefinedProject("simple-boot-project", BUNDLE_ID);
+		buildMavenProject(project);
+
+		// Saving the store rebuilds the template index
+		TemplateStore store = JavaPlugin.getDefault().getTemplateStore();
+		for (int i = 0; i < TEMPLATES; i++) {
+			String name = (i % 3 == 0 ? "rest" : i % 3 == 1 ? "mock" : "test") + i;
+			String description = "Team template " + i + (i % 10 == 0 ? " [test]" : "");
+			TemplatePersistenceData data = new TemplatePersistenceData(
+					new Template(name, description, CONTEXT_TYPES[i % CONTEXT_TYPES.length], "${cursor}", false), true);
+			store.add(data);
+			added.add(data);
+		}
+		store.save();
+
+		IFile file = project.getFile("src/main/java/demo/EmptyBootProjectApplication.java");
+		IEditorPart part = IDE.openEditor(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage(), file);
+		editor = (JavaEditor) part;
+	}
+
+	@AfterClass
+	public static void tearDown() throws Exception {
+		if (editor != null) {
+			editor.close(false);
+		}
+		TemplateStore store = JavaPlugin.getDefault().getTemplateStore();
+		for (TemplatePersistenceData data : added) {
+			store.delete(data);
+		}
+		store.save();
+		added.clear();
+		StsTestUtil.deleteAllProjects();
+		StsTestUtil.setAutoBuilding(wasAutobuilding);
+	}
+
+	@Test
+	public void completeAtStatementStart() throws Exception {
+		BootTemplateCompletionProposalComputer computer = new BootTemplateCompletionProposalComputer();
+		ITextViewer viewer = editor.getViewer();
+		IDocument document = viewer.getDocument();
+		// The start of the statement in the main method
+		int offset = document.get().indexOf("SpringApplication.run");
+		assertTrue(offset > 0);
+
+		for (String prefix : PREFIXES) {
+			document.replace(offset, 0, prefix + "\n");
+			try {
+				int end = offset + prefix.length();
+				int proposals = 0;
+				for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+					proposals = complete(computer, viewer, end);
+				}
+				// Context tags may rule out some of the matching templates
+				assertEquals(prefix, !NO_MATCH.equals(prefix), proposals > 0);
+
+				long start = System.nanoTime();
+				for (int i = 0; i < ITERATIONS; i++) {
+					complete(computer, viewer, end);
+				}
+				report(prefix, proposals, (System.nanoTime() - start) / ITERATIONS);
+			} finally {
+				document.replace(offset, prefix.length() + 1, "");
+			}
+		}
+	}
+
+	private int complete(BootTemplateCompletionProposalComputer computer, ITextViewer viewer, int offset) {
+		// A new context per request, as the core context is computed once per context
+		JavaContentAssistInvocationContext context = new JavaContentAssistInvocationContext(viewer, offset, editor);
+		return computer.computeCompletionProposals(context, new NullProgressMonitor()).size();
+	}
+
+	private static void report(String prefix, int proposals, long nanos) {
+		System.out.println(String.format(Locale.ENGLISH, "complete '%s': %d templates, %d proposals: %.3f ms/op",
+				prefix, TEMPLATES, proposals, nanos / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+	}
+
+}
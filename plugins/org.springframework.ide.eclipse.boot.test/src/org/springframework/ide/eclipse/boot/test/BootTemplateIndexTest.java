@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.jface.text.templates.Template;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.templates.BootContextType;
+import org.springframework.ide.eclipse.boot.templates.BootTemplateIndex;
+
+/**
+ * Tests for {@link BootTemplateIndex}.
+ */
+public class BootTemplateIndexTest {
+
+	private static final String[] CONTEXT_TYPES = {
+			BootContextType.ID_ALL, BootContextType.ID_MEMBERS, BootContextType.ID_STATEMENTS, "java", "java-members"
+	};
+
+	private static final String[] PREFIXES = { "rest", "Mock", "zz", "t", "test12", "sysout" };
+
+	@Test
+	public void candidatesByContextTypeAndPrefix() throws Exception {
+		Template main = new Template("main", "Spring Boot main method", BootContextType.ID_MEMBERS, "", false);
+		Template eerule = new Template("eerule", "Declare a @Rule ExpectedException field [test]", BootContextType.ID_MEMBERS, "", false);
+		Template eeruleUse = new Template("eerule", "Add an Exception to an ExpectedException rule [test]", BootContextType.ID_STATEMENTS, "", false);
+		Template assertThat = new Template("assertThat", "AssertJ assertion [assertj] [test]", BootContextType.ID_ALL, "", false);
+		Template sysout = new Template("sysout", "print to standard out", "java-statements", "", false);
+		BootTemplateIndex index = new BootTemplateIndex(new Template[] { main, eerule, eeruleUse, assertThat, sysout });
+
+		assertEquals(Arrays.asList(main), index.getCandidates(BootContextType.ID_MEMBERS, "MA"));
+		assertEquals(Arrays.asList(eerule), index.getCandidates(BootContextType.ID_MEMBERS, "ee"));
+		assertEquals(Arrays.asList(eeruleUse, assertThat), index.getCandidates(BootContextType.ID_STATEMENTS, ""));
+		assertEquals(Arrays.asList(assertThat), index.getCandidates(BootContextType.ID_ALL, "assert"));
+
+		assertTrue(index.hasCandidates(BootContextType.ID_MEMBERS, "assert"));
+		assertFalse(index.hasCandidates(BootContextType.ID_ALL, "main"));
+		assertFalse(index.hasCandidates(BootContextType.ID_STATEMENTS, "sys"));
+		assertTrue(index.hasCandidates(BootContextType.ID_STATEMENTS, ""));
+
+		assertEquals(Arrays.asList("assertj", "test"), index.getContextTags(assertThat));
+		assertEquals(Arrays.asList(), index.getContextTags(main));
+	}
+
+	@Test
+	public void irregularNamesAreAlwaysCandidates() throws Exception {
+		Template annotation = new Template("@Bean", "Bean method", BootContextType.ID_MEMBERS, "", false);
+		BootTemplateIndex index = new BootTemplateIndex(new Template[] { annotation });
+
+		assertTrue(index.hasCandidates(BootContextType.ID_MEMBERS, "Bean"));
+		assertFalse(index.hasCandidates(BootContextType.ID_STATEMENTS, "Bean"));
+	}
+
+	@Test
+	public void thousandTemplatesMatchFullScan() throws Exception {
+		Template[] templates = new Template[1000];
+		for (int i = 0; i < templates.length; i++) {
+			String name = (i % 3 == 0 ? "rest" : i % 3 == 1 ? "mock" : "test") + i;
+			String description = "Team template " + i + (i % 10 == 0 ? " [test]" : "") + (i % 25 == 0 ? " [assertj]" : "");
+			templates[i] = new Template(name, description, CONTEXT_TYPES[i % CONTEXT_TYPES.length], "${cursor}", false);
+		}
+		BootTemplateIndex index = new BootTemplateIndex(templates);
+
+		for (String contextType : Arrays.asList(BootContextType.ID_ALL, BootContextType.ID_MEMBERS, BootContextType.ID_STATEMENTS)) {
+			for (String prefix : PREFIXES) {
+				List<Template> expected = scan(templates, contextType, prefix);
+				assertEquals(contextType + " " + prefix, new HashSet<>(expected),
+						new HashSet<>(index.getCandidates(contextType, prefix)));
+				assertEquals(contextType + " " + prefix, !expected.isEmpty(), index.hasCandidates(contextType, prefix));
+			}
+		}
+
+		for (int i = 0; i < templates.length; i++) {
+			List<String> expectedTags = new ArrayList<>();
+			if (i % 10 == 0) {
+				expectedTags.add("test");
+			}
+			if (i % 25 == 0) {
+				expectedTags.add("assertj");
+			}
+			assertEquals(templates[i].getName(), expectedTags, index.getContextTags(templates[i]));
+		}
+	}
+
+	/**
+	 * The templates a completion request evaluates without the index.
+	 */
+	private static List<Template> scan(Template[] templates, String contextType, String prefix) {
+		List<Template> result = new ArrayList<>();
+		for (Template template : templates) {
+			String id = template.getContextTypeId();
+			if ((id.equals(contextType) || id.equals(BootContextType.ID_ALL))
+					&& template.getName().toLowerCase().startsWith(prefix.toLowerCase())) {
+				result.add(template);
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.wizard.content.GuidesMirror;
+import org.springframework.ide.eclipse.boot.wizard.content.GuidesMirror.ReferenceAppEntry;
+import org.springframework.ide.eclipse.boot.wizard.github.Repo;
+
+/**
+ * Tests for reading the content of a {@link GuidesMirror}.
+ */
+public class GuidesMirrorTest {
+
+	private File mirrorDir;
+
+	@Before
+	public void setup() throws Exception {
+		mirrorDir = Files.createTempDirectory("guides-mirror-test").toFile();
+		String catalog = "{\n" +
+				"  \"guides\": [\n" +
+				"    {\"name\": \"gs-rest-service\", \"html_url\": \"https://github.com/spring-guides/gs-rest-service\", \"description\": \"Building a RESTful Web Service\"},\n" +
+				"    {\"name\": \"gs-messaging-jms\", \"html_url\": \"https://github.com/spring-guides/gs-messaging-jms\", \"unknown\": true}\n" +
+				"  ],\n" +
+				"  \"referenceApps\": [\n" +
+				"    {\"metadata\": {\"owner\": \"spring-projects\", \"repo\": \"spring-petclinic\", \"type\": \"github\"},\n" +
+				"     \"repo\": {\"name\": \"spring-petclinic\", \"html_url\": \"https://github.com/spring-projects/spring-petclinic\"}}\n" +
+				"  ]\n" +
+				"}\n";
+		Files.write(new File(mirrorDir, "catalog.json").toPath(), catalog.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@After
+	public void teardown() throws Exception {
+		if (mirrorDir!=null) {
+			for (File f : mirrorDir.listFiles()) {
+				f.delete();
+			}
+			mirrorDir.delete();
+		}
+	}
+
+	@Test
+	public void readCatalogFromDirectory() throws Exception {
+		GuidesMirror mirror = new GuidesMirror(mirrorDir.toURI());
+		assertEquals(mirrorDir.getCanonicalFile(), mirror.getDirectory().getCanonicalFile());
+
+		Repo[] guides = mirror.getGuideRepos();
+		assertEquals(2, guides.length);
+		assertEquals("gs-rest-service", guides[0].getName());
+		assertEquals("Building a RESTful Web Service", guides[0].getDescription());
+		assertEquals("gs-messaging-jms", guides[1].getName());
+
+		List<ReferenceAppEntry> apps = mirror.getReferenceApps();
+		assertEquals(1, apps.size());
+		assertEquals("spring-petclinic", apps.get(0).getMetadata().getRepo());
+		assertEquals("spring-petclinic", apps.get(0).getRepo().getName());
+	}
+
+	@Test
+	public void zipUrlsPointIntoMirror() throws Exception {
+		GuidesMirror mirror = new GuidesMirror(mirrorDir.toURI());
+		Repo guide = mirror.getGuideRepos()[0];
+		assertEquals(new File(new File(mirrorDir, "zips"), "gs-rest-service.zip").toURI().toURL(), mirror.getZipUrl(guide));
+
+		GuidesMirror httpMirror = new GuidesMirror(URI.create("http://mirror.example.com/guides"));
+		assertNull(httpMirror.getDirectory());
+		assertEquals("http://mirror.example.com/guides/zips/gs-rest-service.zip", httpMirror.getZipUrl(guide).toString());
+	}
+
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.core.initializr.InitializrMetadataCache;
+import org.springsource.ide.eclipse.commons.frameworks.core.downloadmanager.URLConnectionFactory;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for {@link InitializrMetadataCache} against a local stub http server.
+ */
+@SuppressWarnings("restriction")
+public class InitializrMetadataCacheTest {
+
+	private static final String ACCEPT = "application/json";
+
+	private HttpServer server;
+	private URL url;
+	private File cacheDir;
+
+	private volatile String body = "{\"version\": 1}";
+	private volatile String etag = "\"v1\"";
+	private final AtomicInteger fullResponses = new AtomicInteger();
+	private final AtomicInteger notModifiedResponses = new AtomicInteger();
+
+	private final URLConnectionFactory urlConnectionFactory = new URLConnectionFactory();
+
+	@Before
+	public void setup() throws Exception {
+		cacheDir = Files.createTempDirectory("initializr-cache-test").toFile();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/metadata", exchange -> {
+			try {
+				String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+				if (etag.equals(ifNoneMatch)) {
+					notModifiedResponses.incrementAndGet();
+					exchange.sendResponseHeaders(304, -1);
+				} else {
+					fullResponses.incrementAndGet();
+					byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+					exchange.getResponseHeaders().add("ETag", etag);
+					exchange.sendResponseHeaders(200, bytes.length);
+					try (OutputStream out = exchange.getResponseBody()) {
+						out.write(bytes);
+					}
+				}
+			} finally {
+				exchange.close();
+			}
+		});
+		server.start();
+		url = new URL("http://127.0.0.1:"+server.getAddress().getPort()+"/metadata");
+	}
+
+	@After
+	public void teardown() throws Exception {
+		if (server!=null) {
+			server.stop(0);
+		}
+		if (cacheDir!=null) {
+			for (File f : cacheDir.listFiles()) {
+				f.delete();
+			}
+			cacheDir.delete();
+		}
+	}
+
+	@Test
+	public void freshDocumentServedFromCache() throws Exception {
+		InitializrMetadataCache cache = new InitializrMetadataCache(cacheDir, 60_000, Runnable::run);
+		assertEquals("{\"version\": 1}", read(cache));
+		assertEquals("{\"version\": 1}", read(cache));
+		assertEquals(1, fullResponses.get());
+		assertEquals(0, notModifiedResponses.get());
+	}
+
+	@Test
+	public void staleDocumentRevalidatedWithEtag() throws Exception {
+		InitializrMetadataCache cache = new InitializrMetadataCache(cacheDir, 0, Runnable::run);
+		assertEquals("{\"version\": 1}", read(cache));
+		assertEquals("{\"version\": 1}", read(cache));
+		assertEquals(1, fullResponses.get());
+		assertEquals(1, notModifiedResponses.get());
+	}
+
+	@Test
+	public void staleWhileRevalidate() throws Exception {
+		InitializrMetadataCache cache = new InitializrMetadataCache(cacheDir, 0, Runnable::run);
+		assertEquals("{\"version\": 1}", read(cache));
+
+		body = "{\"version\": 2}";
+		etag = "\"v2\"";
+
+		//Stale content is returned right away, the update is only visible in the next request
+		assertEquals("{\"version\": 1}", read(cache));
+		assertEquals("{\"version\": 2}", read(cache));
+		assertEquals(2, fullResponses.get());
+	}
+
+	@Test
+	public void cacheSurvivesRestart() throws Exception {
+		assertEquals("{\"version\": 1}", read(new InitializrMetadataCache(cacheDir, 60_000, Runnable::run)));
+		assertEquals("{\"version\": 1}", read(new InitializrMetadataCache(cacheDir, 60_000, Runnable::run)));
+		assertEquals(1, fullResponses.get());
+	}
+
+	@Test
+	public void offlineFallsBackToStaleDocument() throws Exception {
+		InitializrMetadataCache cache = new InitializrMetadataCache(cacheDir, 0, Runnable::run);
+		assertEquals("{\"version\": 1}", read(cache));
+		server.stop(0);
+		server = null;
+		assertEquals("{\"version\": 1}", read(cache));
+	}
+
+	@Test
+	public void offlineWithoutCachedDocument() throws Exception {
+		server.stop(0);
+		server = null;
+		InitializrMetadataCache cache = new InitializrMetadataCache(cacheDir, 0, Runnable::run);
+		try {
+			read(cache);
+			fail("Should have thrown");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("unreachable"));
+		}
+	}
+
+	private String read(InitializrMetadataCache cache) throws IOException {
+		try (InputStream input = cache.open(urlConnectionFactory, url, ACCEPT)) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buf = new byte[1024];
+			int len;
+			while ((len = input.read(buf)) >= 0) {
+				bytes.write(buf, 0, len);
+			}
+			return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -34,6 +34,7 @@ import org.eclipse.jface.preference.IPreferenceStore;
 import org.springframework.ide.eclipse.boot.core.initializr.InitializrServiceSpec;
 import org.springframework.ide.eclipse.boot.core.initializr.InitializrServiceSpec.Dependency;
 import org.springframework.ide.eclipse.boot.wizard.CheckBoxesSection.CheckBoxModel;
+import org.springframework.ide.eclipse.boot.wizard.DependencySearchIndex;
 import org.springframework.ide.eclipse.boot.wizard.HierarchicalMultiSelectionFieldModel;
 import org.springframework.ide.eclipse.boot.wizard.MultiSelectionFieldModel;
 import org.springframework.ide.eclipse.boot.wizard.NewSpringBootWizardModel;
@@ -394,8 +395,47 @@ public class NewSpringBootWizardModelTest extends TestCase {
 
 		assertFilterAccepts(model, true, "foo", "something", "label FoO label", "desc");
 		assertFilterAccepts(model, true, "foo", "something", "label", "desc FOO desc");
-		assertFilterAccepts(model, false, "foo", "foo", "label", "desc");
-
+		assertFilterAccepts(model, true, "foo", "foo", "label", "desc");
+		assertFilterAccepts(model, false, "foo", "bar", "label", "desc");
+
+		//fuzzy matches start at the beginning of a word of the name
+		assertFilterAccepts(model, true, "sdr", "data-rest", "Spring Data Rest", "desc");
+		assertFilterAccepts(model, false, "rsd", "data-rest", "Spring Data Rest", "desc");
+	}
+
+	public void testDependencySearchRanking() throws Exception {
+		DependencySearchIndex index = new DependencySearchIndex();
+		Dependency exact = dependency("web", "Web", "Full stack web development");
+		Dependency namePrefix = dependency("websocket", "Websocket", "Websocket development");
+		Dependency wordPrefix = dependency("ws", "Spring Web Services", "Contract first services");
+		Dependency alias = dependency("rest-docs", "Rest Docs", "Document RESTful services");
+		alias.setAliases(new String[] { "restdocs" });
+		Dependency description = dependency("jersey", "Jersey (JAX-RS)", "RESTful Web Services framework");
+		Dependency fuzzy = dependency("data-rest", "Rest Repositories", "Exposing data repositories");
+		index.addAll(Arrays.asList(exact, namePrefix, wordPrefix, alias, description, fuzzy));
+
+		DependencySearchIndex.Query web = index.query("WEB ");
+		assertTrue(web.score(exact) > web.score(namePrefix));
+		assertTrue(web.score(namePrefix) > web.score(wordPrefix));
+		assertTrue(web.score(wordPrefix) > web.score(description));
+		assertFalse(web.accept(fuzzy));
+
+		DependencySearchIndex.Query restdocs = index.query("restdocs");
+		assertTrue(restdocs.accept(alias));
+		assertTrue(restdocs.score(alias) > restdocs.score(fuzzy));
+
+		DependencySearchIndex.Query rr = index.query("rr");
+		assertTrue(rr.accept(fuzzy));
+		assertTrue(rr.score(fuzzy) < web.score(description));
+		assertFalse(rr.accept(exact));
+	}
+
+	private Dependency dependency(String id, String name, String description) {
+		Dependency dep = new Dependency();
+		dep.setId(id);
+		dep.setName(name);
+		dep.setDescription(description);
+		return dep;
 	}
 	
 	public void testValidDefaultProjectName() throws Exception {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 Pivotal Inc
+ * Copyright (c) 2015, 2017 Pivotal Inc
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,8 @@ import static org.hamcrest.Matchers.array;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -130,11 +132,46 @@ public class SpringBootValidationTest extends AbstractBootValidationTest {
 		}.waitFor(10000);
 	}
 
+	@Test
+	public void testUnchangedCompilationUnitNotValidatedAgain() throws Exception {
+		String projectName = "simple-boot-project";
+		String resourcePath = "src/main/java/demo/FooProperties.java";
+
+		IProject p = createPredefinedProject(projectName);
+
+		IFile r = (IFile) p.findMember(resourcePath);
+		IMarker[] markers = getAllMarkers(r, MARKER_ID);
+		assertThat(markers, arrayWithSize(1));
+		long markerId = markers[0].getId();
+
+		//Nothing changed, so the existing marker is kept
+		buildProject(p);
+		markers = getAllMarkers(r, MARKER_ID);
+		assertThat(markers, arrayWithSize(1));
+		assertEquals(markerId, markers[0].getId());
+
+		//Clean build validates all CUs again
+		buildProject(p, IncrementalProjectBuilder.CLEAN_BUILD);
+		buildProject(p);
+		markers = getAllMarkers(r, MARKER_ID);
+		assertThat(markers, array(
+				allOf(
+						markerWithMessageSnippet("@ConfigurationProperties"),
+						markerWithAreaCovering("ConfigurationProperties")
+				)
+		));
+		assertNotEquals(markerId, markers[0].getId());
+	}
+
 	private void buildProject(IProject p) throws Exception {
+		buildProject(p, IncrementalProjectBuilder.FULL_BUILD);
+	}
+
+	private void buildProject(IProject p, int kind) throws Exception {
 		ISchedulingRule rule =ResourcesPlugin.getWorkspace().getRuleFactory().buildRule();
 		Job.getJobManager().beginRule(rule, new NullProgressMonitor());
 		try {
-			p.build(IncrementalProjectBuilder.FULL_BUILD, new NullProgressMonitor());
+			p.build(kind, new NullProgressMonitor());
 		} finally {
 			Job.getJobManager().endRule(rule);
 		}
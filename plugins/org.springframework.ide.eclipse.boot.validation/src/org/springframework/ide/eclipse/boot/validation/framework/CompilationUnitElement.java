@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 GoPivotal, Inc.
+ * Copyright (c) 2015, 2017 GoPivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,6 +19,9 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.springframework.ide.eclipse.boot.util.Log;
 
 /**
@@ -30,6 +33,8 @@ public class CompilationUnitElement implements IModelElement {
 
 	private ICompilationUnit cu;
 	private IClasspathEntry[] classpath;
+	private CompilationUnit ast;
+	private boolean astParsed = false;
 
 	public CompilationUnitElement(ICompilationUnit cu) {
 		Assert.isNotNull(cu);
@@ -61,6 +66,29 @@ public class CompilationUnitElement implements IModelElement {
 		return classpath;
 	}
 	
+	/**
+	 * Fetch the AST of the CU. The AST is parsed once (without bindings) and shared by
+	 * all rules validating this element. Returns null if the CU doesn't exist or can't be
+	 * parsed.
+	 */
+	public CompilationUnit getAST() {
+		if (!astParsed) {
+			astParsed = true;
+			try {
+				if (cu.exists()) {
+					ASTParser parser = ASTParser.newParser(AST.JLS8);
+					parser.setKind(ASTParser.K_COMPILATION_UNIT);
+					parser.setSource(cu);
+					parser.setResolveBindings(false);
+					ast = (CompilationUnit) parser.createAST(null);
+				}
+			} catch (Exception e) {
+				Log.log(e);
+			}
+		}
+		return ast;
+	}
+
 	public static CompilationUnitElement create(IResource resource) {
 		try {
 			IJavaProject project = getJavaProject(resource);
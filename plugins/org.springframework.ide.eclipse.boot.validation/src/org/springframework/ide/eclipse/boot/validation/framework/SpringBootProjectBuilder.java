@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012,2015 Spring IDE Developers
+ * Copyright (c) 2012, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -27,7 +27,9 @@ import org.eclipse.core.resources.IResourceVisitor;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubProgressMonitor;
+import org.eclipse.jdt.core.JavaCore;
 import org.springframework.ide.eclipse.boot.core.BootPropertyTester;
 import org.springframework.ide.eclipse.boot.validation.BootValidationActivator;
 import org.springframework.ide.eclipse.boot.validation.rules.ValidationRuleDefinitions;
@@ -90,17 +92,44 @@ public class SpringBootProjectBuilder extends IncrementalProjectBuilder {
 		if (!affectedResources.isEmpty() && !rules.isEmpty()) {
 			monitor.beginTask("Validation of Boot Validation Rules", affectedResources.size() * rules.size());
 			try {
+				SeverityProvider severityProvider = new PreferencesBasedSeverityProvider(project, BootValidationActivator.PLUGIN_ID, EditorType.JAVA);
+				long buildState = ValidationFingerprint.buildState(JavaCore.create(project), rules,
+						ValidationRuleDefinitions.getProblemTypes(), severityProvider);
 				for (IResource rsrc : affectedResources) {
-					IModelElement element = CompilationUnitElement.create(rsrc);
+					if (monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					CompilationUnitElement element = CompilationUnitElement.create(rsrc);
+					ValidationFingerprint fingerprint = null;
+					if (element!=null) {
+						// skip CUs that didn't change in a way that matters to the rules since
+						// the last build; their markers are still valid
+						ValidationFingerprint previous = ValidationFingerprint.read(rsrc);
+						if (previous!=null && previous.isUntouched(rsrc, buildState)) {
+							monitor.worked(rules.size());
+							continue;
+						}
+						fingerprint = ValidationFingerprint.compute(element, buildState);
+						if (fingerprint!=null && fingerprint.isEquivalent(previous)) {
+							fingerprint.write(rsrc);
+							monitor.worked(rules.size());
+							continue;
+						}
+					}
 					MarkerUtils.deleteAllMarkers(rsrc, MARKER_ID);
 					if (element!=null) {
 						for (IValidationRule rule : rules) {
 							if (rule.supports(element)) {
-								rule.validate(element, validationContext(rsrc, rule), new SubProgressMonitor(monitor, 1));
+								rule.validate(element, validationContext(rsrc, rule, severityProvider), new SubProgressMonitor(monitor, 1));
 							} else {
 								monitor.worked(1);
 							}
 						}
+						if (fingerprint!=null) {
+							fingerprint.write(rsrc);
+						} else {
+							ValidationFingerprint.remove(rsrc);
+						}
 					}
 				}
 			} finally {
@@ -109,9 +138,22 @@ public class SpringBootProjectBuilder extends IncrementalProjectBuilder {
 		}
 		return null;
 	}
-	
-	private IValidationContext validationContext(IResource rsrc, IValidationRule rule) {
-		SeverityProvider severityProvider = new PreferencesBasedSeverityProvider(rsrc.getProject(), BootValidationActivator.PLUGIN_ID, EditorType.JAVA);
+
+	@Override
+	protected void clean(IProgressMonitor monitor) throws CoreException {
+		// forget the fingerprints, otherwise the next build would skip all the CUs
+		// and not restore the markers deleted here
+		IProject project = getProject();
+		project.deleteMarkers(MARKER_ID, true, IResource.DEPTH_INFINITE);
+		project.accept((IResource rsrc) -> {
+			if (rsrc instanceof IFile) {
+				ValidationFingerprint.remove(rsrc);
+			}
+			return true;
+		});
+	}
+
+	private IValidationContext validationContext(IResource rsrc, IValidationRule rule, SeverityProvider severityProvider) {
 		return (IResource cu, ProblemType problemId, String msg, int offset, int end) -> {
 			ProblemSeverity severity = severityProvider.getSeverity(problemId);
 			if (severity==ProblemSeverity.IGNORE) {
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.validation.framework;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Annotation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MarkerAnnotation;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.NormalAnnotation;
+import org.eclipse.jdt.core.dom.SingleMemberAnnotation;
+import org.springframework.ide.eclipse.boot.util.Log;
+import org.springframework.ide.eclipse.boot.validation.BootValidationActivator;
+import org.springframework.ide.eclipse.editor.support.reconcile.ProblemType;
+import org.springframework.ide.eclipse.editor.support.reconcile.SeverityProvider;
+
+/**
+ * Fingerprint of what the Boot validation rules look at in a compilation unit. It is stored
+ * as a persistent property of the file, so that the builder can skip compilation units that
+ * didn't change in a relevant way since they were last validated.
+ * <p>
+ * The rules are driven by annotations, so the fingerprint covers the names and source
+ * positions of all annotations in the compilation unit (positions, because the markers created
+ * by the rules refer to them). In addition it records the state of the build the unit was
+ * validated in (rules, severities and classpath) and the modification stamp of the file, so
+ * that files which weren't touched at all don't even have to be parsed.
+ */
+final class ValidationFingerprint {
+
+	private static final QualifiedName PROPERTY = new QualifiedName(BootValidationActivator.PLUGIN_ID, "fingerprint");
+
+	private static final long OFFSET = 0xcbf29ce484222325L;
+	private static final long PRIME = 0x100000001b3L;
+
+	private final long buildState;
+	private final long modificationStamp;
+	private final long annotations;
+
+	private ValidationFingerprint(long buildState, long modificationStamp, long annotations) {
+		this.buildState = buildState;
+		this.modificationStamp = modificationStamp;
+		this.annotations = annotations;
+	}
+
+	/**
+	 * Computes a hash of everything besides the contents of a CU that determines the problems
+	 * reported by the given rules: their ids, the severities of their problem types and the
+	 * resolved classpath of the project.
+	 */
+	public static long buildState(IJavaProject project, List<IValidationRule> rules, List<ProblemType> problemTypes, SeverityProvider severities) {
+		long hash = OFFSET;
+		for (IValidationRule rule : rules) {
+			hash = mix(hash, rule.getId());
+		}
+		for (ProblemType problemType : problemTypes) {
+			hash = mix(hash, problemType.getId());
+			hash = mix(hash, severities.getSeverity(problemType).ordinal());
+		}
+		try {
+			for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+				hash = mix(hash, entry.getEntryKind());
+				hash = mix(hash, entry.getPath().toString());
+			}
+		} catch (JavaModelException e) {
+			//No classpath to compare with, so there is no way to tell which CUs are unchanged.
+			hash = mix(hash, System.nanoTime());
+		}
+		return hash;
+	}
+
+	/**
+	 * Computes the fingerprint of the given CU. Returns null if the CU can't be parsed.
+	 */
+	public static ValidationFingerprint compute(CompilationUnitElement cu, long buildState) {
+		CompilationUnit ast = cu.getAST();
+		if (ast==null) {
+			return null;
+		}
+		AnnotationHasher hasher = new AnnotationHasher();
+		ast.accept(hasher);
+		return new ValidationFingerprint(buildState, cu.getElementResource().getModificationStamp(), hasher.hash);
+	}
+
+	/**
+	 * Reads the fingerprint stored for the given resource. Returns null if none was stored.
+	 */
+	public static ValidationFingerprint read(IResource rsrc) {
+		try {
+			if (rsrc.exists()) {
+				String value = rsrc.getPersistentProperty(PROPERTY);
+				if (value!=null) {
+					String[] parts = value.split(":");
+					if (parts.length==3) {
+						return new ValidationFingerprint(
+								Long.parseUnsignedLong(parts[0], 16),
+								Long.parseLong(parts[1]),
+								Long.parseUnsignedLong(parts[2], 16)
+						);
+					}
+				}
+			}
+		} catch (CoreException | NumberFormatException e) {
+			Log.log(e);
+		}
+		return null;
+	}
+
+	public void write(IResource rsrc) {
+		store(rsrc, Long.toHexString(buildState)+":"+modificationStamp+":"+Long.toHexString(annotations));
+	}
+
+	public static void remove(IResource rsrc) {
+		store(rsrc, null);
+	}
+
+	private static void store(IResource rsrc, String value) {
+		try {
+			if (rsrc.exists()) {
+				rsrc.setPersistentProperty(PROPERTY, value);
+			}
+		} catch (CoreException e) {
+			Log.log(e);
+		}
+	}
+
+	/**
+	 * Returns true if the given resource is known to be unchanged since this fingerprint was
+	 * taken, without having to look at its contents.
+	 */
+	public boolean isUntouched(IResource rsrc, long buildState) {
+		return this.buildState==buildState && this.modificationStamp==rsrc.getModificationStamp();
+	}
+
+	/**
+	 * Returns true if validating the CU with the given fingerprint produces the same problems
+	 * as validating the CU this fingerprint was taken from.
+	 */
+	public boolean isEquivalent(ValidationFingerprint other) {
+		return other!=null && buildState==other.buildState && annotations==other.annotations;
+	}
+
+	private static long mix(long hash, String value) {
+		hash = mix(hash, value.length());
+		for (int i = 0; i < value.length(); i++) {
+			hash = (hash ^ value.charAt(i)) * PRIME;
+		}
+		return hash;
+	}
+
+	private static long mix(long hash, long value) {
+		for (int i = 0; i < 8; i++) {
+			hash = (hash ^ (value & 0xff)) * PRIME;
+			value >>>= 8;
+		}
+		return hash;
+	}
+
+	private static class AnnotationHasher extends ASTVisitor {
+
+		private long hash = OFFSET;
+
+		@Override
+		public boolean visit(MarkerAnnotation node) {
+			add(node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(NormalAnnotation node) {
+			add(node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(SingleMemberAnnotation node) {
+			add(node);
+			return true;
+		}
+
+		private void add(Annotation node) {
+			Name name = node.getTypeName();
+			hash = mix(hash, name.getFullyQualifiedName());
+			hash = mix(hash, node.getParent().getNodeType());
+			hash = mix(hash, name.getStartPosition());
+			hash = mix(hash, name.getLength());
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 GoPivotal, Inc.
+ * Copyright (c) 2015, 2017 GoPivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,20 +13,21 @@ package org.springframework.ide.eclipse.boot.validation.rules;
 import static org.springframework.ide.eclipse.boot.validation.framework.BootMarkerUtils.getProject;
 import static org.springframework.ide.eclipse.boot.validation.quickfix.GeneratorComposition.NO_RESOLUTIONS;
 
+import java.util.List;
+
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.SubProgressMonitor;
-import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.IClasspathEntry;
-import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.IMethod;
-import org.eclipse.jdt.core.ISourceRange;
-import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Annotation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.ui.IMarkerResolution;
 import org.eclipse.ui.IMarkerResolutionGenerator2;
-import org.springframework.ide.eclipse.boot.core.BootActivator;
 import org.springframework.ide.eclipse.boot.core.ISpringBootProject;
 import org.springframework.ide.eclipse.boot.core.MavenCoordinates;
 import org.springframework.ide.eclipse.boot.core.SpringBootCore;
@@ -126,7 +127,13 @@ public class MissingConfigurationProcessorRule extends BootValidationRule {
 		}
 	};
 
-	public static class ValidationVisitor {
+	/**
+	 * Visits the annotations of the types and methods in the AST of a CU.
+	 */
+	public static class ValidationVisitor extends ASTVisitor {
+
+		private static final String ANNOTATION_NAME = "ConfigurationProperties";
+		private static final String ANNOTATION_FQNAME = "org.springframework.boot.context.properties.ConfigurationProperties";
 
 		private IValidationContext context;
 		private CompilationUnitElement cu;
@@ -136,81 +143,35 @@ public class MissingConfigurationProcessorRule extends BootValidationRule {
 			this.cu = cu;
 		}
 
-		public void visit(ICompilationUnit compilationUnit, IProgressMonitor mon) throws Exception {
-			if (compilationUnit.exists()) {
-				IType[] types = compilationUnit.getAllTypes();
-				mon.beginTask(compilationUnit.getElementName(), types.length);
-				try {
-					for (IType t : types) {
-						visit(t, new SubProgressMonitor(mon, 1));
-					}
-				} finally {
-					mon.done();
-				}
-			}
+		@Override
+		public boolean visit(TypeDeclaration node) {
+			visit(node.modifiers());
+			return true;
 		}
 
-		private void visit(IType t, IProgressMonitor mon) throws Exception {
-			IMethod[] methods = t.getMethods();
-			mon.beginTask(t.getElementName(), 1+methods.length);
-			try {
-				IAnnotation annot = getAnnotation(t);
-				if (annot!=null && annot.exists()) {
-					visit(annot);
-					mon.worked(1);
-				}
-				for (IMethod m : methods) {
-					visit(m, new SubProgressMonitor(mon, 1));
-				}
-			} finally {
-				mon.done();
-			}
+		@Override
+		public boolean visit(MethodDeclaration node) {
+			visit(node.modifiers());
+			return true;
 		}
 
-		private IAnnotation getAnnotation(IType t) {
-			try {
-				IAnnotation[] all = t.getAnnotations();
-				if (all!=null) {
-					for (IAnnotation a : all) {
-						String name = a.getElementName();
-						//name could be fully qualified or simple, so check for both
-						if ("org.springframework.boot.context.properties.ConfigurationProperties".equals(name)
-						|| "ConfigurationProperties".equals(name)
-						) {
-							return a;
-						}
+		private void visit(List<?> modifiers) {
+			for (Object modifier : modifiers) {
+				if (modifier instanceof Annotation) {
+					Name name = ((Annotation) modifier).getTypeName();
+					String typeName = name.getFullyQualifiedName();
+					//name could be fully qualified or simple, so check for both
+					if (ANNOTATION_FQNAME.equals(typeName) || ANNOTATION_NAME.equals(typeName)) {
+						warn("When using @ConfigurationProperties it is recommended to add 'spring-boot-configuration-processor' "
+								+ "to your classpath to generate configuration metadata", name);
 					}
 				}
-			} catch (JavaModelException e) {
-				BootActivator.log(e);
 			}
-			return null;
 		}
 
-		private void visit(IAnnotation annot) throws Exception {
-			warn("When using @ConfigurationProperties it is recommended to add 'spring-boot-configuration-processor' "
-					+ "to your classpath to generate configuration metadata", annot.getNameRange());
-		}
-
-		private void visit(IMethod m, SubProgressMonitor mon) throws Exception {
-			mon.beginTask(m.getElementName(), 1);
-			try {
-				IAnnotation annot = m.getAnnotation("ConfigurationProperties");
-				if (annot!=null && annot.exists()) {
-					visit(annot);
-					mon.worked(1);
-				}
-			} finally {
-				mon.done();
-			}
-		}
-
-		void warn(String msg, ISourceRange location) {
+		void warn(String msg, ASTNode location) {
 			if (location!=null) {
-				context.problem(cu.getElementResource(), PROBLEM_ID, msg, location.getOffset(), location.getOffset()+location.getLength());
-
-//				context.addProblems(new ValidationProblem(PROBLEM_ID, IMarker.SEVERITY_WARNING,
-//						msg, cu.getElementResource(), location));
+				context.problem(cu.getElementResource(), PROBLEM_ID, msg, location.getStartPosition(), location.getStartPosition()+location.getLength());
 			}
 		}
 
@@ -226,8 +187,10 @@ public class MissingConfigurationProcessorRule extends BootValidationRule {
 		CompilationUnitElement cu = (CompilationUnitElement) _cu;
 		try{
 			if (CLASSPATH_MATCHER.match(cu.getClasspath())) {
-				ValidationVisitor visitor = new ValidationVisitor(context, cu);
-				visitor.visit(cu.getCompilationUnit(), mon);
+				CompilationUnit ast = cu.getAST();
+				if (ast!=null) {
+					ast.accept(new ValidationVisitor(context, cu));
+				}
 			}
 		} catch (Exception e) {
 			if (ExceptionUtil.getMessage(e).contains("File not found")) {
@@ -236,6 +199,8 @@ public class MissingConfigurationProcessorRule extends BootValidationRule {
 			} else {
 				Log.log(e);
 			}
+		} finally {
+			mon.done();
 		}
 	}
 
@@ -11,6 +11,7 @@
 package org.springframework.ide.eclipse.boot.wizard;
 
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import org.eclipse.core.runtime.Assert;
@@ -205,10 +206,20 @@ public class CheckBoxesSection<T> extends WizardPageSection {
 		 * @return Whether visibility of this widget changed.
 		 */
 		public boolean applyFilter(Filter<T> filter) {
+			return reveal(filter.accept(model.getValue()));
+		}
+
+		/**
+		 * Show or hide this widget and return whether its visibility has changed as a result.
+		 */
+		public boolean reveal(boolean visible) {
 			boolean wasVisible = isVisible.getValue();
-			isVisible.setValue(filter.accept(model.getValue()));
-			boolean changed = wasVisible != isVisible.getValue();
-			return changed;
+			isVisible.setValue(visible);
+			return wasVisible != visible;
+		}
+
+		public T getValue() {
+			return model.getValue();
 		}
 
 		public boolean isVisible() {
@@ -287,6 +298,26 @@ public class CheckBoxesSection<T> extends WizardPageSection {
 		return false;
 	}
 
+	/**
+	 * Shows exactly the checkboxes for the given values, without laying out the section. Meant
+	 * for applying the precomputed result of a filter to many sections at once, followed by
+	 * a single layout of their parent.
+	 * @return Whether the visibility of any of the checkboxes changed.
+	 */
+	public boolean applyVisibility(Set<T> visibleValues) {
+		boolean visibilityChanged = false;
+		if (subsections!=null) {
+			for (WizardPageSection subsection : subsections) {
+				if (subsection instanceof CheckBox) {
+					@SuppressWarnings("unchecked")
+					CheckBox<T> cb = (CheckBox<T>) subsection;
+					visibilityChanged |= cb.reveal(visibleValues.contains(cb.getValue()));
+				}
+			}
+		}
+		return visibilityChanged;
+	}
+
 	public boolean hasVisible() {
 		if (subsections!=null) {
 			for (WizardPageSection s : subsections) {
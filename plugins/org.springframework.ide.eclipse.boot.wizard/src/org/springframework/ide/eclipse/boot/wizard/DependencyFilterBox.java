@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2016 Pivotal, Inc.
+ * Copyright (c) 2015, 2017 Pivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,34 +10,35 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.wizard;
 
+import java.util.Collection;
+
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.ide.eclipse.boot.core.initializr.InitializrServiceSpec.Dependency;
 import org.springsource.ide.eclipse.commons.livexp.core.FilterBoxModel;
 import org.springsource.ide.eclipse.commons.livexp.util.Filter;
 import org.springsource.ide.eclipse.commons.livexp.util.Filters;
 
+/**
+ * Filter box for the dependencies. Non-trivial filters created by this box are
+ * {@link DependencySearchIndex.Query}s, so they can also be used to rank the matches.
+ */
 public class DependencyFilterBox extends FilterBoxModel<Dependency> {
 
-	@Override
-	protected Filter<Dependency> createFilterForInput(String _text) {
-		if (StringUtils.isNotBlank(_text)) {
-			final String text = _text.toLowerCase();
-			return (dependency) -> 
-					  matches(text, dependency.getName())
-						|| matches(text, dependency.getDescription());
-		}
-		return Filters.acceptAll();
-	}
+	private final DependencySearchIndex index = new DependencySearchIndex();
 
-	protected boolean matches(String pattern, Dependency dep) {
-		return matches(pattern, dep.getName())
-			|| matches(pattern, dep.getDescription());
+	/**
+	 * Indexes the given dependencies for searching. To be called when the dependencies
+	 * are loaded from the initializr metadata.
+	 */
+	public void index(Collection<Dependency> dependencies) {
+		index.addAll(dependencies);
 	}
 
-	protected boolean matches(String pattern, String text) {
-		if (text!=null) {
-			return text.toLowerCase().contains(pattern);
+	@Override
+	protected Filter<Dependency> createFilterForInput(String text) {
+		if (StringUtils.isNotBlank(text)) {
+			return index.query(text);
 		}
-		return false;
+		return Filters.acceptAll();
 	}
 }
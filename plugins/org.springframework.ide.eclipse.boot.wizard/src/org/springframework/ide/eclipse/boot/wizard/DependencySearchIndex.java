@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Pivotal Software, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.wizard;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.ide.eclipse.boot.core.initializr.InitializrServiceSpec.Dependency;
+import org.springsource.ide.eclipse.commons.livexp.util.Filter;
+
+/**
+ * Search index for the dependencies of the initializr service. The lowercased ids, names,
+ * aliases and descriptions of the dependencies are computed once, when the metadata is
+ * loaded, rather than every time the filter is applied to a dependency.
+ * <p>
+ * Matches are ranked. From best to worst: an exact id, name or alias match, a prefix of
+ * the name, a prefix of the id or an alias, a prefix of a word in the name, a substring of the
+ * name, a substring of the id or an alias, a substring of the description and finally a
+ * 'fuzzy' match where the characters of the query occur in order in the name, starting at the
+ * beginning of one of its words (e.g. 'sdr' matches 'Spring Data Rest').
+ */
+public class DependencySearchIndex {
+
+	public static final int NO_MATCH = 0;
+
+	private static final int EXACT = 100;
+	private static final int NAME_PREFIX = 80;
+	private static final int ID_PREFIX = 70;
+	private static final int NAME_WORD_PREFIX = 60;
+	private static final int NAME_SUBSTRING = 50;
+	private static final int ID_SUBSTRING = 40;
+	private static final int DESCRIPTION_SUBSTRING = 20;
+	private static final int FUZZY = 10;
+
+	private final Map<Dependency, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Indexes the given dependencies. Dependencies that aren't indexed upfront are indexed
+	 * the first time they are searched.
+	 */
+	public void addAll(Collection<Dependency> dependencies) {
+		for (Dependency dep : dependencies) {
+			entry(dep);
+		}
+	}
+
+	/**
+	 * Creates a filter that accepts the dependencies matching the given query.
+	 */
+	public Query query(String text) {
+		return new Query(text.trim().toLowerCase(Locale.ENGLISH));
+	}
+
+	private Entry entry(Dependency dep) {
+		return entries.computeIfAbsent(dep, Entry::new);
+	}
+
+	/**
+	 * Filter accepting the dependencies that match a query. Unlike a plain filter it also
+	 * tells how well a dependency matches, so that the best matches can be shown first.
+	 */
+	public class Query implements Filter<Dependency> {
+
+		private final String text;
+
+		private Query(String text) {
+			this.text = text;
+		}
+
+		@Override
+		public boolean accept(Dependency dep) {
+			return score(dep) > NO_MATCH;
+		}
+
+		/**
+		 * @return How well the dependency matches the query. Higher is better, {@link #NO_MATCH}
+		 * if the dependency doesn't match at all.
+		 */
+		public int score(Dependency dep) {
+			return entry(dep).score(text);
+		}
+
+		@Override
+		public String toString() {
+			return "DependencySearchIndex.Query("+text+")";
+		}
+	}
+
+	private static class Entry {
+
+		private final String id;
+		private final String name;
+		private final String description;
+		private final String[] aliases;
+		private final String[] nameWords;
+
+		Entry(Dependency dep) {
+			this.id = lowerCase(dep.getId());
+			this.name = lowerCase(dep.getName());
+			this.description = lowerCase(dep.getDescription());
+			String[] aliases = dep.getAliases();
+			this.aliases = new String[aliases.length];
+			for (int i = 0; i < aliases.length; i++) {
+				this.aliases[i] = lowerCase(aliases[i]);
+			}
+			this.nameWords = name.split("[^\\p{Alnum}]+");
+		}
+
+		int score(String query) {
+			if (query.isEmpty()) {
+				return EXACT;
+			}
+			if (id.equals(query) || name.equals(query) || contains(aliases, query, true)) {
+				return EXACT;
+			}
+			if (name.startsWith(query)) {
+				return NAME_PREFIX;
+			}
+			if (id.startsWith(query) || startsWith(aliases, query)) {
+				return ID_PREFIX;
+			}
+			if (startsWith(nameWords, query)) {
+				return NAME_WORD_PREFIX;
+			}
+			if (name.contains(query)) {
+				return NAME_SUBSTRING;
+			}
+			if (id.contains(query) || contains(aliases, query, false)) {
+				return ID_SUBSTRING;
+			}
+			if (description.contains(query)) {
+				return DESCRIPTION_SUBSTRING;
+			}
+			if (fuzzyMatch(query)) {
+				return FUZZY;
+			}
+			return NO_MATCH;
+		}
+
+		/**
+		 * Matches the query characters in order against the name, where the first character
+		 * must start a word of the name. Non alphanumeric characters in the name are skipped.
+		 */
+		private boolean fuzzyMatch(String query) {
+			for (int start = 0; start < name.length(); start++) {
+				if (name.charAt(start) == query.charAt(0) && isWordStart(start)) {
+					int q = 1;
+					for (int i = start + 1; i < name.length() && q < query.length(); i++) {
+						if (name.charAt(i) == query.charAt(q)) {
+							q++;
+						}
+					}
+					if (q == query.length()) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		private boolean isWordStart(int i) {
+			return i == 0 || !Character.isLetterOrDigit(name.charAt(i - 1));
+		}
+
+		private static boolean startsWith(String[] strings, String query) {
+			for (String s : strings) {
+				if (s.startsWith(query)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static boolean contains(String[] strings, String query, boolean exact) {
+			for (String s : strings) {
+				if (exact ? s.equals(query) : s.contains(query)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static String lowerCase(String s) {
+			return s == null ? "" : s.toLowerCase(Locale.ENGLISH);
+		}
+	}
+
+}
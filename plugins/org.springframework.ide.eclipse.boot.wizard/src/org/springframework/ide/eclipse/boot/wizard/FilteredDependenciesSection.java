@@ -10,17 +10,26 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.wizard;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Composite;
-import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Control;
 import org.springframework.ide.eclipse.boot.core.initializr.InitializrServiceSpec.Dependency;
 import org.springsource.ide.eclipse.commons.livexp.core.LiveExpression;
+import org.springsource.ide.eclipse.commons.livexp.core.ValueListener;
 import org.springsource.ide.eclipse.commons.livexp.ui.ExpandableSection;
 import org.springsource.ide.eclipse.commons.livexp.ui.IPageWithSections;
 import org.springsource.ide.eclipse.commons.livexp.ui.Scroller;
@@ -39,6 +48,25 @@ public class FilteredDependenciesSection extends WizardPageSection {
 	private int columns = 1;
 	private HierarchicalMultiSelectionFieldModel<Dependency> dependencies;
 
+	private final Map<String, CheckboxExpandableSection<Dependency>> sectionsToRefresh = new HashMap<>();
+	private final Map<String, Control> categoryControls = new HashMap<>();
+	private ValueListener<Filter<Dependency>> filterListener;
+
+	private final Job filterJob = new Job("Filter dependencies") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			FilterResult result = computeFilterResult(monitor);
+			if (result == null) {
+				return Status.CANCEL_STATUS;
+			}
+			Composite area = dependencyArea;
+			if (area != null && !area.isDisposed()) {
+				area.getDisplay().asyncExec(() -> applyFilterResult(result));
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
 	public FilteredDependenciesSection(IPageWithSections owner, NewSpringBootWizardModel model,
 			LiveExpression<Filter<Dependency>> filter) {
 		this(owner, model.dependencies, filter);
@@ -70,13 +98,18 @@ public class FilteredDependenciesSection extends WizardPageSection {
 		dependencyArea = scroller.getBody();
 		GridLayoutFactory.fillDefaults().applyTo(dependencyArea);
 		GridDataFactory.fillDefaults().grab(true, true).applyTo(dependencyArea);
-		Map<String, CheckboxExpandableSection<Dependency>> sectionsToRefresh = new HashMap<>();
 		for (String cat : dependencies.getCategories()) {
 			MultiSelectionFieldModel<Dependency> dependencyGroup = dependencies.getContents(cat);
 			CheckBoxesSection<Dependency> checkboxesSection = new CheckBoxesSection<>(owner,
 					dependencyGroup.getCheckBoxModels()).columns(columns);
 			CheckboxExpandableSection<Dependency> expandable = new CheckboxExpandableSection<>(owner, dependencyGroup.getLabel(), checkboxesSection);
+			int childCount = dependencyArea.getChildren().length;
 			expandable.createContents(dependencyArea);
+			Control[] children = dependencyArea.getChildren();
+			if (children.length == childCount + 1) {
+				// Remember the control of the section so that sections can be reordered by relevance
+				categoryControls.put(cat, children[childCount]);
+			}
 
 			// Always expanded as it only shows selections. If there are no
 			// selections, the expandable
@@ -85,32 +118,82 @@ public class FilteredDependenciesSection extends WizardPageSection {
 
 			sectionsToRefresh.put(cat, expandable);
 		}
-		this.filter.addListener((exp, value) -> {
+		filterJob.setSystem(true);
+		this.filter.addListener(filterListener = (exp, value) -> {
 			// PT 143003753: there is a bit of lag when deleting characters in text filter that produce a lot of
-			// results. Consequently running this asynchronously.
-			Display.getCurrent().asyncExec(() -> {
-				for (String cat : dependencies.getCategories()) {
-					CheckboxExpandableSection<Dependency> expandable = sectionsToRefresh.get(cat);
-					if (expandable != null) {
-						onFilter(expandable, expandable.getCheckBoxSection(), cat);
-					}
-				}
-			});
+			// results. Consequently the filter is evaluated in a background job and only its result is
+			// applied to the widgets in the UI thread.
+			filterJob.cancel();
+			filterJob.schedule();
 		});
 	}
 
-	private void onFilter(ExpandableSection expandable, CheckBoxesSection<Dependency> checkboxesSection, String cat) {
+	/**
+	 * Evaluates the current filter against all the dependencies. Runs in a background job.
+	 */
+	private FilterResult computeFilterResult(IProgressMonitor monitor) {
 		Filter<Dependency> filter = this.filter.getValue();
-		checkboxesSection.applyFilter(filter);
-		boolean isTrivialFilter = filter==null || filter.isTrivial();
-		if (checkboxesSection.isCreated()) {
-			boolean hasVisible = checkboxesSection.hasVisible();
-			expandable.setVisible(hasVisible);
-			if (hasVisible) {
-				expandable.getExpansionState().setValue(!isTrivialFilter);
+		FilterResult result = new FilterResult(filter);
+		Map<String, Integer> bestScores = new HashMap<>();
+		for (String cat : dependencies.getCategories()) {
+			if (monitor.isCanceled()) {
+				return null;
+			}
+			Set<Dependency> visible = new HashSet<>();
+			int bestScore = DependencySearchIndex.NO_MATCH;
+			for (Dependency dep : dependencies.getContents(cat).getChoices()) {
+				if (filter==null || filter.accept(dep)) {
+					visible.add(dep);
+					if (filter instanceof DependencySearchIndex.Query) {
+						bestScore = Math.max(bestScore, ((DependencySearchIndex.Query) filter).score(dep));
+					}
+				}
 			}
+			result.visible.put(cat, visible);
+			bestScores.put(cat, bestScore);
+			result.categoryOrder.add(cat);
+		}
+		if (filter instanceof DependencySearchIndex.Query) {
+			// Stable sort, so categories that match equally well keep their usual order
+			result.categoryOrder.sort((c1, c2) -> Integer.compare(bestScores.get(c2), bestScores.get(c1)));
+		}
+		return result;
+	}
+
+	/**
+	 * Applies the result of evaluating the filter to the widgets, with a single layout at the end.
+	 */
+	private void applyFilterResult(FilterResult result) {
+		if (dependencyArea == null || dependencyArea.isDisposed() || result.filter != filter.getValue()) {
+			// Stale result, the job for the current filter value will apply its own result
+			return;
+		}
+		boolean isTrivialFilter = result.filter==null || result.filter.isTrivial();
+		dependencyArea.setRedraw(false);
+		try {
+			for (String cat : result.categoryOrder) {
+				CheckboxExpandableSection<Dependency> expandable = sectionsToRefresh.get(cat);
+				if (expandable != null) {
+					CheckBoxesSection<Dependency> checkboxesSection = expandable.getCheckBoxSection();
+					checkboxesSection.applyVisibility(result.visible.get(cat));
+					if (checkboxesSection.isCreated()) {
+						boolean hasVisible = checkboxesSection.hasVisible();
+						expandable.setVisible(hasVisible);
+						if (hasVisible) {
+							expandable.getExpansionState().setValue(!isTrivialFilter);
+						}
+					}
+				}
+				Control control = categoryControls.get(cat);
+				if (control != null && !control.isDisposed()) {
+					// Moving each section to the end in turn puts them in the order of the result
+					control.moveBelow(null);
+				}
+			}
+			layout();
+		} finally {
+			dependencyArea.setRedraw(true);
 		}
-		layout();
 	}
 
 	private void layout() {
@@ -120,6 +203,26 @@ public class FilteredDependenciesSection extends WizardPageSection {
 		}
 	}
 
+	@Override
+	public void dispose() {
+		if (filterListener != null) {
+			filter.removeListener(filterListener);
+			filterListener = null;
+		}
+		filterJob.cancel();
+		super.dispose();
+	}
+
+	private static class FilterResult {
+		final Filter<Dependency> filter;
+		final Map<String, Set<Dependency>> visible = new HashMap<>();
+		final List<String> categoryOrder = new ArrayList<>();
+
+		FilterResult(Filter<Dependency> filter) {
+			this.filter = filter;
+		}
+	}
+
 	static class CheckboxExpandableSection<T> extends ExpandableSection {
 
 		private CheckBoxesSection<T> checkBoxSection;
@@ -11,6 +11,7 @@
 package org.springframework.ide.eclipse.boot.wizard;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -110,6 +111,17 @@ public class HierarchicalMultiSelectionFieldModel<T> {
 		}
 		return allUsedBoxes;
 	}
+
+	/**
+	 * Gets the values of all the choices in all the categories in a single list.
+	 */
+	public List<T> getAllChoices() {
+		ArrayList<T> choices = new ArrayList<>();
+		for (String category : getCategories()) {
+			choices.addAll(Arrays.asList(getContents(category).getChoices()));
+		}
+		return choices;
+	}
 	
 	public void clearSelection() {
 		categories.values().forEach(MultiSelectionFieldModel::clearSelection);
@@ -141,6 +141,7 @@ public class NewSpringBootWizardModel {
 
 		discoverOptions(stringInputs, dependencies);
 		dependencies.sort();
+		filterBox.index(dependencies.getAllChoices());
 
 		projectName = stringInputs.getField(NAME_PROPRTY_ID);
 		projectName.validator(new NewProjectNameValidator(projectName.getVariable()));
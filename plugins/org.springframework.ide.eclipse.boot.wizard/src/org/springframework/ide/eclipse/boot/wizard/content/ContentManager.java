@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2013, 2016 Pivotal Software, Inc.
+ *  Copyright (c) 2013, 2017 Pivotal Software, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -66,6 +66,17 @@ public class ContentManager {
 		}
 	}
 
+	/**
+	 * Forgets the content fetched for all registered types, so it is fetched again
+	 * (and prefetched again) when next requested.
+	 */
+	protected synchronized void clearContent() {
+		for (TypedContentManager<?> man : byClass.values()) {
+			man.clear();
+		}
+		prefetchContentTracker.setValue(DownloadState.NOT_STARTED);
+	}
+
 	/**
 	 * Factory method to create a DownloadManager for a given content type name
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2013, 2016 Pivotal Software, Inc.
+ *  Copyright (c) 2013, 2017 Pivotal Software, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -10,16 +10,23 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.wizard.content;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.springframework.ide.eclipse.boot.core.BootActivator;
+import org.springframework.ide.eclipse.boot.core.BootPreferences;
+import org.springframework.ide.eclipse.boot.wizard.content.GuidesMirror.ReferenceAppEntry;
 import org.springframework.ide.eclipse.boot.wizard.github.GithubClient;
 import org.springframework.ide.eclipse.boot.wizard.github.Repo;
 import org.springsource.ide.eclipse.commons.core.preferences.StsProperties;
@@ -70,12 +77,41 @@ public class GettingStartedContent extends ContentManager {
 
 	/**
 	 * We need this in multiple places. So cache it to avoid asking for it multiple times in a row.
+	 * Cleared when the configured guides mirror changes (see {@link #mirrorChanged()}).
 	 */
-	private Repo[] cachedRepos = null;
+	private volatile Repo[] cachedRepos = null;
 
-	private Repo[] getGuidesRepos() {
+	private GettingStartedContent() {
+		InstanceScope.INSTANCE.getNode(BootActivator.PLUGIN_ID).addPreferenceChangeListener(event -> {
+			if (BootPreferences.PREF_GUIDES_MIRROR.equals(event.getKey())) {
+				mirrorChanged();
+			}
+		});
+	}
+
+	/**
+	 * Forgets the guides and reference apps fetched so far, so they are fetched again from
+	 * the mirror configured at that time (or from github). Called when the 'Guides Mirror'
+	 * preference changes or the content of the mirror was updated.
+	 */
+	public void mirrorChanged() {
+		cachedRepos = null;
+		clearContent();
+	}
+
+	private Repo[] getGuidesRepos(GuidesMirror mirror) {
+		Repo[] cachedRepos = this.cachedRepos;
 		if (cachedRepos==null) {
-			Repo[] repos = github.getOrgRepos("spring-guides");
+			Repo[] repos;
+			if (mirror!=null) {
+				try {
+					repos = mirror.getGuideRepos();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			} else {
+				repos = github.getOrgRepos("spring-guides");
+			}
 			Arrays.sort(repos, new Comparator<Repo>() {
 				@Override
 				public int compare(Repo o1, Repo o2) {
@@ -90,7 +126,7 @@ public class GettingStartedContent extends ContentManager {
 //				}
 //				System.out.println("==== spring-guides-repos ====");
 			}
-			cachedRepos = repos;
+			this.cachedRepos = cachedRepos = repos;
 		}
 		return cachedRepos;
 	}
@@ -118,28 +154,32 @@ public class GettingStartedContent extends ContentManager {
 	 *
 	 */
 	public void registerAllWithStsProperties(final StsProperties stsProps) {
+		//When a mirror is configured, all content is read from the mirror rather than github.
+		//The mirror is looked up on each fetch, as the preference may change after registering.
+
 		//Guides: are discoverable because they are all repos in org on github
 		register(GettingStartedGuide.class, GettingStartedGuide.GUIDE_DESCRIPTION_TEXT,
 			new ContentProvider<GettingStartedGuide>() {
 //					@Override
 				@Override
 				public GettingStartedGuide[] fetch(DownloadManager downloader) {
+					GuidesMirror mirror = GuidesMirror.getConfigured();
 					LinkedHashMap<String, GettingStartedGuide> guides = new LinkedHashMap<String, GettingStartedGuide>();
-					if (ADD_MOCKS) {
-						addGuidesFrom(github.getMyRepos(), guides, downloader);
+					if (ADD_MOCKS && mirror==null) {
+						addGuidesFrom(github.getMyRepos(), guides, downloader, mirror);
 					}
 					if (ADD_REAL) {
-						addGuidesFrom(getGuidesRepos(), guides, downloader);
+						addGuidesFrom(getGuidesRepos(mirror), guides, downloader, mirror);
 					}
 					return guides.values().toArray(new GettingStartedGuide[guides.size()]);
 				}
 
-				private LinkedHashMap<String, GettingStartedGuide> addGuidesFrom(Repo[] repos, LinkedHashMap<String, GettingStartedGuide> guides, DownloadManager downloader) {
+				private LinkedHashMap<String, GettingStartedGuide> addGuidesFrom(Repo[] repos, LinkedHashMap<String, GettingStartedGuide> guides, DownloadManager downloader, GuidesMirror mirror) {
 					for (Repo repo : repos) {
 						String name = repo.getName();
 //					System.out.println("repo : "+name + " "+repo.getUrl());
 						if (name.startsWith("gs-") && !guides.containsKey(name)) {
-							guides.put(name, new GettingStartedGuide(stsProps, repo, downloader));
+							guides.put(name, new GettingStartedGuide(stsProps, repo, downloader, mirror));
 						}
 					}
 					return guides;
@@ -152,7 +192,7 @@ public class GettingStartedContent extends ContentManager {
 //				new ContentProvider<TutorialGuide>() {
 //					public TutorialGuide[] fetch(DownloadManager downloader) {
 //						LinkedHashMap<String, TutorialGuide> guides = new LinkedHashMap<String, TutorialGuide>();
-//						addGuidesFrom(getGuidesRepos(), guides, downloader);
+//						addGuidesFrom(getGuidesRepos(mirror), guides, downloader);
 //						return guides.values().toArray(new TutorialGuide[guides.size()]);
 //					}
 //
@@ -176,6 +216,19 @@ public class GettingStartedContent extends ContentManager {
 
 			@Override
 			public ReferenceApp[] fetch(DownloadManager downloader) {
+				GuidesMirror mirror = GuidesMirror.getConfigured();
+				if (mirror!=null) {
+					try {
+						List<ReferenceAppEntry> entries = mirror.getReferenceApps();
+						ReferenceApp[] apps = new ReferenceApp[entries.size()];
+						for (int i = 0; i < apps.length; i++) {
+							apps[i] = new ReferenceApp(entries.get(i).getMetadata(), entries.get(i).getRepo(), downloader, mirror);
+						}
+						return apps;
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
 				ReferenceAppMetaData[] infos = github.get(stsProps.get("spring.reference.app.discovery.url"), ReferenceAppMetaData[].class);
 				ReferenceApp[] apps = new ReferenceApp[infos.length];
 				for (int i = 0; i < apps.length; i++) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2013 GoPivotal, Inc.
+ *  Copyright (c) 2013, 2017 GoPivotal, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -85,7 +85,11 @@ public class GettingStartedGuide extends GithubRepoContent {
 
 
 	public GettingStartedGuide(StsProperties props, Repo repo, DownloadManager dl) {
-		super(dl);
+		this(props, repo, dl, null);
+	}
+
+	public GettingStartedGuide(StsProperties props, Repo repo, DownloadManager dl, GuidesMirror mirror) {
+		super(dl, mirror);
 		this.springGuidesUrl = props.get("spring.guides.url");
 		this.repo = repo;
 	}
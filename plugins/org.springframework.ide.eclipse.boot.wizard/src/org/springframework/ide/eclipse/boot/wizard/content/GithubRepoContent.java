@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 GoPivotal, Inc.
+ * Copyright (c) 2013, 2017 GoPivotal, Inc.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,8 +24,18 @@ public abstract class GithubRepoContent extends AGSContent {
 
 	private DownloadableItem zip;
 
+	/**
+	 * Mirror the zip is downloaded from. Null if the zip is downloaded from github.
+	 */
+	private final GuidesMirror mirror;
+
 	protected GithubRepoContent(DownloadManager dl) {
+		this(dl, null);
+	}
+
+	protected GithubRepoContent(DownloadManager dl, GuidesMirror mirror) {
 		super(dl);
+		this.mirror = mirror;
 	}
 
 	public URL getHomePage() {
@@ -49,7 +59,8 @@ public abstract class GithubRepoContent extends AGSContent {
 			//repoUrl is something like "https://github.com/springframework-meta/gs-consuming-rest-android"
 			//zipUrl is something like  "https://github.com/springframework-meta/gs-consuming-rest-android/archive/master.zip"
 			try {
-				DownloadableItem item = new DownloadableItem(new URL(repoUrl+"/archive/master.zip"), downloader);
+				URL zipUrl = mirror!=null ? mirror.getZipUrl(getRepo()) : new URL(repoUrl+"/archive/master.zip");
+				DownloadableItem item = new DownloadableItem(zipUrl, downloader);
 				item.setFileName(getRepo().getName());
 				zip = item;
 			} catch (MalformedURLException e) {
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ *  Copyright (c) 2017 Pivotal Software, Inc.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.wizard.content;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.springframework.ide.eclipse.boot.core.BootPreferences;
+import org.springframework.ide.eclipse.boot.wizard.github.GithubClient;
+import org.springframework.ide.eclipse.boot.wizard.github.Repo;
+import org.springsource.ide.eclipse.commons.core.preferences.StsProperties;
+import org.springsource.ide.eclipse.commons.core.util.StringUtil;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A mirror of the getting started guides and reference apps. When a mirror is configured
+ * (see {@link BootPreferences#PREF_GUIDES_MIRROR}) the list of content and the zip files
+ * of the content are read from the mirror instead of github, so the guides import wizard
+ * works without network access.
+ * <p>
+ * A mirror is either a local directory or the url of a directory served over http. It
+ * contains:
+ * <ul>
+ *   <li>catalog.json: the github repos of the guides and the reference apps.</li>
+ *   <li>zips/&lt;repo-name&gt;.zip: the zipped master branch of each repo.</li>
+ * </ul>
+ * Only mirrors in a local directory can be populated and refreshed, by calling
+ * {@link #update(GithubClient, StsProperties, IProgressMonitor)}.
+ */
+public class GuidesMirror {
+
+	private static final String CATALOG = "catalog.json";
+	private static final String ZIPS = "zips/";
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final URI location;
+
+	private Catalog catalog;
+
+	public GuidesMirror(URI location) {
+		String path = location.getPath();
+		if (path!=null && !path.endsWith("/")) {
+			//make sure relative locations resolve to entries inside of the mirror directory.
+			location = URI.create(location.toString()+"/");
+		}
+		this.location = location;
+	}
+
+	/**
+	 * @return The mirror configured in the preferences or null if no mirror is configured.
+	 */
+	public static GuidesMirror getConfigured() {
+		String location = BootPreferences.getGuidesMirror();
+		if (StringUtil.hasText(location)) {
+			location = location.trim();
+			try {
+				if (location.startsWith("http:") || location.startsWith("https:") || location.startsWith("file:")) {
+					return new GuidesMirror(new URI(location));
+				}
+			} catch (URISyntaxException e) {
+				//Not a url, so treat it as a file path.
+			}
+			return new GuidesMirror(new File(location).toURI());
+		}
+		return null;
+	}
+
+	public URI getLocation() {
+		return location;
+	}
+
+	/**
+	 * @return The local directory of the mirror, or null if the mirror is served over http.
+	 */
+	public File getDirectory() {
+		if ("file".equals(location.getScheme())) {
+			return new File(location);
+		}
+		return null;
+	}
+
+	public URL getZipUrl(Repo repo) throws MalformedURLException {
+		return location.resolve(ZIPS+repo.getName()+".zip").toURL();
+	}
+
+	/**
+	 * @return The repos of the getting started guides in the mirror.
+	 */
+	public Repo[] getGuideRepos() throws IOException {
+		List<Repo> guides = getCatalog().guides;
+		return guides.toArray(new Repo[guides.size()]);
+	}
+
+	/**
+	 * @return The reference apps in the mirror, with their repos.
+	 */
+	public List<ReferenceAppEntry> getReferenceApps() throws IOException {
+		return getCatalog().referenceApps;
+	}
+
+	private synchronized Catalog getCatalog() throws IOException {
+		if (catalog==null) {
+			try (InputStream in = location.resolve(CATALOG).toURL().openStream()) {
+				Catalog read = MAPPER.readValue(in, Catalog.class);
+				if (read.guides==null) {
+					read.guides = new ArrayList<>();
+				}
+				if (read.referenceApps==null) {
+					read.referenceApps = new ArrayList<>();
+				}
+				catalog = read;
+			}
+		}
+		return catalog;
+	}
+
+	/**
+	 * Populates (or refreshes) a mirror in a local directory with the guides and reference apps
+	 * currently found on github. Zip files are replaced one by one and the catalog is written last,
+	 * so a mirror that is being refreshed remains usable and a failed refresh leaves the previous
+	 * catalog in place.
+	 */
+	public void update(GithubClient github, StsProperties stsProps, IProgressMonitor mon) throws IOException {
+		File dir = getDirectory();
+		if (dir==null) {
+			throw new IOException("Only a mirror in a local directory can be updated: "+location);
+		}
+		SubMonitor monitor = SubMonitor.convert(mon, "Updating guides mirror "+dir, 100);
+
+		Catalog fresh = new Catalog();
+		fresh.guides = new ArrayList<>();
+		for (Repo repo : github.getOrgRepos("spring-guides")) {
+			if (repo.getName().startsWith("gs-")) {
+				fresh.guides.add(repo);
+			}
+		}
+		fresh.guides.sort((r1, r2) -> r1.getName().compareTo(r2.getName()));
+		fresh.referenceApps = new ArrayList<>();
+		String discoveryUrl = stsProps.get("spring.reference.app.discovery.url");
+		if (discoveryUrl!=null) {
+			for (ReferenceAppMetaData md : Arrays.asList(github.get(discoveryUrl, ReferenceAppMetaData[].class))) {
+				fresh.referenceApps.add(new ReferenceAppEntry(md, github.getRepo(md.getOwner(), md.getRepo())));
+			}
+		}
+		monitor.worked(10);
+
+		File zips = new File(dir, ZIPS);
+		zips.mkdirs();
+		List<Repo> repos = new ArrayList<>(fresh.guides);
+		for (ReferenceAppEntry app : fresh.referenceApps) {
+			repos.add(app.repo);
+		}
+		SubMonitor downloads = SubMonitor.convert(monitor.newChild(85), repos.size());
+		for (Repo repo : repos) {
+			if (downloads.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			downloads.subTask(repo.getName());
+			File zip = new File(zips, repo.getName()+".zip");
+			File tmp = new File(zips, repo.getName()+".zip.part");
+			try (OutputStream out = new FileOutputStream(tmp)) {
+				github.fetch(new URL(repo.getHtmlUrl()+"/archive/master.zip"), out);
+			}
+			Files.move(tmp.toPath(), zip.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			downloads.worked(1);
+		}
+
+		File catalogFile = new File(dir, CATALOG);
+		File tmp = new File(dir, CATALOG+".part");
+		MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp, fresh);
+		Files.move(tmp.toPath(), catalogFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		synchronized (this) {
+			catalog = fresh;
+		}
+		monitor.worked(5);
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown=true)
+	public static class Catalog {
+
+		@JsonProperty("guides")
+		private List<Repo> guides;
+
+		@JsonProperty("referenceApps")
+		private List<ReferenceAppEntry> referenceApps;
+
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown=true)
+	public static class ReferenceAppEntry {
+
+		@JsonProperty("metadata")
+		private ReferenceAppMetaData metadata;
+
+		@JsonProperty("repo")
+		private Repo repo;
+
+		public ReferenceAppEntry() {
+		}
+
+		public ReferenceAppEntry(ReferenceAppMetaData metadata, Repo repo) {
+			this.metadata = metadata;
+			this.repo = repo;
+		}
+
+		public ReferenceAppMetaData getMetadata() {
+			return metadata;
+		}
+
+		public Repo getRepo() {
+			return repo;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2013 VMware, Inc.
+ *  Copyright (c) 2013, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -73,6 +73,18 @@ public class ReferenceApp extends GithubRepoContent {
 		this.github = gh;
 	}
 
+	/**
+	 * Create a ReferenceApp for which the repo is already known, with its zip in the given mirror.
+	 */
+	public ReferenceApp(ReferenceAppMetaData md, Repo repo, DownloadManager dl, GuidesMirror mirror) {
+		super(dl, mirror);
+		Assert.isNotNull(md);
+		Assert.isNotNull(repo);
+		this.metadata = md;
+		this.repo = repo;
+		this.github = null;
+	}
+
 	@Override
 	public String getName() {
 		String name = metadata.getName();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2013 VMware, Inc.
+ *  Copyright (c) 2013, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -41,6 +41,13 @@ class TypedContentManager<T> {
 		return items;
 	}
 
+	/**
+	 * Forgets the content fetched so far, so it is fetched again when next requested.
+	 */
+	public void clear() {
+		items = null;
+	}
+
 	private T[] fetch(DownloadManager downloader) {
 		return contentProvider.fetch(downloader);
 	}
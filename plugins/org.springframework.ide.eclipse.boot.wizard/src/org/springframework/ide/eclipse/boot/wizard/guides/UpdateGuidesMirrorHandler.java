@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Pivotal Software, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.wizard.guides;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.ui.handlers.HandlerUtil;
+import org.springframework.ide.eclipse.boot.wizard.BootWizardActivator;
+import org.springframework.ide.eclipse.boot.wizard.content.GettingStartedContent;
+import org.springframework.ide.eclipse.boot.wizard.content.GuidesMirror;
+import org.springframework.ide.eclipse.boot.wizard.github.GithubClient;
+import org.springsource.ide.eclipse.commons.core.preferences.StsProperties;
+
+/**
+ * Populates or refreshes the local mirror of the getting started guides configured
+ * in the Spring Boot preferences.
+ */
+public class UpdateGuidesMirrorHandler extends AbstractHandler {
+
+	public Object execute(ExecutionEvent event) throws ExecutionException {
+		final GuidesMirror mirror = GuidesMirror.getConfigured();
+		if (mirror==null || mirror.getDirectory()==null) {
+			MessageDialog.openError(HandlerUtil.getActiveShell(event), "No Guides Mirror Directory",
+					"To update a mirror of the getting started guides, first set 'Guides Mirror' "
+					+ "in the Spring > Boot preferences to a local directory.");
+			return null;
+		}
+		Job job = new Job("Update Getting Started Guides Mirror") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					mirror.update(new GithubClient(), StsProperties.getInstance(monitor), monitor);
+					//The guides shown so far may be missing some of the mirror's new content
+					GettingStartedContent.getInstance().mirrorChanged();
+					return Status.OK_STATUS;
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (Throwable e) {
+					return BootWizardActivator.createErrorStatus(e);
+				}
+			}
+		};
+		job.setUser(true);
+		job.schedule();
+		return null;
+	}
+
+}
@@ -37,6 +37,7 @@ public class BootPreferences implements IPreferenceChangeListener {
 	public static final String PREF_IGNORE_SILENT_EXIT = "org.springframework.ide.eclipse.boot.ignore.silent.exit";
 	public static final boolean DEFAULT_PREF_IGNORE_SILENT_EXIT = true;
 	public static final String PREF_INITIALIZR_URL = "org.springframework.ide.eclipse.boot.wizard.initializr.url";
+	public static final String PREF_GUIDES_MIRROR = "org.springframework.ide.eclipse.boot.wizard.guides.mirror";
 
 	public static final String PREF_BOOT_FAST_STARTUP_DEFAULT = "org.springframework.ide.eclipse.boot.DefaultFastStartup";
 	public static final String PREF_BOOT_FAST_STARTUP_REMIND_MESSAGE = "org.springframework.ide.eclipse.boot.FastStartupRemindMessage";
@@ -130,6 +131,18 @@ public class BootPreferences implements IPreferenceChangeListener {
 		return projectExclude;
 	}
 
+	/**
+	 * @return The location of the mirror of the getting started guides (a directory
+	 * or a url), or null if the guides should be fetched from github.
+	 */
+	public static String getGuidesMirror() {
+		String mirror = BootActivator.getDefault().getPreferenceStore().getString(PREF_GUIDES_MIRROR);
+		if (StringUtil.hasText(mirror)) {
+			return mirror.trim();
+		}
+		return null;
+	}
+
 	public static String getInitializrUrl() {
 		String[] urls = getInitializrUrls();
 		if (urls!=null && urls.length>0) {
@@ -13,7 +13,6 @@ package org.springframework.ide.eclipse.boot.core.initializr;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.net.URLConnection;
 import java.util.Map;
 
 import org.springframework.ide.eclipse.boot.util.Log;
@@ -225,21 +224,8 @@ public class InitializrDependencySpec {
 	}
 
 	public static InitializrDependencySpec parseFrom(URLConnectionFactory urlConnectionFactory, URL url) throws Exception {
-		URLConnection conn = null;
-		InputStream input = null;
-		try {
-			conn = urlConnectionFactory.createConnection(url);
-			conn.addRequestProperty("Accept", JSON_CONTENT_TYPE_HEADER);
-			conn.connect();
-			input = conn.getInputStream();
+		try (InputStream input = InitializrMetadataCache.getDefault().open(urlConnectionFactory, url, JSON_CONTENT_TYPE_HEADER)) {
 			return parseFrom(input);
-		} finally {
-			if (input!=null) {
-				try {
-					input.close();
-				} catch (IOException e) {
-				}
-			}
 		}
 	}
 
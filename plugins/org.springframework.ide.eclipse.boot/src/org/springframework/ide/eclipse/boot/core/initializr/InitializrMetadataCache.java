@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.core.initializr;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.springframework.ide.eclipse.boot.core.BootActivator;
+import org.springframework.ide.eclipse.boot.util.Log;
+import org.springsource.ide.eclipse.commons.frameworks.core.downloadmanager.URLConnectionFactory;
+
+/**
+ * On-disk cache for the json metadata served by the Spring Initializr service.
+ * <p>
+ * Cached documents are served as follows:
+ * <ul>
+ * <li>A document younger than the 'max age' is served from the cache without contacting the service.</li>
+ * <li>An older document is served from the cache right away and revalidated in the background with a conditional
+ * request (using its ETag and Last-Modified headers). So the next request gets the updated document.</li>
+ * <li>A document that isn't cached yet is downloaded synchronously.</li>
+ * <li>If the service is unreachable any cached document is used regardless of its age. Only if there is no cached
+ * document at all an {@link IOException} explaining that the service is unreachable is thrown.</li>
+ * </ul>
+ */
+public class InitializrMetadataCache {
+
+	/**
+	 * Default max age of a cached document before it gets revalidated.
+	 */
+	public static final long DEFAULT_MAX_AGE = TimeUnit.HOURS.toMillis(1);
+
+	private static final String CONTENT_SUFFIX = ".json";
+	private static final String INFO_SUFFIX = ".properties";
+
+	private static final String PROP_URL = "url";
+	private static final String PROP_ETAG = "etag";
+	private static final String PROP_LAST_MODIFIED = "lastModified";
+	private static final String PROP_FETCHED = "fetched";
+
+	private static InitializrMetadataCache defaultCache;
+
+	private final File directory;
+	private final long maxAge;
+	private final Executor revalidator;
+
+	/**
+	 * Keys of the documents currently being revalidated, to avoid scheduling the same revalidation more than once.
+	 */
+	private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+	public InitializrMetadataCache(File directory, long maxAge, Executor revalidator) {
+		this.directory = directory;
+		this.maxAge = maxAge;
+		this.revalidator = revalidator;
+	}
+
+	/**
+	 * @return The cache shared by all clients of the Initializr service, it is stored in the plugin's state location.
+	 */
+	public static synchronized InitializrMetadataCache getDefault() {
+		if (defaultCache==null) {
+			File directory;
+			BootActivator plugin = BootActivator.getDefault();
+			if (plugin!=null) {
+				directory = plugin.getStateLocation().append("initializr-cache").toFile();
+			} else {
+				directory = new File(System.getProperty("java.io.tmpdir"), "sts-initializr-cache");
+			}
+			ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+				Thread t = new Thread(runnable, "Initializr Metadata Revalidation");
+				t.setDaemon(true);
+				return t;
+			});
+			defaultCache = new InitializrMetadataCache(directory, DEFAULT_MAX_AGE, executor);
+		}
+		return defaultCache;
+	}
+
+	/**
+	 * Opens the json document at the given url, served from the cache according to the policy explained in the class
+	 * comment.
+	 */
+	public InputStream open(URLConnectionFactory urlConnectionFactory, URL url, String acceptHeader) throws IOException {
+		String key = keyFor(url, acceptHeader);
+		File content = new File(directory, key + CONTENT_SUFFIX);
+		Properties info = readInfo(key);
+		if (info==null || !content.isFile()) {
+			try {
+				return new ByteArrayInputStream(fetch(urlConnectionFactory, url, acceptHeader, key, null));
+			} catch (IOException e) {
+				throw new IOException("Spring Initializr service at '"+url+"' is unreachable and no cached metadata is available: "+e.getMessage(), e);
+			}
+		}
+		byte[] cached = Files.readAllBytes(content.toPath());
+		if (isStale(info)) {
+			revalidateInBackground(urlConnectionFactory, url, acceptHeader, key, info);
+		}
+		return new ByteArrayInputStream(cached);
+	}
+
+	/**
+	 * Removes all cached documents.
+	 */
+	public synchronized void clear() {
+		File[] files = directory.listFiles();
+		if (files!=null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+	}
+
+	private boolean isStale(Properties info) {
+		try {
+			long fetched = Long.parseLong(info.getProperty(PROP_FETCHED, "0"));
+			return System.currentTimeMillis() - fetched >= maxAge;
+		} catch (NumberFormatException e) {
+			return true;
+		}
+	}
+
+	private void revalidateInBackground(URLConnectionFactory urlConnectionFactory, URL url, String acceptHeader, String key, Properties info) {
+		if (revalidating.add(key)) {
+			try {
+				revalidator.execute(() -> {
+					try {
+						fetch(urlConnectionFactory, url, acceptHeader, key, info);
+					} catch (IOException e) {
+						//The stale document stays in the cache and will be revalidated on the next request.
+						Log.info("Couldn't revalidate cached Spring Initializr metadata from '"+url+"': "+e.getMessage());
+					} finally {
+						revalidating.remove(key);
+					}
+				});
+			} catch (RuntimeException e) {
+				revalidating.remove(key);
+				Log.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Downloads the document and stores it in the cache. If 'info' about a previously cached version is given the
+	 * request is made conditional; if the service answers with 304 the cached content is kept and returned.
+	 */
+	private byte[] fetch(URLConnectionFactory urlConnectionFactory, URL url, String acceptHeader, String key, Properties info) throws IOException {
+		URLConnection conn = urlConnectionFactory.createConnection(url);
+		conn.addRequestProperty("Accept", acceptHeader);
+		if (info!=null) {
+			String etag = info.getProperty(PROP_ETAG);
+			if (etag!=null) {
+				conn.addRequestProperty("If-None-Match", etag);
+			}
+			String lastModified = info.getProperty(PROP_LAST_MODIFIED);
+			if (lastModified!=null) {
+				conn.addRequestProperty("If-Modified-Since", lastModified);
+			}
+		}
+		conn.connect();
+		try {
+			File contentFile = new File(directory, key + CONTENT_SUFFIX);
+			if (info!=null && conn instanceof HttpURLConnection
+					&& ((HttpURLConnection) conn).getResponseCode()==HttpURLConnection.HTTP_NOT_MODIFIED) {
+				info.setProperty(PROP_FETCHED, Long.toString(System.currentTimeMillis()));
+				writeInfo(key, info);
+				return Files.readAllBytes(contentFile.toPath());
+			}
+			byte[] content;
+			try (InputStream input = conn.getInputStream()) {
+				content = IOUtils.toByteArray(input);
+			}
+			Properties newInfo = new Properties();
+			newInfo.setProperty(PROP_URL, url.toString());
+			newInfo.setProperty(PROP_FETCHED, Long.toString(System.currentTimeMillis()));
+			String etag = conn.getHeaderField("ETag");
+			if (etag!=null) {
+				newInfo.setProperty(PROP_ETAG, etag);
+			}
+			String lastModified = conn.getHeaderField("Last-Modified");
+			if (lastModified!=null) {
+				newInfo.setProperty(PROP_LAST_MODIFIED, lastModified);
+			}
+			writeContent(key, content);
+			writeInfo(key, newInfo);
+			return content;
+		} finally {
+			if (conn instanceof HttpURLConnection) {
+				((HttpURLConnection) conn).disconnect();
+			}
+		}
+	}
+
+	private synchronized Properties readInfo(String key) {
+		File file = new File(directory, key + INFO_SUFFIX);
+		if (file.isFile()) {
+			try (InputStream input = new FileInputStream(file)) {
+				Properties info = new Properties();
+				info.load(input);
+				return info;
+			} catch (IOException e) {
+				Log.log(e);
+			}
+		}
+		return null;
+	}
+
+	private synchronized void writeInfo(String key, Properties info) throws IOException {
+		directory.mkdirs();
+		File tmp = File.createTempFile(key, INFO_SUFFIX, directory);
+		try (OutputStream out = new FileOutputStream(tmp)) {
+			info.store(out, null);
+		}
+		Files.move(tmp.toPath(), new File(directory, key + INFO_SUFFIX).toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private synchronized void writeContent(String key, byte[] content) throws IOException {
+		directory.mkdirs();
+		//Write to a temp file first so that readers never see a partially written document
+		File tmp = File.createTempFile(key, CONTENT_SUFFIX, directory);
+		Files.write(tmp.toPath(), content);
+		Files.move(tmp.toPath(), new File(directory, key + CONTENT_SUFFIX).toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static String keyFor(URL url, String acceptHeader) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			byte[] hash = digest.digest((url + "\n" + acceptHeader).getBytes(StandardCharsets.UTF_8));
+			StringBuilder key = new StringBuilder();
+			for (byte b : hash) {
+				key.append(String.format("%02x", b));
+			}
+			return key.toString();
+		} catch (Exception e) {
+			//SHA-1 is always available, but just in case...
+			return Integer.toHexString((url + "\n" + acceptHeader).hashCode());
+		}
+	}
+
+}
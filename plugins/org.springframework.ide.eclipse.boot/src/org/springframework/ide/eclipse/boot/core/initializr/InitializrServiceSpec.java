@@ -14,7 +14,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
-import java.net.URLConnection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -61,21 +60,8 @@ public class InitializrServiceSpec {
 	}
 
 	public static InitializrServiceSpec parseFrom(URLConnectionFactory urlConnectionFactory, URL url) throws IOException, Exception {
-		URLConnection conn = null;
-		InputStream input = null;
-		try {
-			conn = urlConnectionFactory.createConnection(url);
-			conn.addRequestProperty("Accept", JSON_CONTENT_TYPE_HEADER);
-			conn.connect();
-			input = conn.getInputStream();
+		try (InputStream input = InitializrMetadataCache.getDefault().open(urlConnectionFactory, url, JSON_CONTENT_TYPE_HEADER)) {
 			return parseFrom(input);
-		} finally {
-			if (input!=null) {
-				try {
-					input.close();
-				} catch (IOException e) {
-				}
-			}
 		}
 	}
 
@@ -115,6 +101,7 @@ public class InitializrServiceSpec {
 		private String description;
 		private String versionRange;
 		private Links links;
+		private String[] aliases = new String[0];
 		
 		public String getId() {
 			return id;
@@ -142,6 +129,18 @@ public class InitializrServiceSpec {
 			return links;
 		}
 
+		/**
+		 * @return Alternate ids the dependency is known by. Only some initializr services
+		 * provide these, so this is often empty.
+		 */
+		public String[] getAliases() {
+			return aliases;
+		}
+
+		public void setAliases(String[] aliases) {
+			this.aliases = aliases==null ? new String[0] : aliases;
+		}
+
 		public void setLinks(Links links) {
 			this.links = links;
 		}
@@ -155,6 +154,14 @@ public class InitializrServiceSpec {
 				deps[i].setName(obj.optString("name"));
 				deps[i].setDescription(obj.optString("description"));
 				deps[i].setVersionRange(obj.optString("versionRange"));
+				JSONArray aliases = obj.optJSONArray("aliases");
+				if (aliases != null) {
+					String[] strings = new String[aliases.length()];
+					for (int j = 0; j < strings.length; j++) {
+						strings[j] = aliases.getString(j);
+					}
+					deps[i].setAliases(strings);
+				}
 				JSONObject linksObject = obj.optJSONObject("_links");
 				if (linksObject != null) {
 					deps[i].setLinks(Links.from(linksObject));
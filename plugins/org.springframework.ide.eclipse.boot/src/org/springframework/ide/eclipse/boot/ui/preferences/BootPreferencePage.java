@@ -80,6 +80,14 @@ public class BootPreferencePage extends FieldEditorPreferencePage implements IWo
 		thinLauncher.setErrorMessage("Thin launcher must be an existing file");
 		setTooltip(thinLauncherComposite, thinLauncher, "Thin boot launcher jar to use in Spring Boot Launch configuration (when that option is enabled in the launch config)");
 		addField(thinLauncher);
+
+		Composite guidesMirrorComposite = new Composite(parent, SWT.NONE);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(guidesMirrorComposite);
+		StringFieldEditor guidesMirror = new StringFieldEditor(PREF_GUIDES_MIRROR, "Guides Mirror", guidesMirrorComposite);
+		setTooltip(guidesMirrorComposite, guidesMirror, "Directory or url of a mirror of the getting started guides and reference apps. "
+				+ "When set, the guides import wizard reads all content from the mirror instead of github. "
+				+ "Use the 'Update Getting Started Guides Mirror' command to populate a mirror directory.");
+		addField(guidesMirror);
 	}
 
 
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.config.core.contentassist;
+
+import org.eclipse.core.resources.IFile;
+import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistContext;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * The values of an {@link IContentAssistContext} taken on the UI thread, for
+ * calculators running in an {@link XmlBackedContentProposalJob}. The XML
+ * document is edited on the UI thread, so the snapshot does not give access to
+ * it: {@link #getNode()}, {@link #getParentNode()} and {@link #getDocument()}
+ * return null.
+ * @since 3.9.3
+ */
+class ContentAssistContextSnapshot implements IContentAssistContext {
+
+	private final String attributeName;
+
+	private final String matchString;
+
+	private final IFile file;
+
+	ContentAssistContextSnapshot(IContentAssistContext context) {
+		this.attributeName = context.getAttributeName();
+		this.matchString = context.getMatchString();
+		this.file = context.getFile();
+	}
+
+	public String getAttributeName() {
+		return attributeName;
+	}
+
+	public String getMatchString() {
+		return matchString;
+	}
+
+	public IFile getFile() {
+		return file;
+	}
+
+	public Node getNode() {
+		return null;
+	}
+
+	public Node getParentNode() {
+		return null;
+	}
+
+	public Document getDocument() {
+		return null;
+	}
+
+}
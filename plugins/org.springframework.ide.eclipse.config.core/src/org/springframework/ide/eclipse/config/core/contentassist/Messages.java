@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -18,7 +18,11 @@ import org.eclipse.osgi.util.NLS;
 public class Messages extends NLS {
 	private static final String BUNDLE_NAME = "org.springframework.ide.eclipse.config.core.contentassist.messages"; //$NON-NLS-1$
 
+	public static String XmlBackedContentProposalProvider_COMPUTING;
+
 	public static String XmlBackedContentProposalProvider_ERROR_STRIP_TAGS;
+
+	public static String XmlBackedContentProposalProvider_MORE;
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
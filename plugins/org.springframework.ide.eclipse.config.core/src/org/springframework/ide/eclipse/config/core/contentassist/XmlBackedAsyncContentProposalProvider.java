@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.config.core.contentassist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.fieldassist.IContentProposal;
+import org.eclipse.jface.fieldassist.IContentProposalProvider;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Control;
+
+/**
+ * The proposal provider an {@link XmlBackedContentProposalAdapter} hands to
+ * its proposal popup. If the {@link XmlBackedContentProposalProvider} has a
+ * background calculator, it schedules an {@link XmlBackedContentProposalJob}
+ * for the typed contents, canceling the job for the previous contents, and
+ * returns the proposals computed so far. The adapter refreshes the popup
+ * whenever the job delivers more proposals. Other providers compute their
+ * proposals right away.
+ * <p>
+ * If the previous job completed without hitting the proposal limit and the
+ * {@link XmlBackedContentProposalProvider} allows it, the previous proposals
+ * are filtered for the new contents instead.
+ * <p>
+ * All methods except {@link #proposalsComputed} must be called from the UI
+ * thread.
+ * @since 3.9.3
+ */
+class XmlBackedAsyncContentProposalProvider implements IContentProposalProvider {
+
+	private static final IContentProposal[] NO_PROPOSALS = new IContentProposal[0];
+
+	/** Delay before computing proposals, so that fast typing only starts one job */
+	private static final long DELAY = 100;
+
+	private final Control control;
+
+	private final XmlBackedContentProposalProvider provider;
+
+	private XmlBackedContentProposalAdapter adapter;
+
+	private XmlBackedContentProposalJob job;
+
+	private String contents;
+
+	private IContentProposal[] proposals = NO_PROPOSALS;
+
+	private boolean complete = false;
+
+	private boolean capped = false;
+
+	XmlBackedAsyncContentProposalProvider(Control control, XmlBackedContentProposalProvider provider) {
+		this.control = control;
+		this.provider = provider;
+	}
+
+	void setAdapter(XmlBackedContentProposalAdapter adapter) {
+		this.adapter = adapter;
+	}
+
+	public IContentProposal[] getProposals(String contents, int position) {
+		if (!contents.equals(this.contents)) {
+			cancelJob();
+			if (this.contents != null && complete && !capped
+					&& provider.canFilterProposals(this.contents, contents)) {
+				proposals = filterProposals(proposals, contents);
+			}
+			else {
+				capped = false;
+				job = provider.createProposalJob(contents, position, this);
+				if (job != null) {
+					proposals = NO_PROPOSALS;
+					complete = false;
+					job.schedule(DELAY);
+				}
+				else {
+					proposals = provider.getProposals(contents, position);
+					complete = true;
+				}
+			}
+			this.contents = contents;
+		}
+
+		if (!complete) {
+			// Keeps the popup open until the job delivers
+			return append(proposals, makeInfoProposal(contents, Messages.XmlBackedContentProposalProvider_COMPUTING));
+		}
+		if (capped) {
+			return append(proposals, makeInfoProposal(contents, Messages.XmlBackedContentProposalProvider_MORE));
+		}
+		return proposals;
+	}
+
+	/**
+	 * Called by the job whenever it has more proposals. Hands the proposals to
+	 * the UI thread unless the job has been superseded in the meantime.
+	 */
+	void proposalsComputed(final XmlBackedContentProposalJob source, final IContentProposal[] result,
+			final boolean done, final boolean limitReached) {
+		if (control.isDisposed()) {
+			return;
+		}
+		control.getDisplay().asyncExec(new Runnable() {
+			public void run() {
+				if (source != job || control.isDisposed()) {
+					return;
+				}
+				proposals = result;
+				complete = done;
+				capped = limitReached;
+				if (done) {
+					job = null;
+				}
+				if (adapter != null) {
+					adapter.refreshProposals();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns whether {@link #getProposals(String, int)} has anything to show
+	 * for the current contents.
+	 */
+	boolean hasProposals() {
+		return !complete || capped || proposals.length > 0;
+	}
+
+	/**
+	 * Cancels any computation and forgets the proposals computed so far.
+	 */
+	void reset() {
+		cancelJob();
+		provider.proposalsReset();
+		contents = null;
+		proposals = NO_PROPOSALS;
+		complete = false;
+		capped = false;
+	}
+
+	private void cancelJob() {
+		if (job != null) {
+			job.cancel();
+			job = null;
+		}
+	}
+
+	private IContentProposal[] filterProposals(IContentProposal[] previous, String contents) {
+		List<IContentProposal> result = new ArrayList<IContentProposal>();
+		for (IContentProposal proposal : previous) {
+			if (provider.matches(proposal, contents)) {
+				result.add(proposal);
+			}
+		}
+		return result.toArray(new IContentProposal[result.size()]);
+	}
+
+	private static IContentProposal[] append(IContentProposal[] proposals, IContentProposal proposal) {
+		IContentProposal[] result = new IContentProposal[proposals.length + 1];
+		System.arraycopy(proposals, 0, result, 0, proposals.length);
+		result[proposals.length] = proposal;
+		return result;
+	}
+
+	/**
+	 * Creates a proposal that only shows a message. Accepting it leaves the
+	 * field contents as they are.
+	 */
+	private static IContentProposal makeInfoProposal(final String contents, final String message) {
+		return new XmlBackedContentProposal() {
+
+			public String getContent() {
+				return contents;
+			}
+
+			public int getCursorPosition() {
+				return contents.length();
+			}
+
+			public String getDescription() {
+				return null;
+			}
+
+			public Image getImage() {
+				return null;
+			}
+
+			public String getLabel() {
+				return message;
+			}
+
+		};
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ import org.eclipse.jface.fieldassist.ContentProposalAdapter;
 import org.eclipse.jface.fieldassist.ControlDecoration;
 import org.eclipse.jface.fieldassist.FieldDecoration;
 import org.eclipse.jface.fieldassist.FieldDecorationRegistry;
+import org.eclipse.jface.fieldassist.IContentProposalListener2;
 import org.eclipse.jface.fieldassist.IControlContentAdapter;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Control;
@@ -23,6 +24,8 @@ import org.eclipse.wst.xml.core.internal.provisional.document.IDOMElement;
 /**
  * A pre-configured content proposal adapter that is set to use an
  * {@link XmlBackedContentProposalProvider} as its proposal provider.
+ * Proposals are computed in the background while the popup is open, and the
+ * popup is refreshed as they come in.
  * @author Leo Dos Santos
  * @author Christian Dupuis
  * @see ContentProposalAdapter
@@ -35,6 +38,10 @@ public class XmlBackedContentProposalAdapter extends ContentProposalAdapter {
 
 	private final XmlBackedContentProposalProvider xmlProposalProvider;
 
+	private final XmlBackedAsyncContentProposalProvider asyncProposalProvider;
+
+	private boolean refreshing = false;
+
 	/**
 	 * Constructs a content proposal adapter that can assist the user with
 	 * choosing content for the field. Content proposals are invoked through the
@@ -72,12 +79,35 @@ public class XmlBackedContentProposalAdapter extends ContentProposalAdapter {
 	 */
 	public XmlBackedContentProposalAdapter(Control control, IControlContentAdapter contentAdapter,
 			XmlBackedContentProposalProvider proposalProvider, KeyStroke keyStroke) {
-		super(control, contentAdapter, proposalProvider, keyStroke, null);
+		super(control, contentAdapter, createAsyncProposalProvider(control, proposalProvider), keyStroke, null);
 		this.control = control;
 		this.xmlProposalProvider = proposalProvider;
+		this.asyncProposalProvider = (XmlBackedAsyncContentProposalProvider) getContentProposalProvider();
 		setProposalAcceptanceStyle(ContentProposalAdapter.PROPOSAL_REPLACE);
 		setLabelProvider(new XmlBackedContentProposalLabelProvider());
 		addControlDecoration();
+		if (asyncProposalProvider != null) {
+			asyncProposalProvider.setAdapter(this);
+			addContentProposalListener(new IContentProposalListener2() {
+
+				public void proposalPopupOpened(ContentProposalAdapter adapter) {
+				}
+
+				public void proposalPopupClosed(ContentProposalAdapter adapter) {
+					if (!refreshing) {
+						asyncProposalProvider.reset();
+					}
+				}
+			});
+		}
+	}
+
+	private static XmlBackedAsyncContentProposalProvider createAsyncProposalProvider(Control control,
+			XmlBackedContentProposalProvider proposalProvider) {
+		if (proposalProvider != null) {
+			return new XmlBackedAsyncContentProposalProvider(control, proposalProvider);
+		}
+		return null;
 	}
 
 	private void addControlDecoration() {
@@ -88,6 +118,46 @@ public class XmlBackedContentProposalAdapter extends ContentProposalAdapter {
 		controlDec.setShowOnlyOnFocus(true);
 	}
 
+	/**
+	 * Returns the {@link XmlBackedContentProposalProvider} this adapter was
+	 * created with. Unlike {@link #getContentProposalProvider()}, which
+	 * computes proposals in the background, its proposals are computed
+	 * synchronously.
+	 * 
+	 * @return the XML backed proposal provider, or null
+	 * @since 3.9.3
+	 */
+	public XmlBackedContentProposalProvider getXmlProposalProvider() {
+		return xmlProposalProvider;
+	}
+
+	/**
+	 * Reopens the proposal popup with the proposals computed so far, if it is
+	 * open.
+	 */
+	void refreshProposals() {
+		if (control.isDisposed() || !isProposalPopupOpen()) {
+			return;
+		}
+		boolean popupFocus = hasProposalPopupFocus();
+		refreshing = true;
+		try {
+			closeProposalPopup();
+			if (asyncProposalProvider.hasProposals()) {
+				openProposalPopup();
+				if (popupFocus) {
+					setProposalPopupFocus();
+				}
+			}
+			else {
+				asyncProposalProvider.reset();
+			}
+		}
+		finally {
+			refreshing = false;
+		}
+	}
+
 	/**
 	 * Updates the proposal provider with the new model from which content
 	 * proposals will be obtained.
@@ -97,6 +167,7 @@ public class XmlBackedContentProposalAdapter extends ContentProposalAdapter {
 	 */
 	public void update(IDOMElement input) {
 		if (xmlProposalProvider != null) {
+			asyncProposalProvider.reset();
 			xmlProposalProvider.setInput(input);
 		}
 	}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.config.core.contentassist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.fieldassist.IContentProposal;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.wst.xml.ui.internal.contentassist.ContentAssistRequest;
+import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistCalculator;
+import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistContext;
+import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistProposalRecorder;
+
+/**
+ * Runs the background calculator of an
+ * {@link XmlBackedContentProposalProvider} on a
+ * {@link ContentAssistContextSnapshot}. The request, the recorder and any
+ * proposals from the XML document are prepared on the UI thread; the job only
+ * adds the proposals of its calculator. They are recorded through this job,
+ * which stops the calculator once the job is canceled or
+ * {@link #MAX_PROPOSALS} proposals have been recorded, and hands the proposals
+ * recorded so far to its {@link XmlBackedAsyncContentProposalProvider} every
+ * {@link #UPDATE_INTERVAL} milliseconds.
+ * @since 3.9.3
+ */
+@SuppressWarnings("restriction")
+class XmlBackedContentProposalJob extends Job implements IContentAssistProposalRecorder {
+
+	static final int MAX_PROPOSALS = 200;
+
+	static final long UPDATE_INTERVAL = 200;
+
+	private final XmlBackedContentProposalProvider provider;
+
+	private final XmlBackedAsyncContentProposalProvider target;
+
+	private final IContentAssistCalculator calculator;
+
+	private final IContentAssistContext context;
+
+	private final ContentAssistRequest request;
+
+	private final IContentAssistProposalRecorder recorder;
+
+	private final List<IContentProposal> proposals = new ArrayList<IContentProposal>();
+
+	private IProgressMonitor monitor;
+
+	private int recorded;
+
+	private boolean capped = false;
+
+	private long lastUpdate;
+
+	XmlBackedContentProposalJob(XmlBackedContentProposalProvider provider,
+			XmlBackedAsyncContentProposalProvider target, IContentAssistCalculator calculator,
+			IContentAssistContext context, ContentAssistRequest request, IContentAssistProposalRecorder recorder) {
+		super("Computing content proposals"); //$NON-NLS-1$
+		this.provider = provider;
+		this.target = target;
+		this.calculator = calculator;
+		this.context = context;
+		this.request = request;
+		this.recorder = recorder;
+		ICompletionProposal[] documentProposals = request.getCompletionProposals();
+		this.recorded = documentProposals != null ? documentProposals.length : 0;
+		setSystem(true);
+		setPriority(Job.INTERACTIVE);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		this.monitor = monitor;
+		this.lastUpdate = System.currentTimeMillis();
+		try {
+			provider.computeBackgroundProposals(calculator, context, this, monitor);
+		}
+		catch (OperationCanceledException e) {
+			// canceled, or stopped after MAX_PROPOSALS
+		}
+		if (monitor.isCanceled()) {
+			return Status.CANCEL_STATUS;
+		}
+		target.proposalsComputed(this, collectProposals(), true, capped);
+		return Status.OK_STATUS;
+	}
+
+	public void recordProposal(Image image, int relevance, String displayText, String replaceText) {
+		recordProposal(image, relevance, displayText, replaceText, null);
+	}
+
+	public void recordProposal(Image image, int relevance, String displayText, String replaceText,
+			Object proposedObject) {
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		if (recorded >= MAX_PROPOSALS) {
+			capped = true;
+			throw new OperationCanceledException();
+		}
+		recorder.recordProposal(image, relevance, displayText, replaceText, proposedObject);
+		recorded++;
+
+		long now = System.currentTimeMillis();
+		if (now - lastUpdate >= UPDATE_INTERVAL) {
+			lastUpdate = now;
+			target.proposalsComputed(this, collectProposals(), false, false);
+		}
+	}
+
+	/**
+	 * Converts the completion proposals recorded since the last call and
+	 * returns all proposals converted so far.
+	 */
+	private IContentProposal[] collectProposals() {
+		ICompletionProposal[] results = request.getCompletionProposals();
+		if (results != null) {
+			for (int i = proposals.size(); i < results.length; i++) {
+				proposals.add(provider.makeContentProposal(results[i]));
+			}
+		}
+		return proposals.toArray(new IContentProposal[proposals.size()]);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@ package org.springframework.ide.eclipse.config.core.contentassist;
 
 import java.util.ArrayList;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.fieldassist.IContentProposal;
 import org.eclipse.jface.fieldassist.IContentProposalProvider;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
@@ -20,6 +21,9 @@ import org.eclipse.wst.sse.core.internal.provisional.text.ITextRegion;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMAttr;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMElement;
 import org.eclipse.wst.xml.ui.internal.contentassist.ContentAssistRequest;
+import org.eclipse.wst.xml.ui.internal.editor.XMLEditorPluginImageHelper;
+import org.eclipse.wst.xml.ui.internal.editor.XMLEditorPluginImages;
+import org.springframework.ide.eclipse.beans.ui.BeansUIPlugin;
 import org.springframework.ide.eclipse.beans.ui.editor.contentassist.BeansJavaCompletionProposal;
 import org.springframework.ide.eclipse.beans.ui.editor.contentassist.DefaultContentAssistContext;
 import org.springframework.ide.eclipse.beans.ui.editor.contentassist.DefaultContentAssistProposalRecorder;
@@ -36,6 +40,14 @@ import org.w3c.dom.Attr;
  * {@link ContentAssistRequest} on the backing XML and then converting the
  * resulting {@link ICompletionProposal} objects into {@link IContentProposal}objects. Clients must provide their own {@link IContentAssistCalculator} to
  * compute the completion proposals.
+ * <p>
+ * When used through an {@link XmlBackedContentProposalAdapter}, subclasses
+ * can move expensive lookups off the UI thread with
+ * {@link #createBackgroundContentAssistCalculator(IContentAssistContext, IContentAssistProposalRecorder)}.
+ * Subclasses whose calculator matches proposals against the typed prefix can
+ * override {@link #canFilterProposals(String, String)} so that the proposals
+ * computed for a prefix are filtered instead of recomputed as the user keeps
+ * typing.
  * @author Leo Dos Santos
  * @author Christian Dupuis
  * @author Terry Denney
@@ -138,16 +150,7 @@ public abstract class XmlBackedContentProposalProvider implements IContentPropos
 	}
 
 	public IContentProposal[] getProposals(String contents, int position) {
-		request = null;
-		if (getAttribute() != null && getCompletionRegion() != null) {
-			int start = input.getStartStructuredDocumentRegion().getStart() + getCompletionRegion().getStart();
-			request = new ContentAssistRequest(input, input, input.getStartStructuredDocumentRegion(),
-					getCompletionRegion(), start, getCompletionRegion().getLength(), contents);
-		}
-		else {
-			request = new ContentAssistRequest(input, input, input.getStartStructuredDocumentRegion(),
-					getCompletionRegion(), position, contents.length(), contents);
-		}
+		ContentAssistRequest assistRequest = createRequest(contents, position);
 
 		// TODO: define a context and recorder that don't require a request.
 		IContentAssistContext context = createContentAssistContext(contents);
@@ -156,20 +159,134 @@ public abstract class XmlBackedContentProposalProvider implements IContentPropos
 		calc.computeProposals(context, recorder);
 
 		ArrayList<IContentProposal> proposals = new ArrayList<IContentProposal>();
-		ICompletionProposal[] results = request.getCompletionProposals();
+		ICompletionProposal[] results = assistRequest.getCompletionProposals();
 
 		if (results != null && results.length > 0) {
-			for (ICompletionProposal completionProp : request.getCompletionProposals()) {
+			for (ICompletionProposal completionProp : results) {
 				proposals.add(makeContentProposal(completionProp));
 			}
 		}
 		return proposals.toArray(new IContentProposal[proposals.size()]);
 	}
 
+	/**
+	 * Returns whether the proposals computed for <code>previous</code> contain
+	 * all proposals for <code>contents</code>, so that they can be narrowed
+	 * down with {@link #matches(IContentProposal, String)} instead of invoking
+	 * the content assist calculator again. Returns false by default.
+	 * 
+	 * @param previous the contents the proposals were computed for
+	 * @param contents the current contents of the text field
+	 * @return true if the previous proposals can be filtered
+	 * @since 3.9.3
+	 */
+	protected boolean canFilterProposals(String previous, String contents) {
+		return false;
+	}
+
+	/**
+	 * Returns whether a proposal computed for a shorter prefix still applies
+	 * to the given contents. Only called if
+	 * {@link #canFilterProposals(String, String)} returned true. By default
+	 * this is a case insensitive prefix match on the proposal content.
+	 * 
+	 * @param proposal the previously computed proposal
+	 * @param contents the current contents of the text field
+	 * @return true if the proposal should be shown for the contents
+	 * @since 3.9.3
+	 */
+	protected boolean matches(IContentProposal proposal, String contents) {
+		return proposal.getContent().toLowerCase().startsWith(contents.toLowerCase());
+	}
+
+	/**
+	 * Returns a calculator that computes the proposals in the background, or
+	 * null to compute them on the UI thread with
+	 * {@link #createContentAssistCalculator()}. Returns null by default.
+	 * <p>
+	 * This method is called on the UI thread. Anything that needs the XML
+	 * document, such as beans declared in the edited file, must be recorded
+	 * here through the given recorder. The returned calculator runs on a
+	 * snapshot of the context that only answers the attribute name, the match
+	 * string and the file, so it may only look up the beans model and Java
+	 * types.
+	 * 
+	 * @param context the context for the current contents of the text field
+	 * @param recorder the recorder for proposals computed from the document
+	 * @return the calculator to run in the background, or null
+	 * @since 3.9.3
+	 */
+	protected IContentAssistCalculator createBackgroundContentAssistCalculator(IContentAssistContext context,
+			IContentAssistProposalRecorder recorder) {
+		return null;
+	}
+
+	/**
+	 * Runs the calculator returned by
+	 * {@link #createBackgroundContentAssistCalculator(IContentAssistContext, IContentAssistProposalRecorder)}
+	 * in the background. Subclasses can override this to hand the monitor of
+	 * the background job to long running lookups, so that they stop once the
+	 * proposals are no longer needed.
+	 * 
+	 * @param calculator the background calculator
+	 * @param context the snapshot of the context
+	 * @param recorder the recorder for the computed proposals
+	 * @param monitor the monitor of the background job
+	 * @since 3.9.3
+	 */
+	protected void computeBackgroundProposals(IContentAssistCalculator calculator, IContentAssistContext context,
+			IContentAssistProposalRecorder recorder, IProgressMonitor monitor) {
+		calculator.computeProposals(context, recorder);
+	}
+
+	/**
+	 * Called from the UI thread when the proposal popup of an
+	 * {@link XmlBackedContentProposalAdapter} closed, so that subclasses can
+	 * forget anything they cached while computing its proposals. Does nothing
+	 * by default.
+	 * 
+	 * @since 3.9.3
+	 */
+	protected void proposalsReset() {
+	}
+
+	/**
+	 * Prepares a job computing the proposals for the given contents in the
+	 * background, or returns null if this provider computes them on the UI
+	 * thread. Must be called from the UI thread.
+	 */
+	XmlBackedContentProposalJob createProposalJob(String contents, int position,
+			XmlBackedAsyncContentProposalProvider target) {
+		ContentAssistRequest assistRequest = createRequest(contents, position);
+		IContentAssistContext context = createContentAssistContext(contents);
+		IContentAssistProposalRecorder recorder = createContentAssistRecorder();
+		IContentAssistCalculator calc = createBackgroundContentAssistCalculator(context, recorder);
+		if (calc == null) {
+			return null;
+		}
+		return new XmlBackedContentProposalJob(this, target, calc, new ContentAssistContextSnapshot(context),
+				assistRequest, recorder);
+	}
+
+	private ContentAssistRequest createRequest(String contents, int position) {
+		if (getAttribute() != null && getCompletionRegion() != null) {
+			int start = input.getStartStructuredDocumentRegion().getStart() + getCompletionRegion().getStart();
+			request = new ContentAssistRequest(input, input, input.getStartStructuredDocumentRegion(),
+					getCompletionRegion(), start, getCompletionRegion().getLength(), contents);
+		}
+		else {
+			request = new ContentAssistRequest(input, input, input.getStartStructuredDocumentRegion(),
+					getCompletionRegion(), position, contents.length(), contents);
+		}
+		return request;
+	}
+
 	// May need to abstract this method in the future
-	private IContentProposal makeContentProposal(final ICompletionProposal proposal) {
+	IContentProposal makeContentProposal(final ICompletionProposal proposal) {
 		return new XmlBackedContentProposal() {
 
+			private Image image;
+
 			public String getContent() {
 				if (proposal instanceof BeansJavaCompletionProposal) {
 					BeansJavaCompletionProposal beanProp = (BeansJavaCompletionProposal) proposal;
@@ -196,7 +313,23 @@ public abstract class XmlBackedContentProposalProvider implements IContentPropos
 			}
 
 			public Image getImage() {
-				return proposal.getImage();
+				if (image == null) {
+					image = proposal.getImage();
+					// Calculators running outside the UI thread leave out
+					// images of model elements, so look them up here
+					if (proposal instanceof BeansJavaCompletionProposal
+							&& image == XMLEditorPluginImageHelper.getInstance().getImage(
+									XMLEditorPluginImages.IMG_OBJ_ENUM)) {
+						Object proposedObject = ((BeansJavaCompletionProposal) proposal).getProposedObject();
+						if (proposedObject != null) {
+							Image elementImage = BeansUIPlugin.getLabelProvider().getImage(proposedObject);
+							if (elementImage != null) {
+								image = elementImage;
+							}
+						}
+					}
+				}
+				return image;
 			}
 
 			public String getLabel() {
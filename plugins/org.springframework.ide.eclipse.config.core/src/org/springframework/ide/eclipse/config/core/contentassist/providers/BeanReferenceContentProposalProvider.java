@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -10,9 +10,14 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.config.core.contentassist.providers;
 
+import java.util.Set;
+
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMElement;
 import org.springframework.ide.eclipse.beans.ui.editor.contentassist.BeanReferenceContentAssistCalculator;
 import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistCalculator;
+import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistContext;
+import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistProposalRecorder;
+import org.springframework.ide.eclipse.beans.ui.editor.util.BeansCompletionUtils;
 import org.springframework.ide.eclipse.config.core.contentassist.XmlBackedContentProposalProvider;
 
 
@@ -57,6 +62,36 @@ public class BeanReferenceContentProposalProvider extends XmlBackedContentPropos
 		this.showExternal = showExternal;
 	}
 
+	/**
+	 * Bean references are matched case insensitively against the typed
+	 * prefix, so the beans found for a prefix include those for any longer
+	 * prefix.
+	 */
+	@Override
+	protected boolean canFilterProposals(String previous, String contents) {
+		return contents.toLowerCase().startsWith(previous.toLowerCase());
+	}
+
+	/**
+	 * Records the beans of the edited document right away and looks up the
+	 * beans of the config sets in the background.
+	 */
+	@Override
+	protected IContentAssistCalculator createBackgroundContentAssistCalculator(IContentAssistContext context,
+			IContentAssistProposalRecorder recorder) {
+		if (!showExternal || context.getDocument() == null) {
+			return null;
+		}
+		final Set<String> documentBeanNames = BeansCompletionUtils.addDocumentBeanReferenceProposals(context,
+				recorder);
+		return new IContentAssistCalculator() {
+
+			public void computeProposals(IContentAssistContext context, IContentAssistProposalRecorder recorder) {
+				BeansCompletionUtils.addModelBeanReferenceProposals(context, recorder, documentBeanNames);
+			}
+		};
+	}
+
 	@Override
 	protected IContentAssistCalculator createContentAssistCalculator() {
 		return new BeanReferenceContentAssistCalculator(showExternal);
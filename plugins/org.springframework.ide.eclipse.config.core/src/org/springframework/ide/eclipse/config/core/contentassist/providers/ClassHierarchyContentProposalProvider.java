@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -10,9 +10,20 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.config.core.contentassist.providers;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jface.fieldassist.IContentProposal;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMElement;
 import org.springframework.ide.eclipse.beans.ui.editor.contentassist.ClassHierachyContentAssistCalculator;
 import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistCalculator;
+import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistContext;
+import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistProposalRecorder;
+import org.springframework.ide.eclipse.beans.ui.editor.util.BeansJavaCompletionUtils;
 import org.springframework.ide.eclipse.config.core.contentassist.XmlBackedContentProposalProvider;
 
 
@@ -29,6 +40,12 @@ public class ClassHierarchyContentProposalProvider extends XmlBackedContentPropo
 
 	private final String className;
 
+	/**
+	 * The hierarchies of the root class computed in the background, by
+	 * project, until the proposal popup closes
+	 */
+	private final Map<IProject, ITypeHierarchy> hierarchies = new ConcurrentHashMap<IProject, ITypeHierarchy>();
+
 	/**
 	 * Constructs a content proposal provider for an XML attribute. Generates a
 	 * list of classes that inherit from the given class name.
@@ -43,6 +60,58 @@ public class ClassHierarchyContentProposalProvider extends XmlBackedContentPropo
 		this.className = className;
 	}
 
+	/**
+	 * Sub types are matched against the typed prefix by their qualified or
+	 * simple name. No types are proposed for an empty prefix, so those results
+	 * can't be narrowed down.
+	 */
+	@Override
+	protected boolean canFilterProposals(String previous, String contents) {
+		return previous.length() > 0 && contents.startsWith(previous);
+	}
+
+	@Override
+	protected boolean matches(IContentProposal proposal, String contents) {
+		return proposal.getContent().startsWith(contents) || proposal.getLabel().startsWith(contents);
+	}
+
+	/**
+	 * The type hierarchy is computed in the background, once while the
+	 * proposal popup is open. The calculator only needs the match string and
+	 * the file.
+	 */
+	@Override
+	protected IContentAssistCalculator createBackgroundContentAssistCalculator(IContentAssistContext context,
+			IContentAssistProposalRecorder recorder) {
+		return new ClassHierachyContentAssistCalculator(className);
+	}
+
+	@Override
+	protected void computeBackgroundProposals(IContentAssistCalculator calculator, IContentAssistContext context,
+			IContentAssistProposalRecorder recorder, IProgressMonitor monitor) {
+		String prefix = context.getMatchString();
+		IFile file = context.getFile();
+		if (prefix == null || prefix.length() == 0 || file == null) {
+			return;
+		}
+		ITypeHierarchy hierarchy = hierarchies.get(file.getProject());
+		if (hierarchy == null) {
+			// Stops with an OperationCanceledException once the job is canceled
+			hierarchy = BeansJavaCompletionUtils.getTypeHierarchy(file, className, monitor);
+			if (hierarchy == null) {
+				return;
+			}
+			hierarchies.put(file.getProject(), hierarchy);
+		}
+		BeansJavaCompletionUtils.addTypeHierachyAttributeValueProposals(context, recorder, hierarchy,
+				BeansJavaCompletionUtils.FLAG_CLASS | BeansJavaCompletionUtils.FLAG_INTERFACE);
+	}
+
+	@Override
+	protected void proposalsReset() {
+		hierarchies.clear();
+	}
+
 	@Override
 	protected IContentAssistCalculator createContentAssistCalculator() {
 		return new ClassHierachyContentAssistCalculator(className);
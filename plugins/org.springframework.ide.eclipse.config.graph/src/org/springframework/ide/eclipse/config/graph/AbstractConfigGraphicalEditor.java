@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 Pivotal Software Inc.
+ *  Copyright (c) 2012, 2017 Pivotal Software Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -256,6 +256,9 @@ public abstract class AbstractConfigGraphicalEditor extends GraphicalEditorWithP
 		if (transferTargetListener != null) {
 			getGraphicalViewer().removeDropTargetListener(transferTargetListener);
 		}
+		if (diagram != null) {
+			diagram.dispose();
+		}
 		super.dispose();
 	}
 
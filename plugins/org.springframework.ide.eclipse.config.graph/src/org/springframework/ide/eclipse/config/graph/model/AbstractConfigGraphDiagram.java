@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -14,9 +14,16 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
@@ -40,6 +47,7 @@ import org.springframework.ide.eclipse.config.graph.ConfigGraphPlugin;
 import org.springframework.ide.eclipse.core.SpringCorePreferences;
 import org.springsource.ide.eclipse.commons.core.StatusHandler;
 import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
@@ -82,12 +90,31 @@ public abstract class AbstractConfigGraphDiagram extends ParallelActivity {
 
 	private final List<Activity> modelRegistry;
 
+	/** Activities of the {@link #modelRegistry} by their input element */
+	private final Map<Node, List<Activity>> inputRegistry;
+
+	/** Indexes of the lists passed to {@link #listContainsElement(List, Activity)} during a refresh */
+	private final Map<List<Activity>, ElementIndex> elementIndexes;
+
+	/**
+	 * Activities of the {@link #modelRegistry} by the values of their outgoing
+	 * and incoming transition attributes, built on demand during a refresh
+	 */
+	private Map<String, List<Activity>> outgoingReferences;
+
+	private Map<String, List<Activity>> incomingReferences;
+
+	private final DomChangeTracker changeTracker;
+
 	private Map<String, Node> refNodeRegistry;
 
 	public AbstractConfigGraphDiagram(AbstractConfigGraphicalEditor editor) {
 		super();
 		this.editor = editor;
 		modelRegistry = new ArrayList<Activity>();
+		inputRegistry = new IdentityHashMap<Node, List<Activity>>();
+		elementIndexes = new IdentityHashMap<List<Activity>, ElementIndex>();
+		changeTracker = new DomChangeTracker();
 		refNodeRegistry = new HashMap<String, Node>();
 	}
 
@@ -96,6 +123,13 @@ public abstract class AbstractConfigGraphDiagram extends ParallelActivity {
 		// no-op
 	}
 
+	/**
+	 * Stops listening to changes of the DOM document.
+	 */
+	public void dispose() {
+		changeTracker.dispose();
+	}
+
 	public Rectangle doReadCoordinates(Activity activity) {
 		String xml = getPreferenceLocation().getString(getGraphCoordsKey(), ""); //$NON-NLS-1$
 		Rectangle savedBounds = null;
@@ -170,6 +204,33 @@ public abstract class AbstractConfigGraphDiagram extends ParallelActivity {
 		}
 	}
 
+	/**
+	 * Returns the activities of the model registry that reference the given
+	 * name by one of their outgoing or incoming transition attributes, in the
+	 * order of the registry.
+	 */
+	public List<Activity> getActivitiesReferencing(String ref, boolean outgoing) {
+		if (outgoingReferences == null) {
+			outgoingReferences = new HashMap<String, List<Activity>>();
+			incomingReferences = new HashMap<String, List<Activity>>();
+			for (Activity activity : modelRegistry) {
+				List<String> attrs = new ArrayList<String>();
+				attrs.addAll(activity.getPrimaryOutgoingAttributes());
+				attrs.addAll(activity.getSecondaryOutgoingAttributes());
+				indexReferences(activity, attrs, outgoingReferences);
+				attrs.clear();
+				attrs.addAll(activity.getPrimaryIncomingAttributes());
+				attrs.addAll(activity.getSecondaryIncomingAttributes());
+				indexReferences(activity, attrs, incomingReferences);
+			}
+		}
+		List<Activity> activities = (outgoing ? outgoingReferences : incomingReferences).get(ref);
+		if (activities == null) {
+			return Collections.emptyList();
+		}
+		return activities;
+	}
+
 	@SuppressWarnings("rawtypes")
 	@Override
 	public Object getAdapter(Class adapter) {
@@ -186,6 +247,17 @@ public abstract class AbstractConfigGraphDiagram extends ParallelActivity {
 		return list;
 	}
 
+	/**
+	 * Collects the activities besides the given ones whose transitions are
+	 * computed from the attributes of the given activities. Used when only
+	 * attributes have changed in order to update the transitions of the
+	 * affected activities; subclasses with activities that look up the
+	 * activities referencing them need to add these.
+	 */
+	protected void getDependentActivities(Collection<Activity> activities, Set<Activity> dependents) {
+		// no-op
+	}
+
 	@Override
 	public AbstractConfigGraphDiagram getDiagram() {
 		return this;
@@ -215,11 +287,44 @@ public abstract class AbstractConfigGraphDiagram extends ParallelActivity {
 
 	protected abstract IDiagramModelFactory getModelFactory();
 
+	/**
+	 * Collects the keys under which the given activity is found by
+	 * {@link #listContainsElement(List, Activity)}. Subclasses that override
+	 * {@link #getLookupKeys(Activity, List)} need to add matching keys here.
+	 */
+	protected void getIndexKeys(Activity activity, List<Object> keys) {
+		if (activity.getInput() != null) {
+			keys.add(Arrays.asList(activity.getClass(), activity.getInput()));
+		}
+	}
+
+	/**
+	 * Collects the keys to look up in order to find out whether an equivalent
+	 * of the given element is already contained in a list.
+	 */
+	protected void getLookupKeys(Activity element, List<Object> keys) {
+		if (element.getInput() != null) {
+			keys.add(Arrays.asList(element.getClass(), element.getInput()));
+		}
+	}
+
 	@Override
 	public List<Activity> getModelRegistry() {
 		return modelRegistry;
 	}
 
+	/**
+	 * Returns the activities of the model registry whose input is the given
+	 * element.
+	 */
+	public List<Activity> getModelRegistry(Node input) {
+		List<Activity> activities = inputRegistry.get(input);
+		if (activities == null) {
+			return Collections.emptyList();
+		}
+		return activities;
+	}
+
 	public String getNamespaceUri() {
 		return editor.getNamespaceUri();
 	}
@@ -306,31 +411,208 @@ public abstract class AbstractConfigGraphDiagram extends ParallelActivity {
 		}
 	}
 
+	/**
+	 * Collects the transitions of the given <code>source</code> to all
+	 * activities referenced by the given attributes.
+	 */
+	protected void getTransitionsFromXml(Activity source, List<Transition> transitions, List<String> attrs,
+			boolean incoming, boolean primary) {
+		for (String label : attrs) {
+			Node ref = getReferencedNode(source.getInput().getAttribute(label));
+			if (ref != null) {
+				for (Activity target : getModelRegistry(ref)) {
+					if (!(target instanceof ParallelActivity)) {
+						getTransitionsFromXml(source, target, transitions, Collections.singletonList(label),
+								incoming, primary);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the names of all attributes that the transitions of the given
+	 * activity are computed from.
+	 */
+	protected List<String> getTransitionAttributes(Activity activity) {
+		List<String> attrs = new ArrayList<String>();
+		attrs.addAll(activity.getPrimaryIncomingAttributes());
+		attrs.addAll(activity.getSecondaryIncomingAttributes());
+		attrs.addAll(activity.getPrimaryOutgoingAttributes());
+		attrs.addAll(activity.getSecondaryOutgoingAttributes());
+		return attrs;
+	}
+
 	protected SpringConfigContentAssistProcessor getXmlProcessor() {
 		return editor.getXmlProcessor();
 	}
 
+	private void indexReferences(Activity activity, List<String> attrs, Map<String, List<Activity>> index) {
+		IDOMElement input = activity.getInput();
+		if (input == null) {
+			return;
+		}
+		Set<String> refs = new HashSet<String>();
+		for (String attr : attrs) {
+			String ref = input.getAttribute(attr);
+			if (ref != null && ref.length() > 0 && refs.add(ref)) {
+				List<Activity> activities = index.get(ref);
+				if (activities == null) {
+					activities = new ArrayList<Activity>(1);
+					index.put(ref, activities);
+				}
+				activities.add(activity);
+			}
+		}
+	}
+
 	@Override
 	protected void internalSetName() {
 		setName("diagram"); //$NON-NLS-1$
 	}
 
-	// Move this into ConfigCoreUtils??
+	private boolean isReferenceAttribute(String attr) {
+		return "id".equals(attr) || "name".equals(attr) || "alias".equals(attr); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Returns <code>true</code> if the given attribute changes can change the
+	 * referenceable elements of the document or the elements that the
+	 * transitions resolve to: changes of names, of attributes that transitions
+	 * are computed from, and of elements without activities, whose attributes
+	 * may be read by the activities of enclosing elements.
+	 */
+	private boolean isReferencesChanged(Map<Element, Set<String>> changedAttributes) {
+		for (Map.Entry<Element, Set<String>> entry : changedAttributes.entrySet()) {
+			List<Activity> activities = getModelRegistry(entry.getKey());
+			if (activities.isEmpty()) {
+				return true;
+			}
+			for (String attr : entry.getValue()) {
+				if (isReferenceAttribute(attr)) {
+					return true;
+				}
+				for (Activity activity : activities) {
+					if (getTransitionAttributes(activity).contains(attr)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given changes of attributes or of the
+	 * names of referenceable elements can change which activities the model
+	 * factories create, in which case the model is rebuilt. By default the
+	 * activities only depend on the elements of the document.
+	 * @param changedAttributes the local names of the changed attributes by
+	 * their element
+	 * @param changedNames the names that have been added to or removed from
+	 * the referenceable elements or now reference another element
+	 */
+	protected boolean isStructureChanged(Map<Element, Set<String>> changedAttributes, Set<String> changedNames) {
+		return false;
+	}
+
 	public boolean listContainsElement(List<Activity> list, Activity element) {
-		for (Activity activity : list) {
-			if (activity.getClass().equals(element.getClass()) && activity.getInput() != null
-					&& activity.getInput().equals(element.getInput())) {
+		ElementIndex index = elementIndexes.get(list);
+		if (index == null) {
+			index = new ElementIndex();
+			elementIndexes.put(list, index);
+		}
+		index.update(list);
+		List<Object> keys = new ArrayList<Object>();
+		getLookupKeys(element, keys);
+		for (Object key : keys) {
+			if (index.contains(key)) {
 				return true;
 			}
 		}
 		return false;
 	}
 
+	/**
+	 * Updates the model from the DOM document. Does nothing if neither
+	 * elements nor attributes have changed since the last refresh. If only
+	 * attributes have changed, the existing activities are kept: only the
+	 * names and transitions of the activities the attributes belong to are
+	 * updated, or all transitions if referenceable names have changed. The
+	 * model is rebuilt if elements have been added or removed, or if the
+	 * changes affect which activities are created.
+	 */
 	public void refreshModelFromXml() {
-		modelRegistry.clear();
-		updateRefNodeRegistry();
-		updateChildrenFromXml();
-		updateTransitionsFromXml();
+		IDOMDocument document = getDomDocument();
+		if (changeTracker.getDocument() != document) {
+			changeTracker.track(document);
+		}
+		if (!changeTracker.isModelChanged()) {
+			return;
+		}
+		boolean structureChanged = changeTracker.isStructureChanged();
+		Map<Element, Set<String>> changedAttributes = changeTracker.getChangedAttributes();
+		changeTracker.reset();
+
+		resetReferences();
+		try {
+			Set<String> changedNames = Collections.emptySet();
+			if (structureChanged || isReferencesChanged(changedAttributes)) {
+				changedNames = updateRefNodeRegistry();
+			}
+			if (structureChanged || isStructureChanged(changedAttributes, changedNames)) {
+				modelRegistry.clear();
+				inputRegistry.clear();
+				resetReferences();
+				updateChildrenFromXml();
+				updateTransitionsFromXml();
+			}
+			else {
+				for (Element element : changedAttributes.keySet()) {
+					for (Activity activity : getModelRegistry(element)) {
+						activity.internalSetName();
+					}
+				}
+				if (changedNames.isEmpty()) {
+					updateTransitionsFromXml(changedAttributes.keySet());
+				}
+				else {
+					// references may resolve to other elements now
+					for (Activity activity : modelRegistry) {
+						activity.incomings.clear();
+						activity.outgoings.clear();
+					}
+					updateTransitionsFromXml();
+				}
+			}
+		}
+		finally {
+			elementIndexes.clear();
+			resetReferences();
+		}
+	}
+
+	/**
+	 * Adds the given activities to the model registry.
+	 */
+	void registerActivities(List<Activity> activities) {
+		modelRegistry.addAll(activities);
+		for (Activity activity : activities) {
+			Node input = activity.getInput();
+			if (input != null) {
+				List<Activity> registered = inputRegistry.get(input);
+				if (registered == null) {
+					registered = new ArrayList<Activity>(1);
+					inputRegistry.put(input, registered);
+				}
+				registered.add(activity);
+			}
+		}
+	}
+
+	private void resetReferences() {
+		outgoingReferences = null;
+		incomingReferences = null;
 	}
 
 	@Override
@@ -338,8 +620,88 @@ public abstract class AbstractConfigGraphDiagram extends ParallelActivity {
 		// no-op
 	}
 
-	private void updateRefNodeRegistry() {
+	/**
+	 * Updates the referenceable elements and returns the names that have
+	 * been added or removed or reference another element than before.
+	 */
+	private Set<String> updateRefNodeRegistry() {
+		Map<String, Node> previous = refNodeRegistry;
 		refNodeRegistry = BeansEditorUtils.getReferenceableNodes(getDomDocument(), getResourceFile());
+		Set<String> changedNames = new HashSet<String>();
+		for (Map.Entry<String, Node> entry : refNodeRegistry.entrySet()) {
+			if (previous.get(entry.getKey()) != entry.getValue()) {
+				changedNames.add(entry.getKey());
+			}
+		}
+		for (String name : previous.keySet()) {
+			if (!refNodeRegistry.containsKey(name)) {
+				changedNames.add(name);
+			}
+		}
+		return changedNames;
+	}
+
+	/**
+	 * Updates the transitions computed from the attributes of the given
+	 * elements: the transitions of their activities, of the activities of
+	 * enclosing elements, which may read the attributes of nested elements,
+	 * and of the activities that depend on them. Transitions to other
+	 * activities are removed and the other activities recreate those they
+	 * still have.
+	 */
+	private void updateTransitionsFromXml(Collection<Element> elements) {
+		Set<Activity> affected = new LinkedHashSet<Activity>();
+		for (Element element : elements) {
+			for (Node node = element; node != null; node = node.getParentNode()) {
+				affected.addAll(getModelRegistry(node));
+			}
+		}
+		Set<Activity> activities = new LinkedHashSet<Activity>(affected);
+		getDependentActivities(affected, activities);
+		for (Activity activity : affected) {
+			for (Transition trans : new ArrayList<Transition>(activity.getIncomingTransitions())) {
+				trans.source.removeOutgoing(trans);
+				activity.removeIncoming(trans);
+				activities.add(trans.source);
+			}
+			for (Transition trans : new ArrayList<Transition>(activity.getOutgoingTransitions())) {
+				trans.target.removeIncoming(trans);
+				activity.removeOutgoing(trans);
+				activities.add(trans.target);
+			}
+		}
+		for (Activity activity : activities) {
+			activity.updateTransitionsFromXml();
+		}
+	}
+
+	/**
+	 * Keys of the elements of a list that is being built; lists are only
+	 * appended to while the model is built, so only new elements need to be
+	 * indexed.
+	 */
+	private class ElementIndex {
+
+		private final Set<Object> keys = new HashSet<Object>();
+
+		private int size;
+
+		public boolean contains(Object key) {
+			return keys.contains(key);
+		}
+
+		public void update(List<Activity> list) {
+			if (list.size() < size) {
+				keys.clear();
+				size = 0;
+			}
+			List<Object> activityKeys = new ArrayList<Object>();
+			for (Activity activity : list.subList(size, list.size())) {
+				getIndexKeys(activity, activityKeys);
+			}
+			keys.addAll(activityKeys);
+			size = list.size();
+		}
 	}
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -58,13 +58,8 @@ public abstract class Activity extends AbstractConfigGraphModelElement {
 
 	protected List<Transition> getIncomingTransitionsFromXml() {
 		List<Transition> list = new ArrayList<Transition>();
-		List<Activity> registry = getDiagram().getModelRegistry();
-		for (Activity activity : registry) {
-			if (!(activity instanceof ParallelActivity)) {
-				getDiagram().getTransitionsFromXml(this, activity, list, getPrimaryIncomingAttributes(), true, true);
-				getDiagram().getTransitionsFromXml(this, activity, list, getSecondaryIncomingAttributes(), true, false);
-			}
-		}
+		getDiagram().getTransitionsFromXml(this, list, getPrimaryIncomingAttributes(), true, true);
+		getDiagram().getTransitionsFromXml(this, list, getSecondaryIncomingAttributes(), true, false);
 		return list;
 	}
 
@@ -74,14 +69,8 @@ public abstract class Activity extends AbstractConfigGraphModelElement {
 
 	protected List<Transition> getOutgoingTransitionsFromXml() {
 		List<Transition> list = new ArrayList<Transition>();
-		List<Activity> registry = getDiagram().getModelRegistry();
-		for (Activity activity : registry) {
-			if (!(activity instanceof ParallelActivity)) {
-				getDiagram().getTransitionsFromXml(this, activity, list, getPrimaryOutgoingAttributes(), false, true);
-				getDiagram()
-						.getTransitionsFromXml(this, activity, list, getSecondaryOutgoingAttributes(), false, false);
-			}
-		}
+		getDiagram().getTransitionsFromXml(this, list, getPrimaryOutgoingAttributes(), false, true);
+		getDiagram().getTransitionsFromXml(this, list, getSecondaryOutgoingAttributes(), false, false);
 		return list;
 	}
 
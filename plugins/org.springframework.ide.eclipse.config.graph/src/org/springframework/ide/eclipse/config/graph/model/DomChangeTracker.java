@@ -0,0 +1,187 @@
+/*******************************************************************************
+ *  Copyright (c) 2017 Spring IDE Developers
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.config.graph.model;
+
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.wst.sse.core.internal.provisional.INodeAdapter;
+import org.eclipse.wst.sse.core.internal.provisional.INodeNotifier;
+import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Listens to the change notifications of the elements of a DOM document and
+ * records whether the graph model needs to be refreshed: whether elements
+ * have been added or removed, and which attributes of which elements have
+ * changed. Changes to text, comments or whitespace between elements do not
+ * affect the graph and are ignored.
+ * @since 3.9.3
+ */
+@SuppressWarnings("restriction")
+class DomChangeTracker implements INodeAdapter {
+
+	private IDOMDocument document;
+
+	private boolean structureChanged = true;
+
+	/** Names of the changed attributes by their element */
+	private final Map<Element, Set<String>> changedAttributes = new IdentityHashMap<Element, Set<String>>();
+
+	/**
+	 * Starts tracking the given document, stops tracking the previous one.
+	 * Always reports a change afterwards.
+	 */
+	public void track(IDOMDocument document) {
+		if (this.document != document) {
+			if (this.document != null) {
+				uninstall(this.document);
+			}
+			this.document = document;
+			if (document != null) {
+				install(document);
+			}
+		}
+		structureChanged = true;
+		changedAttributes.clear();
+	}
+
+	public void dispose() {
+		track(null);
+	}
+
+	public IDOMDocument getDocument() {
+		return document;
+	}
+
+	/**
+	 * Returns <code>true</code> if elements or attributes of the document have
+	 * changed since the last call to {@link #reset()}.
+	 */
+	public boolean isModelChanged() {
+		return structureChanged || !changedAttributes.isEmpty();
+	}
+
+	/**
+	 * Returns <code>true</code> if elements have been added, removed or
+	 * re-created, or namespace declarations have changed since the last call
+	 * to {@link #reset()}.
+	 */
+	public boolean isStructureChanged() {
+		return structureChanged;
+	}
+
+	/**
+	 * Returns the local names of the attributes that have changed since the
+	 * last call to {@link #reset()} by their element.
+	 */
+	public Map<Element, Set<String>> getChangedAttributes() {
+		return new IdentityHashMap<Element, Set<String>>(changedAttributes);
+	}
+
+	public void reset() {
+		structureChanged = false;
+		changedAttributes.clear();
+	}
+
+	public boolean isAdapterForType(Object type) {
+		return type == DomChangeTracker.class;
+	}
+
+	public void notifyChanged(INodeNotifier notifier, int eventType, Object changedFeature, Object oldValue,
+			Object newValue, int pos) {
+		switch (eventType) {
+		case INodeNotifier.ADD:
+			if (newValue instanceof Element) {
+				install((Node) newValue);
+				structureChanged();
+			}
+			break;
+		case INodeNotifier.REMOVE:
+			if (oldValue instanceof Element) {
+				uninstall((Node) oldValue);
+				structureChanged();
+			}
+			break;
+		case INodeNotifier.STRUCTURE_CHANGED:
+			// the parser has re-created a part of the tree; make sure that all
+			// new elements are tracked
+			if (notifier instanceof Node) {
+				install((Node) notifier);
+			}
+			structureChanged();
+			break;
+		case INodeNotifier.CHANGE:
+			if (changedFeature instanceof Attr && notifier instanceof Element) {
+				attributeChanged((Element) notifier, (Attr) changedFeature);
+			}
+			break;
+		default:
+			// text content of elements is not shown in the graph
+			break;
+		}
+	}
+
+	private void structureChanged() {
+		structureChanged = true;
+	}
+
+	private void attributeChanged(Element element, Attr attr) {
+		String name = attr.getName();
+		if ("xmlns".equals(name) || name.startsWith("xmlns:")) { //$NON-NLS-1$ //$NON-NLS-2$
+			// the namespaces of the elements decide which activities they
+			// are shown as
+			structureChanged();
+			return;
+		}
+		Set<String> names = changedAttributes.get(element);
+		if (names == null) {
+			names = new HashSet<String>();
+			changedAttributes.put(element, names);
+		}
+		names.add(attr.getLocalName() != null ? attr.getLocalName() : name);
+	}
+
+	private void install(Node node) {
+		if (node instanceof INodeNotifier) {
+			INodeNotifier notifier = (INodeNotifier) node;
+			if (notifier.getExistingAdapter(DomChangeTracker.class) != this) {
+				notifier.addAdapter(this);
+			}
+		}
+		NodeList children = node.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			Node child = children.item(i);
+			if (child instanceof Element) {
+				install(child);
+			}
+		}
+	}
+
+	private void uninstall(Node node) {
+		if (node instanceof INodeNotifier) {
+			((INodeNotifier) node).removeAdapter(this);
+		}
+		NodeList children = node.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			Node child = children.item(i);
+			if (child instanceof Element) {
+				uninstall(child);
+			}
+		}
+	}
+
+}
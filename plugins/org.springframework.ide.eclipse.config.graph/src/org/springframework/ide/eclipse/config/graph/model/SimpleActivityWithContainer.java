@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -37,9 +37,8 @@ public abstract class SimpleActivityWithContainer extends StructuredActivity {
 	@Override
 	protected List<Transition> getOutgoingTransitionsFromXml() {
 		List<Transition> list = super.getOutgoingTransitionsFromXml();
-		List<Activity> registry = getDiagram().getModelRegistry();
-		for (Activity activity : registry) {
-			if (activity instanceof ParallelActivity && activity.getInput().equals(getInput())) {
+		for (Activity activity : getDiagram().getModelRegistry(getInput())) {
+			if (activity instanceof ParallelActivity) {
 				Transition trans = new Transition(this, activity, getInput());
 				trans.setLineStyle(Transition.DASHED_CONNECTION);
 				list.add(trans);
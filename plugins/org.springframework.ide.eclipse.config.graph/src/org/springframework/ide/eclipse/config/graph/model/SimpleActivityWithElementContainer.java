@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -41,13 +41,12 @@ public abstract class SimpleActivityWithElementContainer extends StructuredActiv
 	@Override
 	protected List<Transition> getOutgoingTransitionsFromXml() {
 		List<Transition> list = super.getOutgoingTransitionsFromXml();
-		List<Activity> registry = getDiagram().getModelRegistry();
 		NodeList children = getInput().getChildNodes();
 		for (int i = 0; i < children.getLength(); i++) {
 			Node container = children.item(i);
 			if (container instanceof IDOMElement && container.getLocalName().equals(getContainerInputName())) {
-				for (Activity activity : registry) {
-					if (activity instanceof ParallelActivity && activity.getInput().equals(container)) {
+				for (Activity activity : getDiagram().getModelRegistry(container)) {
+					if (activity instanceof ParallelActivity) {
 						Transition trans = new Transition(this, activity, (IDOMElement) container);
 						trans.setLineStyle(Transition.DASHED_CONNECTION);
 						list.add(trans);
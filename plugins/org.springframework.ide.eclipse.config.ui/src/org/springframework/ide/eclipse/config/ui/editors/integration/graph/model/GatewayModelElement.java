@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -60,7 +60,6 @@ public class GatewayModelElement extends AbstractInboundGatewayModelElement {
 	@Override
 	protected List<Transition> getIncomingTransitionsFromXml() {
 		List<Transition> list = super.getIncomingTransitionsFromXml();
-		List<Activity> registry = getDiagram().getModelRegistry();
 		NodeList methods = getInput().getChildNodes();
 		for (int i = 0; i < methods.getLength(); i++) {
 			Node node = methods.item(i);
@@ -70,8 +69,8 @@ public class GatewayModelElement extends AbstractInboundGatewayModelElement {
 				if (channel != null && channel.trim().length() > 0) {
 					Node channelRef = getDiagram().getReferencedNode(channel);
 					if (channelRef instanceof IDOMElement) {
-						for (Activity activity : registry) {
-							if (!(activity instanceof ParallelActivity) && activity.getInput().equals(channelRef)) {
+						for (Activity activity : getDiagram().getModelRegistry(channelRef)) {
+							if (!(activity instanceof ParallelActivity)) {
 								Transition trans = new Transition(activity, this, method);
 								list.add(trans);
 							}
@@ -86,7 +85,6 @@ public class GatewayModelElement extends AbstractInboundGatewayModelElement {
 	@Override
 	protected List<Transition> getOutgoingTransitionsFromXml() {
 		List<Transition> list = super.getOutgoingTransitionsFromXml();
-		List<Activity> registry = getDiagram().getModelRegistry();
 		NodeList methods = getInput().getChildNodes();
 		for (int i = 0; i < methods.getLength(); i++) {
 			Node node = methods.item(i);
@@ -96,8 +94,8 @@ public class GatewayModelElement extends AbstractInboundGatewayModelElement {
 				if (channel != null && channel.trim().length() > 0) {
 					Node channelRef = getDiagram().getReferencedNode(channel);
 					if (channelRef instanceof IDOMElement) {
-						for (Activity activity : registry) {
-							if (!(activity instanceof ParallelActivity) && activity.getInput().equals(channelRef)) {
+						for (Activity activity : getDiagram().getModelRegistry(channelRef)) {
+							if (!(activity instanceof ParallelActivity)) {
 								Transition trans = new Transition(this, activity, method);
 								list.add(trans);
 							}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -35,21 +35,29 @@ public class ImplicitChannelModelElement extends Activity {
 		super(input, diagram);
 	}
 
+	/**
+	 * Returns the name of the channel that the endpoint this channel is
+	 * created for references.
+	 */
+	protected String getChannelId() {
+		String id = getInput().getAttribute(IntegrationSchemaConstants.ATTR_INPUT_CHANNEL);
+		if (id == null || id.trim().length() == 0) {
+			id = getInput().getAttribute(IntegrationSchemaConstants.ATTR_REQUEST_CHANNEL);
+		}
+		return id;
+	}
+
 	@Override
 	protected List<Transition> getIncomingTransitionsFromXml() {
 		List<Transition> list = new ArrayList<Transition>();
-		List<Activity> registry = getDiagram().getModelRegistry();
-		for (Activity activity : registry) {
+		String id = getChannelId();
+		for (Activity activity : getDiagram().getActivitiesReferencing(id, true)) {
 			List<String> labels = new ArrayList<String>();
 			labels.addAll(activity.getPrimaryOutgoingAttributes());
 			labels.addAll(activity.getSecondaryOutgoingAttributes());
 			for (String attr : labels) {
 				String ref = activity.getInput().getAttribute(attr);
-				String id = getInput().getAttribute(IntegrationSchemaConstants.ATTR_INPUT_CHANNEL);
-				if (id == null || id.trim().length() == 0) {
-					id = getInput().getAttribute(IntegrationSchemaConstants.ATTR_REQUEST_CHANNEL);
-				}
-				if (ref != null && id != null && ref.equals(id)) {
+				if (ref != null && ref.equals(id)) {
 					Transition trans = new ImplicitTransition(activity, this, (IDOMAttr) activity.getInput()
 							.getAttributeNode(attr));
 					list.add(trans);
@@ -67,18 +75,14 @@ public class ImplicitChannelModelElement extends Activity {
 	@Override
 	protected List<Transition> getOutgoingTransitionsFromXml() {
 		List<Transition> list = new ArrayList<Transition>();
-		List<Activity> registry = getDiagram().getModelRegistry();
-		for (Activity activity : registry) {
+		String id = getChannelId();
+		for (Activity activity : getDiagram().getActivitiesReferencing(id, false)) {
 			List<String> labels = new ArrayList<String>();
 			labels.addAll(activity.getPrimaryIncomingAttributes());
 			labels.addAll(activity.getSecondaryIncomingAttributes());
 			for (String attr : labels) {
 				String ref = activity.getInput().getAttribute(attr);
-				String id = getInput().getAttribute(IntegrationSchemaConstants.ATTR_INPUT_CHANNEL);
-				if (id == null || id.trim().length() == 0) {
-					id = getInput().getAttribute(IntegrationSchemaConstants.ATTR_REQUEST_CHANNEL);
-				}
-				if (ref != null && id != null && ref.equals(id)) {
+				if (ref != null && ref.equals(id)) {
 					Transition trans = new ImplicitTransition(this, activity, (IDOMAttr) activity.getInput()
 							.getAttributeNode(attr));
 					list.add(trans);
@@ -90,10 +94,7 @@ public class ImplicitChannelModelElement extends Activity {
 
 	@Override
 	protected void internalSetName() {
-		String id = getInput().getAttribute(IntegrationSchemaConstants.ATTR_INPUT_CHANNEL);
-		if (id == null || id.trim().length() == 0) {
-			id = getInput().getAttribute(IntegrationSchemaConstants.ATTR_REQUEST_CHANNEL);
-		}
+		String id = getChannelId();
 		if (id != null && id.trim().length() > 0) {
 			setName(id);
 		}
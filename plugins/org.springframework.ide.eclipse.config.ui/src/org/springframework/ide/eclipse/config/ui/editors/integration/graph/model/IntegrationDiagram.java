@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -10,16 +10,23 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.config.ui.editors.integration.graph.model;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMAttr;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMElement;
+import org.springframework.ide.eclipse.config.core.schemas.IntegrationSchemaConstants;
 import org.springframework.ide.eclipse.config.graph.AbstractConfigGraphicalEditor;
 import org.springframework.ide.eclipse.config.graph.model.AbstractConfigGraphDiagram;
 import org.springframework.ide.eclipse.config.graph.model.Activity;
 import org.springframework.ide.eclipse.config.graph.model.IDiagramModelFactory;
 import org.springframework.ide.eclipse.config.graph.model.Transition;
 import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
 
@@ -35,6 +42,28 @@ public class IntegrationDiagram extends AbstractConfigGraphDiagram {
 		super(editor);
 	}
 
+	@Override
+	protected void getDependentActivities(Collection<Activity> activities, Set<Activity> dependents) {
+		// implicit channels look up the endpoints that reference them
+		Set<String> refs = new HashSet<String>();
+		for (Activity activity : activities) {
+			for (String attr : getTransitionAttributes(activity)) {
+				String ref = activity.getInput().getAttribute(attr);
+				if (ref != null && ref.length() > 0) {
+					refs.add(ref);
+				}
+			}
+		}
+		if (!refs.isEmpty()) {
+			for (Activity activity : getModelRegistry()) {
+				if (activity instanceof ImplicitChannelModelElement
+						&& refs.contains(((ImplicitChannelModelElement) activity).getChannelId())) {
+					dependents.add(activity);
+				}
+			}
+		}
+	}
+
 	@Override
 	protected IDiagramModelFactory getModelFactory() {
 		return new IntegrationModelFactory();
@@ -79,20 +108,49 @@ public class IntegrationDiagram extends AbstractConfigGraphDiagram {
 	}
 
 	@Override
-	public boolean listContainsElement(List<Activity> list, Activity element) {
-		for (Activity activity : list) {
-			if (element instanceof ImplicitChannelModelElement) {
-				if (activity instanceof ImplicitChannelModelElement && element.getName() != null
-						&& activity.getName() != null && (element.getName().equals(activity.getName()))) {
-					return true;
-				}
+	protected void getIndexKeys(Activity activity, List<Object> keys) {
+		super.getIndexKeys(activity, keys);
+		if (activity.getInput() != null) {
+			keys.add(Arrays.asList(IDOMElement.class, activity.getInput()));
+		}
+		if (activity instanceof ImplicitChannelModelElement && activity.getName() != null) {
+			keys.add(Arrays.asList(ImplicitChannelModelElement.class, activity.getName()));
+		}
+	}
+
+	@Override
+	protected void getLookupKeys(Activity element, List<Object> keys) {
+		if (element instanceof ImplicitChannelModelElement) {
+			// implicit channels of different endpoints are the same if they
+			// have the same name
+			if (element.getName() != null) {
+				keys.add(Arrays.asList(ImplicitChannelModelElement.class, element.getName()));
 			}
-			else if (element instanceof PlaceholderModelElement) {
-				if (element.getInput().equals(activity.getInput())) {
-					return true;
-				}
+		}
+		else if (element instanceof PlaceholderModelElement) {
+			// any element with the same input
+			keys.add(Arrays.asList(IDOMElement.class, element.getInput()));
+		}
+		super.getLookupKeys(element, keys);
+	}
+
+	@Override
+	protected boolean isStructureChanged(Map<Element, Set<String>> changedAttributes, Set<String> changedNames) {
+		// implicit channels are created for the channel attributes of
+		// endpoints that don't reference a channel
+		for (Set<String> attrs : changedAttributes.values()) {
+			if (attrs.contains(IntegrationSchemaConstants.ATTR_INPUT_CHANNEL)
+					|| attrs.contains(IntegrationSchemaConstants.ATTR_REQUEST_CHANNEL)
+					|| attrs.contains(IntegrationSchemaConstants.ATTR_OUTPUT_CHANNEL)) {
+				return true;
 			}
 		}
-		return super.listContainsElement(list, element);
+		for (String name : changedNames) {
+			if (!getActivitiesReferencing(name, true).isEmpty() || !getActivitiesReferencing(name, false).isEmpty()) {
+				return true;
+			}
+		}
+		return false;
 	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -39,7 +39,6 @@ public abstract class AbstractStateModelElement extends Activity {
 	@Override
 	protected List<Transition> getOutgoingTransitionsFromXml() {
 		List<Transition> list = super.getOutgoingTransitionsFromXml();
-		List<Activity> registry = getDiagram().getModelRegistry();
 		NodeList transitions = getInput().getChildNodes();
 		for (int i = 0; i < transitions.getLength(); i++) {
 			Node node = transitions.item(i);
@@ -49,8 +48,8 @@ public abstract class AbstractStateModelElement extends Activity {
 				if (state != null && state.trim().length() > 0) {
 					Node stateRef = getDiagram().getReferencedNode(state);
 					if (stateRef instanceof IDOMElement) {
-						for (Activity activity : registry) {
-							if (!(activity instanceof ParallelActivity) && activity.getInput().equals(stateRef)) {
+						for (Activity activity : getDiagram().getModelRegistry(stateRef)) {
+							if (!(activity instanceof ParallelActivity)) {
 								Transition trans = new WebFlowTransition(this, activity, transition);
 								list.add(trans);
 							}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -48,7 +48,7 @@ public class ComboAttributeProposalAdapter extends XmlBackedContentProposalAdapt
 	}
 
 	private void populateCombo() {
-		IContentProposal[] proposals = getContentProposalProvider().getProposals("", 0); //$NON-NLS-1$
+		IContentProposal[] proposals = getXmlProposalProvider().getProposals("", 0); //$NON-NLS-1$
 		List<String> items = new ArrayList<String>();
 		items.add(""); //$NON-NLS-1$
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -31,6 +31,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.springframework.ide.eclipse.core.SpringCore;
 import org.springframework.ide.eclipse.core.SpringCoreUtils;
 import org.springframework.ide.eclipse.core.java.JdtUtils;
+import org.springframework.ide.eclipse.core.model.AbstractModel;
 
 /**
  * Implementation of {@link IResourceChangeListener} which detects modifications to Spring projects (add/remove Spring
@@ -57,6 +58,17 @@ public class SpringResourceChangeListener implements IResourceChangeListener {
 	}
 
 	public void resourceChanged(IResourceChangeEvent event) {
+		// Report the model changes caused by the resource changes together
+		AbstractModel.beginBatch();
+		try {
+			handleResourceChanged(event);
+		}
+		finally {
+			AbstractModel.endBatch();
+		}
+	}
+
+	private void handleResourceChanged(IResourceChangeEvent event) {
 		if (event.getSource() instanceof IWorkspace) {
 			int eventType = event.getType();
 			switch (eventType) {
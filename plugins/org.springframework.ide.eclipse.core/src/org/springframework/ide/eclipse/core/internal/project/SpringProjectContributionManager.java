@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,7 +32,9 @@ import org.eclipse.core.runtime.SubProgressMonitor;
 import org.springframework.ide.eclipse.core.SpringCoreUtils;
 import org.springframework.ide.eclipse.core.internal.model.validation.ValidatorDefinition;
 import org.springframework.ide.eclipse.core.internal.model.validation.ValidatorDefinitionFactory;
+import org.springframework.ide.eclipse.core.model.AbstractModel;
 import org.springframework.ide.eclipse.core.model.validation.IValidator;
+import org.springframework.ide.eclipse.core.model.validation.ValidationStatistics;
 import org.springframework.ide.eclipse.core.project.DefaultProjectContributorState;
 import org.springframework.ide.eclipse.core.project.IProjectBuilder;
 import org.springframework.ide.eclipse.core.project.IProjectContributionEventListener;
@@ -89,6 +91,17 @@ public class SpringProjectContributionManager extends IncrementalProjectBuilder
 	 * {@inheritDoc}
 	 */
 	protected final IProject[] build(final int kind, Map args, final IProgressMonitor monitor) throws CoreException {
+		// Report the model changes of all builders and validators together when the build is done
+		AbstractModel.beginBatch();
+		try {
+			return runContributions(kind, monitor);
+		}
+		finally {
+			AbstractModel.endBatch();
+		}
+	}
+
+	private IProject[] runContributions(final int kind, final IProgressMonitor monitor) throws CoreException {
 		final IProject project = getProject();
 		final IResourceDelta delta = getDelta(project);
 
@@ -214,12 +227,15 @@ public class SpringProjectContributionManager extends IncrementalProjectBuilder
 
 		}
 
+		long start = System.nanoTime();
 		execute(new SafeExecutableWithMonitor() {
 
 			public void execute(IProgressMonitor subMonitor) throws Exception {
 				builderDefinition.getProjectBuilder().build(affectedResources, kind, subMonitor);
 			}
 		}, monitor);
+		ValidationStatistics.getDefault().record(ValidationStatistics.CONTRIBUTOR, builderDefinition.getId(),
+				System.nanoTime() - start);
 
 		for (final IProjectContributionEventListener listener : listeners) {
 			
@@ -254,12 +270,15 @@ public class SpringProjectContributionManager extends IncrementalProjectBuilder
 
 		}
 
+		long start = System.nanoTime();
 		execute(new SafeExecutableWithMonitor() {
 
 			public void execute(IProgressMonitor subMonitor) throws Exception {
 				validatorDefinition.getValidator().validate(affectedResources, kind, subMonitor);
 			}
 		}, monitor);
+		ValidationStatistics.getDefault().record(ValidationStatistics.CONTRIBUTOR, validatorDefinition.getID(),
+				System.nanoTime() - start);
 
 		for (final IProjectContributionEventListener listener : listeners) {
 			
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 Spring IDE Developers
+ * Copyright (c) 2008, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,15 +10,22 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.core.java;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -43,25 +50,20 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
-import org.eclipse.jdt.internal.compiler.env.ClassSignature;
-import org.eclipse.jdt.internal.compiler.env.EnumConstantSignature;
-import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
-import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
-import org.eclipse.jdt.internal.compiler.env.IBinaryField;
-import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
-import org.eclipse.jdt.internal.compiler.impl.Constant;
-import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
 import org.springframework.ide.eclipse.core.SpringCore;
 import org.springsource.ide.eclipse.commons.core.SpringCoreUtils;
 
 /**
- * Object that caches instances of {@link TypeStructure}. Furthermore this implementation is able to answer if a given
- * {@link IResource} which represents a class file has structural changes.
+ * Object that caches {@link TypeStructureFingerprint structural fingerprints} of class files. Furthermore this
+ * implementation is able to answer if a given {@link IResource} which represents a class file has structural changes.
  * <p>
  * For this implementation a change of class and method level annotation is considered a structural change.
+ * <p>
+ * The recorded fingerprints are stored in the plugin's state location on {@link #shutdown()} and loaded lazily on
+ * first access to a project. Therefore a workspace restart doesn't require to record the type structures of all
+ * projects again.
  * 
  * @author Christian Dupuis
  * @author Martin Lippert
@@ -70,12 +72,23 @@ import org.springsource.ide.eclipse.commons.core.SpringCoreUtils;
 @SuppressWarnings("restriction")
 public class TypeStructureCache implements ITypeStructureCache {
 
-	private static final char[][] EMPTY_CHAR_ARRAY = new char[0][];
+	private static final String STATE_FOLDER = "typestructures";
+
+	private static final String STATE_FILE_EXTENSION = ".fingerprints";
+
+	/** Version of the persisted format; increment if the fingerprint computation changes */
+	private static final int STATE_VERSION = 1;
 
 	private IElementChangedListener changedListener = null;
 
-	/** {@link TypeStructure} instances keyed by full-qualified class names */
-	private Map<IProject, Map<String, TypeStructure>> typeStructuresByProject = new ConcurrentHashMap<IProject, Map<String, TypeStructure>>();
+	/** {@link TypeStructureFingerprint} instances keyed by full-qualified class names */
+	private Map<IProject, Map<String, TypeStructureFingerprint>> typeStructuresByProject = new ConcurrentHashMap<IProject, Map<String, TypeStructureFingerprint>>();
+
+	/** Projects for which loading persisted fingerprints has already been attempted */
+	private final Set<IProject> loadedProjects = Collections.newSetFromMap(new ConcurrentHashMap<IProject, Boolean>());
+
+	/** Projects with fingerprints that changed since they got loaded or stored */
+	private final Set<IProject> dirtyProjects = Collections.newSetFromMap(new ConcurrentHashMap<IProject, Boolean>());
 
 	protected final ReentrantReadWriteLock rwl = new ReentrantReadWriteLock();
 
@@ -91,16 +104,36 @@ public class TypeStructureCache implements ITypeStructureCache {
 	public void shutdown() {
 		JavaCore.removeElementChangedListener(changedListener);
 		changedListener = null;
-		typeStructuresByProject = null;
+		try {
+			w.lock();
+			for (IProject project : dirtyProjects) {
+				Map<String, TypeStructureFingerprint> fingerprints = typeStructuresByProject.get(project);
+				if (fingerprints != null) {
+					saveState(project, fingerprints);
+				}
+			}
+			dirtyProjects.clear();
+			typeStructuresByProject = null;
+		}
+		finally {
+			w.unlock();
+		}
 	}
 
 	/**
-	 * Removes {@link TypeStructure}s for a given project.
+	 * Removes {@link TypeStructureFingerprint}s for a given project.
 	 */
 	public void clearStateForProject(IProject project) {
 		try {
 			w.lock();
 			typeStructuresByProject.remove(project);
+			dirtyProjects.remove(project);
+			// nothing on disk anymore that could be loaded
+			loadedProjects.add(project);
+			File stateFile = getStateFile(project);
+			if (stateFile != null && stateFile.exists()) {
+				stateFile.delete();
+			}
 		}
 		finally {
 			w.unlock();
@@ -108,12 +141,13 @@ public class TypeStructureCache implements ITypeStructureCache {
 	}
 
 	/**
-	 * Checks if {@link TypeStructure} instances exist for a given project.
+	 * Checks if {@link TypeStructureFingerprint} instances exist for a given project.
 	 */
 	public boolean hasRecordedTypeStructures(IProject project) {
+		loadTypeStructures(project);
 		try {
 			r.lock();
-			return typeStructuresByProject.containsKey(project);
+			return getTypeStructures(project) != null;
 		}
 		finally {
 			r.unlock();
@@ -121,28 +155,30 @@ public class TypeStructureCache implements ITypeStructureCache {
 	}
 
 	/**
-	 * Record {@link TypeStructure} instances of the given <code>resources</code>.
+	 * Record {@link TypeStructureFingerprint} instances of the given <code>resources</code>.
 	 */
 	public void recordTypeStructures(IProject project, IResource... resources) {
 		try {
 			w.lock();
-			Map<String, TypeStructure> typeStructures = null;
-			if (!typeStructuresByProject.containsKey(project)) {
-				typeStructures = new ConcurrentHashMap<String, TypeStructure>();
+			loadTypeStructures(project);
+			Map<String, TypeStructureFingerprint> typeStructures = getTypeStructures(project);
+			if (typeStructures == null) {
+				typeStructures = new ConcurrentHashMap<String, TypeStructureFingerprint>();
 				typeStructuresByProject.put(project, typeStructures);
 			}
-			else {
-				typeStructures = typeStructuresByProject.get(project);
-			}
 
 			for (IResource resource : resources) {
-				if (resource.getFileExtension().equals("class") && resource instanceof IFile) {
+				if ("class".equals(resource.getFileExtension()) && resource instanceof IFile) {
 					InputStream input = null;
 					try {
 						input = ((IFile) resource).getContents();
 						ClassFileReader reader = ClassFileReader.read(input, resource.getName());
-						TypeStructure typeStructure = new TypeStructure(reader);
-						typeStructures.put(new String(reader.getName()).replace('/', '.'), typeStructure);
+						TypeStructureFingerprint fingerprint = TypeStructureFingerprint.create(reader);
+						TypeStructureFingerprint previous = typeStructures.put(new String(reader.getName()).replace(
+								'/', '.'), fingerprint);
+						if (!fingerprint.equals(previous)) {
+							dirtyProjects.add(project);
+						}
 					}
 					catch (CoreException e) {
 					}
@@ -171,28 +207,29 @@ public class TypeStructureCache implements ITypeStructureCache {
 	 * Check if a given {@link IResource} representing a class file has structural changes.
 	 */
 	public boolean hasStructuralChanges(IResource resource, int flags) {
+		loadTypeStructures(resource.getProject());
 		try {
 			r.lock();
-			if (!hasRecordedTypeStructures(resource.getProject())) {
+			Map<String, TypeStructureFingerprint> typeStructures = getTypeStructures(resource.getProject());
+			if (typeStructures == null) {
 				return true;
 			}
 
-			Map<String, TypeStructure> typeStructures = typeStructuresByProject.get(resource.getProject());
-
-			if (resource != null && resource.getFileExtension() != null && resource.getFileExtension().equals("java")) {
+			if (resource.getFileExtension() != null && resource.getFileExtension().equals("java")) {
 				IJavaElement element = JavaCore.create(resource);
 				if (element instanceof ICompilationUnit && ((ICompilationUnit) element).isOpen()) {
 					try {
 						IType[] types = ((ICompilationUnit) element).getAllTypes();
 						for (IType type : types) {
 							String fqn = type.getFullyQualifiedName();
-							TypeStructure typeStructure = typeStructures.get(fqn);
+							TypeStructureFingerprint typeStructure = typeStructures.get(fqn);
 							if (typeStructure == null) {
 								return true;
 							}
 							ClassFileReader reader = getClassFileReaderForClassName(type.getFullyQualifiedName(),
 									resource.getProject());
-							if (reader != null && hasStructuralChanges(reader, typeStructure, flags)) {
+							if (reader != null
+									&& TypeStructureFingerprint.create(reader).differsFrom(typeStructure, flags)) {
 								return true;
 							}
 						}
@@ -219,14 +256,15 @@ public class TypeStructureCache implements ITypeStructureCache {
 	protected void removeRecordedTyeStructures(IProject project, String className) {
 		try {
 			w.lock();
-			if (!hasRecordedTypeStructures(project)) {
+			loadTypeStructures(project);
+			Map<String, TypeStructureFingerprint> typeStructures = getTypeStructures(project);
+			if (typeStructures == null) {
 				return;
 			}
 
 			String innerClassName = className + "$";
 			List<String> typeStructuresToRemove = new ArrayList<String>();
 
-			Map<String, TypeStructure> typeStructures = typeStructuresByProject.get(project);
 			for (String recordedClassName : typeStructures.keySet()) {
 				if (className.equals(recordedClassName) || recordedClassName.startsWith(innerClassName)) {
 					typeStructuresToRemove.add(recordedClassName);
@@ -235,12 +273,121 @@ public class TypeStructureCache implements ITypeStructureCache {
 			for (String recordedClassName : typeStructuresToRemove) {
 				typeStructures.remove(recordedClassName);
 			}
+			if (!typeStructuresToRemove.isEmpty()) {
+				dirtyProjects.add(project);
+			}
+		}
+		finally {
+			w.unlock();
+		}
+	}
+
+	/**
+	 * Loads the persisted fingerprints of the given project from the state location on first access. Takes the write
+	 * lock, so it must not be called while holding the read lock.
+	 */
+	private void loadTypeStructures(IProject project) {
+		if (loadedProjects.contains(project)) {
+			return;
+		}
+		try {
+			w.lock();
+			if (loadedProjects.add(project) && !typeStructuresByProject.containsKey(project)) {
+				Map<String, TypeStructureFingerprint> loaded = loadState(project);
+				if (loaded != null) {
+					typeStructuresByProject.put(project, loaded);
+				}
+			}
 		}
 		finally {
 			w.unlock();
 		}
 	}
 
+	/**
+	 * Returns the recorded fingerprints of the given project, or <code>null</code> if nothing has been recorded for
+	 * the project. Callers load persisted fingerprints with {@link #loadTypeStructures(IProject)} first.
+	 */
+	private Map<String, TypeStructureFingerprint> getTypeStructures(IProject project) {
+		return typeStructuresByProject.get(project);
+	}
+
+	private static File getStateFile(IProject project) {
+		SpringCore plugin = SpringCore.getDefault();
+		if (plugin == null) {
+			return null;
+		}
+		return plugin.getStateLocation().append(STATE_FOLDER).append(project.getName() + STATE_FILE_EXTENSION)
+				.toFile();
+	}
+
+	private static Map<String, TypeStructureFingerprint> loadState(IProject project) {
+		File stateFile = getStateFile(project);
+		if (stateFile == null || !stateFile.isFile() || !project.isAccessible()) {
+			return null;
+		}
+		DataInputStream in = null;
+		try {
+			in = new DataInputStream(new BufferedInputStream(new FileInputStream(stateFile)));
+			if (in.readInt() != STATE_VERSION) {
+				return null;
+			}
+			int size = in.readInt();
+			Map<String, TypeStructureFingerprint> typeStructures = new ConcurrentHashMap<String, TypeStructureFingerprint>(
+					size);
+			for (int i = 0; i < size; i++) {
+				String className = in.readUTF();
+				typeStructures.put(className, TypeStructureFingerprint.readFrom(in));
+			}
+			return typeStructures;
+		}
+		catch (IOException e) {
+			// corrupt state; type structures will be recorded again on the next build
+			stateFile.delete();
+			return null;
+		}
+		finally {
+			if (in != null) {
+				try {
+					in.close();
+				}
+				catch (IOException e) {
+				}
+			}
+		}
+	}
+
+	private static void saveState(IProject project, Map<String, TypeStructureFingerprint> typeStructures) {
+		File stateFile = getStateFile(project);
+		if (stateFile == null) {
+			return;
+		}
+		stateFile.getParentFile().mkdirs();
+		DataOutputStream out = null;
+		try {
+			out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(stateFile)));
+			out.writeInt(STATE_VERSION);
+			out.writeInt(typeStructures.size());
+			for (Map.Entry<String, TypeStructureFingerprint> entry : typeStructures.entrySet()) {
+				out.writeUTF(entry.getKey());
+				entry.getValue().writeTo(out);
+			}
+		}
+		catch (IOException e) {
+			SpringCore.log("Error while storing type structures of project " + project.getName(), e);
+			stateFile.delete();
+		}
+		finally {
+			if (out != null) {
+				try {
+					out.close();
+				}
+				catch (IOException e) {
+				}
+			}
+		}
+	}
+
 	private static ClassFileReader getClassFileReaderForClassName(String className, IProject project)
 			throws JavaModelException, MalformedURLException {
 		IJavaProject jp = JavaCore.create(project);
@@ -312,314 +459,6 @@ public class TypeStructureCache implements ITypeStructureCache {
 		return null;
 	}
 
-	private boolean hasStructuralChanges(ClassFileReader reader, TypeStructure existingType, int flags) {
-		if (existingType == null) {
-			return true;
-		}
-
-		// modifiers
-		if (!modifiersEqual(reader.getModifiers(), existingType.modifiers)) {
-			return true;
-		}
-
-		// generic signature
-		if (!CharOperation.equals(reader.getGenericSignature(), existingType.genericSignature)) {
-			return true;
-		}
-
-		// superclass name
-		if (!CharOperation.equals(reader.getSuperclassName(), existingType.superclassName)) {
-			return true;
-		}
-
-		// class level annotations
-		if ((flags & FLAG_ANNOTATION) != 0) {
-			IBinaryAnnotation[] existingAnnotations = existingType.getAnnotations();
-			IBinaryAnnotation[] newAnnotations = reader.getAnnotations();
-			if (!annotationsEqual(existingAnnotations, newAnnotations, flags)) {
-				return true;
-			}
-		}
-
-		// tag bits; standard annotations like @Deprecated
-		if (reader.getTagBits() != existingType.getTagBits()) {
-			return true;
-		}
-
-		// interfaces
-		char[][] existingIfs = existingType.interfaces;
-		char[][] newIfsAsChars = reader.getInterfaceNames();
-		if (newIfsAsChars == null) {
-			newIfsAsChars = EMPTY_CHAR_ARRAY;
-		} // damn I'm lazy...
-		if (existingIfs == null) {
-			existingIfs = EMPTY_CHAR_ARRAY;
-		}
-		if (existingIfs.length != newIfsAsChars.length)
-			return true;
-		new_interface_loop: for (int i = 0; i < newIfsAsChars.length; i++) {
-			for (int j = 0; j < existingIfs.length; j++) {
-				if (CharOperation.equals(existingIfs[j], newIfsAsChars[i])) {
-					continue new_interface_loop;
-				}
-			}
-			return true;
-		}
-
-		// fields
-		IBinaryField[] newFields = reader.getFields();
-		if (newFields == null) {
-			newFields = TypeStructure.NoField;
-		}
-
-		IBinaryField[] existingFs = existingType.binFields;
-		if (newFields.length != existingFs.length)
-			return true;
-		new_field_loop: for (int i = 0; i < newFields.length; i++) {
-			IBinaryField field = newFields[i];
-			char[] fieldName = field.getName();
-			for (int j = 0; j < existingFs.length; j++) {
-				if (CharOperation.equals(existingFs[j].getName(), fieldName)) {
-					if (!modifiersEqual(field.getModifiers(), existingFs[j].getModifiers())) {
-						return true;
-					}
-					if (!CharOperation.equals(existingFs[j].getTypeName(), field.getTypeName())) {
-						return true;
-					}
-					if ((flags & FLAG_ANNOTATION) != 0) {
-						if (!annotationsEqual(field.getAnnotations(), existingFs[j].getAnnotations(), flags)) {
-							return true;
-						}
-					}
-					continue new_field_loop;
-				}
-			}
-			return true;
-		}
-
-		// methods
-		IBinaryMethod[] newMethods = reader.getMethods();
-		if (newMethods == null) {
-			newMethods = TypeStructure.NoMethod;
-		}
-		
-		char[] fileName = reader.getFileName();
-
-		IBinaryMethod[] existingMs = existingType.binMethods;
-		if (newMethods.length != existingMs.length)
-			return true;
-		new_method_loop: for (int i = 0; i < newMethods.length; i++) {
-			IBinaryMethod method = newMethods[i];
-			char[] methodName = method.getSelector();
-			for (int j = 0; j < existingMs.length; j++) {
-				if (CharOperation.equals(existingMs[j].getSelector(), methodName)) {
-					// candidate match
-					if (!CharOperation.equals(method.getMethodDescriptor(), existingMs[j].getMethodDescriptor())) {
-						continue; // might be overloading
-					}
-					else {
-						// matching sigs
-						if (!modifiersEqual(method.getModifiers(), existingMs[j].getModifiers())) {
-							return true;
-						}
-						if ((flags & FLAG_ANNOTATION) != 0) {
-							if (!annotationsEqual(method.getAnnotations(), existingMs[j].getAnnotations(), flags)) {
-								return true;
-							}
-							
-							if (!parameterAnnotationsEquals(method, existingMs[j], fileName, flags)) {
-								return true;
-							}
-							
-						}
-						continue new_method_loop;
-					}
-				}
-			}
-			return true; // (no match found)
-		}
-
-		return false;
-	}
-
-	private static boolean parameterAnnotationsEquals(IBinaryMethod newMethod,
-			IBinaryMethod existingMethod, char[] fileName, int flags) {
-		
-		char[][] argumentNames = newMethod.getArgumentNames();
-		char[][] existingArgumentNames = existingMethod.getArgumentNames();
-		
-		if (argumentNames == null && existingArgumentNames == null)
-			return true;
-		
-		int argumentCount = argumentNames != null ? argumentNames.length : 0;
-		int existingArgumentCount = existingArgumentNames != null ? existingArgumentNames.length : 0;
-		
-		if (argumentCount != existingArgumentCount)
-			return false;
-		
-		for (int i = 0; i < argumentCount; i++) {
-			IBinaryAnnotation[] parameterAnnotations = getParameterAnnotation(newMethod, i, fileName);
-			IBinaryAnnotation[] existingParameterAnnotations = getParameterAnnotation(existingMethod, i, fileName);
-			
-			if (!annotationsEqual(parameterAnnotations, existingParameterAnnotations, flags)) {
-				return false;
-			}
-		}
-		
-		return true;
-	}
-
-	// changed API of IBinaryMethod (between Eclipse 4.5 and Eclipse 4.6)
-	// therefore adapting to this via reflection to use the correct existing method
-	private static IBinaryAnnotation[] getParameterAnnotation(IBinaryMethod newMethod, int i, char[] fileName) {
-		IBinaryAnnotation[] result = null;
-		
-		// try the old method first
-		try {
-
-			try {
-				Method getParameterAnnotationsMethod = newMethod.getClass().getMethod("getParameterAnnotations", int.class);
-				if (getParameterAnnotationsMethod != null) {
-					getParameterAnnotationsMethod.setAccessible(true);
-					result = (IBinaryAnnotation[]) getParameterAnnotationsMethod.invoke(newMethod, i);
-				}
-			} catch (NoSuchMethodException e) {
-				
-				// if the old method is not there, try the new one
-				Method getParameterAnnotationsMethod = newMethod.getClass().getMethod("getParameterAnnotations", int.class, char[].class);
-				if (getParameterAnnotationsMethod != null) {
-					getParameterAnnotationsMethod.setAccessible(true);
-					result = (IBinaryAnnotation[]) getParameterAnnotationsMethod.invoke(newMethod, i, fileName);
-				}
-			}
-			
-		} catch (Exception e) {
-			SpringCore.log(e);
-		}
-		
-		return result;
-	}
-
-	private static boolean annotationsEqual(IBinaryAnnotation[] existingAnnotations,
-			IBinaryAnnotation[] newAnnotations, int flags) {
-		if (existingAnnotations == null) {
-			existingAnnotations = TypeStructure.NoAnnotation;
-		}
-		if (newAnnotations == null) {
-			newAnnotations = TypeStructure.NoAnnotation;
-		}
-		if (existingAnnotations.length != newAnnotations.length) {
-			return false;
-		}
-
-		new_annotation_loop: for (int i = 0; i < newAnnotations.length; i++) {
-			for (int j = 0; j < existingAnnotations.length; j++) {
-				if (CharOperation.equals(newAnnotations[j].getTypeName(), existingAnnotations[i].getTypeName())) {
-					// compare annotation parameters
-					if ((flags & FLAG_ANNOTATION_VALUE) != 0) {
-						IBinaryElementValuePair[] newParameters = newAnnotations[j].getElementValuePairs();
-						IBinaryElementValuePair[] existingParameters = existingAnnotations[j].getElementValuePairs();
-						if (newParameters == null) {
-							newParameters = TypeStructure.NoElement;
-						}
-						if (existingParameters == null) {
-							existingParameters = TypeStructure.NoElement;
-						}
-						if (existingParameters.length != newParameters.length) {
-							return false;
-						}
-						for (int k = 0; k < newParameters.length; k++) {
-							for (int l = 0; l < existingParameters.length; l++) {
-								char[] newName = newParameters[l].getName();
-								char[] existingName = existingParameters[l].getName();
-								Object newValue = newParameters[l].getValue();
-								Object existingValue = existingParameters[l].getValue();
-
-								if (!CharOperation.equals(newName, existingName)) {
-									return false;
-								}
-
-								if (!parameterValuesEquals(flags, newValue, existingValue)) {
-									return false;
-								}
-							}
-						}
-					}
-					continue new_annotation_loop;
-				}
-			}
-			return false;
-		}
-		return true;
-	}
-
-	private static boolean parameterValuesEquals(int flags, Object newValue, Object existingValue) {
-		if (newValue.getClass().isArray() && existingValue.getClass().isArray()) {
-			Object[] newValueArray = (Object[]) newValue;
-			Object[] existingValueArray = (Object[]) existingValue;
-			if (newValueArray.length != existingValueArray.length) {
-				return false;
-			}
-			for (int i = 0; i < newValueArray.length; i++) {
-				if (!parameterValuesEquals(flags, newValueArray[i], existingValueArray[i])) {
-					return false;
-				}
-			}
-		}
-		else if (newValue instanceof ClassSignature) {
-			if (existingValue instanceof ClassSignature) {
-				if (!CharOperation.equals(((ClassSignature) newValue).getTypeName(),
-						((ClassSignature) existingValue).getTypeName())) {
-					return false;
-				}
-			}
-			else {
-				return false;
-			}
-		}
-		else if (newValue instanceof Constant) {
-			if (existingValue instanceof Constant) {
-				if (!((Constant) newValue).hasSameValue((Constant) existingValue)) {
-					return false;
-				}
-			}
-			else {
-				return false;
-			}
-		}
-		else if (newValue instanceof EnumConstantSignature) {
-			if (existingValue instanceof EnumConstantSignature) {
-				if (!(CharOperation.equals(((EnumConstantSignature) newValue).getTypeName(),
-						((EnumConstantSignature) existingValue).getTypeName()) && CharOperation.equals(
-						((EnumConstantSignature) newValue).getEnumConstantName(),
-						((EnumConstantSignature) existingValue).getEnumConstantName()))) {
-					return false;
-				}
-			}
-			else {
-				return false;
-			}
-		}
-		else if (newValue instanceof IBinaryAnnotation) {
-			if (existingValue instanceof EnumConstantSignature) {
-				if (!annotationsEqual(new IBinaryAnnotation[] { (IBinaryAnnotation) newValue },
-						new IBinaryAnnotation[] { (IBinaryAnnotation) existingValue }, flags)) {
-					return false;
-				}
-			}
-			else {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	private static boolean modifiersEqual(int eclipseModifiers, int resolvedTypeModifiers) {
-		resolvedTypeModifiers = resolvedTypeModifiers & ExtraCompilerModifiers.AccJustFlag;
-		eclipseModifiers = eclipseModifiers & ExtraCompilerModifiers.AccJustFlag;
-		return (eclipseModifiers == resolvedTypeModifiers);
-	}
-
 	private class TypeRemovingJavaElementChangeListener implements IElementChangedListener {
 
 		public void elementChanged(ElementChangedEvent event) {
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.java;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.env.ClassSignature;
+import org.eclipse.jdt.internal.compiler.env.EnumConstantSignature;
+import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
+import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
+import org.eclipse.jdt.internal.compiler.env.IBinaryField;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
+import org.eclipse.jdt.internal.compiler.impl.Constant;
+import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
+import org.springframework.ide.eclipse.core.SpringCore;
+
+/**
+ * Compact structural hash of a Java class file.
+ * <p>
+ * Covers modifiers, generic signature, super class, interfaces, tag bits (standard annotations like
+ * <code>@Deprecated</code>), fields (name, type and modifiers) and methods (selector, descriptor and modifiers).
+ * Members, interfaces and annotations are hashed independent of their order in the class file. As changes to
+ * annotations are only of interest for some clients, three hashes are computed: without annotations, with annotation
+ * types and with annotation types and values.
+ * @since 3.9.3
+ * @see ITypeStructureCache#FLAG_ANNOTATION
+ * @see ITypeStructureCache#FLAG_ANNOTATION_VALUE
+ */
+@SuppressWarnings("restriction")
+final class TypeStructureFingerprint {
+
+	private static final int WITHOUT_ANNOTATIONS = 0;
+
+	private static final int WITH_ANNOTATIONS = 1;
+
+	private static final int WITH_ANNOTATION_VALUES = 2;
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final long[] hashes;
+
+	private TypeStructureFingerprint(long[] hashes) {
+		this.hashes = hashes;
+	}
+
+	/**
+	 * Computes the fingerprint of the class file read by the given <code>reader</code>.
+	 */
+	public static TypeStructureFingerprint create(ClassFileReader reader) {
+		return new TypeStructureFingerprint(new long[] { hash(reader, WITHOUT_ANNOTATIONS),
+				hash(reader, WITH_ANNOTATIONS), hash(reader, WITH_ANNOTATION_VALUES) });
+	}
+
+	/**
+	 * Returns <code>true</code> if the given fingerprint differs from this one in the parts of interest as given by
+	 * <code>flags</code>.
+	 */
+	public boolean differsFrom(TypeStructureFingerprint other, int flags) {
+		int level = getLevel(flags);
+		return hashes[level] != other.hashes[level];
+	}
+
+	public void writeTo(DataOutput out) throws IOException {
+		for (long hash : hashes) {
+			out.writeLong(hash);
+		}
+	}
+
+	public static TypeStructureFingerprint readFrom(DataInput in) throws IOException {
+		return new TypeStructureFingerprint(new long[] { in.readLong(), in.readLong(), in.readLong() });
+	}
+
+	private static int getLevel(int flags) {
+		if ((flags & ITypeStructureCache.FLAG_ANNOTATION) == 0) {
+			return WITHOUT_ANNOTATIONS;
+		}
+		return ((flags & ITypeStructureCache.FLAG_ANNOTATION_VALUE) != 0 ? WITH_ANNOTATION_VALUES : WITH_ANNOTATIONS);
+	}
+
+	private static long hash(ClassFileReader reader, int level) {
+		long hash = FNV_OFFSET;
+		hash = mix(hash, modifiers(reader.getModifiers()));
+		hash = mix(hash, reader.getGenericSignature());
+		hash = mix(hash, reader.getSuperclassName());
+		hash = mix(hash, reader.getTagBits());
+
+		char[][] interfaces = reader.getInterfaceNames();
+		long[] interfaceHashes = new long[interfaces != null ? interfaces.length : 0];
+		for (int i = 0; i < interfaceHashes.length; i++) {
+			interfaceHashes[i] = mix(FNV_OFFSET, interfaces[i]);
+		}
+		hash = mixUnordered(hash, interfaceHashes);
+
+		if (level != WITHOUT_ANNOTATIONS) {
+			hash = mix(hash, hash(reader.getAnnotations(), level));
+		}
+
+		IBinaryField[] fields = reader.getFields();
+		long[] fieldHashes = new long[fields != null ? fields.length : 0];
+		for (int i = 0; i < fieldHashes.length; i++) {
+			IBinaryField field = fields[i];
+			long fieldHash = mix(FNV_OFFSET, field.getName());
+			fieldHash = mix(fieldHash, field.getTypeName());
+			fieldHash = mix(fieldHash, modifiers(field.getModifiers()));
+			if (level != WITHOUT_ANNOTATIONS) {
+				fieldHash = mix(fieldHash, hash(field.getAnnotations(), level));
+			}
+			fieldHashes[i] = fieldHash;
+		}
+		hash = mixUnordered(hash, fieldHashes);
+
+		IBinaryMethod[] methods = reader.getMethods();
+		char[] fileName = reader.getFileName();
+		long[] methodHashes = new long[methods != null ? methods.length : 0];
+		for (int i = 0; i < methodHashes.length; i++) {
+			IBinaryMethod method = methods[i];
+			long methodHash = mix(FNV_OFFSET, method.getSelector());
+			methodHash = mix(methodHash, method.getMethodDescriptor());
+			methodHash = mix(methodHash, modifiers(method.getModifiers()));
+			if (level != WITHOUT_ANNOTATIONS) {
+				methodHash = mix(methodHash, hash(method.getAnnotations(), level));
+				char[][] argumentNames = method.getArgumentNames();
+				int argumentCount = (argumentNames != null ? argumentNames.length : 0);
+				methodHash = mix(methodHash, argumentCount);
+				for (int j = 0; j < argumentCount; j++) {
+					methodHash = mix(methodHash, hash(getParameterAnnotations(method, j, fileName), level));
+				}
+			}
+			methodHashes[i] = methodHash;
+		}
+		hash = mixUnordered(hash, methodHashes);
+		return hash;
+	}
+
+	private static long hash(IBinaryAnnotation[] annotations, int level) {
+		long[] annotationHashes = new long[annotations != null ? annotations.length : 0];
+		for (int i = 0; i < annotationHashes.length; i++) {
+			annotationHashes[i] = hash(annotations[i], level);
+		}
+		return mixUnordered(FNV_OFFSET, annotationHashes);
+	}
+
+	private static long hash(IBinaryAnnotation annotation, int level) {
+		long hash = mix(FNV_OFFSET, annotation.getTypeName());
+		if (level == WITH_ANNOTATION_VALUES) {
+			IBinaryElementValuePair[] pairs = annotation.getElementValuePairs();
+			if (pairs != null) {
+				for (IBinaryElementValuePair pair : pairs) {
+					hash = mix(hash, pair.getName());
+					hash = mix(hash, hashValue(pair.getValue(), level));
+				}
+			}
+		}
+		return hash;
+	}
+
+	private static long hashValue(Object value, int level) {
+		long hash = FNV_OFFSET;
+		if (value instanceof Object[]) {
+			Object[] values = (Object[]) value;
+			hash = mix(hash, values.length);
+			for (Object element : values) {
+				hash = mix(hash, hashValue(element, level));
+			}
+		}
+		else if (value instanceof ClassSignature) {
+			hash = mix(hash, 'C');
+			hash = mix(hash, ((ClassSignature) value).getTypeName());
+		}
+		else if (value instanceof Constant) {
+			hash = mix(hash, ((Constant) value).typeID());
+			hash = mix(hash, ((Constant) value).stringValue().toCharArray());
+		}
+		else if (value instanceof EnumConstantSignature) {
+			hash = mix(hash, 'E');
+			hash = mix(hash, ((EnumConstantSignature) value).getTypeName());
+			hash = mix(hash, ((EnumConstantSignature) value).getEnumConstantName());
+		}
+		else if (value instanceof IBinaryAnnotation) {
+			hash = mix(hash, hash((IBinaryAnnotation) value, level));
+		}
+		return hash;
+	}
+
+	private static int modifiers(int modifiers) {
+		return modifiers & ExtraCompilerModifiers.AccJustFlag;
+	}
+
+	private static long mix(long hash, char[] chars) {
+		if (chars == null) {
+			return mix(hash, -1L);
+		}
+		hash = mix(hash, chars.length);
+		for (char c : chars) {
+			hash = (hash ^ c) * FNV_PRIME;
+		}
+		return hash;
+	}
+
+	private static long mix(long hash, long value) {
+		for (int i = 0; i < 8; i++) {
+			hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+			value >>>= 8;
+		}
+		return hash;
+	}
+
+	/**
+	 * Mixes the given element hashes independent of their order.
+	 */
+	private static long mixUnordered(long hash, long[] elementHashes) {
+		long[] sorted = elementHashes.clone();
+		Arrays.sort(sorted);
+		hash = mix(hash, sorted.length);
+		for (long elementHash : sorted) {
+			hash = mix(hash, elementHash);
+		}
+		return hash;
+	}
+
+	// changed API of IBinaryMethod (between Eclipse 4.5 and Eclipse 4.6)
+	// therefore adapting to this via reflection to use the correct existing method
+	private static IBinaryAnnotation[] getParameterAnnotations(IBinaryMethod method, int i, char[] fileName) {
+		IBinaryAnnotation[] result = null;
+
+		// try the old method first
+		try {
+
+			try {
+				Method getParameterAnnotationsMethod = method.getClass().getMethod("getParameterAnnotations", int.class);
+				if (getParameterAnnotationsMethod != null) {
+					getParameterAnnotationsMethod.setAccessible(true);
+					result = (IBinaryAnnotation[]) getParameterAnnotationsMethod.invoke(method, i);
+				}
+			} catch (NoSuchMethodException e) {
+
+				// if the old method is not there, try the new one
+				Method getParameterAnnotationsMethod = method.getClass().getMethod("getParameterAnnotations", int.class, char[].class);
+				if (getParameterAnnotationsMethod != null) {
+					getParameterAnnotationsMethod.setAccessible(true);
+					result = (IBinaryAnnotation[]) getParameterAnnotationsMethod.invoke(method, i, fileName);
+				}
+			}
+
+		} catch (Exception e) {
+			SpringCore.log(e);
+		}
+
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return (obj instanceof TypeStructureFingerprint && Arrays.equals(hashes, ((TypeStructureFingerprint) obj).hashes));
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(hashes);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2009 Spring IDE Developers
+ * Copyright (c) 2005, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,21 +10,33 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.core.model;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.core.runtime.ListenerList;
 import org.springframework.ide.eclipse.core.model.ModelChangeEvent.Type;
 
 /**
  * Default implementation of the common protocol for a model.
+ * <p>
+ * Changes are reported to the listeners right away, unless they happen within a batch started on
+ * the same thread (see {@link #beginBatch()}). The changes of a batch are merged into a single
+ * {@link ModelChangeDelta} per model which is reported when the batch ends.
  * @author Torsten Juergeleit
  * @author Christian Dupuis
  */
 public abstract class AbstractModel extends AbstractModelElement implements IModel {
 
+	private static final ThreadLocal<Batch> BATCH = new ThreadLocal<Batch>();
+
 	private ListenerList listeners;
 
+	private ListenerList deltaListeners;
+
 	public AbstractModel(IModelElement parent, String name) {
 		super(parent, name);
 		listeners = new ListenerList();
+		deltaListeners = new ListenerList();
 	}
 
 	public int getElementType() {
@@ -39,12 +51,108 @@ public abstract class AbstractModel extends AbstractModelElement implements IMod
 		listeners.remove(listener);
 	}
 
+	public final void addDeltaListener(IModelDeltaListener listener) {
+		deltaListeners.add(listener);
+	}
+
+	public final void removeDeltaListener(IModelDeltaListener listener) {
+		deltaListeners.remove(listener);
+	}
+
 	public final void notifyListeners(IModelElement element, Type type) {
 		if (element!=null) { //no element? => Nobody to notify.
-			ModelChangeEvent event = new ModelChangeEvent(element, type);
-			for (Object listener : listeners.getListeners()) {
-				((IModelChangeListener) listener).elementChanged(event);
+			Batch batch = BATCH.get();
+			if (batch != null) {
+				batch.getDelta(this).add(element, type);
+			}
+			else {
+				ModelChangeEvent event = new ModelChangeEvent(element, type);
+				for (Object listener : listeners.getListeners()) {
+					((IModelChangeListener) listener).elementChanged(event);
+				}
+				if (!deltaListeners.isEmpty()) {
+					ModelChangeDelta delta = new ModelChangeDelta(this);
+					delta.add(element, type);
+					notifyDeltaListeners(delta);
+				}
+			}
+		}
+	}
+
+	private void notifyListeners(ModelChangeDelta delta) {
+		if (delta.isEmpty()) {
+			return;
+		}
+		Object[] changeListeners = listeners.getListeners();
+		if (changeListeners.length > 0) {
+			for (ModelChangeEvent event : delta.toEvents()) {
+				for (Object listener : changeListeners) {
+					((IModelChangeListener) listener).elementChanged(event);
+				}
+			}
+		}
+		notifyDeltaListeners(delta);
+	}
+
+	private void notifyDeltaListeners(ModelChangeDelta delta) {
+		for (Object listener : deltaListeners.getListeners()) {
+			((IModelDeltaListener) listener).modelChanged(delta);
+		}
+	}
+
+	/**
+	 * Starts a batch of changes on the current thread. Until the batch ends, changes of any model
+	 * made on this thread are collected instead of being reported. Batches can be nested, the
+	 * changes are reported when the outermost batch ends.
+	 * <p>
+	 * Every call must be followed by a call to {@link #endBatch()}, in a <code>finally</code> block.
+	 * @since 3.9.3
+	 */
+	public static void beginBatch() {
+		Batch batch = BATCH.get();
+		if (batch == null) {
+			batch = new Batch();
+			BATCH.set(batch);
+		}
+		batch.depth++;
+	}
+
+	/**
+	 * Ends a batch of changes started with {@link #beginBatch()}. Ending the outermost batch reports
+	 * the collected changes to the listeners of the models, as one delta per model.
+	 * @since 3.9.3
+	 */
+	public static void endBatch() {
+		Batch batch = BATCH.get();
+		if (batch != null && --batch.depth == 0) {
+			BATCH.remove();
+			for (int i = 0; i < batch.models.size(); i++) {
+				batch.models.get(i).notifyListeners(batch.deltas.get(i));
+			}
+		}
+	}
+
+	/**
+	 * The changes collected on a thread, by model.
+	 */
+	private static class Batch {
+
+		private int depth = 0;
+
+		private final List<AbstractModel> models = new ArrayList<AbstractModel>();
+
+		private final List<ModelChangeDelta> deltas = new ArrayList<ModelChangeDelta>();
+
+		ModelChangeDelta getDelta(AbstractModel model) {
+			for (int i = 0; i < models.size(); i++) {
+				if (models.get(i) == model) {
+					return deltas.get(i);
+				}
 			}
+			ModelChangeDelta delta = new ModelChangeDelta(model);
+			models.add(model);
+			deltas.add(delta);
+			return delta;
 		}
 	}
 }
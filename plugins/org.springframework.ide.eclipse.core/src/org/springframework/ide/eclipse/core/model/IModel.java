@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2007 Spring IDE Developers
+ * Copyright (c) 2005, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,4 +29,16 @@ public interface IModel extends IModelElement {
 	void addChangeListener(IModelChangeListener listener);
 
 	void removeChangeListener(IModelChangeListener listener);
+
+	/**
+	 * Adds a listener which is notified of changes as a single {@link ModelChangeDelta} per batch of
+	 * changes.
+	 * @since 3.9.3
+	 */
+	void addDeltaListener(IModelDeltaListener listener);
+
+	/**
+	 * @since 3.9.3
+	 */
+	void removeDeltaListener(IModelDeltaListener listener);
 }
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.model;
+
+/**
+ * A model delta listener receives notification of changes to elements maintained by the model as
+ * a single {@link ModelChangeDelta} per batch of changes, rather than an event per changed element
+ * like an {@link IModelChangeListener} does.
+ * <p>
+ * This interface may be implemented by clients.
+ * </p>
+ * @since 3.9.3
+ * @see AbstractModel#beginBatch()
+ */
+public interface IModelDeltaListener {
+
+	/**
+	 * Notifies that one or more model elements have been added, removed or changed. The delta is
+	 * rooted at the model.
+	 * @param delta  the delta describing the changes
+	 */
+	public void modelChanged(ModelChangeDelta delta);
+}
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent.Type;
+
+/**
+ * A model change delta describes the changes to the elements of a model as a tree, rooted at the
+ * model, similar to JDT's <code>IJavaElementDelta</code>. Changes that happen in a batch (see
+ * {@link AbstractModel#beginBatch()}) are merged into a single delta: an element that is added and
+ * changed is reported as added, an element that is added and removed again is not reported at all,
+ * and changes of the descendants of an added or removed element are not reported.
+ * <p>
+ * The kind of a delta is {@link Type#CHANGED} for the elements on the path to a changed element.
+ * Its flags tell whether the element itself ({@link #F_CONTENT}) and/or any of its descendants
+ * ({@link #F_CHILDREN}) changed.
+ * <p>
+ * This class is not intended to be instantiated or subclassed by clients.
+ * @since 3.9.3
+ * @see IModelDeltaListener
+ */
+public class ModelChangeDelta {
+
+	/** Change flag indicating that the element itself changed */
+	public static final int F_CONTENT = 0x1;
+
+	/** Change flag indicating that descendants of the element were added, removed or changed */
+	public static final int F_CHILDREN = 0x2;
+
+	private static final ModelChangeDelta[] NO_CHILDREN = new ModelChangeDelta[0];
+
+	private final IModelElement element;
+
+	private Type kind;
+
+	private int flags;
+
+	private final Map<IModelElement, ModelChangeDelta> children = new LinkedHashMap<IModelElement, ModelChangeDelta>();
+
+	ModelChangeDelta(IModelElement element) {
+		this(element, Type.CHANGED, 0);
+	}
+
+	private ModelChangeDelta(IModelElement element, Type kind, int flags) {
+		this.element = element;
+		this.kind = kind;
+		this.flags = flags;
+	}
+
+	/**
+	 * Returns the element this delta describes the change of.
+	 */
+	public IModelElement getElement() {
+		return element;
+	}
+
+	/**
+	 * Returns the kind of change: added, removed or changed.
+	 */
+	public Type getKind() {
+		return kind;
+	}
+
+	/**
+	 * Returns the change flags of a changed element, see {@link #F_CONTENT} and {@link #F_CHILDREN}.
+	 */
+	public int getFlags() {
+		return flags;
+	}
+
+	/**
+	 * Returns the deltas of the children of this delta's element that are affected by the change.
+	 */
+	public ModelChangeDelta[] getAffectedChildren() {
+		return children.isEmpty() ? NO_CHILDREN : children.values().toArray(new ModelChangeDelta[children.size()]);
+	}
+
+	/**
+	 * Returns the deltas of the children of this delta's element with the given kind of change.
+	 */
+	public ModelChangeDelta[] getAffectedChildren(Type kind) {
+		List<ModelChangeDelta> result = new ArrayList<ModelChangeDelta>();
+		for (ModelChangeDelta child : children.values()) {
+			if (child.kind == kind) {
+				result.add(child);
+			}
+		}
+		return result.toArray(new ModelChangeDelta[result.size()]);
+	}
+
+	/**
+	 * Returns the delta of the given element within this delta, or <code>null</code> if the element
+	 * didn't change.
+	 */
+	public ModelChangeDelta findDelta(IModelElement element) {
+		if (this.element.equals(element)) {
+			return this;
+		}
+		for (ModelChangeDelta child : children.values()) {
+			ModelChangeDelta delta = child.findDelta(element);
+			if (delta != null) {
+				return delta;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns <code>true</code> if nothing changed after all.
+	 */
+	public boolean isEmpty() {
+		return kind == Type.CHANGED && (flags & F_CONTENT) == 0 && children.isEmpty();
+	}
+
+	/**
+	 * Returns the changes of this delta as individual events, parents before their children. An
+	 * element on the path to a changed element is only reported if it changed itself.
+	 */
+	public List<ModelChangeEvent> toEvents() {
+		List<ModelChangeEvent> events = new ArrayList<ModelChangeEvent>();
+		collectEvents(events);
+		return events;
+	}
+
+	private void collectEvents(List<ModelChangeEvent> events) {
+		if (kind != Type.CHANGED || (flags & F_CONTENT) != 0) {
+			events.add(new ModelChangeEvent(element, kind));
+		}
+		for (ModelChangeDelta child : children.values()) {
+			child.collectEvents(events);
+		}
+	}
+
+	/**
+	 * Records a change of the given element, which is a descendant of (or is) this delta's element.
+	 */
+	void add(IModelElement changed, Type type) {
+		List<IModelElement> path = new ArrayList<IModelElement>();
+		for (IModelElement e = changed; e != null && !e.equals(element); e = e.getElementParent()) {
+			path.add(0, e);
+		}
+		if (path.isEmpty()) {
+			merge(type);
+			return;
+		}
+		List<ModelChangeDelta> deltas = new ArrayList<ModelChangeDelta>();
+		ModelChangeDelta parent = this;
+		for (IModelElement ancestor : path.subList(0, path.size() - 1)) {
+			if (parent.kind != Type.CHANGED) {
+				// The change of a descendant of an added or removed element is part of that change
+				return;
+			}
+			parent.flags |= F_CHILDREN;
+			ModelChangeDelta delta = parent.children.get(ancestor);
+			if (delta == null) {
+				delta = new ModelChangeDelta(ancestor);
+				parent.children.put(ancestor, delta);
+			}
+			deltas.add(parent);
+			parent = delta;
+		}
+		if (parent.kind == Type.CHANGED) {
+			parent.flags |= F_CHILDREN;
+			ModelChangeDelta delta = parent.children.get(changed);
+			if (delta == null) {
+				parent.children.put(changed, new ModelChangeDelta(changed, type, type == Type.CHANGED ? F_CONTENT : 0));
+			}
+			else if (delta.merge(type)) {
+				parent.children.remove(changed);
+				deltas.add(parent);
+				prune(deltas);
+			}
+		}
+	}
+
+	/**
+	 * Walks back up the given path of deltas after a change was canceled out, clearing
+	 * {@link #F_CHILDREN} from deltas without children and removing deltas that became empty.
+	 */
+	private static void prune(List<ModelChangeDelta> deltas) {
+		for (int i = deltas.size() - 1; i >= 0; i--) {
+			ModelChangeDelta delta = deltas.get(i);
+			if (!delta.children.isEmpty()) {
+				return;
+			}
+			delta.flags &= ~F_CHILDREN;
+			if (i > 0 && delta.isEmpty()) {
+				deltas.get(i - 1).children.remove(delta.element);
+			}
+			else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Merges another change of this delta's element into this delta. Returns <code>true</code> if
+	 * the changes cancel each other out.
+	 */
+	private boolean merge(Type type) {
+		switch (type) {
+		case ADDED:
+			if (kind == Type.REMOVED) {
+				// Replaced by another element
+				kind = Type.CHANGED;
+				flags = F_CONTENT;
+				children.clear();
+			}
+			else if (kind == Type.CHANGED) {
+				kind = Type.ADDED;
+				flags = 0;
+				children.clear();
+			}
+			break;
+		case REMOVED:
+			if (kind == Type.ADDED) {
+				return true;
+			}
+			kind = Type.REMOVED;
+			flags = 0;
+			children.clear();
+			break;
+		case CHANGED:
+			if (kind == Type.CHANGED) {
+				flags |= F_CONTENT;
+			}
+			break;
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder();
+		toString(text, 0);
+		return text.toString();
+	}
+
+	private void toString(StringBuilder text, int indent) {
+		for (int i = 0; i < indent; i++) {
+			text.append('\t');
+		}
+		text.append(element.getElementName()).append(" [").append(kind);
+		if ((flags & F_CONTENT) != 0) {
+			text.append(" CONTENT");
+		}
+		if ((flags & F_CHILDREN) != 0) {
+			text.append(" CHILDREN");
+		}
+		text.append(']');
+		for (ModelChangeDelta child : children.values()) {
+			text.append('\n');
+			child.toString(text, indent + 1);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -101,8 +101,11 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 
 				Set<ValidationRuleDefinition> ruleDefinitions = getRuleDefinitions(resource);
 				if (rootElement != null && ruleDefinitions != null && ruleDefinitions.size() > 0) {
+					long start = System.nanoTime();
 					Set<ValidationProblem> problems = validate(callback, ruleDefinitions, subMonitor);
 					ValidationUtils.createProblemMarkers(resource, problems, getMarkerId());
+					ValidationStatistics.getDefault().record(ValidationStatistics.RESOURCE,
+							resource.getFullPath().toString(), System.nanoTime() - start);
 				}
 
 				// call close on callback to execute any required resource cleanup in template
@@ -257,6 +260,8 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 
 		private Set<ValidationRuleDefinition> ruleDefinitions;
 
+		private final ValidationStatistics statistics = ValidationStatistics.getDefault();
+
 		public ValidationVisitor(IValidationContext context, Set<ValidationRuleDefinition> ruleDefinitions) {
 			this.ruleDefinitions = ruleDefinitions;
 			this.context = context;
@@ -277,7 +282,19 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 						IValidationRule rule = ruleDefinition.getRule();
 						if (rule.supports(element, context)) {
 							context.setCurrentRuleDefinition(ruleDefinition);
-							rule.validate(element, context, monitor);
+							if (statistics.isEnabled()) {
+								long start = System.nanoTime();
+								try {
+									rule.validate(element, context, monitor);
+								}
+								finally {
+									statistics.record(ValidationStatistics.RULE, ruleDefinition.getId(),
+											System.nanoTime() - start);
+								}
+							}
+							else {
+								rule.validate(element, context, monitor);
+							}
 						}
 						subMonitor.worked(1);
 					}
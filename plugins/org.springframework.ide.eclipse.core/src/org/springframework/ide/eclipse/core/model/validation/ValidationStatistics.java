@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.model.validation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.ide.eclipse.core.SpringCore;
+
+/**
+ * Collects timing information during validation: per {@link IValidationRule validation rule}, per validated resource
+ * and per project contributor (validator or builder). For every entry the number of invocations as well as the total
+ * and the max time is recorded.
+ * <p>
+ * The statistics are collected in memory for the lifetime of the workbench (or until {@link #reset()} is called) and
+ * can be exported via {@link #exportCsv(Writer)}. Timing every rule on every element costs time itself, so nothing is
+ * recorded unless the {@link #DEBUG_OPTION} debug option is set or statistics are enabled with
+ * {@link #setEnabled(boolean)}.
+ * @since 3.9.3
+ */
+public class ValidationStatistics {
+
+	/** Kind of an entry that represents a {@link IValidationRule} */
+	public static final String RULE = "rule";
+
+	/** Kind of an entry that represents a validated resource */
+	public static final String RESOURCE = "resource";
+
+	/** Kind of an entry that represents a validator or project builder */
+	public static final String CONTRIBUTOR = "contributor";
+
+	public static final String DEBUG_OPTION = SpringCore.PLUGIN_ID + "/model/validation/statistics/debug";
+
+	private static final ValidationStatistics INSTANCE = new ValidationStatistics();
+
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+	private volatile boolean enabled = SpringCore.isDebug(DEBUG_OPTION);
+
+	/**
+	 * Returns the shared instance used by the validation infrastructure.
+	 */
+	public static ValidationStatistics getDefault() {
+		return INSTANCE;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Records a single invocation of the element identified by <code>kind</code> and <code>name</code> that took
+	 * <code>nanos</code> nano seconds.
+	 */
+	public void record(String kind, String name, long nanos) {
+		if (!enabled || name == null) {
+			return;
+		}
+		String key = kind + ':' + name;
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			Entry newEntry = new Entry(kind, name);
+			entry = entries.putIfAbsent(key, newEntry);
+			if (entry == null) {
+				entry = newEntry;
+			}
+		}
+		entry.record(nanos);
+	}
+
+	/**
+	 * Returns a snapshot of all entries of the given kind, sorted by total time (descending).
+	 */
+	public List<Entry> getEntries(String kind) {
+		List<Entry> result = new ArrayList<Entry>();
+		for (Entry entry : entries.values()) {
+			if (kind == null || kind.equals(entry.getKind())) {
+				result.add(entry);
+			}
+		}
+		Collections.sort(result, new Comparator<Entry>() {
+			public int compare(Entry o1, Entry o2) {
+				long t1 = o1.getTotalTime();
+				long t2 = o2.getTotalTime();
+				return (t1 < t2 ? 1 : (t1 == t2 ? 0 : -1));
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Removes all collected entries.
+	 */
+	public void reset() {
+		entries.clear();
+	}
+
+	/**
+	 * Writes all collected entries as comma separated values to the given <code>writer</code>. Times are exported in
+	 * milliseconds.
+	 */
+	public void exportCsv(Writer writer) throws IOException {
+		writer.write("kind,name,invocations,total_ms,max_ms,avg_ms\n");
+		for (Entry entry : getEntries(null)) {
+			writer.write(entry.getKind());
+			writer.write(',');
+			writer.write(escapeCsv(entry.getName()));
+			writer.write(',');
+			writer.write(Long.toString(entry.getInvocations()));
+			writer.write(',');
+			writer.write(toMillis(entry.getTotalTime()));
+			writer.write(',');
+			writer.write(toMillis(entry.getMaxTime()));
+			writer.write(',');
+			writer.write(toMillis(entry.getInvocations() > 0 ? entry.getTotalTime() / entry.getInvocations() : 0));
+			writer.write('\n');
+		}
+		writer.flush();
+	}
+
+	private static String toMillis(long nanos) {
+		return String.format(Locale.ENGLISH, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+	}
+
+	private static String escapeCsv(String value) {
+		if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+			return '"' + value.replace("\"", "\"\"") + '"';
+		}
+		return value;
+	}
+
+	/**
+	 * Timing information of a single rule, resource or contributor.
+	 */
+	public static class Entry {
+
+		private final String kind;
+
+		private final String name;
+
+		private final AtomicLong invocations = new AtomicLong();
+
+		private final AtomicLong totalTime = new AtomicLong();
+
+		private final AtomicLong maxTime = new AtomicLong();
+
+		Entry(String kind, String name) {
+			this.kind = kind;
+			this.name = name;
+		}
+
+		void record(long nanos) {
+			invocations.incrementAndGet();
+			totalTime.addAndGet(nanos);
+			long max = maxTime.get();
+			while (nanos > max && !maxTime.compareAndSet(max, nanos)) {
+				max = maxTime.get();
+			}
+		}
+
+		public String getKind() {
+			return kind;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getInvocations() {
+			return invocations.get();
+		}
+
+		/** Returns the total time in nano seconds */
+		public long getTotalTime() {
+			return totalTime.get();
+		}
+
+		/** Returns the max time of a single invocation in nano seconds */
+		public long getMaxTime() {
+			return maxTime.get();
+		}
+	}
+
+}
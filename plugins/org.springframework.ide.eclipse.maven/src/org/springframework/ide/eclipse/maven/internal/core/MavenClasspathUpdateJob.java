@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -10,26 +10,34 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.maven.internal.core;
 
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
-import org.eclipse.core.runtime.jobs.IJobChangeEvent;
-import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
-import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IDebugEventSetListener;
@@ -39,7 +47,6 @@ import org.eclipse.debug.core.ILaunchConfigurationType;
 import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.debug.core.ILaunchManager;
 import org.eclipse.debug.core.model.IProcess;
-import org.eclipse.debug.ui.RefreshTab;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
@@ -51,60 +58,176 @@ import org.springframework.ide.eclipse.maven.MavenCorePlugin;
 
 
 /**
+ * Updates the class path of projects with pom files that are not managed by m2eclipse, by running
+ * <code>mvn eclipse:clean eclipse:eclipse</code> for them.
+ * <p>
+ * Requests are coalesced: all projects requested while the job is waiting or running are
+ * updated in the next batch, each of them only once. The Maven processes of a batch run in
+ * parallel, bounded by {@link #MAX_PARALLEL_UPDATES}, and the projects of the batch are
+ * refreshed in a single workspace operation once all of them finished, so that the
+ * builders run once per batch rather than once per project.
  * @author Christian Dupuis
  */
 @SuppressWarnings("restriction")
-public class MavenClasspathUpdateJob extends WorkspaceJob {
+public class MavenClasspathUpdateJob extends Job {
 
-	/** Internal cache of scheduled and <b>unfinished</b> update jobs */
-	private static final Queue<IJavaProject> SCHEDULED_PROJECTS = new ConcurrentLinkedQueue<IJavaProject>();
+	/** Maximum number of Maven processes running at the same time */
+	private static final int MAX_PARALLEL_UPDATES = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
 
-	/** The {@link IJavaProject} this jobs should refresh the class path container for */
-	private final IJavaProject javaProject;
+	/** Time to wait for further requests before a batch is started */
+	private static final long BATCH_DELAY = 500;
 
-	/**
-	 * Private constructor to create an instance
-	 * @param javaProject the {@link IJavaProject} the class path container should be updated for
-	 * @param types the change types happened to the manifest
-	 */
-	private MavenClasspathUpdateJob(IJavaProject javaProject) {
-		super("Updating Maven dependencies for project '" + javaProject.getElementName() + "'");
-		this.javaProject = javaProject;
-	}
+	/** Projects requested to be updated in the next batch, guarded by itself */
+	private static final Set<IJavaProject> PENDING_PROJECTS = new LinkedHashSet<IJavaProject>();
+
+	private static final MavenClasspathUpdateJob INSTANCE = new MavenClasspathUpdateJob();
 
 	/**
-	 * Returns the internal {@link IJavaProject}
+	 * Private constructor to create the single instance
 	 */
-	public IJavaProject getJavaProject() {
-		return javaProject;
+	private MavenClasspathUpdateJob() {
+		super("Updating Maven dependencies");
+		setPriority(Job.BUILD);
 	}
 
 	/**
-	 * Runs the job in the context of the workspace. Simply delegates refreshing of the class path container to
-	 * {@link ClasspathUtils#updateClasspathContainer(IJavaProject, IProgressMonitor)}.
+	 * Runs the Maven processes for the pending projects and refreshes the projects once they
+	 * have all finished.
 	 */
 	@Override
-	public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-		if (!javaProject.getProject().isOpen() || monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
+	public IStatus run(IProgressMonitor monitor) {
+		List<IJavaProject> batch;
+		synchronized (PENDING_PROJECTS) {
+			batch = new ArrayList<IJavaProject>(PENDING_PROJECTS);
+			PENDING_PROJECTS.clear();
 		}
+
+		// Projects sharing a pom are updated by a single process
+		Map<IContainer, IProject> basedirs = new LinkedHashMap<IContainer, IProject>();
+		for (IJavaProject javaProject : batch) {
+			IProject project = javaProject.getProject();
+			if (project.isOpen()) {
+				IContainer basedir = findPomXmlBasedir(project);
+				if (basedir != null && !basedirs.containsKey(basedir)) {
+					basedirs.put(basedir, project);
+				}
+			}
+		}
+		if (basedirs.isEmpty()) {
+			return Status.OK_STATUS;
+		}
+
+		monitor.beginTask(getName(), basedirs.size() + 1);
+		Semaphore slots = new Semaphore(MAX_PARALLEL_UPDATES);
+		List<MavenProcessListener> listeners = new ArrayList<MavenProcessListener>();
 		try {
-			IContainer basedir = findPomXmlBasedir(javaProject.getProject());
-			if (basedir == null) {
-				return Status.CANCEL_STATUS;
+			for (Map.Entry<IContainer, IProject> entry : basedirs.entrySet()) {
+				if (!acquire(slots, 1, monitor)) {
+					return abandon(listeners);
+				}
+				monitor.subTask(entry.getValue().getName());
+				MavenProcessListener listener = launch(entry.getKey(), entry.getValue(), slots);
+				if (listener != null) {
+					listeners.add(listener);
+				}
+				else {
+					slots.release();
+				}
+				monitor.worked(1);
+			}
+			if (!acquire(slots, MAX_PARALLEL_UPDATES, monitor)) {
+				return abandon(listeners);
+			}
+
+			List<IProject> projects = new ArrayList<IProject>();
+			for (MavenProcessListener listener : listeners) {
+				projects.add(listener.project);
 			}
+			refresh(projects, new SubProgressMonitor(monitor, 1));
+		}
+		catch (CoreException e) {
+			return e.getStatus();
+		}
+		finally {
+			monitor.done();
+		}
+
+		return new Status(IStatus.OK, MavenCorePlugin.PLUGIN_ID, "Updated Maven dependencies");
+	}
+
+	private MavenProcessListener launch(IContainer basedir, IProject project, Semaphore slots) {
+		try {
 			ILaunchConfiguration configuration = createLaunchConfiguration(basedir, "eclipse:clean eclipse:eclipse");
 			if (configuration != null) {
-				ILaunch launch = configuration.launch(ILaunchManager.RUN_MODE, new SubProgressMonitor(monitor, 75));
-				DebugPlugin.getDefault().addDebugEventListener(
-						new MavenProcessListener(launch.getProcesses()[0], javaProject.getProject()));
+				ILaunch launch = configuration.launch(ILaunchManager.RUN_MODE, new NullProgressMonitor());
+				IProcess[] processes = launch.getProcesses();
+				if (processes.length > 0) {
+					MavenProcessListener listener = new MavenProcessListener(processes[0], project, slots);
+					DebugPlugin.getDefault().addDebugEventListener(listener);
+					if (processes[0].isTerminated()) {
+						listener.terminated();
+					}
+					return listener;
+				}
 			}
 		}
 		catch (Exception e) {
-			return Status.CANCEL_STATUS;
+			MavenCorePlugin.getDefault().getLog().log(
+					new Status(IStatus.ERROR, MavenCorePlugin.PLUGIN_ID, "Error occured", e));
 		}
+		return null;
+	}
 
-		return new Status(IStatus.OK, MavenCorePlugin.PLUGIN_ID, "Updated Maven dependencies");
+	/**
+	 * Waits for the given number of permits, giving up when the monitor is canceled.
+	 */
+	private boolean acquire(Semaphore slots, int permits, IProgressMonitor monitor) {
+		try {
+			while (!slots.tryAcquire(permits, 200, TimeUnit.MILLISECONDS)) {
+				if (monitor.isCanceled()) {
+					return false;
+				}
+			}
+			return true;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Stops waiting for the processes of a canceled batch. The projects of the batch are
+	 * refreshed one by one, as soon as their process has finished.
+	 */
+	private IStatus abandon(List<MavenProcessListener> listeners) {
+		for (MavenProcessListener listener : listeners) {
+			listener.abandon();
+		}
+		return Status.CANCEL_STATUS;
+	}
+
+	private static void refresh(final List<IProject> projects, IProgressMonitor monitor) throws CoreException {
+		if (projects.isEmpty()) {
+			return;
+		}
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		ISchedulingRule[] rules = new ISchedulingRule[projects.size()];
+		for (int i = 0; i < rules.length; i++) {
+			rules[i] = workspace.getRuleFactory().refreshRule(projects.get(i));
+		}
+		workspace.run(new IWorkspaceRunnable() {
+
+			public void run(IProgressMonitor monitor) throws CoreException {
+				monitor.beginTask("Refreshing projects", projects.size());
+				for (IProject project : projects) {
+					if (project.isAccessible()) {
+						project.refreshLocal(IResource.DEPTH_INFINITE, new SubProgressMonitor(monitor, 1));
+					}
+				}
+				monitor.done();
+			}
+		}, MultiRule.combine(rules), IWorkspace.AVOID_UPDATE, monitor);
 	}
 
 	private IContainer findPomXmlBasedir(IContainer dir) {
@@ -148,9 +271,6 @@ public class MavenClasspathUpdateJob extends WorkspaceJob {
 			workingCopy.setAttribute(MavenLaunchConstants.ATTR_GOALS, goal);
 			workingCopy.setAttribute(MavenLaunchConstants.ATTR_WORKSPACE_RESOLUTION, true);
 
-			workingCopy.setAttribute(RefreshTab.ATTR_REFRESH_SCOPE, "${project}");
-			workingCopy.setAttribute(RefreshTab.ATTR_REFRESH_RECURSIVE, true);
-
 			String vmArguments = workingCopy.getAttribute(IJavaLaunchConfigurationConstants.ATTR_VM_ARGUMENTS, "");
 			vmArguments += "-Declipse.workspace=\"${workspace_loc}\"";
 			workingCopy.setAttribute(IJavaLaunchConfigurationConstants.ATTR_VM_ARGUMENTS, vmArguments);
@@ -186,13 +306,18 @@ public class MavenClasspathUpdateJob extends WorkspaceJob {
 	}
 
 	/**
-	 * Helper method to schedule a new {@link MavenClasspathUpdateJob}.
+	 * Requests the class path of the given project to be updated with the next batch.
 	 * @param javaProject the {@link IJavaProject} the class path container should be updated for
-	 * @param types the change types of the manifest
 	 */
 	public static void scheduleClasspathContainerUpdateJob(IJavaProject javaProject) {
-		if (javaProject != null && !SCHEDULED_PROJECTS.contains(javaProject)) {
-			newClasspathContainerUpdateJob(javaProject);
+		if (javaProject != null) {
+			synchronized (PENDING_PROJECTS) {
+				if (!PENDING_PROJECTS.add(javaProject)) {
+					return;
+				}
+			}
+			// Scheduling the job while it is running makes it run once more when it is done
+			INSTANCE.schedule(BATCH_DELAY);
 		}
 	}
 
@@ -200,45 +325,22 @@ public class MavenClasspathUpdateJob extends WorkspaceJob {
 		scheduleClasspathContainerUpdateJob(JavaCore.create(oroject));
 	}
 
-	/**
-	 * Creates a new instance of {@link MavenClasspathUpdateJob} and configures required properties and schedules it to
-	 * the workbench.
-	 */
-	private static MavenClasspathUpdateJob newClasspathContainerUpdateJob(IJavaProject javaProject) {
-		MavenClasspathUpdateJob job = new MavenClasspathUpdateJob(javaProject);
-		job.setRule(ResourcesPlugin.getWorkspace().getRuleFactory().buildRule());
-		job.setPriority(Job.BUILD);
-		job.addJobChangeListener(new DuplicateJobListener());
-		job.schedule();
-		return job;
-	}
-
-	/**
-	 * Internal {@link IJobChangeListener} to detect duplicates in the scheduled list of {@link MavenClasspathUpdateJob
-	 * Jobs}.
-	 */
-	private static class DuplicateJobListener extends JobChangeAdapter implements IJobChangeListener {
+	private static class MavenProcessListener implements IDebugEventSetListener {
 
-		@Override
-		public void done(IJobChangeEvent event) {
-			SCHEDULED_PROJECTS.remove(((MavenClasspathUpdateJob) event.getJob()).getJavaProject());
-		}
+		private final IProject project;
 
-		@Override
-		public void scheduled(IJobChangeEvent event) {
-			SCHEDULED_PROJECTS.add(((MavenClasspathUpdateJob) event.getJob()).getJavaProject());
-		}
-	}
+		private final IProcess newProcess;
 
-	private class MavenProcessListener implements IDebugEventSetListener {
+		private final Semaphore slots;
 
-		private final IProject project;
+		private boolean terminated = false;
 
-		private final IProcess newProcess;
+		private boolean abandoned = false;
 
-		public MavenProcessListener(IProcess process, IProject project) {
+		public MavenProcessListener(IProcess process, IProject project, Semaphore slots) {
 			this.project = project;
 			this.newProcess = process;
+			this.slots = slots;
 		}
 
 		public void handleDebugEvents(DebugEvent[] events) {
@@ -247,30 +349,58 @@ public class MavenClasspathUpdateJob extends WorkspaceJob {
 				for (int i = 0; i < size; i++) {
 					if (newProcess != null && newProcess.equals(events[i].getSource())
 							&& events[i].getKind() == DebugEvent.TERMINATE) {
-
-						DebugPlugin.getDefault().removeDebugEventListener(this);
-
-						Job job = new Job("refresh project") {
-
-							@Override
-							protected IStatus run(IProgressMonitor monitor) {
-								try {
-									project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
-								}
-								catch (CoreException e) {
-								}
-								return Status.OK_STATUS;
-							}
-
-						};
-						job.setSystem(true);
-						job.setRule(ResourcesPlugin.getWorkspace().getRuleFactory().buildRule());
-						job.setPriority(Job.INTERACTIVE);
-						job.schedule();
+						terminated();
 					}
 				}
 			}
 		}
+
+		public void terminated() {
+			boolean refresh;
+			synchronized (this) {
+				if (terminated) {
+					return;
+				}
+				terminated = true;
+				refresh = abandoned;
+			}
+			DebugPlugin.getDefault().removeDebugEventListener(this);
+			slots.release();
+			if (refresh) {
+				scheduleRefresh();
+			}
+		}
+
+		public void abandon() {
+			boolean refresh;
+			synchronized (this) {
+				abandoned = true;
+				refresh = terminated;
+			}
+			if (refresh) {
+				scheduleRefresh();
+			}
+		}
+
+		private void scheduleRefresh() {
+			Job job = new Job("refresh project") {
+
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					try {
+						refresh(Collections.singletonList(project), monitor);
+					}
+					catch (CoreException e) {
+					}
+					return Status.OK_STATUS;
+				}
+
+			};
+			job.setSystem(true);
+			job.setRule(ResourcesPlugin.getWorkspace().getRuleFactory().refreshRule(project));
+			job.setPriority(Job.INTERACTIVE);
+			job.schedule();
+		}
 	}
 
 }
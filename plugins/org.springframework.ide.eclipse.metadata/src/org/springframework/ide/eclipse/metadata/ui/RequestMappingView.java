@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 - 2013 GoPivotal, Inc.
+ *  Copyright (c) 2012 - 2017 GoPivotal, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@ package org.springframework.ide.eclipse.metadata.ui;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -100,6 +101,7 @@ import org.springframework.ide.eclipse.metadata.actions.ToggleLinkingAction;
 import org.springframework.ide.eclipse.metadata.actions.ToggleOrientationAction;
 import org.springframework.ide.eclipse.metadata.core.RequestMappingAnnotationMetadata;
 import org.springframework.ide.eclipse.metadata.core.RequestMappingMethodAnnotationMetadata;
+import org.springframework.ide.eclipse.metadata.ui.RequestMappingViewModel.Update;
 import org.springsource.ide.eclipse.commons.core.StatusHandler;
 
 
@@ -128,8 +130,6 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 
 	private static final String EMPTY_MAPPINGS = Messages.RequestMappingView_DESCRIPTION_EMPTY_REQUESTMAPPINGS;
 
-	private Set<RequestMappingAnnotationMetadata> annotations;
-
 	private BaseSelectionListenerAction breakpointAction;
 
 	private IBeansModelElement element;
@@ -160,10 +160,25 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 
 	private TextPresentation textPresentation;
 
-	private RequestMappingViewSorter viewSorter;
+	private final RequestMappingViewModel model = new RequestMappingViewModel();
+
+	/** The rows shown in the table, in the order of the last applied model update */
+	private final List<RequestMappingMethodToClassMap> rows = new ArrayList<RequestMappingMethodToClassMap>();
+
+	private volatile int sortColumn = COLUMN_URL;
+
+	private volatile int sortDirection = SWT.UP;
+
+	private final Job updateJob = new Job("Loading RequestMappings") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			updateModel(monitor);
+			return Status.OK_STATUS;
+		}
+	};
 
 	public RequestMappingView() {
-		annotations = new HashSet<RequestMappingAnnotationMetadata>();
+		updateJob.setSystem(true);
 		prefStore = MetadataPlugin.getDefault().getPreferenceStore();
 		resourceListener = new ResourceChangeListener();
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(
@@ -190,6 +205,8 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 	public void dispose() {
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(
 				resourceListener);
+		updateJob.cancel();
+		model.dispose();
 		mainViewer.removeSelectionChangedListener(openBrowserAction);
 		mainViewer.removeSelectionChangedListener(javaEditorAction);
 		mainViewer.removeSelectionChangedListener(breakpointAction);
@@ -344,35 +361,32 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 						int direction = table.getSortDirection();
 						if (direction == SWT.UP) {
 							table.setSortDirection(SWT.DOWN);
-							viewSorter.setSortDirection(SWT.DOWN);
+							sortDirection = SWT.DOWN;
 						} else {
 							table.setSortDirection(SWT.UP);
-							viewSorter.setSortDirection(SWT.UP);
+							sortDirection = SWT.UP;
 						}
 					} else {
 						table.setSortColumn(column.getColumn());
-						viewSorter.setSortColumn(columnId);
+						sortColumn = columnId;
 					}
-					mainViewer.refresh();
+					internalSetInput();
 				}
 			});
 		}
 
-		table.setSortColumn(table.getColumn(COLUMN_URL));
-		viewSorter.setSortColumn(COLUMN_URL);
-		table.setSortDirection(SWT.UP);
-		viewSorter.setSortDirection(SWT.UP);
+		table.setSortColumn(table.getColumn(sortColumn));
+		table.setSortDirection(sortDirection);
 	}
 
 	private void createRequestMappingViewer(Composite parent) {
 		mainViewer = new TableViewer(parent, SWT.SINGLE | SWT.H_SCROLL
 				| SWT.V_SCROLL | SWT.BORDER | SWT.FULL_SELECTION);
 		labelProvider = new RequestMappingViewLabelProvider();
-		viewSorter = new RequestMappingViewSorter(labelProvider);
 		createRequestMappingColumns();
 		mainViewer.setContentProvider(new RequestMappingViewContentProvider());
 		mainViewer.setLabelProvider(labelProvider);
-		mainViewer.setSorter(viewSorter);
+		mainViewer.setInput(rows);
 		mainViewer.addSelectionChangedListener(this);
 		mainViewer.addDoubleClickListener(new IDoubleClickListener() {
 			public void doubleClick(DoubleClickEvent event) {
@@ -582,7 +596,21 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 				.getSystemColor(SWT.COLOR_INFO_BACKGROUND));
 	}
 
+	/**
+	 * Schedules an update of the rows for the current input. Bursts of calls,
+	 * e.g. from builds of several projects, are folded into one update.
+	 */
 	private void internalSetInput() {
+		updateJob.schedule();
+	}
+
+	/**
+	 * Collects the request mappings of the current input and brings the model
+	 * up to date with them in the update job, then hands the changed rows to
+	 * the UI thread.
+	 */
+	private void updateModel(IProgressMonitor monitor) {
+		IBeansModelElement element = this.element;
 		final Set<RequestMappingAnnotationMetadata> newAnnotations = new HashSet<RequestMappingAnnotationMetadata>();
 		String contentDescription = getContentDescription();
 		if (element == null) {
@@ -607,19 +635,51 @@ public class RequestMappingView extends ViewPart implements ISelectionListener,
 			contentDescription = Messages.RequestMappingView_PREFIX_PROJECT
 					+ ((IBeansProject) element).getElementName();
 		}
+		if (monitor.isCanceled()) {
+			return;
+		}
 
+		final Update update = model.update(newAnnotations, sortColumn, sortDirection);
 		final String newContentDescription = contentDescription;
 		PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
 			public void run() {
+				if (mainViewer.getControl().isDisposed()) {
+					return;
+				}
 				setContentDescription(newContentDescription);
-				if (!newAnnotations.equals(annotations)) {
-					annotations = newAnnotations;
-					mainViewer.setInput(annotations);
+				if (update != null) {
+					applyUpdate(update);
 				}
 			}
 		});
 	}
 
+	/**
+	 * Applies a model update to the table. Updates are applied in the order
+	 * the model produced them, so that the removed and added rows line up
+	 * with the rows shown.
+	 */
+	private void applyUpdate(Update update) {
+		rows.clear();
+		rows.addAll(update.getRows());
+		if (update.isRefresh()) {
+			mainViewer.refresh();
+			return;
+		}
+		Table table = mainViewer.getTable();
+		table.setRedraw(false);
+		try {
+			mainViewer.remove(update.getRemoved().toArray());
+			List<RequestMappingMethodToClassMap> added = update.getAdded();
+			int[] indices = update.getAddedIndices();
+			for (int i = 0; i < added.size(); i++) {
+				mainViewer.insert(added.get(i), indices[i]);
+			}
+		} finally {
+			table.setRedraw(true);
+		}
+	}
+
 	private void setJavadocInput(ISelection selection) {
 		if (selection instanceof IStructuredSelection) {
 			IStructuredSelection structuredSelection = (IStructuredSelection) selection;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -10,39 +10,26 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.metadata.ui;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Collection;
 
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.Viewer;
-import org.springframework.ide.eclipse.beans.core.metadata.model.IMethodMetadata;
-import org.springframework.ide.eclipse.metadata.core.RequestMappingAnnotationMetadata;
-import org.springframework.ide.eclipse.metadata.core.RequestMappingMethodAnnotationMetadata;
 
 
 /**
+ * Returns the rows of the {@link RequestMappingView}, which are kept sorted by
+ * its {@link RequestMappingViewModel}.
  * @author Leo Dos Santos
  * @author Christian Dupuis
  */
 public class RequestMappingViewContentProvider implements
 		IStructuredContentProvider {
 
-	@SuppressWarnings("unchecked")
 	public Object[] getElements(Object inputElement) {
-		Set elements = new HashSet();
-		Set<RequestMappingAnnotationMetadata> annotations = (Set<RequestMappingAnnotationMetadata>) inputElement;
-		for (RequestMappingAnnotationMetadata annotation : annotations) {
-			// elements.add(annotation);
-			Set<IMethodMetadata> methods = annotation.getMethodMetaData();
-			for (IMethodMetadata method : methods) {
-				if (method instanceof RequestMappingMethodAnnotationMetadata) {
-					elements.add(new RequestMappingMethodToClassMap(
-							(RequestMappingMethodAnnotationMetadata) method,
-							annotation));
-				}
-			}
+		if (inputElement instanceof Collection) {
+			return ((Collection<?>) inputElement).toArray();
 		}
-		return elements.toArray();
+		return new Object[0];
 	}
 
 	public void dispose() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -156,6 +156,9 @@ public class RequestMappingViewLabelProvider extends LabelProvider implements
 				.getMethodMetadata();
 		IMethod method = (IMethod) JdtUtils.getByHandle(annotation
 				.getHandleIdentifier());
+		if (method == null) {
+			return ""; //$NON-NLS-1$
+		}
 		return javaLabelProvider.getText(method.getDeclaringType()) + "." //$NON-NLS-1$
 				+ javaLabelProvider.getText(method);
 	}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.metadata.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.ide.eclipse.beans.core.metadata.model.IMethodMetadata;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingAnnotationMetadata;
+import org.springframework.ide.eclipse.metadata.core.RequestMappingMethodAnnotationMetadata;
+
+/**
+ * Background model of the {@link RequestMappingView}. Holds the rows of the
+ * view grouped by the type declaring them, together with their column labels,
+ * and keeps them sorted with a {@link RequestMappingViewSorter}.
+ * <p>
+ * The bean metadata model doesn't report changes, so
+ * {@link #update(Set, int, int)} compares the rows of each type with the last
+ * snapshot. Labels are only computed for rows of changed types, and those rows
+ * are inserted into the sorted list instead of sorting it again. The returned
+ * {@link Update} tells the view which rows to remove and insert.
+ * <p>
+ * The model is not thread safe. The view only updates it from its update job.
+ * @since 3.9.3
+ */
+class RequestMappingViewModel {
+
+	/** Above this many changed rows the view refreshes instead of updating rows one by one */
+	static final int MAX_INCREMENTAL_CHANGES = 200;
+
+	private static final int COLUMN_COUNT = 3;
+
+	private final Map<RequestMappingMethodToClassMap, String[]> labels = new HashMap<RequestMappingMethodToClassMap, String[]>();
+
+	private final LabelCache labelCache = new LabelCache();
+
+	private final RequestMappingViewSorter sorter = new RequestMappingViewSorter(labelCache);
+
+	private final Comparator<RequestMappingMethodToClassMap> comparator = new Comparator<RequestMappingMethodToClassMap>() {
+		public int compare(RequestMappingMethodToClassMap row1, RequestMappingMethodToClassMap row2) {
+			return sorter.compare(null, row1, row2);
+		}
+	};
+
+	private Map<String, Set<RequestMappingMethodToClassMap>> rowsByType = new HashMap<String, Set<RequestMappingMethodToClassMap>>();
+
+	private List<RequestMappingMethodToClassMap> rows = Collections.emptyList();
+
+	private int sortColumn = -1;
+
+	private int sortDirection = -1;
+
+	/**
+	 * Brings the model up to date with the given annotations and sort order.
+	 *
+	 * @return the changes to apply to the view, or null if nothing changed
+	 */
+	synchronized Update update(Set<RequestMappingAnnotationMetadata> annotations, int sortColumn,
+			int sortDirection) {
+		Map<String, Set<RequestMappingMethodToClassMap>> newRowsByType = groupByType(annotations);
+
+		Set<RequestMappingMethodToClassMap> removed = new HashSet<RequestMappingMethodToClassMap>();
+		Set<RequestMappingMethodToClassMap> added = new HashSet<RequestMappingMethodToClassMap>();
+		for (Map.Entry<String, Set<RequestMappingMethodToClassMap>> entry : newRowsByType.entrySet()) {
+			Set<RequestMappingMethodToClassMap> oldTypeRows = rowsByType.get(entry.getKey());
+			Set<RequestMappingMethodToClassMap> typeRows = entry.getValue();
+			if (oldTypeRows == null) {
+				added.addAll(typeRows);
+			}
+			else if (!oldTypeRows.equals(typeRows)) {
+				for (RequestMappingMethodToClassMap row : oldTypeRows) {
+					if (!typeRows.contains(row)) {
+						removed.add(row);
+					}
+				}
+				for (RequestMappingMethodToClassMap row : typeRows) {
+					if (!oldTypeRows.contains(row)) {
+						added.add(row);
+					}
+				}
+			}
+		}
+		for (Map.Entry<String, Set<RequestMappingMethodToClassMap>> entry : rowsByType.entrySet()) {
+			if (!newRowsByType.containsKey(entry.getKey())) {
+				removed.addAll(entry.getValue());
+			}
+		}
+		rowsByType = newRowsByType;
+
+		boolean resort = sortColumn != this.sortColumn || sortDirection != this.sortDirection;
+		if (removed.isEmpty() && added.isEmpty() && !resort) {
+			return null;
+		}
+
+		for (RequestMappingMethodToClassMap row : removed) {
+			labels.remove(row);
+		}
+		for (RequestMappingMethodToClassMap row : added) {
+			labels.put(row, labelCache.computeLabels(row));
+		}
+
+		boolean refresh = resort || rows.isEmpty() || removed.size() + added.size() > MAX_INCREMENTAL_CHANGES;
+		List<RequestMappingMethodToClassMap> newRows;
+		if (resort) {
+			this.sortColumn = sortColumn;
+			this.sortDirection = sortDirection;
+			sorter.setSortColumn(sortColumn);
+			sorter.setSortDirection(sortDirection);
+		}
+		if (refresh) {
+			newRows = new ArrayList<RequestMappingMethodToClassMap>(labels.keySet());
+			Collections.sort(newRows, comparator);
+		}
+		else {
+			newRows = new ArrayList<RequestMappingMethodToClassMap>(rows.size() + added.size());
+			for (RequestMappingMethodToClassMap row : rows) {
+				if (!removed.contains(row)) {
+					newRows.add(row);
+				}
+			}
+			for (RequestMappingMethodToClassMap row : added) {
+				int index = Collections.binarySearch(newRows, row, comparator);
+				newRows.add(index < 0 ? -index - 1 : index, row);
+			}
+		}
+		rows = newRows;
+
+		if (refresh) {
+			return new Update(newRows);
+		}
+		List<RequestMappingMethodToClassMap> addedRows = new ArrayList<RequestMappingMethodToClassMap>(added.size());
+		int[] addedIndices = new int[added.size()];
+		for (int i = 0; i < newRows.size(); i++) {
+			if (added.contains(newRows.get(i))) {
+				addedIndices[addedRows.size()] = i;
+				addedRows.add(newRows.get(i));
+			}
+		}
+		return new Update(newRows, removed, addedRows, addedIndices);
+	}
+
+	synchronized void dispose() {
+		labelCache.dispose();
+		labels.clear();
+		rowsByType.clear();
+		rows = Collections.emptyList();
+	}
+
+	private Map<String, Set<RequestMappingMethodToClassMap>> groupByType(
+			Set<RequestMappingAnnotationMetadata> annotations) {
+		Map<String, Set<RequestMappingMethodToClassMap>> result = new HashMap<String, Set<RequestMappingMethodToClassMap>>();
+		for (RequestMappingAnnotationMetadata annotation : annotations) {
+			Set<RequestMappingMethodToClassMap> typeRows = result.get(annotation.getClassHandle());
+			if (typeRows == null) {
+				typeRows = new HashSet<RequestMappingMethodToClassMap>();
+				result.put(annotation.getClassHandle(), typeRows);
+			}
+			for (IMethodMetadata method : annotation.getMethodMetaData()) {
+				if (method instanceof RequestMappingMethodAnnotationMetadata) {
+					typeRows.add(new RequestMappingMethodToClassMap((RequestMappingMethodAnnotationMetadata) method,
+							annotation));
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Answers the column texts the sorter asks for from the labels computed
+	 * when the rows were added.
+	 */
+	private class LabelCache extends RequestMappingViewLabelProvider {
+
+		@Override
+		public String getColumnText(Object element, int columnIndex) {
+			String[] texts = labels.get(element);
+			if (texts != null) {
+				return texts[columnIndex];
+			}
+			return super.getColumnText(element, columnIndex);
+		}
+
+		String[] computeLabels(RequestMappingMethodToClassMap row) {
+			String[] texts = new String[COLUMN_COUNT];
+			for (int i = 0; i < COLUMN_COUNT; i++) {
+				texts[i] = super.getColumnText(row, i);
+			}
+			return texts;
+		}
+
+	}
+
+	/**
+	 * The changes from one model update, in the order the view has to apply
+	 * them: remove {@link #getRemoved()}, then insert each of
+	 * {@link #getAdded()} at the matching index of {@link #getAddedIndices()}.
+	 * Updates that change most rows or the sort order only carry the new rows
+	 * and ask for a refresh.
+	 */
+	static class Update {
+
+		private final List<RequestMappingMethodToClassMap> rows;
+
+		private final Set<RequestMappingMethodToClassMap> removed;
+
+		private final List<RequestMappingMethodToClassMap> added;
+
+		private final int[] addedIndices;
+
+		private Update(List<RequestMappingMethodToClassMap> rows) {
+			this(rows, null, null, null);
+		}
+
+		private Update(List<RequestMappingMethodToClassMap> rows, Set<RequestMappingMethodToClassMap> removed,
+				List<RequestMappingMethodToClassMap> added, int[] addedIndices) {
+			this.rows = Collections.unmodifiableList(rows);
+			this.removed = removed;
+			this.added = added;
+			this.addedIndices = addedIndices;
+		}
+
+		/**
+		 * Returns all rows in sorted order.
+		 */
+		List<RequestMappingMethodToClassMap> getRows() {
+			return rows;
+		}
+
+		boolean isRefresh() {
+			return removed == null;
+		}
+
+		Set<RequestMappingMethodToClassMap> getRemoved() {
+			return removed;
+		}
+
+		List<RequestMappingMethodToClassMap> getAdded() {
+			return added;
+		}
+
+		int[] getAddedIndices() {
+			return addedIndices;
+		}
+
+	}
+
+}
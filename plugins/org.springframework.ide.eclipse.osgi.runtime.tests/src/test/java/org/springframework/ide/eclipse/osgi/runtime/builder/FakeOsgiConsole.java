@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.osgi.runtime.builder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A server that behaves like the telnet console of an Equinox framework, recording the commands
+ * it receives. Commands succeed silently unless they were given a response, and each response can
+ * be delayed to simulate a slow framework.
+ */
+public class FakeOsgiConsole {
+
+	private final ServerSocket serverSocket;
+
+	private final Map<String, String> responses = new ConcurrentHashMap<String, String>();
+
+	private final List<List<String>> sessions = new ArrayList<List<String>>();
+
+	private int closedSessions = 0;
+
+	private volatile long responseDelay = 0;
+
+	private volatile boolean silent = false;
+
+	public FakeOsgiConsole() throws IOException {
+		serverSocket = new ServerSocket(0);
+		Thread acceptor = new Thread("Fake OSGi console") {
+			@Override
+			public void run() {
+				try {
+					while (true) {
+						final Socket socket = serverSocket.accept();
+						final List<String> session = new ArrayList<String>();
+						synchronized (sessions) {
+							sessions.add(session);
+						}
+						new Thread("Fake OSGi console session") {
+							@Override
+							public void run() {
+								serve(socket, session);
+							}
+						}.start();
+					}
+				}
+				catch (IOException e) {
+					// closed
+				}
+			}
+		};
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Makes the console print the given output for the given command.
+	 */
+	public void setResponse(String command, String response) {
+		responses.put(command, response);
+	}
+
+	public void setResponseDelay(long responseDelay) {
+		this.responseDelay = responseDelay;
+	}
+
+	/**
+	 * Makes the console stop answering commands.
+	 */
+	public void setSilent(boolean silent) {
+		this.silent = silent;
+	}
+
+	/**
+	 * Returns the commands received, by session.
+	 */
+	public List<List<String>> getSessions() {
+		synchronized (sessions) {
+			List<List<String>> result = new ArrayList<List<String>>();
+			for (List<String> session : sessions) {
+				synchronized (session) {
+					result.add(new ArrayList<String>(session));
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Waits until the given number of sessions were closed, and returns the commands received.
+	 */
+	public List<List<String>> awaitClosedSessions(int count, long timeout) throws InterruptedException {
+		long end = System.currentTimeMillis() + timeout;
+		synchronized (sessions) {
+			while (closedSessions < count) {
+				long remaining = end - System.currentTimeMillis();
+				if (remaining <= 0) {
+					throw new AssertionError("Expected " + count + " closed sessions, but got " + closedSessions);
+				}
+				sessions.wait(remaining);
+			}
+		}
+		return getSessions();
+	}
+
+	public void dispose() throws IOException {
+		serverSocket.close();
+	}
+
+	private void serve(Socket socket, List<String> session) {
+		try {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "ISO-8859-1"));
+			Writer out = new OutputStreamWriter(socket.getOutputStream(), "ISO-8859-1");
+			out.write("\r\nosgi> ");
+			out.flush();
+			String line;
+			while ((line = in.readLine()) != null) {
+				synchronized (session) {
+					session.add(line);
+				}
+				if (silent) {
+					continue;
+				}
+				if (OsgiConsoleSession.DISCONNECT_COMMAND.equals(line)) {
+					out.write("Disconnect from console? (y/n; default=y) ");
+					out.flush();
+					line = in.readLine();
+					if (line != null) {
+						synchronized (session) {
+							session.add(line);
+						}
+					}
+					break;
+				}
+				Thread.sleep(responseDelay);
+				String response = responses.get(line);
+				out.write(response != null ? response + "\r\nosgi> " : "osgi> ");
+				out.flush();
+			}
+		}
+		catch (IOException e) {
+			// the client is gone
+		}
+		catch (InterruptedException e) {
+		}
+		finally {
+			try {
+				socket.close();
+			}
+			catch (IOException e) {
+			}
+			synchronized (sessions) {
+				closedSessions++;
+				sessions.notifyAll();
+			}
+		}
+	}
+
+}
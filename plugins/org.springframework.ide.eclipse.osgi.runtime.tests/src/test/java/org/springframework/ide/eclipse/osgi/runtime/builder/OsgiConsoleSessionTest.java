@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.osgi.runtime.builder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.net.InetAddress;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OsgiConsoleSessionTest {
+
+	private FakeOsgiConsole console;
+
+	@Before
+	public void setUp() throws Exception {
+		console = new FakeOsgiConsole();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		console.dispose();
+	}
+
+	@Test
+	public void sendsCommandsInOneSessionAndDisconnects() throws Exception {
+		OsgiConsoleSession session = new OsgiConsoleSession(InetAddress.getLocalHost(), console.getPort(), 5000);
+		assertEquals("", session.execute("refresh a"));
+		assertEquals("", session.execute("refresh b"));
+		session.close();
+
+		List<List<String>> sessions = console.awaitClosedSessions(1, 5000);
+		assertEquals(1, sessions.size());
+		assertEquals(Arrays.asList("refresh a", "refresh b", "disconnect", "y"), sessions.get(0));
+	}
+
+	@Test
+	public void waitsForSlowConsole() throws Exception {
+		console.setResponseDelay(1000);
+		console.setResponse("refresh a", "Cannot find bundle a");
+		OsgiConsoleSession session = new OsgiConsoleSession(InetAddress.getLocalHost(), console.getPort(), 5000);
+		try {
+			assertEquals("Cannot find bundle a", session.execute("refresh a"));
+			assertEquals("", session.execute("refresh b"));
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Test
+	public void timesOutIfConsoleDoesNotAnswer() throws Exception {
+		console.setSilent(true);
+		OsgiConsoleSession session = new OsgiConsoleSession(InetAddress.getLocalHost(), console.getPort(), 500);
+		try {
+			session.execute("refresh a");
+			fail("Expected a timeout");
+		}
+		catch (SocketTimeoutException e) {
+			// expected
+		}
+		finally {
+			session.close();
+		}
+	}
+
+}
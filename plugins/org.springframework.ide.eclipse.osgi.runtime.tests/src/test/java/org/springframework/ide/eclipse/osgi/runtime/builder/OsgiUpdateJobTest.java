@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.osgi.runtime.builder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.osgi.runtime.OsgiPlugin;
+import org.springframework.ide.eclipse.osgi.runtime.builder.OsgiBundleUpdateBuilder.Command;
+
+public class OsgiUpdateJobTest {
+
+	private FakeOsgiConsole console;
+
+	private final BlockingQueue<IStatus> results = new LinkedBlockingQueue<IStatus>();
+
+	private final IJobChangeListener listener = new JobChangeAdapter() {
+		@Override
+		public void done(IJobChangeEvent event) {
+			if (event.getJob().belongsTo(OsgiUpdateJob.MODEL_CONTENT_FAMILY)) {
+				results.add(event.getResult());
+			}
+		}
+	};
+
+	@Before
+	public void setUp() throws Exception {
+		console = new FakeOsgiConsole();
+		setPort(console.getPort());
+		Job.getJobManager().addJobChangeListener(listener);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Job.getJobManager().removeJobChangeListener(listener);
+		console.dispose();
+		getPreferences().remove(OsgiPlugin.PORT_PREFERENCE_KEY);
+	}
+
+	@Test
+	public void sendsBurstOfUpdatesInOneSession() throws Exception {
+		OsgiUpdateJob.schedule("a", Command.REFRESH);
+		OsgiUpdateJob.schedule("b", Command.REFRESH);
+		OsgiUpdateJob.schedule("a", Command.REFRESH);
+		OsgiUpdateJob.schedule("c", Command.REFRESH);
+
+		assertEquals(IStatus.OK, nextResult().getSeverity());
+		List<List<String>> sessions = console.awaitClosedSessions(1, 5000);
+		assertEquals(1, sessions.size());
+		assertEquals(Arrays.asList("refresh a", "refresh b", "refresh c", "disconnect", "y"), sessions.get(0));
+	}
+
+	@Test
+	public void reportsFailedCommands() throws Exception {
+		console.setResponseDelay(700);
+		console.setResponse("refresh b", "Cannot find bundle b");
+		OsgiUpdateJob.schedule("a", Command.REFRESH);
+		OsgiUpdateJob.schedule("b", Command.REFRESH);
+
+		IStatus result = nextResult();
+		assertEquals(IStatus.WARNING, result.getSeverity());
+		assertEquals(1, result.getChildren().length);
+		assertTrue(result.getChildren()[0].getMessage().contains("Cannot find bundle b"));
+		assertEquals(Arrays.asList("refresh a", "refresh b", "disconnect", "y"),
+				console.awaitClosedSessions(1, 5000).get(0));
+	}
+
+	@Test
+	public void reportsUnreachableConsole() throws Exception {
+		console.dispose();
+		OsgiUpdateJob.schedule("a", Command.REFRESH);
+
+		assertEquals(IStatus.ERROR, nextResult().getSeverity());
+	}
+
+	private IStatus nextResult() throws InterruptedException {
+		IStatus result = results.poll(OsgiUpdateJob.DELAY + 3 * OsgiUpdateJob.TIMEOUT, TimeUnit.MILLISECONDS);
+		assertTrue("Update job didn't run", result != null);
+		return result;
+	}
+
+	private static void setPort(int port) {
+		getPreferences().put(OsgiPlugin.PORT_PREFERENCE_KEY, String.valueOf(port));
+	}
+
+	private static IEclipsePreferences getPreferences() {
+		return new InstanceScope().getNode(OsgiPlugin.PLUGIN_ID);
+	}
+
+}
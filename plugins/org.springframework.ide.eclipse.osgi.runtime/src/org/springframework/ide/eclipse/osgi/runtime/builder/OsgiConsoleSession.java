@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.osgi.runtime.builder;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * A connection to the console of a running OSGi framework. Commands are sent one at a time, each
+ * one after the console answered the previous one with its prompt, and the output of the command
+ * is returned.
+ * <p>
+ * All reads are bound by the given timeout, so a console that stops answering results in a
+ * {@link java.net.SocketTimeoutException} rather than a hanging session.
+ * @since 3.9.3
+ */
+class OsgiConsoleSession implements Closeable {
+
+	static final String PROMPT = "osgi>";
+
+	static final String DISCONNECT_COMMAND = "disconnect";
+
+	static final String DISCONNECT_QUESTION = "(y/n";
+
+	static final String YES_COMMAND = "y";
+
+	// The console is a telnet session, which may contain option negotiation bytes
+	private static final String CHARSET = "ISO-8859-1";
+
+	private final Socket socket;
+
+	private final Reader in;
+
+	private final Writer out;
+
+	/**
+	 * Connects to the console at the given address and port and waits for its first prompt.
+	 * @param timeout the timeout in milliseconds for connecting and for every response
+	 */
+	public OsgiConsoleSession(InetAddress address, int port, int timeout) throws IOException {
+		socket = new Socket();
+		try {
+			socket.connect(new InetSocketAddress(address, port), timeout);
+			socket.setSoTimeout(timeout);
+			in = new InputStreamReader(socket.getInputStream(), CHARSET);
+			out = new OutputStreamWriter(socket.getOutputStream(), CHARSET);
+			readResponse();
+		}
+		catch (IOException e) {
+			socket.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Sends the given command and waits for the console to prompt for the next one.
+	 * @return the output of the command, without leading and trailing whitespace
+	 */
+	public String execute(String command) throws IOException {
+		send(command);
+		String response = readResponse();
+		if (response.startsWith(command)) {
+			// Echoed by the console
+			response = response.substring(command.length()).trim();
+		}
+		return response;
+	}
+
+	/**
+	 * Disconnects from the console, confirming the disconnect if the console asks for it.
+	 * Failures are ignored as the framework's bundles were already updated at this point.
+	 */
+	public void close() {
+		try {
+			send(DISCONNECT_COMMAND);
+			if (readUntil(DISCONNECT_QUESTION) != null) {
+				send(YES_COMMAND);
+			}
+		}
+		catch (IOException e) {
+			// the console is gone already
+		}
+		finally {
+			try {
+				socket.close();
+			}
+			catch (IOException e) {
+			}
+		}
+	}
+
+	private void send(String command) throws IOException {
+		out.write(command);
+		out.write("\r\n");
+		out.flush();
+	}
+
+	private String readResponse() throws IOException {
+		String response = readUntil(PROMPT);
+		if (response == null) {
+			throw new EOFException("OSGi console closed the connection");
+		}
+		return response.trim();
+	}
+
+	/**
+	 * Reads until the given text was read and returns what was read before it, or <code>null</code>
+	 * if the console closed the connection before.
+	 */
+	private String readUntil(String text) throws IOException {
+		StringBuilder read = new StringBuilder();
+		int c;
+		while ((c = in.read()) != -1) {
+			read.append((char) c);
+			if (c == text.charAt(text.length() - 1) && read.length() >= text.length()
+					&& read.lastIndexOf(text) == read.length() - text.length()) {
+				return read.substring(0, read.length() - text.length());
+			}
+		}
+		return null;
+	}
+
+}
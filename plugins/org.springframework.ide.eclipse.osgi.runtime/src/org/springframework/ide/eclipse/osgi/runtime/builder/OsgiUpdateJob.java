@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 VMware, Inc.
+ *  Copyright (c) 2012, 2017 VMware, Inc.
  *  All rights reserved. This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License v1.0
  *  which accompanies this distribution, and is available at
@@ -10,16 +10,17 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.osgi.runtime.builder;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
 import java.net.InetAddress;
-import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
@@ -33,33 +34,43 @@ import org.springframework.ide.eclipse.osgi.runtime.builder.OsgiBundleUpdateBuil
 
 /**
  * Eclipse {@link Job} implementation that is scheduled to do an update or
- * refresh of the given bundle identified by its symbolic name.
+ * refresh of bundles identified by their symbolic names.
+ * <p>
+ * There is a single instance of this job. The commands scheduled while it
+ * waits to run (e.g. for all bundles changed by a save) are sent to the
+ * console of the running OSGi framework in one session, each one after the
+ * console answered the previous one. Commands that fail, or can't be sent,
+ * are reported in the job's result. Commands not sent because the job was
+ * canceled are kept and sent with its next run.
  * @author Christian Dupuis
  * @author Leo Dos Santos
  * @since 1.0
  */
 class OsgiUpdateJob extends Job {
 
-	private static final String YES_COMMAND = "y";
+	public static final Object MODEL_CONTENT_FAMILY = new Object();
 
-	private static final String DISCONNECT_COMMAND = "disconnect";
+	/** The time to wait for further commands before connecting to the console */
+	static final long DELAY = 500;
 
-	public static final Object MODEL_CONTENT_FAMILY = new Object();
+	/** The timeout for connecting to the console and for each of its responses */
+	static final int TIMEOUT = 10000;
 
-	private String symbolicName;
+	private static OsgiUpdateJob instance;
 
-	private Command command;
+	/** The commands to send with the next run, guarded by itself */
+	private final Set<String> pendingCommands = new LinkedHashSet<String>();
 
 	/**
 	 * Private Constructor.
-	 * @param symbolicName the bundle identifier to update
-	 * @param command the command to execute; either refresh or update
 	 * @see #schedule(String, Command)
 	 */
-	private OsgiUpdateJob(String symbolicName, Command command) {
-		super("Refreshing bundle with symbolic name '" + symbolicName + "'");
-		this.symbolicName = symbolicName;
-		this.command = command;
+	private OsgiUpdateJob() {
+		super("Refreshing bundles on OSGi runtime");
+		setRule(ResourcesPlugin.getWorkspace().getRoot());
+		setPriority(BUILD);
+		setProperty(IProgressConstants.ICON_PROPERTY,
+				OsgiUiImages.DESC_OBJS_OSGI);
 	}
 
 	/*
@@ -68,67 +79,54 @@ class OsgiUpdateJob extends Job {
 	 */
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
-
-		// First make sure that only one Job at a time is scheduled that is
-		// responsible for updating the same bundle
-		synchronized (getClass()) {
-			if (monitor.isCanceled()) {
-				return Status.CANCEL_STATUS;
-			}
-			Job[] buildJobs = Job.getJobManager().find(MODEL_CONTENT_FAMILY);
-			for (int i = 0; i < buildJobs.length; i++) {
-				Job curr = buildJobs[i];
-				if (curr != this && curr instanceof OsgiUpdateJob) {
-					OsgiUpdateJob job = (OsgiUpdateJob) curr;
-					if (job.isCoveredBy(this)) {
-						curr.cancel();
-					}
-				}
-			}
+		List<String> commands;
+		synchronized (pendingCommands) {
+			commands = new ArrayList<String>(pendingCommands);
+			pendingCommands.clear();
+		}
+		if (commands.isEmpty()) {
+			return Status.OK_STATUS;
 		}
 
 		// Get the port from the preferences store
 		int port = getPort();
 
 		monitor.beginTask("Connecting to OSGi runtime running at port " + port,
-				1);
+				commands.size());
 
-		// Open socket to console and emit command
-		BufferedReader in = null;
-		PrintWriter out = null;
+		MultiStatus result = new MultiStatus(OsgiPlugin.PLUGIN_ID, 0,
+				"Problems refreshing bundles on OSGi runtime running at port " + port, null);
+		OsgiConsoleSession session = null;
+		int sent = 0;
 		try {
-			Socket socket = new Socket(InetAddress.getLocalHost(), port);
-			out = new PrintWriter(socket.getOutputStream(), true);
-			in = new BufferedReader(new InputStreamReader(socket
-					.getInputStream()));
-			emitCommnad(out, command.toString().toLowerCase() + " " + symbolicName);
-			emitCommnad(out, DISCONNECT_COMMAND);
-			emitCommnad(out, YES_COMMAND);
+			session = new OsgiConsoleSession(InetAddress.getLocalHost(), port, TIMEOUT);
+			for (String command : commands) {
+				if (monitor.isCanceled()) {
+					requeue(commands.subList(sent, commands.size()));
+					return Status.CANCEL_STATUS;
+				}
+				monitor.subTask(command);
+				String response = session.execute(command);
+				sent++;
+				// The commands don't print anything if they succeed
+				if (response.length() > 0) {
+					result.add(new Status(IStatus.WARNING, OsgiPlugin.PLUGIN_ID, "'" + command
+							+ "' failed: " + response));
+				}
+				monitor.worked(1);
+			}
 		}
-		catch (Exception e) {
-			// ignore all exceptions here
+		catch (IOException e) {
+			result.add(new Status(IStatus.ERROR, OsgiPlugin.PLUGIN_ID, "Could not send "
+					+ commands.subList(sent, commands.size()) + " to OSGi console at port " + port, e));
 		}
 		finally {
-			if (out != null) {
-				out.close();
+			if (session != null) {
+				session.close();
 			}
-			if (in != null)
-				try {
-					{
-						in.close();
-					}
-
-				}
-				catch (IOException e) {
-				}
+			monitor.done();
 		}
-		return Status.OK_STATUS;
-	}
-	
-	private void emitCommnad(PrintWriter writer, String command) throws Exception {
-		writer.println(command);
-		writer.flush();
-		Thread.sleep(500);
+		return result.isOK() ? Status.OK_STATUS : result;
 	}
 
 	/**
@@ -142,27 +140,46 @@ class OsgiUpdateJob extends Job {
 				OsgiPlugin.DEFAULT_PORT));
 	}
 
-	public boolean isCoveredBy(OsgiUpdateJob other) {
-		return other.symbolicName.equals(symbolicName)
-				&& other.command.equals(command);
-	}
-
 	public boolean belongsTo(Object family) {
 		return MODEL_CONTENT_FAMILY == family;
 	}
 
 	/**
-	 * Schedules a update or refresh job for the given bundle
+	 * Puts the given unsent commands back in front of the commands scheduled
+	 * since they were taken, so that they are sent with the next run
+	 */
+	private void requeue(List<String> commands) {
+		synchronized (pendingCommands) {
+			Set<String> scheduled = new LinkedHashSet<String>(commands);
+			scheduled.addAll(pendingCommands);
+			pendingCommands.clear();
+			pendingCommands.addAll(scheduled);
+		}
+	}
+
+	private void add(String command) {
+		synchronized (pendingCommands) {
+			pendingCommands.add(command);
+		}
+		// Either runs the job after the delay, or once more if it is running already
+		schedule(DELAY);
+	}
+
+	/**
+	 * Schedules a update or refresh of the given bundle, to be sent together with
+	 * the other commands scheduled before the job runs
 	 * @param symbolicName the bundle identifier to update
 	 * @param command the command to execute; either refresh or update
 	 */
 	public static void schedule(String symbolicName, Command command) {
-		OsgiUpdateJob job = new OsgiUpdateJob(symbolicName, command);
-		job.setRule(ResourcesPlugin.getWorkspace().getRoot());
-		job.setPriority(BUILD);
-		job.setProperty(IProgressConstants.ICON_PROPERTY,
-				OsgiUiImages.DESC_OBJS_OSGI);
-		job.schedule();
+		getInstance().add(command.toString().toLowerCase() + " " + symbolicName);
+	}
+
+	private static synchronized OsgiUpdateJob getInstance() {
+		if (instance == null) {
+			instance = new OsgiUpdateJob();
+		}
+		return instance;
 	}
 
 }
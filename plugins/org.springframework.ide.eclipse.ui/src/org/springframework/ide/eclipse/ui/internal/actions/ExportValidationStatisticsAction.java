@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.ui.internal.actions;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.eclipse.jface.action.IAction;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.IObjectActionDelegate;
+import org.eclipse.ui.IWorkbenchPart;
+import org.springframework.ide.eclipse.core.model.validation.ValidationStatistics;
+import org.springframework.ide.eclipse.ui.SpringUIPlugin;
+
+/**
+ * This action exports the timing information collected by {@link ValidationStatistics} during builds and validation
+ * (per validation rule, per resource and per validator/builder) into a CSV file.
+ * @since 3.9.3
+ */
+public class ExportValidationStatisticsAction implements IObjectActionDelegate {
+
+	private Shell shell;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setActivePart(IAction action, IWorkbenchPart targetPart) {
+		shell = targetPart.getSite().getShell();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void selectionChanged(IAction action, ISelection selection) {
+		// intentionally left empty
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void run(IAction action) {
+		ValidationStatistics statistics = ValidationStatistics.getDefault();
+		if (!statistics.isEnabled()) {
+			MessageDialog.openInformation(shell, "Export Validation Statistics",
+					"Validation statistics are not collected. Start the workbench with the debug option '"
+							+ ValidationStatistics.DEBUG_OPTION + "' set to 'true' to collect them.");
+			return;
+		}
+		if (statistics.getEntries(null).isEmpty()) {
+			MessageDialog.openInformation(shell, "Export Validation Statistics",
+					"No validation statistics have been collected yet. Please build or validate a Spring project first.");
+			return;
+		}
+
+		FileDialog dialog = new FileDialog(shell, SWT.SAVE);
+		dialog.setText("Export Validation Statistics");
+		dialog.setFilterExtensions(new String[] { "*.csv" });
+		dialog.setFileName("validation-statistics.csv");
+		dialog.setOverwrite(true);
+		String fileName = dialog.open();
+		if (fileName == null) {
+			return;
+		}
+
+		Writer writer = null;
+		try {
+			writer = new OutputStreamWriter(new FileOutputStream(fileName), "UTF-8");
+			statistics.exportCsv(writer);
+		}
+		catch (IOException e) {
+			SpringUIPlugin.log(e);
+			MessageDialog.openError(shell, "Export Validation Statistics", "Error writing '" + fileName + "': "
+					+ e.getMessage());
+		}
+		finally {
+			if (writer != null) {
+				try {
+					writer.close();
+				}
+				catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.webflow.core.internal.model.tests;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorDefinition;
+import org.springframework.ide.eclipse.beans.core.model.locate.BeansConfigLocatorFactory;
+import org.springframework.ide.eclipse.core.model.AbstractModel;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent.Type;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowConfig;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowReferenceIndex;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+/**
+ * @since 3.9.3
+ */
+public class WebflowReferenceIndexTest {
+
+	private IProject project;
+
+	private IProject secondProject;
+
+	private BeansModel model;
+
+	private BeansModel realModel;
+
+	private IBeansConfig config;
+
+	private IBeansConfig secondConfig;
+
+	private WebflowConfig flow;
+
+	private final WebflowReferenceIndex index = WebflowReferenceIndex.getInstance();
+
+	@Before
+	public void createProjects() throws Exception {
+		project = StsTestUtil.createPredefinedProject("webflow-index-tests", "org.springframework.ide.eclipse.webflow.core.tests");
+		secondProject = StsTestUtil.createPredefinedProject("webflow-index-tests-2", "org.springframework.ide.eclipse.webflow.core.tests");
+
+		model = new BeansModel();
+		BeansProject beansProject = new BeansProject(model, project);
+		BeansProject secondBeansProject = new BeansProject(model, secondProject);
+		model.addProject(beansProject);
+		model.addProject(secondBeansProject);
+
+		realModel = (BeansModel) BeansCorePlugin.getModel();
+		BeansCorePlugin.setModel(model);
+
+		// disable automatic configuration of Java configs
+		for (BeansConfigLocatorDefinition locator : BeansConfigLocatorFactory.getBeansConfigLocatorDefinitions()) {
+			locator.setEnabled(false, project);
+			locator.setEnabled(false, secondProject);
+		}
+
+		beansProject.addConfig("beans.xml", IBeansConfig.Type.MANUAL);
+		secondBeansProject.addConfig("other-beans.xml", IBeansConfig.Type.MANUAL);
+		config = beansProject.getConfig("beans.xml");
+		secondConfig = secondBeansProject.getConfig("other-beans.xml");
+
+		BeansConfigSet configSet = new BeansConfigSet(beansProject, "test-set", IBeansConfigSet.Type.MANUAL);
+		configSet.addConfig("beans.xml");
+		configSet.addConfig("/webflow-index-tests-2/other-beans.xml");
+		beansProject.addConfigSet(configSet);
+
+		// The flow is linked to a config set that includes a config of another project
+		flow = new WebflowConfig(null);
+		flow.setBeansConfigsElementIds(Collections.singleton(configSet.getElementID()));
+
+		index.clear();
+		model.addChangeListener(index);
+	}
+
+	@After
+	public void deleteProjects() throws Exception {
+		model.removeChangeListener(index);
+		index.clear();
+		secondProject.delete(true, null);
+		project.delete(true, null);
+		BeansCorePlugin.setModel(realModel);
+	}
+
+	@Test
+	public void testChangedConfigInvalidatesVisibleBeans() {
+		Set<IBean> beans = index.getBeans(flow);
+		assertTrue(beans.contains(config.getBean("simpleBean")));
+		assertSame(beans, index.getBeans(flow));
+
+		model.notifyListeners(config, Type.CHANGED);
+		assertNotSame(beans, index.getBeans(flow));
+	}
+
+	@Test
+	public void testChangedConfigOfOtherProjectInvalidatesVisibleBeans() {
+		Set<IBean> beans = index.getBeans(flow);
+		assertTrue(beans.contains(secondConfig.getBean("simpleBean")));
+
+		model.notifyListeners(secondConfig, Type.CHANGED);
+		assertNotSame(beans, index.getBeans(flow));
+	}
+
+	@Test
+	public void testBatchedChangeInvalidatesVisibleBeansWhenBatchEnds() {
+		Set<IBean> beans = index.getBeans(flow);
+
+		AbstractModel.beginBatch();
+		try {
+			model.notifyListeners(secondConfig, Type.CHANGED);
+			assertSame(beans, index.getBeans(flow));
+		}
+		finally {
+			AbstractModel.endBatch();
+		}
+		assertNotSame(beans, index.getBeans(flow));
+	}
+
+}
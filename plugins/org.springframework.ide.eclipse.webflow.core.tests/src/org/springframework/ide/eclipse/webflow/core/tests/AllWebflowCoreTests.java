@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.webflow.core.tests;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+import org.springframework.ide.eclipse.webflow.core.internal.model.tests.WebflowReferenceIndexTest;
+
+/**
+ * Test suite for <code>webflow.core</code> plugin.
+ * @since 3.9.3
+ */
+@RunWith(Suite.class)
+@SuiteClasses({
+	WebflowReferenceIndexTest.class
+})
+public class AllWebflowCoreTests {
+	// goofy junit4, no class body needed
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -123,6 +123,8 @@ public class WebflowModel extends AbstractModelElement implements IWebflowModel,
 		// Add a ResourceChangeListener to the Eclipse Workspace
 		workspaceListener = new WebflowResourceChangeListener(new WebflowResourceChangeEvents());
 		workspace.addResourceChangeListener(workspaceListener, SpringResourceChangeListener.LISTENER_FLAGS);
+
+		WebflowReferenceIndex.getInstance().startup(this);
 	}
 
 	/*
@@ -135,6 +137,7 @@ public class WebflowModel extends AbstractModelElement implements IWebflowModel,
 	 */
 
 	public void shutdown() {
+		WebflowReferenceIndex.getInstance().shutdown(this);
 		initialize();
 		IWorkspace workspace = ResourcesPlugin.getWorkspace();
 		workspace.removeResourceChangeListener(this);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -25,14 +25,12 @@ import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
 import org.eclipse.wst.xml.core.internal.document.DOMModelImpl;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
-import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
 import org.springframework.ide.eclipse.beans.core.model.IBean;
 import org.springframework.ide.eclipse.beans.ui.editor.util.BeansEditorUtils;
 import org.springframework.ide.eclipse.core.java.FlagsMethodFilter;
 import org.springframework.ide.eclipse.core.java.IMethodFilter;
 import org.springframework.ide.eclipse.core.java.Introspector;
 import org.springframework.ide.eclipse.core.java.JdtUtils;
-import org.springframework.ide.eclipse.core.model.IModelElement;
 import org.springframework.ide.eclipse.webflow.core.Activator;
 import org.springframework.ide.eclipse.webflow.core.model.IInlineFlowState;
 import org.springframework.ide.eclipse.webflow.core.model.IState;
@@ -70,16 +68,8 @@ public class WebflowModelUtils {
 	}
 	
 	public static IType getActionType(IWebflowConfig config, IDOMNode node) {
-		Set<IBean> beans = getBeans(config);
-		String className = null;
-		for (IBean bean : beans) {
-			if (bean.getElementName().equals(
-					BeansEditorUtils.getAttribute(node, "bean"))) {
-				className = BeansModelUtils.getBeanClass(bean, null);
-				break;
-			}
-		}
-
+		String className = WebflowReferenceIndex.getInstance().getBeanClass(
+				config, BeansEditorUtils.getAttribute(node, "bean"));
 		return JdtUtils.getJavaType(config.getProject().getProject(), className);
 	}
 
@@ -97,17 +87,11 @@ public class WebflowModelUtils {
 		return NO_METHOD_MATCHES;
 	}
 
+	/**
+	 * Returns the beans visible to the given flow; the returned set is not modifiable.
+	 */
 	public static Set<IBean> getBeans(IWebflowConfig config) {
-		Set<IModelElement> beansConfigs = config.getBeansConfigs();
-		Set<IBean> beans = new HashSet<IBean>();
-
-		if (beansConfigs != null) {
-			for (IModelElement bc : beansConfigs) {
-				beans.addAll(BeansModelUtils.getBeans(bc, null));
-			}
-		}
-
-		return beans;
+		return WebflowReferenceIndex.getInstance().getBeans(config);
 	}
 
 	public static List<IFile> getFiles(IProject project) {
@@ -162,13 +146,7 @@ public class WebflowModelUtils {
 
 	public static boolean isReferencedBeanFound(IWebflowConfig config,
 			String beanName) {
-		Set<IModelElement> beansConfigs = config.getBeansConfigs();
-		for (IModelElement beansConfig : beansConfigs) {
-			if (BeansModelUtils.getBean(beanName, beansConfig) != null) {
-				return true;
-			}
-		}
-		return false;
+		return WebflowReferenceIndex.getInstance().isBeanFound(config, beanName);
 	}
 
 	public static IWebflowState getWebflowState(IWebflowModelElement element,
@@ -233,11 +211,7 @@ public class WebflowModelUtils {
 	}
 
 	public static Set<String> getWebflowConfigNames(IWebflowProject project) {
-		Set<String> flowNames = new HashSet<String>();
-		for (IWebflowConfig config : project.getConfigs()) {
-			flowNames.add(config.getName());
-		}
-		return flowNames;
+		return WebflowReferenceIndex.getInstance().getFlowIds(project);
 	}
 
 	public static Set<String> getWebflowConfigNames(IWebflowState state) {
@@ -0,0 +1,393 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Spring IDE Developers
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Spring IDE Developers - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.webflow.core.internal.model;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
+import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+import org.springframework.ide.eclipse.core.model.IModelChangeListener;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+import org.springframework.ide.eclipse.webflow.core.model.IInlineFlowState;
+import org.springframework.ide.eclipse.webflow.core.model.IState;
+import org.springframework.ide.eclipse.webflow.core.model.ISubflowState;
+import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
+import org.springframework.ide.eclipse.webflow.core.model.IWebflowModelListener;
+import org.springframework.ide.eclipse.webflow.core.model.IWebflowProject;
+import org.springframework.ide.eclipse.webflow.core.model.IWebflowState;
+import org.springframework.util.StringUtils;
+
+/**
+ * Index of the flow ids of the Web Flow projects, the state ids and subflow references of their
+ * flows, and the beans visible to the flows.
+ * <p>
+ * The entries are built lazily on first use and dropped when the underlying resources change:
+ * the flow ids of a project when its flows change, the states and subflow references of a flow
+ * when its file changes, and the visible beans when a beans project they are read from changes.
+ * Flows that are linked to the same beans configs share the same visible beans, so validating a
+ * project resolves its beans once rather than once per flow and reference.
+ * @since 3.9.3
+ */
+public class WebflowReferenceIndex implements IResourceChangeListener, IModelChangeListener,
+		IWebflowModelListener {
+
+	private static final WebflowReferenceIndex INSTANCE = new WebflowReferenceIndex();
+
+	/** The flow ids by project */
+	private final Map<IProject, Set<String>> flowIds = new ConcurrentHashMap<IProject, Set<String>>();
+
+	/** The states and subflow references by flow file */
+	private final Map<IResource, FlowReferences> flows = new ConcurrentHashMap<IResource, FlowReferences>();
+
+	/** The visible beans by the beans configs and config sets a flow is linked to */
+	private final Map<Set<IModelElement>, VisibleBeans> beans = new ConcurrentHashMap<Set<IModelElement>, VisibleBeans>();
+
+	/** Incremented on every invalidation, to detect entries that were built from stale state */
+	private final AtomicLong modificationCount = new AtomicLong();
+
+	public static WebflowReferenceIndex getInstance() {
+		return INSTANCE;
+	}
+
+	void startup(WebflowModel model) {
+		model.registerModelChangeListener(this);
+		BeansCorePlugin.getModel().addChangeListener(this);
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	void shutdown(WebflowModel model) {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		BeansCorePlugin.getModel().removeChangeListener(this);
+		model.removeModelChangeListener(this);
+		clear();
+	}
+
+	/**
+	 * Returns the ids of the flows of the given project.
+	 */
+	public Set<String> getFlowIds(IWebflowProject project) {
+		IProject key = project.getProject();
+		Set<String> ids = (key != null ? flowIds.get(key) : null);
+		if (ids == null) {
+			long count = modificationCount.get();
+			ids = new HashSet<String>();
+			for (IWebflowConfig config : project.getConfigs()) {
+				ids.add(config.getName());
+			}
+			ids = Collections.unmodifiableSet(ids);
+			if (key != null && count == modificationCount.get()) {
+				flowIds.put(key, ids);
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Returns the ids of the states of the given flow, including the states of its inline flows.
+	 */
+	public Set<String> getStateIds(IWebflowConfig config) {
+		return getFlowReferences(config).stateIds;
+	}
+
+	/**
+	 * Returns the ids of the flows the given flow (or one of its inline flows) uses as subflows.
+	 */
+	public Set<String> getSubflowIds(IWebflowConfig config) {
+		return getFlowReferences(config).subflowIds;
+	}
+
+	/**
+	 * Returns the flows of the given project that use the flow with the given id as a subflow.
+	 */
+	public Set<IWebflowConfig> getReferencingFlows(IWebflowProject project, String flowId) {
+		Set<IWebflowConfig> result = new LinkedHashSet<IWebflowConfig>();
+		for (IWebflowConfig config : project.getConfigs()) {
+			if (getSubflowIds(config).contains(flowId)) {
+				result.add(config);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the beans defined by the beans configs and config sets the given flow is linked to.
+	 */
+	public Set<IBean> getBeans(IWebflowConfig config) {
+		return getVisibleBeans(config).beans;
+	}
+
+	/**
+	 * Returns the bean with the given name among the beans the given flow is linked to, or
+	 * <code>null</code> if there is none.
+	 */
+	public IBean getBean(IWebflowConfig config, String beanName) {
+		return getVisibleBeans(config).beansByName.get(beanName);
+	}
+
+	/**
+	 * Returns the class name of the bean with the given name among the beans the given flow is
+	 * linked to, or <code>null</code> if there is no such bean or its class can't be resolved.
+	 */
+	public String getBeanClass(IWebflowConfig config, String beanName) {
+		if (beanName == null) {
+			return null;
+		}
+		return getVisibleBeans(config).getBeanClass(beanName);
+	}
+
+	/**
+	 * Returns <code>true</code> if a bean or alias with the given name is defined by one of the
+	 * beans configs and config sets the given flow is linked to.
+	 */
+	public boolean isBeanFound(IWebflowConfig config, String beanName) {
+		if (beanName == null) {
+			return false;
+		}
+		return getVisibleBeans(config).isFound(beanName);
+	}
+
+	public void clear() {
+		modificationCount.incrementAndGet();
+		flowIds.clear();
+		flows.clear();
+		beans.clear();
+	}
+
+	private FlowReferences getFlowReferences(IWebflowConfig config) {
+		IFile file = config.getResource();
+		FlowReferences references = (file != null ? flows.get(file) : null);
+		if (references == null) {
+			long count = modificationCount.get();
+			references = new FlowReferences();
+			if (file != null) {
+				references.add(WebflowModelUtils.getWebflowState(file));
+				if (count == modificationCount.get()) {
+					flows.put(file, references);
+				}
+			}
+		}
+		return references;
+	}
+
+	private VisibleBeans getVisibleBeans(IWebflowConfig config) {
+		Set<IModelElement> beansConfigs = config.getBeansConfigs();
+		VisibleBeans visibleBeans = beans.get(beansConfigs);
+		if (visibleBeans == null) {
+			long count = modificationCount.get();
+			visibleBeans = new VisibleBeans(beansConfigs);
+			if (count == modificationCount.get()) {
+				beans.put(beansConfigs, visibleBeans);
+			}
+		}
+		return visibleBeans;
+	}
+
+	/**
+	 * Drops the flow ids of the changed project, or of all projects.
+	 */
+	public void modelChanged(IWebflowProject project) {
+		modificationCount.incrementAndGet();
+		if (project != null && project.getProject() != null) {
+			flowIds.remove(project.getProject());
+		}
+		else {
+			flowIds.clear();
+		}
+	}
+
+	/**
+	 * Drops the visible beans that include beans of the changed beans project. Changes made in a
+	 * batch of the beans model are only reported, and so only dropped, when the batch ends.
+	 */
+	public void elementChanged(ModelChangeEvent event) {
+		modificationCount.incrementAndGet();
+		IModelElement element = event.getElement();
+		IBeansProject beansProject = (element instanceof IBeansModel ? null : BeansModelUtils.getProject(element));
+		if (beansProject == null) {
+			beans.clear();
+			return;
+		}
+		for (Iterator<VisibleBeans> iterator = beans.values().iterator(); iterator.hasNext();) {
+			if (iterator.next().projects.contains(beansProject.getProject())) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Drops the states and subflow references of changed flow files, and the flow ids of projects
+	 * with a changed project description.
+	 */
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(new IResourceDeltaVisitor() {
+
+				public boolean visit(IResourceDelta delta) throws CoreException {
+					IResource resource = delta.getResource();
+					if (resource.getType() != IResource.FILE) {
+						return true;
+					}
+					if (resource.getProjectRelativePath().toString().equals(IWebflowProject.DESCRIPTION_FILE)) {
+						// The flows of the project may have changed
+						modificationCount.incrementAndGet();
+						flowIds.remove(resource.getProject());
+					}
+					else if (flows.containsKey(resource)
+							&& (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & IResourceDelta.CONTENT) != 0)) {
+						modificationCount.incrementAndGet();
+						flows.remove(resource);
+					}
+					return false;
+				}
+			});
+		}
+		catch (CoreException e) {
+		}
+	}
+
+	/**
+	 * The states of a flow and the flows it uses as subflows.
+	 */
+	private static class FlowReferences {
+
+		private final Set<String> stateIds = new LinkedHashSet<String>();
+
+		private final Set<String> subflowIds = new LinkedHashSet<String>();
+
+		void add(IWebflowState flow) {
+			if (flow == null) {
+				return;
+			}
+			for (IState state : flow.getStates()) {
+				if (state.getId() != null) {
+					stateIds.add(state.getId());
+				}
+				if (state instanceof ISubflowState && StringUtils.hasText(((ISubflowState) state).getFlow())) {
+					subflowIds.add(((ISubflowState) state).getFlow());
+				}
+			}
+			for (IInlineFlowState inlineFlow : flow.getInlineFlowStates()) {
+				add(inlineFlow.getWebFlowState());
+			}
+		}
+	}
+
+	/**
+	 * The beans visible to the flows linked to a set of beans configs and config sets.
+	 */
+	private static class VisibleBeans {
+
+		/** Marks unresolvable bean classes, as the concurrent map can't hold <code>null</code> */
+		private static final String NO_CLASS = "";
+
+		private final Set<IModelElement> beansConfigs;
+
+		/** The projects of all configs the beans are read from, including configs of other projects */
+		private final Set<IProject> projects = new HashSet<IProject>();
+
+		private final Set<IBean> beans;
+
+		private final Map<String, IBean> beansByName = new LinkedHashMap<String, IBean>();
+
+		private final Map<String, String> beanClasses = new ConcurrentHashMap<String, String>();
+
+		private final Map<String, Boolean> found = new ConcurrentHashMap<String, Boolean>();
+
+		public VisibleBeans(Set<IModelElement> beansConfigs) {
+			this.beansConfigs = beansConfigs;
+			Set<IBean> allBeans = new LinkedHashSet<IBean>();
+			for (IModelElement beansConfig : beansConfigs) {
+				addProject(beansConfig);
+				if (beansConfig instanceof IBeansConfigSet) {
+					// A config set may contain configs of other projects
+					for (IBeansConfig setConfig : ((IBeansConfigSet) beansConfig).getConfigs()) {
+						addProject(setConfig);
+					}
+				}
+				allBeans.addAll(BeansModelUtils.getBeans(beansConfig, null));
+			}
+			for (IBean bean : allBeans) {
+				// Imported configs may belong to other projects, too
+				IResource resource = bean.getElementResource();
+				if (resource != null) {
+					projects.add(resource.getProject());
+				}
+				if (!beansByName.containsKey(bean.getElementName())) {
+					beansByName.put(bean.getElementName(), bean);
+				}
+			}
+			this.beans = Collections.unmodifiableSet(allBeans);
+		}
+
+		private void addProject(IModelElement element) {
+			IBeansProject beansProject = BeansModelUtils.getProject(element);
+			if (beansProject != null) {
+				projects.add(beansProject.getProject());
+			}
+		}
+
+		public String getBeanClass(String beanName) {
+			String className = beanClasses.get(beanName);
+			if (className == null) {
+				IBean bean = beansByName.get(beanName);
+				className = (bean != null ? BeansModelUtils.getBeanClass(bean, null) : null);
+				if (className == null) {
+					className = NO_CLASS;
+				}
+				beanClasses.put(beanName, className);
+			}
+			return (className != NO_CLASS ? className : null);
+		}
+
+		public boolean isFound(String beanName) {
+			Boolean result = found.get(beanName);
+			if (result == null) {
+				result = Boolean.FALSE;
+				for (IModelElement beansConfig : beansConfigs) {
+					if (BeansModelUtils.getBean(beanName, beansConfig) != null) {
+						result = Boolean.TRUE;
+						break;
+					}
+				}
+				found.put(beanName, result);
+			}
+			return result;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 - 2013 Spring IDE Developers
+ * Copyright (c) 2007 - 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,7 @@ import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
 import org.springframework.ide.eclipse.core.model.validation.AbstractValidationContext;
 import org.springframework.ide.eclipse.webflow.core.Activator;
 import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelXmlUtils;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowReferenceIndex;
 import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowState;
 import org.springframework.ide.eclipse.webflow.core.model.IState;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
@@ -162,28 +163,32 @@ public class WebflowValidationContext extends AbstractValidationContext {
 					IWebflowProject project = Activator.getModel().getProject(
 							getRootElement().getElementResource().getProject());
 					IWebflowConfig parentConfig = project.getConfig((String) p);
-					try {
-						model = StructuredModelManager.getModelManager().getExistingModelForRead(
-								parentConfig.getElementResource());
-						if (model == null) {
-							model = StructuredModelManager.getModelManager().getModelForRead(
-									(IFile) parentConfig.getElementResource());
+					// Only parse parent flows that define the state
+					if (parentConfig != null
+							&& WebflowReferenceIndex.getInstance().getStateIds(parentConfig).contains(stateId)) {
+						try {
+							model = StructuredModelManager.getModelManager().getExistingModelForRead(
+									parentConfig.getElementResource());
+							if (model == null) {
+								model = StructuredModelManager.getModelManager().getModelForRead(
+										(IFile) parentConfig.getElementResource());
+							}
+							if (model != null) {
+								IDOMDocument document = ((DOMModelImpl) model).getDocument();
+								IWebflowState parentState = new WebflowState(parentConfig);
+								parentState.init((IDOMNode) document.getDocumentElement(), null);
+
+								state = WebflowModelXmlUtils.getStateById(parentState, stateId);
+							}
 						}
-						if (model != null) {
-							IDOMDocument document = ((DOMModelImpl) model).getDocument();
-							IWebflowState parentState = new WebflowState(parentConfig);
-							parentState.init((IDOMNode) document.getDocumentElement(), null);
-
-							state = WebflowModelXmlUtils.getStateById(parentState, stateId);
+						catch (Exception e) {
 						}
-					}
-					catch (Exception e) {
-					}
-					finally {
-						if (model != null) {
-							model.releaseFromRead();
+						finally {
+							if (model != null) {
+								model.releaseFromRead();
+							}
+							model = null;
 						}
-						model = null;
 					}
 
 					if (state != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2012 Spring IDE Developers
+ * Copyright (c) 2007, 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,7 +15,9 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.wst.sse.core.StructuredModelManager;
 import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
@@ -36,6 +38,7 @@ import org.springframework.ide.eclipse.core.model.validation.IValidationElementL
 import org.springframework.ide.eclipse.core.model.validation.IValidator;
 import org.springframework.ide.eclipse.webflow.core.Activator;
 import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelUtils;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowReferenceIndex;
 import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowState;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowModel;
@@ -89,6 +92,17 @@ public class WebflowValidator extends AbstractValidator {
 		Set<IResource> resources = new LinkedHashSet<IResource>();
 		if (WebflowModelUtils.isWebflowConfig(resource)) {
 			resources.add(resource);
+			if (deltaKind == IResourceDelta.ADDED) {
+				// Flows using the new flow as subflow are valid now
+				addReferencingFlows(resources, resource.getProject(),
+						WebflowModelUtils.getWebflowConfig((IFile) resource).getName());
+			}
+		}
+		else if (deltaKind == IResourceDelta.REMOVED && resource instanceof IFile
+				&& "xml".equals(resource.getFileExtension())) {
+			// Flows using the removed flow as subflow are invalid now. The removed flow's name
+			// can't be taken from its file, as it may be configured otherwise
+			addFlowsWithUnresolvedSubflows(resources, resource);
 		}
 		else if (JdtUtils.isClassPathFile(resource)) {
 			IWebflowProject webflowProject = Activator.getModel().getProject(
@@ -121,6 +135,35 @@ public class WebflowValidator extends AbstractValidator {
 		return resources;
 	}
 
+	private void addReferencingFlows(Set<IResource> resources, IProject project, String flowId) {
+		IWebflowProject webflowProject = Activator.getModel().getProject(project);
+		if (webflowProject != null) {
+			for (IWebflowConfig config : WebflowReferenceIndex.getInstance().getReferencingFlows(
+					webflowProject, flowId)) {
+				resources.add(config.getElementResource());
+			}
+		}
+	}
+
+	private void addFlowsWithUnresolvedSubflows(Set<IResource> resources, IResource removed) {
+		IWebflowProject webflowProject = Activator.getModel().getProject(removed.getProject());
+		if (webflowProject != null) {
+			// The model may not have dropped the removed flow yet
+			Set<String> flowIds = new HashSet<String>();
+			for (IWebflowConfig config : webflowProject.getConfigs()) {
+				if (!removed.equals(config.getResource())) {
+					flowIds.add(config.getName());
+				}
+			}
+			for (IWebflowConfig config : webflowProject.getConfigs()) {
+				if (!removed.equals(config.getResource())
+						&& !flowIds.containsAll(WebflowReferenceIndex.getInstance().getSubflowIds(config))) {
+					resources.add(config.getElementResource());
+				}
+			}
+		}
+	}
+
 	@Override
 	protected IValidationContext createContext(
 			IResourceModelElement rootElement,
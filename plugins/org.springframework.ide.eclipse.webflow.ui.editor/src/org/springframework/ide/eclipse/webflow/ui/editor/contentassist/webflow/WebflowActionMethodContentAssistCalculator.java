@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 - 2013 Spring IDE Developers
+ * Copyright (c) 2007 - 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,19 +10,15 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.webflow.ui.editor.contentassist.webflow;
 
-import java.util.Set;
-
 import org.eclipse.core.resources.IFile;
 import org.eclipse.jdt.core.IType;
-import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
-import org.springframework.ide.eclipse.beans.core.model.IBean;
 import org.springframework.ide.eclipse.beans.ui.editor.contentassist.IContentAssistContext;
 import org.springframework.ide.eclipse.beans.ui.editor.contentassist.MethodContentAssistCalculator;
 import org.springframework.ide.eclipse.beans.ui.editor.util.BeansEditorUtils;
 import org.springframework.ide.eclipse.core.java.IMethodFilter;
 import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.ide.eclipse.webflow.core.Activator;
-import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelUtils;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowReferenceIndex;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
 
 /**
@@ -40,20 +36,14 @@ public abstract class WebflowActionMethodContentAssistCalculator extends
 	@Override
 	protected final IType calculateType(IContentAssistContext context) {
 		if (BeansEditorUtils.hasAttribute(context.getNode(), "bean")) {
-			String className = null;
 			IFile file = context.getFile();
 			if (file != null && file.exists()) {
 				IWebflowConfig config = Activator.getModel().getProject(file.getProject())
 						.getConfig(file);
 	
 				if (config != null) {
-					Set<IBean> beans = WebflowModelUtils.getBeans(config);
-					for (IBean bean : beans) {
-						if (bean.getElementName().equals(
-								BeansEditorUtils.getAttribute(context.getNode(), "bean"))) {
-							className = BeansModelUtils.getBeanClass(bean, null);
-						}
-					}
+					String className = WebflowReferenceIndex.getInstance().getBeanClass(config,
+							BeansEditorUtils.getAttribute(context.getNode(), "bean"));
 					return JdtUtils.getJavaType(file.getProject(), className);
 				}
 			}
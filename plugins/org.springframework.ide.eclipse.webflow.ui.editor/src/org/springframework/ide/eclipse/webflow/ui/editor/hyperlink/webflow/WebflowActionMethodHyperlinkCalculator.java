@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010 - 2013 Spring IDE Developers
+ * Copyright (c) 2010 - 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,15 +20,13 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.hyperlink.IHyperlink;
-import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
-import org.springframework.ide.eclipse.beans.core.model.IBean;
 import org.springframework.ide.eclipse.beans.ui.editor.hyperlink.IHyperlinkCalculator;
 import org.springframework.ide.eclipse.beans.ui.editor.hyperlink.JavaElementHyperlink;
 import org.springframework.ide.eclipse.beans.ui.editor.util.BeansEditorUtils;
 import org.springframework.ide.eclipse.core.java.Introspector;
 import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.ide.eclipse.webflow.core.Activator;
-import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelUtils;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowReferenceIndex;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
 import org.w3c.dom.Node;
 
@@ -50,13 +48,7 @@ public class WebflowActionMethodHyperlinkCalculator implements IHyperlinkCalcula
 				IWebflowConfig config = Activator.getModel().getProject(file.getProject()).getConfig(
 						file);
 				if (config != null) {
-					String className = null;
-					Set<IBean> beans = WebflowModelUtils.getBeans(config);
-					for (IBean modelBean : beans) {
-						if (modelBean.getElementName().equals(bean)) {
-							className = BeansModelUtils.getBeanClass(modelBean, null);
-						}
-					}
+					String className = WebflowReferenceIndex.getInstance().getBeanClass(config, bean);
 					IType type = JdtUtils.getJavaType(file.getProject(), className);
 					if (type != null) {
 						try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010 - 2013 Spring IDE Developers
+ * Copyright (c) 2010 - 2017 Spring IDE Developers
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,8 +10,6 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.webflow.ui.editor.hyperlink.webflow;
 
-import java.util.Set;
-
 import org.eclipse.core.resources.IFile;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
@@ -22,7 +20,7 @@ import org.springframework.ide.eclipse.beans.ui.editor.hyperlink.ExternalBeanHyp
 import org.springframework.ide.eclipse.beans.ui.editor.hyperlink.IHyperlinkCalculator;
 import org.springframework.ide.eclipse.beans.ui.editor.util.BeansEditorUtils;
 import org.springframework.ide.eclipse.webflow.core.Activator;
-import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelUtils;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowReferenceIndex;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
 import org.w3c.dom.Node;
 
@@ -42,11 +40,9 @@ public class WebflowBeanReferenceHyperlinkCalculator implements IHyperlinkCalcul
 			IWebflowConfig config = Activator.getModel().getProject(file.getProject()).getConfig(
 					file);
 			if (config != null) {
-				Set<IBean> beans = WebflowModelUtils.getBeans(config);
-				for (IBean bean : beans) {
-					if (bean.getElementName().equals(target)) {
-						return new ExternalBeanHyperlink(bean, hyperlinkRegion);
-					}
+				IBean bean = WebflowReferenceIndex.getInstance().getBean(config, target);
+				if (bean != null) {
+					return new ExternalBeanHyperlink(bean, hyperlinkRegion);
 				}
 			}
 		}